@@ -0,0 +1,211 @@
+package com.dialectgame.loadtest;
+
+import com.dialectgame.loadtest.BackendClient.Response;
+import com.dialectgame.loadtest.report.LatencyRecorder;
+import com.dialectgame.loadtest.report.LoadReport;
+import com.dialectgame.loadtest.scenario.LessonBrowsingScenario;
+import com.dialectgame.loadtest.scenario.LoginStormScenario;
+import com.dialectgame.loadtest.scenario.ProgressUpdateScenario;
+import com.dialectgame.loadtest.scenario.Scenario;
+import com.dialectgame.loadtest.scenario.VirtualUser;
+import com.dialectgame.loadtest.scenario.VoiceUploadScenario;
+import com.dialectgame.loadtest.stub.StubBehavior;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Campagne de charge en modèle fermé : --users utilisateurs simulés (un thread virtuel chacun)
+ * enchaînent des itérations de scénarios tirés selon --mix, pendant --warmup puis --duration.
+ * <p>
+ * Avant la mesure, le compte administrateur du profil loadtest génère --lessons leçons via
+ * /admin/lessons/generation (servies par le stub Ollama) et les utilisateurs sont inscrits.
+ */
+public class LoadRunner {
+
+    private static final Map<String, Scenario> SCENARIOS = Map.of(
+            "login", new LoginStormScenario(),
+            "browse", new LessonBrowsingScenario(),
+            "progress", new ProgressUpdateScenario(),
+            "voice", new VoiceUploadScenario());
+
+    private final LoadTestOptions options;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final BackendClient client;
+
+    public LoadRunner(LoadTestOptions options) {
+        this.options = options;
+        this.client = new BackendClient(options.get("base-url", "http://localhost:8080/api"), recorder);
+    }
+
+    public LoadReport run() throws Exception {
+        int userCount = options.getInt("users", 50);
+        Duration warmup = options.getDuration("warmup", "20s");
+        Duration duration = options.getDuration("duration", "2m");
+        String mix = options.get("mix", "login:1,browse:6,progress:3,voice:1");
+        String thinkTime = options.get("think-time", "uniform:0ms..500ms");
+
+        List<Long> lessonIds = seedLessons(options.getInt("lessons", 20));
+        List<VirtualUser> users = registerUsers(userCount, lessonIds);
+        List<Scenario> weighted = weightedScenarios(mix);
+        // Temps de réflexion entre deux itérations, même syntaxe que les latences des stubs
+        StubBehavior think = StubBehavior.parse(thinkTime, 0, 0);
+
+        System.out.printf("Running %d users for %s (+%s warmup), mix %s%n", userCount, duration, warmup, mix);
+        Instant startedAt = Instant.now();
+        long end = System.nanoTime() + warmup.plus(duration).toNanos();
+        CountDownLatch done = new CountDownLatch(users.size());
+
+        for (VirtualUser user : users) {
+            Thread.ofVirtual().name("user-" + user.getUsername()).start(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        weighted.get(ThreadLocalRandom.current().nextInt(weighted.size())).iterate(user);
+                        Thread.sleep(think.sampleLatency());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        Thread.sleep(warmup);
+        recorder.startRecording();
+        long measureStart = System.nanoTime();
+        done.await();
+        recorder.stopRecording();
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", userCount);
+        settings.put("duration", duration.toString());
+        settings.put("warmup", warmup.toString());
+        settings.put("mix", mix);
+        settings.put("thinkTime", thinkTime);
+        settings.put("lessons", lessonIds.size());
+
+        LoadReport report = new LoadReport(startedAt, measuredSeconds, settings, recorder.snapshot(measuredSeconds));
+        String reportFile = options.get("report", null);
+        if (reportFile != null) {
+            report.write(Path.of(reportFile));
+            System.out.println("Report written to " + reportFile);
+        }
+        return report;
+    }
+
+    // Génère les leçons manquantes avec le compte administrateur, puis relève leurs ids
+    private List<Long> seedLessons(int wanted) throws InterruptedException {
+        String adminToken = login(options.get("admin.username", "loadtest-admin"),
+                options.get("admin.password", "loadtest-admin"));
+        List<Long> lessonIds = lessonIds(adminToken);
+
+        if (lessonIds.size() < wanted) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int i = lessonIds.size(); i < wanted; i++) {
+                items.add(Map.of("topic", "Situation " + (i + 1), "difficultyLevel", "BEGINNER", "language", "fr"));
+            }
+            Response submitted = client.postJson("setup", "/admin/lessons/generation", adminToken,
+                    Map.of("items", items, "activate", true));
+            if (!submitted.isSuccess()) {
+                throw new IllegalStateException("Lesson generation rejected: HTTP " + submitted.status());
+            }
+            String jobId = submitted.json().path("jobId").asText();
+            System.out.printf("Generating %d lessons through the AI stubs (job %s)%n", items.size(), jobId);
+
+            long deadline = System.nanoTime() + Duration.ofMinutes(5).toNanos();
+            while (true) {
+                JsonNode status = client.get("setup", "/admin/lessons/generation/" + jobId, adminToken).json();
+                if (!"RUNNING".equals(status.path("status").asText("RUNNING"))) {
+                    System.out.printf("Lesson generation %s: %d completed, %d failed%n",
+                            status.path("status").asText(), status.path("completed").asInt(), status.path("failed").asInt());
+                    break;
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Lesson generation did not finish within 5 minutes");
+                }
+                Thread.sleep(1000);
+            }
+            lessonIds = lessonIds(adminToken);
+        }
+
+        if (lessonIds.isEmpty()) {
+            throw new IllegalStateException("No lessons available: is the backend running with the loadtest profile?");
+        }
+        return lessonIds;
+    }
+
+    private List<Long> lessonIds(String token) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String path = "/lessons/browse?language=fr&size=100"
+                    + (cursor != null ? "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8) : "");
+            JsonNode page = client.get("setup", path, token).json();
+            page.path("items").forEach(lesson -> ids.add(lesson.path("id").asLong()));
+            cursor = page.path("hasNext").asBoolean() ? page.path("nextCursor").asText() : null;
+        } while (cursor != null);
+        return ids;
+    }
+
+    // Inscription, ou connexion si le compte existe déjà d'une campagne précédente
+    private List<VirtualUser> registerUsers(int count, List<Long> lessonIds) {
+        String password = "loadtest-password";
+        List<VirtualUser> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String username = "loaduser" + i;
+            Map<String, Object> registration = new HashMap<>();
+            registration.put("username", username);
+            registration.put("email", username + "@dialectgame.local");
+            registration.put("password", password);
+            registration.put("firstName", "Load");
+            registration.put("lastName", "User " + i);
+
+            VirtualUser user = new VirtualUser(username, password, client, lessonIds);
+            Response registered = client.postJson("setup", "/auth/register", null, registration);
+            user.setAccessToken(registered.isSuccess()
+                    ? registered.json().path("accessToken").asText()
+                    : login(username, password));
+            users.add(user);
+        }
+        return users;
+    }
+
+    private String login(String username, String password) {
+        Response response = client.postJson("setup", "/auth/login", null,
+                Map.of("identifier", username, "password", password));
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("Login failed for " + username + ": HTTP " + response.status());
+        }
+        return response.json().path("accessToken").asText();
+    }
+
+    // "login:1,browse:6" : chaque scénario apparaît autant de fois que son poids
+    private static List<Scenario> weightedScenarios(String mix) {
+        List<Scenario> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Scenario scenario = SCENARIOS.get(parts[0]);
+            if (scenario == null) {
+                throw new IllegalArgumentException("Unknown scenario " + parts[0] + ", expected one of " + SCENARIOS.keySet());
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            for (int i = 0; i < weight; i++) {
+                weighted.add(scenario);
+            }
+        }
+        return weighted;
+    }
+}
@@ -0,0 +1,60 @@
+package com.dialectgame.loadtest;
+
+import com.dialectgame.loadtest.report.LoadReport;
+import com.dialectgame.loadtest.startup.StartupBenchmark;
+import com.dialectgame.loadtest.startup.StartupReport;
+import com.dialectgame.loadtest.stub.StubServers;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Point d'entrée du module de charge.
+ * <ul>
+ *   <li>{@code stubs} : démarre les serveurs IA factices jusqu'à l'arrêt du processus</li>
+ *   <li>{@code run} : joue les scénarios contre un backend démarré avec le profil loadtest</li>
+ *   <li>{@code all} : démarre les stubs dans ce processus puis joue les scénarios</li>
+ *   <li>{@code startup} : mesure le démarrage des variantes du backend (jar, AOT, CDS, natif)</li>
+ * </ul>
+ * Les options suivent la commande : --users=100 --duration=5m --openai.audio.failure-rate=0.02 ...
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadTest stubs|run|all|startup [--key=value ...]");
+            System.exit(2);
+        }
+        LoadTestOptions options = new LoadTestOptions(Arrays.copyOfRange(args, 1, args.length));
+
+        switch (args[0]) {
+            case "stubs" -> {
+                StubServers stubs = new StubServers(options);
+                stubs.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    System.out.print(stubs.summary());
+                    stubs.close();
+                }));
+                Thread.currentThread().join();
+            }
+            case "run" -> new LoadRunner(options).run().print(System.out);
+            case "all" -> {
+                try (StubServers stubs = new StubServers(options)) {
+                    stubs.start();
+                    LoadReport report = new LoadRunner(options).run();
+                    report.print(System.out);
+                    System.out.printf("%nAI stubs:%n%s", stubs.summary());
+                }
+            }
+            case "startup" -> {
+                StartupReport report = new StartupBenchmark(options).run();
+                report.print(System.out);
+                report.write(Path.of(options.get("report", "build/startup/report.json")));
+            }
+            default -> {
+                System.err.println("Unknown command " + args[0] + ", expected stubs, run, all or startup");
+                System.exit(2);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.dialectgame.loadtest.report;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latences par point d'accès (ex. "GET /lessons/{id}"), en microsecondes.
+ * Tous les échantillons sont conservés : les percentiles sont exacts, et une campagne de quelques
+ * minutes tient en quelques dizaines de Mo.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    // Les requêtes de la phase de chauffe ne sont pas comptées
+    public void startRecording() {
+        recording = true;
+    }
+
+    public void stopRecording() {
+        recording = false;
+    }
+
+    public void record(String endpoint, long micros, boolean success) {
+        if (recording) {
+            samples.computeIfAbsent(endpoint, key -> new Samples()).add(micros, success);
+        }
+    }
+
+    public Map<String, EndpointStats> snapshot(double measuredSeconds) {
+        Map<String, EndpointStats> stats = new TreeMap<>();
+        samples.forEach((endpoint, values) -> stats.put(endpoint, values.stats(measuredSeconds)));
+        return stats;
+    }
+
+    public record EndpointStats(long count, long errors, double throughput,
+                                double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long micros, boolean success) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = micros;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats stats(double measuredSeconds) {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(size, errors, size / measuredSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    size > 0 ? sorted[size - 1] / 1000.0 : 0);
+        }
+
+        // Méthode du rang le plus proche
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1000.0;
+        }
+    }
+}
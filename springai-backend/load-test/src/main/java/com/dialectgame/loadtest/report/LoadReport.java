@@ -0,0 +1,47 @@
+package com.dialectgame.loadtest.report;
+
+import com.dialectgame.loadtest.report.LatencyRecorder.EndpointStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rapport d'une campagne : débit, erreurs et p50/p95/p99 par point d'accès,
+ * affiché en tableau et écrit en JSON pour comparer deux versions.
+ */
+public record LoadReport(Instant startedAt, double measuredSeconds, Map<String, Object> settings,
+                         Map<String, EndpointStats> endpoints) {
+
+    public void print(PrintStream out) {
+        out.printf("%nLoad test: %.0f s measured, %s%n%n", measuredSeconds, settings);
+        out.printf("%-36s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        endpoints.forEach((endpoint, stats) -> out.printf("%-36s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint, stats.count(), stats.errors(), stats.throughput(),
+                stats.p50Millis(), stats.p95Millis(), stats.p99Millis(), stats.maxMillis()));
+
+        long total = endpoints.values().stream().mapToLong(EndpointStats::count).sum();
+        long errors = endpoints.values().stream().mapToLong(EndpointStats::errors).sum();
+        out.printf("%-36s %9d %7d %9.1f%n", "total", total, errors, total / measuredSeconds);
+    }
+
+    public void write(Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("startedAt", startedAt.toString());
+        json.put("measuredSeconds", measuredSeconds);
+        json.put("settings", settings);
+        json.put("endpoints", endpoints);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+}
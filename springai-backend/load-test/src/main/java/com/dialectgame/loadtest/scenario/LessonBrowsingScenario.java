@@ -0,0 +1,42 @@
+package com.dialectgame.loadtest.scenario;
+
+import com.dialectgame.loadtest.BackendClient;
+import com.dialectgame.loadtest.BackendClient.Response;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Navigation dans le catalogue : une à deux pages, une fiche de leçon,
+ * puis la phase courante et une phase au hasard du contenu.
+ */
+public class LessonBrowsingScenario implements Scenario {
+
+    private static final String[] PHASES = {"situation", "vocabulary", "exercises", "integration"};
+
+    @Override
+    public String name() {
+        return "browse";
+    }
+
+    @Override
+    public void iterate(VirtualUser user) {
+        BackendClient client = user.client();
+        String token = user.getAccessToken();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        Response page = client.get("GET /lessons/browse", "/lessons/browse?language=fr&size=20", token);
+        String cursor = page.json().path("nextCursor").asText(null);
+        if (cursor != null && random.nextBoolean()) {
+            client.get("GET /lessons/browse", "/lessons/browse?language=fr&size=20&cursor="
+                    + URLEncoder.encode(cursor, StandardCharsets.UTF_8), token);
+        }
+
+        long lessonId = user.randomLessonId();
+        client.get("GET /lessons/{id}", "/lessons/" + lessonId, token);
+        client.get("GET /lessons/{id}/content/current", "/lessons/" + lessonId + "/content/current", token);
+        client.get("GET /lessons/{id}/content/{phase}",
+                "/lessons/" + lessonId + "/content/" + PHASES[random.nextInt(PHASES.length)], token);
+    }
+}
@@ -0,0 +1,26 @@
+package com.dialectgame.loadtest.scenario;
+
+import com.dialectgame.loadtest.BackendClient.Response;
+
+import java.util.Map;
+
+/**
+ * Connexions répétées (BCrypt + émission de jetons), comme à l'ouverture de l'application
+ * par tous les élèves d'une classe en même temps.
+ */
+public class LoginStormScenario implements Scenario {
+
+    @Override
+    public String name() {
+        return "login";
+    }
+
+    @Override
+    public void iterate(VirtualUser user) {
+        Response response = user.client().postJson("POST /auth/login", "/auth/login", null,
+                Map.of("identifier", user.getUsername(), "password", user.getPassword()));
+        if (response.isSuccess()) {
+            user.setAccessToken(response.json().path("accessToken").asText());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.dialectgame.loadtest.scenario;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mises à jour de progression envoyées pendant une leçon, et de temps en temps
+ * un lot rejoué après une période hors ligne.
+ */
+public class ProgressUpdateScenario implements Scenario {
+
+    private static final String[] PHASES = {"SITUATION", "VOCABULARY", "EXERCISES", "INTEGRATION"};
+
+    @Override
+    public String name() {
+        return "progress";
+    }
+
+    @Override
+    public void iterate(VirtualUser user) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(10) == 0) {
+            List<Map<String, Object>> batch = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                batch.add(update(user.randomLessonId(), random));
+            }
+            user.client().postJson("POST /progress/batch", "/progress/batch", user.getAccessToken(), batch);
+        } else {
+            user.client().postJson("POST /progress", "/progress", user.getAccessToken(),
+                    update(user.randomLessonId(), random));
+        }
+    }
+
+    private static Map<String, Object> update(long lessonId, ThreadLocalRandom random) {
+        int phase = random.nextInt(PHASES.length);
+        double phaseProgress = random.nextInt(0, 101);
+        Map<String, Object> update = new HashMap<>();
+        update.put("lessonId", lessonId);
+        update.put("currentPhase", PHASES[phase]);
+        update.put("currentStep", random.nextInt(1, 8));
+        update.put("phaseProgress", phaseProgress);
+        update.put("overallProgress", (phase * 100 + phaseProgress) / PHASES.length);
+        update.put("status", "IN_PROGRESS");
+        update.put("score", random.nextInt(0, 101));
+        update.put("timeSpent", random.nextInt(30, 900));
+        update.put("attemptsCount", random.nextInt(1, 4));
+        update.put("mistakesCount", random.nextInt(0, 6));
+        return update;
+    }
+}
@@ -0,0 +1,12 @@
+package com.dialectgame.loadtest.scenario;
+
+/**
+ * Parcours joué en boucle par les utilisateurs simulés. Une itération enchaîne les requêtes
+ * d'une visite typique ; les latences sont enregistrées par le client.
+ */
+public interface Scenario {
+
+    String name();
+
+    void iterate(VirtualUser user);
+}
@@ -0,0 +1,50 @@
+package com.dialectgame.loadtest.scenario;
+
+import com.dialectgame.loadtest.BackendClient;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Utilisateur simulé : ses identifiants, son jeton courant et les leçons disponibles.
+ * Chaque utilisateur est joué par un seul thread virtuel.
+ */
+public class VirtualUser {
+
+    private final String username;
+    private final String password;
+    private final BackendClient client;
+    private final List<Long> lessonIds;
+    private String accessToken;
+
+    public VirtualUser(String username, String password, BackendClient client, List<Long> lessonIds) {
+        this.username = username;
+        this.password = password;
+        this.client = client;
+        this.lessonIds = lessonIds;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public BackendClient client() {
+        return client;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public long randomLessonId() {
+        return lessonIds.get(ThreadLocalRandom.current().nextInt(lessonIds.size()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.dialectgame.loadtest.scenario;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Envoi d'un enregistrement (WAV 16 kHz mono de 2 à 6 secondes) pour transcription, scoring
+ * et feedback, puis consultation de l'historique des sessions.
+ */
+public class VoiceUploadScenario implements Scenario {
+
+    private static final int SAMPLE_RATE = 16_000;
+    private static final byte[][] RECORDINGS = {wav(2), wav(4), wav(6)};
+
+    private static final String EXPECTED_TEXT = "Bonjour, je voudrais deux croissants et une baguette, s'il vous plaît.";
+
+    @Override
+    public String name() {
+        return "voice";
+    }
+
+    @Override
+    public void iterate(VirtualUser user) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, String> fields = Map.of(
+                "sessionType", "PRONUNCIATION",
+                "expectedText", EXPECTED_TEXT,
+                "language", "fr",
+                "lessonId", String.valueOf(user.randomLessonId()),
+                "enableFeedback", String.valueOf(random.nextBoolean()));
+
+        user.client().postMultipart("POST /voice/process", "/voice/process", user.getAccessToken(),
+                fields, "audio", "recording.wav", RECORDINGS[random.nextInt(RECORDINGS.length)]);
+        user.client().get("GET /voice/sessions", "/voice/sessions?size=10", user.getAccessToken());
+    }
+
+    // Sinusoïde à 220 Hz, PCM 16 bits : le contenu importe peu, seule la taille compte
+    private static byte[] wav(int seconds) {
+        int samples = SAMPLE_RATE * seconds;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes()).putInt(36 + samples * 2).put("WAVE".getBytes())
+                .put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2).putShort((short) 2).putShort((short) 16)
+                .put("data".getBytes()).putInt(samples * 2);
+        for (int i = 0; i < samples; i++) {
+            buffer.putShort((short) (Math.sin(2 * Math.PI * 220 * i / SAMPLE_RATE) * 8000));
+        }
+        return buffer.array();
+    }
+}
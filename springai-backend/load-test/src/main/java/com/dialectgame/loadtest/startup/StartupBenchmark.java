@@ -0,0 +1,202 @@
+package com.dialectgame.loadtest.startup;
+
+import com.dialectgame.loadtest.LoadTestOptions;
+import com.dialectgame.loadtest.startup.StartupReport.Sample;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Banc de démarrage : chaque variante du backend est lancée --runs fois ; on mesure le délai entre le
+ * lancement du processus et la première réponse 200 de /actuator/health/readiness, puis la mémoire
+ * résidente (RSS, lue dans /proc) une fois prête et après --settle de repos.
+ * <ul>
+ *   <li>{@code jar} : fat jar (bootJar)</li>
+ *   <li>{@code aot} : fat jar avec les classes AOT (-Dspring.aot.enabled=true)</li>
+ *   <li>{@code cds} : disposition extraite, AOT et archive AppCDS (cdsArchive)</li>
+ *   <li>{@code native} : image native (nativeCompile)</li>
+ * </ul>
+ * Profils production et standalone : ni base ni fournisseur IA. Une variante non construite est ignorée.
+ */
+public class StartupBenchmark {
+
+    private final Path backendDir;
+    private final List<String> variants;
+    private final int runs;
+    private final int port;
+    private final String profiles;
+    private final Duration timeout;
+    private final Duration settle;
+    private final Path logDir;
+    private final String java;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    public StartupBenchmark(LoadTestOptions options) {
+        this.backendDir = Path.of(options.get("backend-dir", "..")).toAbsolutePath().normalize();
+        this.variants = Arrays.asList(options.get("variants", "jar,aot,cds,native").split(","));
+        this.runs = options.getInt("runs", 5);
+        this.port = options.getInt("port", 18090);
+        this.profiles = options.get("profiles", "production,standalone");
+        this.timeout = options.getDuration("timeout", "2m");
+        this.settle = options.getDuration("settle", "5s");
+        this.logDir = Path.of(options.get("log-dir", "build/startup")).toAbsolutePath();
+        // Même JVM que l'entraînement CDS (celle de Gradle) : sinon l'archive est refusée
+        this.java = options.get("java", Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    }
+
+    public StartupReport run() throws IOException, InterruptedException {
+        Files.createDirectories(logDir);
+        Map<String, StartupReport.VariantStats> results = new LinkedHashMap<>();
+
+        for (String name : variants) {
+            Variant variant = variant(name.trim());
+            if (variant.missing() != null) {
+                System.out.printf("Skipping %s: %s not built%n", variant.name(), variant.missing());
+                continue;
+            }
+            List<Sample> samples = new ArrayList<>();
+            for (int run = 1; run <= runs; run++) {
+                Sample sample = measure(variant, run);
+                System.out.printf("%-7s run %d: ready in %.0f ms, RSS %.0f MB (idle %.0f MB)%n",
+                        variant.name(), run, sample.readyMillis(), sample.readyRssMb(), sample.idleRssMb());
+                samples.add(sample);
+            }
+            results.put(variant.name(), StartupReport.VariantStats.of(samples));
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("runs", runs);
+        settings.put("profiles", profiles);
+        settings.put("settle", settle.toString());
+        settings.put("java", java);
+        return new StartupReport(Instant.now(), settings, results);
+    }
+
+    private Variant variant(String name) throws IOException {
+        Path build = backendDir.resolve("build");
+        List<String> arguments = List.of("--server.port=" + port, "--spring.profiles.active=" + profiles);
+
+        return switch (name) {
+            case "jar", "aot" -> {
+                Path jar = bootJar(build.resolve("libs"));
+                if (jar == null) yield Variant.missing(name, "build/libs/*.jar (bootJar)");
+                List<String> command = new ArrayList<>(List.of(java));
+                if (name.equals("aot")) command.add("-Dspring.aot.enabled=true");
+                command.addAll(List.of("-jar", jar.toString()));
+                command.addAll(arguments);
+                yield new Variant(name, command, backendDir, null);
+            }
+            case "cds" -> {
+                Path cds = build.resolve("cds");
+                if (!Files.exists(cds.resolve("application.jsa"))) {
+                    yield Variant.missing(name, "build/cds/application.jsa (cdsArchive)");
+                }
+                // Même répertoire et même classpath relatif que l'entraînement ; -Xshare:on échoue si
+                // l'archive est refusée au lieu de mesurer silencieusement un démarrage sans CDS
+                List<String> command = new ArrayList<>(List.of(java, "-XX:SharedArchiveFile=application.jsa",
+                        "-Xshare:on", "-Dspring.aot.enabled=true", "-jar", "application.jar"));
+                command.addAll(arguments);
+                yield new Variant(name, command, cds, null);
+            }
+            case "native" -> {
+                Path image = build.resolve("native/nativeCompile/dialectgame");
+                if (!Files.isExecutable(image)) {
+                    yield Variant.missing(name, "build/native/nativeCompile/dialectgame (nativeCompile)");
+                }
+                List<String> command = new ArrayList<>(List.of(image.toString()));
+                command.addAll(arguments);
+                yield new Variant(name, command, backendDir, null);
+            }
+            default -> throw new IllegalArgumentException("Unknown variant " + name + ", expected jar, aot, cds or native");
+        };
+    }
+
+    private Sample measure(Variant variant, int run) throws IOException, InterruptedException {
+        Path log = logDir.resolve(variant.name() + "-" + run + ".log");
+        ProcessBuilder builder = new ProcessBuilder(variant.command())
+                .directory(variant.workingDir().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            double readyMillis = awaitReady(process, start, log);
+            double readyRss = rssMegabytes(process.pid());
+            Thread.sleep(settle.toMillis());
+            return new Sample(readyMillis, readyRss, rssMegabytes(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private double awaitReady(Process process, long start, Path log) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        long deadline = start + timeout.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with code " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return (System.nanoTime() - start) / 1_000_000.0;
+                }
+            } catch (IOException e) {
+                // Pas encore à l'écoute
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Backend not ready after " + timeout + ", see " + log);
+    }
+
+    // VmRSS de /proc/{pid}/status (Linux) ; -1 ailleurs
+    private static double rssMegabytes(long pid) {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("[^0-9]", "")))
+                    .findFirst()
+                    .orElse(-1024) / 1024.0;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static Path bootJar(Path libs) throws IOException {
+        if (!Files.isDirectory(libs)) return null;
+        try (Stream<Path> files = Files.list(libs)) {
+            return files.filter(file -> file.toString().endsWith(".jar") && !file.toString().endsWith("-plain.jar"))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    private record Variant(String name, List<String> command, Path workingDir, String missing) {
+
+        static Variant missing(String name, String artifact) {
+            return new Variant(name, List.of(), null, artifact);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.dialectgame.loadtest.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rapport du banc de démarrage : délai jusqu'à l'état prêt et RSS par variante,
+ * affiché en tableau (avec le gain par rapport au fat jar) et écrit en JSON.
+ */
+public record StartupReport(Instant startedAt, Map<String, Object> settings, Map<String, VariantStats> variants) {
+
+    public void print(PrintStream out) {
+        out.printf("%nStartup benchmark: %s%n%n", settings);
+        out.printf("%-8s %5s %12s %9s %9s %8s %14s %13s%n",
+                "variant", "runs", "ready p50 ms", "min ms", "max ms", "vs jar", "RSS ready MB", "RSS idle MB");
+        VariantStats baseline = variants.get("jar");
+        variants.forEach((variant, stats) -> out.printf("%-8s %5d %12.0f %9.0f %9.0f %8s %14.0f %13.0f%n",
+                variant, stats.runs(), stats.readyMedianMillis(), stats.readyMinMillis(), stats.readyMaxMillis(),
+                baseline != null ? String.format("x%.2f", baseline.readyMedianMillis() / stats.readyMedianMillis()) : "-",
+                stats.readyRssMb(), stats.idleRssMb()));
+    }
+
+    public void write(Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("startedAt", startedAt.toString());
+        json.put("settings", settings);
+        json.put("variants", variants);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+
+    public record Sample(double readyMillis, double readyRssMb, double idleRssMb) {
+    }
+
+    /**
+     * Médianes sur les exécutions : la première exécution d'une série (caches disque froids) ne fausse pas le résultat.
+     */
+    public record VariantStats(int runs, double readyMedianMillis, double readyMinMillis, double readyMaxMillis,
+                               double readyRssMb, double idleRssMb, List<Sample> samples) {
+
+        static VariantStats of(List<Sample> samples) {
+            double[] ready = samples.stream().mapToDouble(Sample::readyMillis).sorted().toArray();
+            return new VariantStats(samples.size(), median(ready), ready[0], ready[ready.length - 1],
+                    median(samples.stream().mapToDouble(Sample::readyRssMb).sorted().toArray()),
+                    median(samples.stream().mapToDouble(Sample::idleRssMb).sorted().toArray()),
+                    List.copyOf(samples));
+        }
+
+        private static double median(double[] sorted) {
+            int middle = sorted.length / 2;
+            return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+        }
+    }
+}
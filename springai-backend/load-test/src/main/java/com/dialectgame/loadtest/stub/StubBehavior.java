@@ -0,0 +1,54 @@
+package com.dialectgame.loadtest.stub;
+
+import com.dialectgame.loadtest.LoadTestOptions;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Comportement d'un serveur factice : distribution de latence et taux d'échec.
+ * Formats de latence :
+ * <ul>
+ *   <li>{@code fixed:200ms}</li>
+ *   <li>{@code uniform:100ms..400ms}</li>
+ *   <li>{@code lognormal:800ms..5s} (médiane..p99), la forme habituelle des temps de réponse d'un LLM</li>
+ * </ul>
+ */
+public record StubBehavior(String latency, double failureRate, int failureStatus,
+                           double minMillis, double maxMillis, double mu, double sigma) {
+
+    // Quantile 0.99 de la loi normale centrée réduite
+    private static final double Z_99 = 2.3263;
+
+    public static StubBehavior parse(String latency, double failureRate, int failureStatus) {
+        String[] kind = latency.split(":", 2);
+        String[] bounds = kind[1].split("\\.\\.");
+        double low = LoadTestOptions.parseDuration(bounds[0]).toNanos() / 1e6;
+        double high = bounds.length > 1 ? LoadTestOptions.parseDuration(bounds[1]).toNanos() / 1e6 : low;
+
+        return switch (kind[0]) {
+            case "fixed" -> new StubBehavior(latency, failureRate, failureStatus, low, low, 0, 0);
+            case "uniform" -> new StubBehavior(latency, failureRate, failureStatus, low, high, 0, 0);
+            case "lognormal" -> new StubBehavior(latency, failureRate, failureStatus, low, low,
+                    Math.log(low), Math.log(high / low) / Z_99);
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + latency);
+        };
+    }
+
+    public Duration sampleLatency() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double millis = sigma > 0
+                ? Math.exp(mu + sigma * random.nextGaussian())
+                : minMillis + (maxMillis - minMillis) * random.nextDouble();
+        return Duration.ofNanos((long) (millis * 1e6));
+    }
+
+    public boolean shouldFail() {
+        return failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+    }
+
+    @Override
+    public String toString() {
+        return latency + ", failure rate " + failureRate + " (HTTP " + failureStatus + ")";
+    }
+}
@@ -0,0 +1,91 @@
+package com.dialectgame.loadtest.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contenus renvoyés par les serveurs factices : une leçon JSON valide pour les prompts de génération
+ * (le backend la parse et la persiste), un feedback court sinon, et une transcription pour l'audio.
+ */
+final class StubContent {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static final String TRANSCRIPT = "Bonjour, je voudrais deux croissants et une baguette s'il vous plaît.";
+
+    private static final String FEEDBACK = """
+            Très bien ! Ta prononciation est claire et le rythme est naturel.
+            Attention à la liaison dans « deux croissants » et au « r » de « voudrais ».
+            Essaie de répéter la phrase en insistant sur « s'il vous plaît ».""";
+
+    private static final AtomicInteger LESSONS = new AtomicInteger();
+
+    private StubContent() {
+    }
+
+    // Le prompt de génération de leçon embarque le schéma JSON attendu
+    static String chatReply(String requestBody) {
+        return requestBody.contains("vocabularyWords") ? lessonJson() : FEEDBACK;
+    }
+
+    // Estimation grossière des jetons (4 caractères par jeton) pour les métadonnées d'usage
+    static int tokens(String text) {
+        return Math.max(1, text.length() / 4);
+    }
+
+    private static String lessonJson() {
+        int number = LESSONS.incrementAndGet();
+        ObjectNode lesson = MAPPER.createObjectNode()
+                .put("title", "À la boulangerie " + number)
+                .put("description", "Commander du pain et des viennoiseries.")
+                .put("estimatedDuration", 15)
+                .put("situationContext", "Vous entrez dans une boulangerie parisienne un samedi matin.")
+                .put("situationProblem", "Vous devez commander pour toute la famille.")
+                .put("situationMotivation", "Le petit-déjeuner vous attend.")
+                .put("integrationScenario", "Commander son petit-déjeuner.");
+
+        ArrayNode vocabulary = lesson.putArray("vocabularyWords");
+        String[][] words = {
+                {"boulangerie", "bu.lɑ̃.ʒʁi", "bakery"}, {"croissant", "kʁwa.sɑ̃", "croissant"},
+                {"baguette", "ba.ɡɛt", "baguette"}, {"pain au chocolat", "pɛ̃.o.ʃɔ.kɔ.la", "chocolate bread"},
+                {"s'il vous plaît", "sil.vu.plɛ", "please"}, {"combien", "kɔ̃.bjɛ̃", "how much"}};
+        for (String[] word : words) {
+            vocabulary.addObject()
+                    .put("word", word[0])
+                    .put("pronunciation", word[1])
+                    .put("translation", word[2])
+                    .put("definition", "Mot courant à la boulangerie.")
+                    .put("example", "Je voudrais un " + word[0] + ".")
+                    .put("difficulty", "EASY");
+        }
+
+        ArrayNode exercises = lesson.putArray("exercises");
+        for (String type : new String[]{"PRONUNCIATION", "TRANSLATION", "COMPREHENSION"}) {
+            ObjectNode exercise = exercises.addObject()
+                    .put("type", type)
+                    .put("question", "Comment dit-on « bread » en français ?")
+                    .put("expectedAnswer", "du pain");
+            exercise.putArray("options").add("du pain").add("du vin").add("du lait");
+        }
+
+        ArrayNode dialogue = lesson.putArray("integrationDialogue");
+        String[][] lines = {
+                {"NPC", "Bonjour, qu'est-ce que je vous sers ?"},
+                {"USER", "Je voudrais deux croissants, s'il vous plaît."},
+                {"NPC", "Et avec ceci ?"},
+                {"USER", "Une baguette bien cuite."}};
+        for (String[] line : lines) {
+            ObjectNode node = dialogue.addObject()
+                    .put("speaker", line[0])
+                    .put("text", line[1])
+                    .put("translation", "")
+                    .put("userTurn", "USER".equals(line[0]));
+            node.putArray("possibleResponses");
+        }
+
+        return lesson.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.dialectgame.loadtest.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Point d'accès factice : attend une latence tirée de la distribution configurée, échoue selon
+ * le taux configuré, sinon renvoie la réponse construite par la sous-classe.
+ */
+abstract class StubEndpoint implements HttpHandler {
+
+    private final String name;
+    private final StubBehavior behavior;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    protected StubEndpoint(String name, StubBehavior behavior) {
+        this.name = name;
+        this.behavior = behavior;
+    }
+
+    protected abstract Response respond(String requestBody);
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            requests.incrementAndGet();
+
+            try {
+                Thread.sleep(behavior.sampleLatency());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (behavior.shouldFail()) {
+                failures.incrementAndGet();
+                send(exchange, behavior.failureStatus(), "application/json",
+                        "{\"error\":{\"message\":\"stub failure\",\"type\":\"server_error\"}}"
+                                .getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            Response response = respond(body);
+            send(exchange, 200, response.contentType(), response.body().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    String summary() {
+        return String.format("%-28s %8d requests %6d failures  [%s]", name, requests.get(), failures.get(), behavior);
+    }
+
+    record Response(String contentType, String body) {
+
+        static Response json(Object node) {
+            return new Response("application/json", node.toString());
+        }
+
+        static Response text(String body) {
+            return new Response("text/plain", body);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] payload) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, payload.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(payload);
+        }
+    }
+}
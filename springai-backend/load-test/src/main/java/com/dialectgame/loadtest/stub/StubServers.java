@@ -0,0 +1,140 @@
+package com.dialectgame.loadtest.stub;
+
+import com.dialectgame.loadtest.LoadTestOptions;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Serveurs factices des fournisseurs IA, sur la boucle locale :
+ * <ul>
+ *   <li>Ollama : POST /api/chat (port --ollama.port, 18434 par défaut)</li>
+ *   <li>OpenAI : POST /v1/chat/completions et POST /v1/audio/transcriptions (port --openai.port, 18080)</li>
+ *   <li>Anthropic : POST /v1/messages (port --anthropic.port, 18081)</li>
+ * </ul>
+ * Chaque point d'accès a sa distribution de latence et son taux d'échec
+ * (--ollama.latency, --openai.chat.failure-rate, --openai.audio.latency, ...).
+ * Une requête bloquée en attente occupe un thread virtuel, pas un thread système.
+ */
+public class StubServers implements AutoCloseable {
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final List<StubEndpoint> endpoints = new ArrayList<>();
+
+    public StubServers(LoadTestOptions options) throws IOException {
+        HttpServer ollama = server(options.getInt("ollama.port", 18434));
+        register(ollama, "/api/chat", new StubEndpoint("ollama /api/chat",
+                behavior(options, "ollama", "lognormal:900ms..6s")) {
+            @Override
+            protected Response respond(String requestBody) {
+                String reply = StubContent.chatReply(requestBody);
+                ObjectNode response = StubContent.MAPPER.createObjectNode()
+                        .put("model", "llama3.1")
+                        .put("created_at", Instant.now().toString())
+                        .put("done", true)
+                        .put("prompt_eval_count", StubContent.tokens(requestBody))
+                        .put("eval_count", StubContent.tokens(reply));
+                response.putObject("message").put("role", "assistant").put("content", reply);
+                return Response.json(response);
+            }
+        });
+
+        HttpServer openAi = server(options.getInt("openai.port", 18080));
+        register(openAi, "/v1/chat/completions", new StubEndpoint("openai /v1/chat/completions",
+                behavior(options, "openai.chat", "lognormal:700ms..4s")) {
+            @Override
+            protected Response respond(String requestBody) {
+                String reply = StubContent.chatReply(requestBody);
+                int promptTokens = StubContent.tokens(requestBody);
+                int completionTokens = StubContent.tokens(reply);
+                ObjectNode response = StubContent.MAPPER.createObjectNode()
+                        .put("id", "chatcmpl-stub")
+                        .put("object", "chat.completion")
+                        .put("created", Instant.now().getEpochSecond())
+                        .put("model", "gpt-4o-mini");
+                ObjectNode choice = response.putArray("choices").addObject()
+                        .put("index", 0)
+                        .put("finish_reason", "stop");
+                choice.putObject("message").put("role", "assistant").put("content", reply);
+                response.putObject("usage")
+                        .put("prompt_tokens", promptTokens)
+                        .put("completion_tokens", completionTokens)
+                        .put("total_tokens", promptTokens + completionTokens);
+                return Response.json(response);
+            }
+        });
+        register(openAi, "/v1/audio/transcriptions", new StubEndpoint("openai /v1/audio/transcriptions",
+                behavior(options, "openai.audio", "lognormal:1200ms..5s")) {
+            @Override
+            protected Response respond(String requestBody) {
+                // response_format=text : la transcription brute, sinon {"text": ...}
+                if (requestBody.matches("(?s).*name=\"response_format\"\\s+text\\s.*")) {
+                    return Response.text(StubContent.TRANSCRIPT);
+                }
+                return Response.json(StubContent.MAPPER.createObjectNode().put("text", StubContent.TRANSCRIPT));
+            }
+        });
+
+        HttpServer anthropic = server(options.getInt("anthropic.port", 18081));
+        register(anthropic, "/v1/messages", new StubEndpoint("anthropic /v1/messages",
+                behavior(options, "anthropic", "lognormal:800ms..5s")) {
+            @Override
+            protected Response respond(String requestBody) {
+                String reply = StubContent.chatReply(requestBody);
+                ObjectNode response = StubContent.MAPPER.createObjectNode()
+                        .put("id", "msg_stub")
+                        .put("type", "message")
+                        .put("role", "assistant")
+                        .put("model", "claude-3-haiku-20240307")
+                        .put("stop_reason", "end_turn");
+                response.putArray("content").addObject().put("type", "text").put("text", reply);
+                response.putObject("usage")
+                        .put("input_tokens", StubContent.tokens(requestBody))
+                        .put("output_tokens", StubContent.tokens(reply));
+                return Response.json(response);
+            }
+        });
+    }
+
+    public void start() {
+        servers.forEach(HttpServer::start);
+        servers.forEach(server -> System.out.println("Stub listening on http://localhost:" + server.getAddress().getPort()));
+        endpoints.forEach(endpoint -> System.out.println("  " + endpoint.summary()));
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        endpoints.forEach(endpoint -> summary.append(endpoint.summary()).append(System.lineSeparator()));
+        return summary.toString();
+    }
+
+    @Override
+    public void close() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    private HttpServer server(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        servers.add(server);
+        return server;
+    }
+
+    private void register(HttpServer server, String path, StubEndpoint endpoint) {
+        server.createContext(path, endpoint);
+        endpoints.add(endpoint);
+    }
+
+    private static StubBehavior behavior(LoadTestOptions options, String prefix, String defaultLatency) {
+        return StubBehavior.parse(
+                options.get(prefix + ".latency", defaultLatency),
+                options.getDouble(prefix + ".failure-rate", 0.0),
+                options.getInt(prefix + ".failure-status", 503));
+    }
+}
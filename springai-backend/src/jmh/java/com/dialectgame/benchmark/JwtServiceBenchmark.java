@@ -0,0 +1,71 @@
+package com.dialectgame.benchmark;
+
+import com.dialectgame.model.entity.User;
+import com.dialectgame.service.auth.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chemin JWT exécuté à chaque requête authentifiée (JwtAuthenticationFilter) :
+ * validation du jeton d'accès puis extraction des claims, ainsi que l'émission au login.
+ * Le jeton est signé avec la même clé et les mêmes claims qu'en production.
+ *
+ * ./gradlew jmh -Pjmh.includes=JwtServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService("mySecretKey123456789012345678901234567890", 86_400_000L, 604_800_000L);
+        user = User.builder()
+                .id(421_337L)
+                .username("marie.dupont")
+                .email("marie.dupont@example.fr")
+                .roles(Set.of(User.Role.USER, User.Role.TEACHER))
+                .build();
+        accessToken = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public boolean isValidAccessToken() {
+        return jwtService.isValidAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(accessToken);
+    }
+
+    // Ce que fait le filtre pour un jeton valide : validation puis extraction
+    @Benchmark
+    public Long authenticateRequest() {
+        return jwtService.isValidAccessToken(accessToken) ? jwtService.extractUserId(accessToken) : null;
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(user);
+    }
+}
@@ -0,0 +1,159 @@
+package com.dialectgame.benchmark;
+
+import com.dialectgame.model.entity.LessonContent;
+import com.dialectgame.service.lesson.codec.LessonContentCodec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecture d'un contenu de leçon : JSONB (texte JSON désérialisé par Jackson, comme le fait
+ * Hibernate au chargement de l'entité) contre le format binaire Smile, complet ou pour une seule phase.
+ * Les tailles encodées sont affichées au setup.
+ *
+ * ./gradlew jmh -Pjmh.includes=LessonContentCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LessonContentCodecBenchmark {
+
+    // Nombre d'éléments par phase : leçon courte / leçon typique / leçon longue
+    @Param({"5", "20", "60"})
+    private int items;
+
+    private final LessonContentCodec codec = new LessonContentCodec();
+
+    private ObjectReader vocabularyJsonReader;
+    private ObjectReader exercisesJsonReader;
+    private ObjectReader dialogueJsonReader;
+
+    private byte[] vocabularyJson;
+    private byte[] exercisesJson;
+    private byte[] dialogueJson;
+
+    private byte[] vocabularySmile;
+    private byte[] exercisesSmile;
+    private byte[] dialogueSmile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        vocabularyJsonReader = json.readerFor(new TypeReference<List<LessonContent.VocabularyWord>>() {});
+        exercisesJsonReader = json.readerFor(new TypeReference<List<LessonContent.Exercise>>() {});
+        dialogueJsonReader = json.readerFor(new TypeReference<List<LessonContent.DialogueLine>>() {});
+
+        LessonContent content = sampleContent(items);
+        vocabularyJson = json.writeValueAsBytes(content.getVocabularyWords());
+        exercisesJson = json.writeValueAsBytes(content.getExercises());
+        dialogueJson = json.writeValueAsBytes(content.getIntegrationDialogue());
+
+        codec.encodeInto(content);
+        vocabularySmile = content.getVocabularyWordsSmile();
+        exercisesSmile = content.getExercisesSmile();
+        dialogueSmile = content.getIntegrationDialogueSmile();
+
+        System.out.printf("%n[items=%d] JSON: %d bytes, Smile: %d bytes%n", items,
+                vocabularyJson.length + exercisesJson.length + dialogueJson.length,
+                vocabularySmile.length + exercisesSmile.length + dialogueSmile.length);
+    }
+
+    @Benchmark
+    public void jsonbFullContent(Blackhole blackhole) throws Exception {
+        blackhole.consume(vocabularyJsonReader.readValue(vocabularyJson));
+        blackhole.consume(exercisesJsonReader.readValue(exercisesJson));
+        blackhole.consume(dialogueJsonReader.readValue(dialogueJson));
+    }
+
+    @Benchmark
+    public void smileFullContent(Blackhole blackhole) {
+        blackhole.consume(codec.decodeVocabulary(vocabularySmile));
+        blackhole.consume(codec.decodeExercises(exercisesSmile));
+        blackhole.consume(codec.decodeDialogue(dialogueSmile));
+    }
+
+    // L'entité décode toutes les colonnes JSONB même quand une seule phase est affichée
+    @Benchmark
+    public void jsonbSinglePhase(Blackhole blackhole) throws Exception {
+        jsonbFullContent(blackhole);
+    }
+
+    @Benchmark
+    public Object smileSinglePhase() {
+        return codec.decodeExercises(exercisesSmile);
+    }
+
+    @Benchmark
+    public byte[] smileEncode() {
+        return codec.encode(codec.decodeExercises(exercisesSmile));
+    }
+
+    static LessonContent sampleContent(int items) {
+        List<LessonContent.VocabularyWord> vocabulary = new ArrayList<>(items);
+        List<LessonContent.Exercise> exercises = new ArrayList<>(items);
+        List<LessonContent.DialogueLine> dialogue = new ArrayList<>(items);
+
+        for (int i = 0; i < items; i++) {
+            vocabulary.add(LessonContent.VocabularyWord.builder()
+                    .word("boulangerie " + i)
+                    .pronunciation("bu.lɑ̃.ʒʁi")
+                    .translation("bakery " + i)
+                    .definition("Commerce où l'on fabrique et vend du pain.")
+                    .example("Je vais à la boulangerie acheter une baguette.")
+                    .audioUrl("https://cdn.dialectgame.com/audio/vocabulary/" + i + ".mp3")
+                    .imageUrl("https://cdn.dialectgame.com/images/vocabulary/" + i + ".png")
+                    .difficulty(i % 2 == 0 ? "EASY" : "MEDIUM")
+                    .build());
+
+            exercises.add(LessonContent.Exercise.builder()
+                    .id("ex-" + i)
+                    .type(i % 3 == 0 ? "PRONUNCIATION" : i % 3 == 1 ? "TRANSLATION" : "COMPREHENSION")
+                    .question("Comment dit-on « bread » en français ?")
+                    .expectedAnswer("du pain")
+                    .options(List.of("du pain", "du vin", "du lait", "du beurre"))
+                    .audioUrl("https://cdn.dialectgame.com/audio/exercises/" + i + ".mp3")
+                    .metadata(Map.of("points", 10, "timeLimit", 30, "hint", "Pensez à la boulangerie"))
+                    .build());
+
+            dialogue.add(LessonContent.DialogueLine.builder()
+                    .id("line-" + i)
+                    .speaker(i % 2 == 0 ? "NPC" : "USER")
+                    .text("Bonjour, je voudrais deux croissants, s'il vous plaît.")
+                    .translation("Hello, I would like two croissants, please.")
+                    .audioUrl("https://cdn.dialectgame.com/audio/dialogue/" + i + ".mp3")
+                    .isUserTurn(i % 2 == 1)
+                    .possibleResponses(List.of("Bien sûr.", "Autre chose ?"))
+                    .metadata(Map.of("emotion", "friendly"))
+                    .build());
+        }
+
+        return LessonContent.builder()
+                .situationContext("Vous entrez dans une boulangerie parisienne.")
+                .vocabularyWords(vocabulary)
+                .exercises(exercises)
+                .integrationScenario("Commander son petit-déjeuner.")
+                .integrationDialogue(dialogue)
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.dialectgame.benchmark;
+
+import com.dialectgame.model.dto.lesson.LessonDto;
+import com.dialectgame.model.entity.Lesson;
+import com.dialectgame.model.entity.User;
+import com.dialectgame.service.mapper.LessonMapper;
+import com.dialectgame.service.mapper.UserMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mappers MapStruct des réponses les plus fréquentes : liste de leçons (catalogue),
+ * leçon avec contenu complet, profil utilisateur et conversion inverse DTO vers entité.
+ *
+ * ./gradlew jmh -Pjmh.includes=MapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    // Éléments par phase du contenu (voir LessonContentCodecBenchmark)
+    @Param({"5", "20"})
+    private int items;
+
+    private final LessonMapper lessonMapper = Mappers.getMapper(LessonMapper.class);
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    private List<Lesson> catalog;
+    private Lesson lessonWithContent;
+    private LessonDto lessonDto;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Une page de catalogue : 20 leçons sans contenu
+        catalog = new ArrayList<>(20);
+        for (int i = 0; i < 20; i++) {
+            catalog.add(lesson(i));
+        }
+
+        lessonWithContent = lesson(0);
+        lessonWithContent.setContent(LessonContentCodecBenchmark.sampleContent(items));
+        lessonDto = lessonMapper.toDtoWithContent(lessonWithContent);
+
+        user = User.builder()
+                .id(421_337L)
+                .username("marie.dupont")
+                .email("marie.dupont@example.fr")
+                .firstName("Marie")
+                .lastName("Dupont")
+                .preferredLanguage("fr")
+                .voiceEnabled(true)
+                .difficultyLevel(User.DifficultyLevel.INTERMEDIATE)
+                .roles(Set.of(User.Role.USER))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public List<LessonDto> lessonCatalogPage() {
+        List<LessonDto> page = new ArrayList<>(catalog.size());
+        for (Lesson lesson : catalog) {
+            page.add(lessonMapper.toDto(lesson));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public LessonDto lessonWithContent() {
+        return lessonMapper.toDtoWithContent(lessonWithContent);
+    }
+
+    @Benchmark
+    public Lesson lessonToEntity() {
+        return lessonMapper.toEntity(lessonDto);
+    }
+
+    @Benchmark
+    public Object userToDto() {
+        return userMapper.toDto(user);
+    }
+
+    private static Lesson lesson(int i) {
+        return Lesson.builder()
+                .id((long) i + 1)
+                .title("À la boulangerie " + i)
+                .description("Commander du pain et des viennoiseries dans une boulangerie parisienne.")
+                .difficultyLevel(User.DifficultyLevel.BEGINNER)
+                .language("fr")
+                .order(i + 1)
+                .chapterId(1L)
+                .estimatedDuration(15)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.dialectgame.benchmark;
+
+import com.dialectgame.service.voice.phonetic.PhoneticScorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score de prononciation phonétique d'un énoncé : conversion de la transcription en phonèmes
+ * et alignement pondéré sur les phonèmes attendus (précalculés, comme pour un exercice de leçon).
+ * Objectif : bien en dessous d'une milliseconde par énoncé.
+ *
+ * ./gradlew jmh -Pjmh.includes=PhoneticScoringBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhoneticScoringBenchmark {
+
+    private static final String PHRASE = "Je voudrais un café, s'il vous plaît.";
+
+    private static final String DIALOGUE = "Bonjour madame, je voudrais deux croissants et une baguette "
+            + "bien cuite, s'il vous plaît. Est-ce que vous avez aussi des pains au chocolat ?";
+
+    private static final String DICTATION = "Ce matin-là, Paul se leva de bonne heure. Il ouvrit les volets "
+            + "et regarda la rue encore endormie. Le boulanger du coin levait son rideau de fer pendant que "
+            + "le marchand de journaux installait ses présentoirs. Paul s'habilla rapidement, prit son "
+            + "manteau et descendit l'escalier en faisant attention à ne pas réveiller ses voisins.";
+
+    @Param({"phrase", "dialogue", "dictation"})
+    private String size;
+
+    private PhoneticScorer scorer;
+    private String expected;
+    private String transcribed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scorer = new PhoneticScorer(true, 1_000, "fr", List.of("fr", "en", "es", "de"));
+        expected = switch (size) {
+            case "phrase" -> PHRASE;
+            case "dialogue" -> DIALOGUE;
+            default -> DICTATION;
+        };
+        // Confusions typiques d'apprenant : é/è, nasales, e muet prononcé ou avalé
+        transcribed = expected
+                .replace("voudrais", "voudré")
+                .replace("bien", "bian")
+                .replace("matin", "matan")
+                .replace("boulanger", "boulangé")
+                .replace("le ", "l' ");
+        scorer.precompute("fr", expected);
+    }
+
+    @Benchmark
+    public double score() {
+        return scorer.score("fr", expected, transcribed);
+    }
+}
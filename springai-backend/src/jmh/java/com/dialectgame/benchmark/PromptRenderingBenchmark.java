@@ -0,0 +1,59 @@
+package com.dialectgame.benchmark;
+
+import com.dialectgame.service.ai.prompt.CompiledPrompt;
+import com.dialectgame.service.ai.prompt.PromptId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendu du prompt de génération de leçon, compilé une fois comme le fait le registre au démarrage.
+ * {@code compileAndRender} mesure ce que coûterait une analyse du modèle à chaque appel.
+ *
+ * ./gradlew jmh -Pjmh.includes=PromptRenderingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptRenderingBenchmark {
+
+    private static final String SCHEMA = "{\"title\": \"...\", \"exercises\": [{\"id\": \"ex1\", \"type\": \"PRONUNCIATION\"}]}";
+
+    private String template;
+    private CompiledPrompt compiled;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/prompts/lesson-content/v1/default.st")) {
+            template = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        compiled = CompiledPrompt.compile(PromptId.LESSON_CONTENT, "v1", null, template);
+    }
+
+    @Benchmark
+    public String render() {
+        return compiled.render("Au café", "BEGINNER", "fr", SCHEMA, "");
+    }
+
+    @Benchmark
+    public String compileAndRender() {
+        return CompiledPrompt.compile(PromptId.LESSON_CONTENT, "v1", null, template)
+                .render("Au café", "BEGINNER", "fr", SCHEMA, "");
+    }
+}
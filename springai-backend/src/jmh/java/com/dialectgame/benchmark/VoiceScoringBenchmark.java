@@ -0,0 +1,108 @@
+package com.dialectgame.benchmark;
+
+import com.dialectgame.service.voice.TranscriptAnalyzer;
+import com.dialectgame.service.voice.VoiceScoring;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores d'une transcription : similarité (Levenshtein), confiance et fluidité,
+ * sur une phrase courte, une réplique de dialogue et une dictée longue.
+ * Le texte transcrit diffère du texte attendu par quelques erreurs typiques de reconnaissance.
+ *
+ * ./gradlew jmh -Pjmh.includes=VoiceScoringBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VoiceScoringBenchmark {
+
+    private static final String PHRASE = "Je voudrais un café, s'il vous plaît.";
+
+    private static final String DIALOGUE = "Bonjour madame, je voudrais deux croissants et une baguette "
+            + "bien cuite, s'il vous plaît. Est-ce que vous avez aussi des pains au chocolat ?";
+
+    private static final String DICTATION = "Ce matin-là, Paul se leva de bonne heure. Il ouvrit les volets "
+            + "et regarda la rue encore endormie. Le boulanger du coin levait son rideau de fer pendant que "
+            + "le marchand de journaux installait ses présentoirs. Paul s'habilla rapidement, prit son "
+            + "manteau et descendit l'escalier en faisant attention à ne pas réveiller ses voisins. Dehors, "
+            + "l'air était frais et sentait le pain chaud. Il acheta une baguette et deux croissants, puis "
+            + "s'assit à la terrasse du café pour lire le journal. Le serveur lui apporta un grand crème "
+            + "sans qu'il ait besoin de le commander : il connaissait ses habitudes depuis des années. "
+            + "Paul sourit, tourna les pages et se dit que la journée commençait plutôt bien.";
+
+    @Param({"phrase", "dialogue", "dictation"})
+    private String size;
+
+    private String expected;
+    private String transcribed;
+    private String expectedLower;
+    private String transcribedLower;
+    private long durationMs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        expected = switch (size) {
+            case "phrase" -> PHRASE;
+            case "dialogue" -> DIALOGUE;
+            default -> DICTATION;
+        };
+        // Erreurs de transcription courantes : homophones, élisions, ponctuation perdue
+        transcribed = expected
+                .replace("voudrais", "voudrai")
+                .replace("s'il vous plaît", "sil vous plait")
+                .replace("croissants", "croissant")
+                .replace("sentait", "sentais")
+                .replace(",", "");
+        expectedLower = expected.toLowerCase();
+        transcribedLower = transcribed.toLowerCase();
+        // Débit de 170 mots par minute
+        durationMs = expected.split("\\s+").length * 60_000L / 170;
+    }
+
+    @Benchmark
+    public int levenshteinDistance() {
+        return VoiceScoring.levenshteinDistance(expectedLower, transcribedLower);
+    }
+
+    @Benchmark
+    public double textSimilarity() {
+        return VoiceScoring.textSimilarity(transcribed, expected);
+    }
+
+    @Benchmark
+    public double confidenceScore() {
+        return VoiceScoring.confidenceScore(transcribed);
+    }
+
+    @Benchmark
+    public double fluencyScore() {
+        return VoiceScoring.fluencyScore(transcribed, durationMs);
+    }
+
+    // Étape SCORE du pipeline : les quatre scores d'une session sur une seule analyse
+    @Benchmark
+    public double allScores() {
+        TranscriptAnalyzer transcript = TranscriptAnalyzer.of(transcribed);
+        double accuracy = transcript.similarityTo(expected);
+        double confidence = VoiceScoring.confidenceScore(transcript);
+        double pronunciation = (accuracy + confidence) / 2.0;
+        double fluency = VoiceScoring.fluencyScore(transcript, durationMs);
+        return accuracy + confidence + pronunciation + fluency;
+    }
+}
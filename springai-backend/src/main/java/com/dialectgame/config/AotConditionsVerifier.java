@@ -0,0 +1,63 @@
+package com.dialectgame.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Avec les classes AOT (-Dspring.aot.enabled=true), les @ConditionalOnProperty ont été évalués à la
+ * construction (processAot) : les beans présents ne suivent plus les propriétés d'exécution. Le démarrage
+ * échoue si une propriété conditionnelle contredit les beans générés, avant toute création de bean.
+ */
+public class AotConditionsVerifier implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    // Propriété (havingValue = "true") -> bean qu'elle conditionne
+    static final Map<String, String> CONDITIONS = Map.of(
+            "app.datasource.replicas.enabled", "dataSourceRoutingConfig",
+            "app.ai.enable-fallback", "fallbackChatModel"
+    );
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (AotDetector.useGeneratedArtifacts()) {
+            verify(beanFactory);
+        }
+    }
+
+    void verify(ConfigurableListableBeanFactory beanFactory) {
+        List<String> mismatches = new ArrayList<>();
+        CONDITIONS.forEach((property, bean) -> {
+            boolean expected = "true".equalsIgnoreCase(environment.getProperty(property, "false").trim());
+            if (expected != beanFactory.containsBeanDefinition(bean)) {
+                mismatches.add(property + "=" + expected + " (bean " + bean
+                        + (expected ? " absent" : " present") + " in the AOT build)");
+            }
+        });
+
+        if (!mismatches.isEmpty()) {
+            throw new AotConditionsMismatchException("Runtime properties differ from the AOT build: "
+                    + String.join(", ", mismatches)
+                    + ". Rebuild with matching -Paot.profiles/-Paot.args or start without -Dspring.aot.enabled=true");
+        }
+    }
+
+    public static class AotConditionsMismatchException extends IllegalStateException {
+        public AotConditionsMismatchException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.dialectgame.config;
+
+import jakarta.persistence.Entity;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Indications d'exécution pour l'image native (./gradlew nativeCompile). Les types liés par réflexion
+ * que l'analyse AOT de Spring ne voit pas depuis les signatures des contrôleurs y sont déclarés ;
+ * les bibliothèques tierces s'appuient sur le dépôt de métadonnées GraalVM (build.gradle).
+ * Les conditions figées par l'AOT sont vérifiées au démarrage ({@link AotConditionsVerifier}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(AotRuntimeHintsConfig.ApplicationRuntimeHints.class)
+public class AotRuntimeHintsConfig {
+
+    // Statique : post-processeur de fabrique, créé avant la configuration
+    @Bean
+    static AotConditionsVerifier aotConditionsVerifier() {
+        return new AotConditionsVerifier();
+    }
+
+    static class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+        // Types relus en JSON hors des contrôleurs : points de reprise, journal de progression, réponse du modèle
+        private static final String[] JSON_TYPES = {
+                "com.dialectgame.service.lesson.generation.GeneratedLesson",
+                "com.dialectgame.service.lesson.generation.LessonGenerationJob",
+                "com.dialectgame.service.progress.PendingProgress"
+        };
+
+        // Types de requête et de réponse des API des fournisseurs, (dé)sérialisés par les clients Spring AI
+        private static final String[] SPRING_AI_API_PACKAGES = {
+                "org.springframework.ai.openai.api",
+                "org.springframework.ai.ollama.api",
+                "org.springframework.ai.anthropic.api"
+        };
+
+        private static final TypeFilter ALL = (reader, factory) -> true;
+
+        private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Entités JPA (accès aux champs par Hibernate) ; DTO, types imbriqués et builders Lombok (Jackson)
+            for (Class<?> entity : scan(classLoader, "com.dialectgame.model.entity", new AnnotationTypeFilter(Entity.class))) {
+                hints.reflection().registerType(entity, MemberCategory.values());
+            }
+            bindingHints.registerReflectionHints(hints.reflection(),
+                    scan(classLoader, "com.dialectgame.model", ALL).toArray(Class<?>[]::new));
+
+            for (String type : JSON_TYPES) {
+                bindingHints.registerReflectionHints(hints.reflection(), load(type, classLoader));
+            }
+
+            // Mappers MapStruct (@Mapper n'est pas conservé à l'exécution) : implémentations générées {Mapper}Impl,
+            // également instanciables par Mappers.getMapper
+            for (Class<?> mapper : scan(classLoader, "com.dialectgame.service.mapper", ALL)) {
+                String implementation = mapper.getName() + "Impl";
+                if (mapper.isInterface() && ClassUtils.isPresent(implementation, classLoader)) {
+                    hints.reflection().registerType(TypeReference.of(implementation),
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+                }
+            }
+
+            for (String apiPackage : SPRING_AI_API_PACKAGES) {
+                bindingHints.registerReflectionHints(hints.reflection(),
+                        scan(classLoader, apiPackage, ALL).toArray(Class<?>[]::new));
+            }
+
+            // Fournisseur JCache déclaré par son nom dans hibernate.javax.cache.provider
+            hints.reflection().registerType(
+                    TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            hints.resources()
+                    .registerPattern("prompts/*/*/*.st")
+                    .registerPattern("prompts/*/versions.properties")
+                    .registerPattern("application.conf");
+        }
+
+        // Classes du paquet, imbriquées comprises, retenues par le filtre
+        private static List<Class<?>> scan(ClassLoader classLoader, String basePackage, TypeFilter filter) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    return beanDefinition.getMetadata().isIndependent();
+                }
+            };
+            scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+            scanner.addIncludeFilter(filter);
+
+            List<Class<?>> types = new ArrayList<>();
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                types.add(load(candidate.getBeanClassName(), classLoader));
+            }
+            return types;
+        }
+
+        private static Class<?> load(String type, ClassLoader classLoader) {
+            return ClassUtils.resolveClassName(type, classLoader);
+        }
+    }
+}
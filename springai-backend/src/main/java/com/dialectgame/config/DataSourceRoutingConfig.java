@@ -0,0 +1,119 @@
+package com.dialectgame.config;
+
+import com.dialectgame.datasource.ReadYourWritesTracker;
+import com.dialectgame.datasource.ReplicaLagMonitor;
+import com.dialectgame.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routage lecture/écriture : un pool primaire et un pool par réplica, chacun avec ses métriques
+ * Hikari (tag pool). Activé par app.datasource.replicas.enabled, sinon la datasource unique
+ * auto-configurée par Spring Boot est utilisée.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Value("${app.datasource.replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replicas.username:}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replicas.password:}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replicas.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replicas.connection-timeout:2s}")
+    private Duration replicaConnectionTimeout;
+
+    @Value("${app.datasource.replicas.max-lag:2s}")
+    private Duration maxLag;
+
+    @Value("${app.datasource.replicas.receiver-timeout:60s}")
+    private Duration receiverTimeout;
+
+    @Bean(destroyMethod = "")
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties, Environment environment,
+                                               MeterRegistry meterRegistry) {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String url = replicaUrls.get(i).trim();
+            if (url.isEmpty()) {
+                continue;
+            }
+
+            HikariConfig config = baseConfig(properties, environment, meterRegistry);
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(url);
+            config.setReadOnly(true);
+            config.setMaximumPoolSize(replicaPoolSize);
+            config.setMinimumIdle(Math.min(config.getMinimumIdle(), replicaPoolSize));
+            config.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+            // Un réplica indisponible au démarrage ne doit pas empêcher l'application de démarrer
+            config.setInitializationFailTimeout(-1);
+            if (!replicaUsername.isBlank()) {
+                config.setUsername(replicaUsername);
+                config.setPassword(replicaPassword);
+            }
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+
+        log.info("Read/write routing enabled with {} read replica(s), max lag {}", replicas.size(), maxLag);
+        return new ReplicaLagMonitor(replicas, maxLag, receiverTimeout, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                             ReplicaLagMonitor replicaLagMonitor,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             MeterRegistry meterRegistry) {
+        HikariConfig config = baseConfig(properties, environment, meterRegistry);
+        config.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return new ReplicaRoutingDataSource(new HikariDataSource(config),
+                replicaLagMonitor, readYourWritesTracker, meterRegistry);
+    }
+
+    // Connexion réelle obtenue au premier ordre SQL, quand le caractère lecture seule de la transaction est connu
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Réglages spring.datasource.* et spring.datasource.hikari.*, communs au primaire et aux réplicas
+    private HikariConfig baseConfig(DataSourceProperties properties, Environment environment,
+                                    MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(config));
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return config;
+    }
+}
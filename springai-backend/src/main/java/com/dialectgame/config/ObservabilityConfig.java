@@ -0,0 +1,17 @@
+package com.dialectgame.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+@Configuration
+public class ObservabilityConfig {
+
+    // Appliqué par Spring Boot à l'exécuteur @Async : l'observation (et le span) de la requête HTTP
+    // restent courants dans le thread asynchrone, les étapes du pipeline vocal s'y rattachent
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+}
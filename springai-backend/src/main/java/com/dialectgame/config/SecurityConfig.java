@@ -46,9 +46,11 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 // Public endpoints
                 .requestMatchers("/auth/**").permitAll()
-                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness").permitAll()
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
+                // Renvoi d'erreur (sendError) : sans contexte JWT, le statut d'origine deviendrait un 401
+                .requestMatchers("/error").permitAll()
                 
                 // Protected endpoints
                 .requestMatchers("/lessons/**").authenticated()
@@ -58,6 +60,8 @@ public class SecurityConfig {
                 
                 // Admin endpoints
                 .requestMatchers("/admin/**").hasRole("ADMIN")
+                // Statistiques et invalidation du cache du catalogue
+                .requestMatchers("/actuator/lessoncatalog").hasRole("ADMIN")
                 
                 .anyRequest().authenticated()
             )
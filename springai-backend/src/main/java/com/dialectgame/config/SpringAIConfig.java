@@ -1,11 +1,11 @@
 package com.dialectgame.config;
 
-import org.springframework.ai.anthropic.AnthropicChatModel;
+import com.dialectgame.service.ai.AIProviderRegistry;
 import org.springframework.ai.chat.model.ChatModel;
-import org.springframework.ai.ollama.OllamaChatModel;
-import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.audio.transcription.OpenAiTranscriptionModel;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,53 +14,49 @@ import org.springframework.context.annotation.Primary;
 @Configuration
 public class SpringAIConfig {
 
+    private static final String SPRING_AI_AUTOCONFIGURE = "org.springframework.ai.autoconfigure.";
+
     @Value("${app.ai.provider:ollama}")
     private String primaryProvider;
 
     @Value("${app.ai.fallback-provider:openai}")
     private String fallbackProvider;
 
-    @Value("${app.ai.enable-fallback:true}")
-    private boolean enableFallback;
-
+    /**
+     * Les auto-configurations Spring AI créeraient au démarrage les clients des trois fournisseurs :
+     * leurs beans deviennent paresseux, AIProviderRegistry ne crée que ceux qui servent.
+     */
     @Bean
-    @Primary
-    @ConditionalOnProperty(name = "app.ai.provider", havingValue = "ollama", matchIfMissing = true)
-    public ChatModel primaryOllamaChatModel(OllamaChatModel ollamaChatModel) {
-        return ollamaChatModel;
-    }
-
-    @Bean
-    @Primary
-    @ConditionalOnProperty(name = "app.ai.provider", havingValue = "openai")
-    public ChatModel primaryOpenAiChatModel(OpenAiChatModel openAiChatModel) {
-        return openAiChatModel;
+    public static BeanFactoryPostProcessor lazySpringAiClients() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                String factoryBean = beanFactory.getBeanDefinition(name).getFactoryBeanName();
+                if (factoryBean == null || !beanFactory.containsBeanDefinition(factoryBean)) {
+                    continue;
+                }
+                BeanDefinition declaring = beanFactory.getBeanDefinition(factoryBean);
+                if (declaring.getBeanClassName() != null
+                        && declaring.getBeanClassName().startsWith(SPRING_AI_AUTOCONFIGURE)) {
+                    beanFactory.getBeanDefinition(name).setLazyInit(true);
+                }
+            }
+        };
     }
 
     @Bean
     @Primary
-    @ConditionalOnProperty(name = "app.ai.provider", havingValue = "anthropic")
-    public ChatModel primaryAnthropicChatModel(AnthropicChatModel anthropicChatModel) {
-        return anthropicChatModel;
+    public ChatModel primaryChatModel(AIProviderRegistry registry) {
+        return registry.chatModel(primaryProvider);
     }
 
     @Bean("fallbackChatModel")
     @ConditionalOnProperty(name = "app.ai.enable-fallback", havingValue = "true")
-    public ChatModel fallbackChatModel(
-            OpenAiChatModel openAiChatModel,
-            OllamaChatModel ollamaChatModel,
-            AnthropicChatModel anthropicChatModel) {
-        
-        return switch (fallbackProvider.toLowerCase()) {
-            case "openai" -> openAiChatModel;
-            case "anthropic" -> anthropicChatModel;
-            case "ollama" -> ollamaChatModel;
-            default -> openAiChatModel;
-        };
+    public ChatModel fallbackChatModel(AIProviderRegistry registry) {
+        return registry.chatModel(fallbackProvider);
     }
 
     @Bean
     public OpenAiTranscriptionModel transcriptionModel() {
         return new OpenAiTranscriptionModel();
     }
-}
\ No newline at end of file
+}
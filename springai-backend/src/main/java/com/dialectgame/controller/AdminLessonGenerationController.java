@@ -0,0 +1,51 @@
+package com.dialectgame.controller;
+
+import com.dialectgame.model.dto.lesson.LessonGenerationRequest;
+import com.dialectgame.model.dto.lesson.LessonGenerationStatus;
+import com.dialectgame.service.lesson.generation.LessonGenerationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/lessons/generation")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Administration endpoints")
+public class AdminLessonGenerationController {
+
+    private final LessonGenerationService lessonGenerationService;
+
+    @PostMapping
+    @Operation(summary = "Generate and store a batch of lessons with the AI providers (runs in background)")
+    public ResponseEntity<LessonGenerationStatus> submit(@Valid @RequestBody LessonGenerationRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(lessonGenerationService.submit(request));
+    }
+
+    @GetMapping
+    @Operation(summary = "List lesson generation jobs")
+    public ResponseEntity<List<LessonGenerationStatus>> getJobs() {
+        return ResponseEntity.ok(lessonGenerationService.getJobs());
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get progress and throughput of a lesson generation job")
+    public ResponseEntity<LessonGenerationStatus> getStatus(@PathVariable String jobId) {
+        return lessonGenerationService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{jobId}/resume")
+    @Operation(summary = "Resume an interrupted lesson generation job from its checkpoint")
+    public ResponseEntity<LessonGenerationStatus> resume(@PathVariable String jobId) {
+        return lessonGenerationService.resume(jobId)
+                .map(status -> ResponseEntity.status(HttpStatus.ACCEPTED).body(status))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,32 @@
+package com.dialectgame.controller;
+
+import com.dialectgame.model.dto.ai.PromptVersionStatus;
+import com.dialectgame.service.ai.prompt.PromptRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/prompts")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Administration endpoints")
+public class AdminPromptController {
+
+    private final PromptRegistry promptRegistry;
+
+    @GetMapping
+    @Operation(summary = "Prompt template versions currently served, with their A/B weights and language variants")
+    public ResponseEntity<List<PromptVersionStatus>> getPrompts() {
+        return ResponseEntity.ok(promptRegistry.status());
+    }
+
+    @PostMapping("/reload")
+    @Operation(summary = "Reload prompt templates and version weights now (invalid templates are rejected)")
+    public ResponseEntity<List<PromptVersionStatus>> reload() {
+        return ResponseEntity.ok(promptRegistry.reload());
+    }
+}
@@ -0,0 +1,31 @@
+package com.dialectgame.controller;
+
+import com.dialectgame.model.dto.user.UserStatsDto;
+import com.dialectgame.service.stats.UserStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/stats")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Administration endpoints")
+public class AdminStatsController {
+
+    private final UserStatsService userStatsService;
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild materialized learning statistics for all users (runs in background)")
+    public ResponseEntity<Void> rebuildAll() {
+        userStatsService.rebuildAll();
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/rebuild/{userId}")
+    @Operation(summary = "Rebuild materialized learning statistics for one user")
+    public ResponseEntity<UserStatsDto> rebuildUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(userStatsService.rebuildUser(userId));
+    }
+}
@@ -1,17 +1,30 @@
 package com.dialectgame.controller;
 
+import com.dialectgame.model.dto.common.CursorPage;
 import com.dialectgame.model.dto.lesson.LessonDto;
+import com.dialectgame.model.dto.lesson.LessonPhaseContentDto;
 import com.dialectgame.model.entity.User;
+import com.dialectgame.model.entity.UserProgress;
+import com.dialectgame.service.lesson.LessonContentResponse;
+import com.dialectgame.service.lesson.LessonPhaseContentService;
 import com.dialectgame.service.lesson.LessonService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 
@@ -22,6 +35,7 @@ import java.util.List;
 public class LessonController {
 
     private final LessonService lessonService;
+    private final LessonPhaseContentService lessonPhaseContentService;
 
     @GetMapping
     @Operation(summary = "Get all lessons with optional filters")
@@ -35,6 +49,20 @@ public class LessonController {
         return ResponseEntity.ok(lessons);
     }
 
+    @GetMapping("/browse")
+    @Operation(summary = "Browse the lesson catalog with keyset (cursor) pagination")
+    public ResponseEntity<CursorPage<LessonDto>> browseLessons(
+            @Parameter(description = "Language filter") @RequestParam(required = false) String language,
+            @Parameter(description = "Difficulty level filter") @RequestParam(required = false) User.DifficultyLevel difficultyLevel,
+            @Parameter(description = "Chapter ID filter") @RequestParam(required = false) Long chapterId,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Also return the (cached) total count") @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPage<LessonDto> lessons = lessonService.browseLessons(language, difficultyLevel, chapterId, cursor, size, includeTotal);
+        return ResponseEntity.ok(lessons);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get lesson by ID")
     public ResponseEntity<LessonDto> getLessonById(@PathVariable Long id) {
@@ -42,11 +70,45 @@ public class LessonController {
         return ResponseEntity.ok(lesson);
     }
 
-    @GetMapping("/{id}/content")
-    @Operation(summary = "Get lesson content by ID")
-    public ResponseEntity<LessonDto> getLessonWithContent(@PathVariable Long id) {
-        LessonDto lesson = lessonService.getLessonWithContent(id);
-        return ResponseEntity.ok(lesson);
+    @GetMapping(value = "/{id}/content", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get lesson content by ID",
+            responses = @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = LessonDto.class))))
+    public ResponseEntity<byte[]> getLessonWithContent(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        // JSON déjà sérialisé et compressé : les octets sont écrits tels quels, sans Jackson
+        LessonContentResponse content = lessonService.getLessonContentResponse(id);
+        return contentResponse(content, ifNoneMatch, acceptEncoding, null);
+    }
+
+    @GetMapping(value = "/{id}/content/{phase}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the content of a single lesson phase",
+            responses = @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = LessonPhaseContentDto.class))))
+    public ResponseEntity<byte[]> getLessonPhaseContent(
+            @PathVariable Long id,
+            @PathVariable UserProgress.Phase phase,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        return phaseContent(id, phase, ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping(value = "/{id}/content/current", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the content of the phase the user is currently on",
+            responses = @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = LessonPhaseContentDto.class))))
+    public ResponseEntity<byte[]> getCurrentPhaseContent(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        UserProgress.Phase phase = lessonPhaseContentService.getCurrentPhase(user.getId(), id);
+        return phaseContent(id, phase, ifNoneMatch, acceptEncoding);
     }
 
     @GetMapping("/user-recommendations")
@@ -65,4 +127,46 @@ public class LessonController {
         LessonDto nextLesson = lessonService.getNextLessonForUser(user);
         return ResponseEntity.ok(nextLesson);
     }
+
+    private ResponseEntity<byte[]> phaseContent(Long id, UserProgress.Phase phase, String ifNoneMatch, String acceptEncoding) {
+        LessonContentResponse content = lessonPhaseContentService.getPhaseContentResponse(id, phase);
+
+        // Indice de préchargement de la phase suivante, que le serveur met aussi en cache
+        UserProgress.Phase next = LessonPhaseContentService.nextPhase(phase);
+        String prefetchLink = null;
+        if (next != null) {
+            // Chemin de contexte (/api) compris : un lien relatif à la racine du serveur ne mènerait nulle part
+            String href = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/lessons/{id}/content/{phase}")
+                    .buildAndExpand(id, next)
+                    .toUriString();
+            prefetchLink = "<" + href + ">; rel=prefetch";
+            lessonPhaseContentService.prefetch(id, next);
+        }
+        return contentResponse(content, ifNoneMatch, acceptEncoding, prefetchLink);
+    }
+
+    private ResponseEntity<byte[]> contentResponse(LessonContentResponse content, String ifNoneMatch,
+                                                   String acceptEncoding, String prefetchLink) {
+        boolean gzip = content.hasGzip() && acceptEncoding != null && acceptEncoding.contains("gzip");
+        boolean notModified = content.matches(ifNoneMatch);
+
+        ResponseEntity.BodyBuilder response = notModified
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                : ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        response.eTag(gzip ? content.gzipEtag() : content.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (prefetchLink != null) {
+            response.header(HttpHeaders.LINK, prefetchLink);
+        }
+
+        if (notModified) {
+            return response.build();
+        }
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(content.gzip());
+        }
+        return response.body(content.json());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.dialectgame.controller;
+
+import com.dialectgame.model.dto.progress.ProgressUpdateRequest;
+import com.dialectgame.model.entity.User;
+import com.dialectgame.service.lesson.LessonService;
+import com.dialectgame.service.progress.ProgressWriteBehindService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/progress")
+@RequiredArgsConstructor
+@Tag(name = "Progress", description = "Lesson progress tracking endpoints")
+public class ProgressController {
+
+    // Une file hors ligne plus longue est envoyée en plusieurs lots
+    private static final int MAX_BATCH_SIZE = 200;
+
+    private final ProgressWriteBehindService progressWriteBehindService;
+    private final LessonService lessonService;
+
+    @PostMapping
+    @Operation(summary = "Record a lesson progress update (persisted asynchronously)")
+    public ResponseEntity<Void> updateProgress(
+            @Valid @RequestBody ProgressUpdateRequest request,
+            @AuthenticationPrincipal User user) {
+
+        // Vérifie que la leçon existe (lecture depuis le cache du catalogue)
+        lessonService.getLessonById(request.getLessonId());
+        progressWriteBehindService.ingest(user.getId(), request);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Record several lesson progress updates (e.g. queued while offline)")
+    public ResponseEntity<Void> updateProgressBatch(
+            @Valid @RequestBody @Size(max = MAX_BATCH_SIZE) List<@Valid ProgressUpdateRequest> requests,
+            @AuthenticationPrincipal User user) {
+
+        requests.forEach(request -> lessonService.getLessonById(request.getLessonId()));
+        progressWriteBehindService.ingestAll(user.getId(), requests);
+        return ResponseEntity.accepted().build();
+    }
+}
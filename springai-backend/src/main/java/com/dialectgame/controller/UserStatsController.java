@@ -0,0 +1,28 @@
+package com.dialectgame.controller;
+
+import com.dialectgame.model.dto.user.UserStatsDto;
+import com.dialectgame.model.entity.User;
+import com.dialectgame.service.stats.UserStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/user")
+@RequiredArgsConstructor
+@Tag(name = "User", description = "User dashboard endpoints")
+public class UserStatsController {
+
+    private final UserStatsService userStatsService;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get learning statistics for the current user")
+    public ResponseEntity<UserStatsDto> getStats(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(userStatsService.getStats(user.getId()));
+    }
+}
@@ -1,9 +1,12 @@
 package com.dialectgame.controller;
 
+import com.dialectgame.model.dto.common.CursorPage;
 import com.dialectgame.model.dto.voice.VoiceProcessingRequest;
 import com.dialectgame.model.dto.voice.VoiceProcessingResponse;
+import com.dialectgame.model.dto.voice.VoiceSessionSummary;
 import com.dialectgame.model.entity.User;
 import com.dialectgame.service.voice.VoiceProcessingService;
+import com.dialectgame.service.voice.VoiceSessionHistoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,6 +26,7 @@ import java.util.concurrent.CompletableFuture;
 public class VoiceController {
 
     private final VoiceProcessingService voiceProcessingService;
+    private final VoiceSessionHistoryService voiceSessionHistoryService;
 
     @PostMapping("/process")
     @Operation(summary = "Process audio file for speech recognition and analysis")
@@ -40,19 +44,19 @@ public class VoiceController {
     public ResponseEntity<VoiceProcessingResponse> getVoiceSession(
             @PathVariable Long sessionId,
             @AuthenticationPrincipal User user) {
-        
-        // TODO: Implement get session by ID
-        return ResponseEntity.notFound().build();
+
+        return voiceSessionHistoryService.getSession(user.getId(), sessionId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/sessions")
-    @Operation(summary = "Get user's voice sessions")
-    public ResponseEntity<Object> getUserVoiceSessions(
+    @Operation(summary = "Get user's voice sessions, most recent first (keyset pagination)")
+    public ResponseEntity<CursorPage<VoiceSessionSummary>> getUserVoiceSessions(
             @AuthenticationPrincipal User user,
-            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
-        
-        // TODO: Implement get user sessions
-        return ResponseEntity.ok().build();
+
+        return ResponseEntity.ok(voiceSessionHistoryService.getHistory(user.getId(), cursor, size));
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.dialectgame.datasource;
+
+import com.dialectgame.model.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Mémorise les utilisateurs ayant écrit récemment : leurs lectures restent sur le primaire
+ * pendant la fenêtre de collage, le temps que les réplicas rattrapent leur retard.
+ * Sans effet tant que le routage vers les réplicas n'est pas activé.
+ * L'état est propre à chaque instance (les écritures sont aussi marquées hors requête, par les
+ * traitements asynchrones) : le load balancer doit garder les requêtes d'un utilisateur sur la
+ * même instance, sans quoi une lecture servie ailleurs peut précéder sa propre écriture de max-lag.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(
+            @Value("${app.datasource.replicas.sticky-window:5s}") Duration stickyWindow,
+            @Value("${app.datasource.replicas.sticky-max-users:100000}") long maxUsers) {
+
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public void markWrite(Long userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean isSticky(Long userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    public boolean isCurrentUserSticky() {
+        return isSticky(currentUserId());
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
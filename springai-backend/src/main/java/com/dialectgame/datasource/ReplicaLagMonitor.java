@@ -0,0 +1,152 @@
+package com.dialectgame.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sonde périodiquement le retard de réplication de chaque réplica.
+ * Un réplica injoignable, en retard au-delà de max-lag, sans récepteur WAL en streaming, en pause
+ * de rejeu ou sans nouvelles du primaire depuis receiver-timeout est retiré de la rotation
+ * jusqu'à la sonde suivante. L'utilisateur de la sonde doit avoir le rôle pg_read_all_stats,
+ * sans quoi pg_stat_wal_receiver masque le statut et le réplica est jugé indisponible.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    // Fonctions de rejeu évaluées seulement en recovery : elles échouent sur un serveur promu
+    private static final String STATUS_SQL = """
+            SELECT pg_is_in_recovery(),
+                (SELECT status FROM pg_stat_wal_receiver),
+                (SELECT EXTRACT(EPOCH FROM now() - last_msg_receipt_time) FROM pg_stat_wal_receiver),
+                CASE WHEN pg_is_in_recovery() THEN pg_is_wal_replay_paused() ELSE false END,
+                COALESCE(pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn(), false),
+                EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+            """;
+
+    private final Map<String, HikariDataSource> replicas;
+    private final double maxLagSeconds;
+    private final double receiverTimeoutSeconds;
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> healthy = List.of();
+
+    public ReplicaLagMonitor(Map<String, HikariDataSource> replicas, Duration maxLag, Duration receiverTimeout,
+                             MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.receiverTimeoutSeconds = receiverTimeout.toMillis() / 1000.0;
+
+        replicas.keySet().forEach(name -> {
+            lagSeconds.put(name, Double.NaN);
+            Gauge.builder("datasource.replica.lag", lagSeconds, lags -> lags.getOrDefault(name, Double.NaN))
+                    .tag("replica", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", this, monitor -> monitor.healthy.contains(name) ? 1 : 0)
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+        refresh();
+    }
+
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    // Tourniquet sur les réplicas sains ; null si aucun n'est utilisable
+    public String nextHealthyReplica() {
+        List<String> candidates = healthy;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval:PT1S}")
+    public void refresh() {
+        List<String> usable = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> {
+            double lag = probe(name, dataSource);
+            lagSeconds.put(name, lag);
+            if (!Double.isNaN(lag) && lag <= maxLagSeconds) {
+                usable.add(name);
+            }
+        });
+
+        if (usable.size() != healthy.size()) {
+            log.info("Healthy read replicas: {} of {}", usable, replicas.keySet());
+        }
+        healthy = List.copyOf(usable);
+    }
+
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+
+    private double probe(String name, HikariDataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet resultSet = statement.executeQuery(STATUS_SQL)) {
+                if (!resultSet.next()) {
+                    return Double.NaN;
+                }
+                return lagOf(new ReplicaStatus(
+                        resultSet.getBoolean(1),
+                        resultSet.getString(2),
+                        nullableDouble(resultSet, 3),
+                        resultSet.getBoolean(4),
+                        resultSet.getBoolean(5),
+                        nullableDouble(resultSet, 6)), receiverTimeoutSeconds);
+            }
+        } catch (SQLException e) {
+            log.warn("Read replica {} unavailable: {}", name, e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    // NaN : réplica inutilisable quel que soit max-lag
+    static double lagOf(ReplicaStatus status, double receiverTimeoutSeconds) {
+        if (!status.inRecovery()) {
+            return 0;
+        }
+        // Récepteur absent ou déconnecté : le réplica ne reçoit plus rien, même s'il a tout rejoué
+        if (!"streaming".equals(status.receiverStatus()) || status.replayPaused()) {
+            return Double.NaN;
+        }
+        // Connexion bloquée sans être fermée : le primaire envoie au moins un keepalive par wal_receiver_timeout / 2
+        if (status.lastMessageAgeSeconds() == null || status.lastMessageAgeSeconds() > receiverTimeoutSeconds) {
+            return Double.NaN;
+        }
+        // Tout le WAL reçu est rejoué : un primaire inactif ne doit pas faire croire à du retard
+        if (status.caughtUp()) {
+            return 0;
+        }
+        return status.replayAgeSeconds() != null ? status.replayAgeSeconds() : Double.NaN;
+    }
+
+    private static Double nullableDouble(ResultSet resultSet, int column) throws SQLException {
+        double value = resultSet.getDouble(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    record ReplicaStatus(boolean inRecovery, String receiverStatus, Double lastMessageAgeSeconds,
+                         boolean replayPaused, boolean caughtUp, Double replayAgeSeconds) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.dialectgame.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Route les transactions en lecture seule vers un réplica sain, tout le reste vers le primaire.
+ * Les lectures d'un utilisateur qui vient d'écrire restent sur le primaire (read-your-writes).
+ * Doit être enveloppé dans un LazyConnectionDataSourceProxy : le caractère lecture seule n'est
+ * connu qu'après l'ouverture de la transaction.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, ReplicaLagMonitor lagMonitor,
+                                    ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+
+        Map<Object, Object> targets = new HashMap<>(lagMonitor.getReplicas());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.replicaReads = meterRegistry.counter("datasource.routing.reads", "target", "replica", "reason", "read-only");
+        this.stickyReads = meterRegistry.counter("datasource.routing.reads", "target", "primary", "reason", "sticky");
+        this.fallbackReads = meterRegistry.counter("datasource.routing.reads", "target", "primary", "reason", "no-healthy-replica");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (readYourWritesTracker.isCurrentUserSticky()) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+
+        String replica = lagMonitor.nextHealthyReplica();
+        if (replica == null) {
+            fallbackReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return replica;
+    }
+
+    @Override
+    public void close() {
+        lagMonitor.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.dialectgame.model.dto.ai;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromptVersionStatus {
+
+    private String prompt;
+    private String version;
+    private int weight;
+    private List<String> languages;
+    private LocalDateTime loadedAt;
+}
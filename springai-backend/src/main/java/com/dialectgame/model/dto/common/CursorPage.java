@@ -0,0 +1,21 @@
+package com.dialectgame.model.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // curseur opaque à renvoyer pour la page suivante
+    private Long totalElements; // null si le comptage n'a pas été demandé
+}
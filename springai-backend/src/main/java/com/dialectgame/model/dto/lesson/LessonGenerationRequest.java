@@ -0,0 +1,49 @@
+package com.dialectgame.model.dto.lesson;
+
+import com.dialectgame.model.entity.User;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonGenerationRequest {
+
+    // Dans l'ordre du parcours : les ordres de leçon non renseignés sont attribués dans cet ordre
+    @NotEmpty
+    private List<@Valid Item> items;
+
+    // Par défaut les leçons générées sont inactives, en attente de relecture
+    private boolean activate;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotBlank
+        private String topic;
+
+        @NotNull
+        private User.DifficultyLevel difficultyLevel;
+
+        @NotBlank
+        private String language;
+
+        private Long chapterId;
+
+        @Positive
+        private Integer order;
+    }
+}
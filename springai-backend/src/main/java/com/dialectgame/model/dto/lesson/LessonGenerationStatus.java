@@ -0,0 +1,41 @@
+package com.dialectgame.model.dto.lesson;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonGenerationStatus {
+
+    private String jobId;
+    private String status;
+    private int total;
+    private int completed;
+    private int failed;
+    private int pending;
+    private Double lessonsPerMinute;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    private List<Failure> failures;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+        private String topic;
+        private String language;
+        private String difficultyLevel;
+        private int attempts;
+        private String error;
+    }
+}
@@ -0,0 +1,44 @@
+package com.dialectgame.model.dto.lesson;
+
+import com.dialectgame.model.entity.LessonContent;
+import com.dialectgame.model.entity.UserProgress;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Contenu d'une seule phase de leçon : seuls les champs de la phase demandée sont renseignés.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LessonPhaseContentDto {
+
+    private Long lessonId;
+    private UserProgress.Phase phase;
+
+    // Phase suivante, à précharger par le client (null après INTEGRATION)
+    private UserProgress.Phase nextPhase;
+
+    // Phase 1: Situation
+    private String situationContext;
+    private String situationProblem;
+    private String situationMotivation;
+    private String situationImageUrl;
+
+    // Phase 2: Vocabulary
+    private List<LessonContent.VocabularyWord> vocabularyWords;
+
+    // Phase 3: Exercises
+    private List<LessonContent.Exercise> exercises;
+
+    // Phase 4: Integration
+    private String integrationScenario;
+    private List<LessonContent.DialogueLine> integrationDialogue;
+}
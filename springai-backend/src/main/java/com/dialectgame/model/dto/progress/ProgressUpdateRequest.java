@@ -0,0 +1,58 @@
+package com.dialectgame.model.dto.progress;
+
+import com.dialectgame.model.entity.UserProgress;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressUpdateRequest {
+
+    @NotNull
+    private Long lessonId;
+
+    // Champs optionnels : seuls les champs renseignés sont mis à jour
+    private UserProgress.Phase currentPhase;
+
+    @PositiveOrZero
+    private Integer currentStep;
+
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    private Double phaseProgress;
+
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    private Double overallProgress;
+
+    private UserProgress.CompletionStatus status;
+
+    @Min(0)
+    @Max(100)
+    private Integer score;
+
+    @PositiveOrZero
+    private Integer timeSpent; // total en secondes
+
+    @PositiveOrZero
+    private Integer attemptsCount;
+
+    @PositiveOrZero
+    private Integer mistakesCount;
+
+    private Map<String, Double> phaseScores;
+
+    private Map<String, Object> detailedProgress;
+}
@@ -0,0 +1,28 @@
+package com.dialectgame.model.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatsDto {
+
+    private Long userId;
+    private Double averageProgress;
+    private Long lessonsStarted;
+    private Long completedLessons;
+    private Long totalVoiceSessions;
+    private Long completedVoiceSessions;
+    private Double averageConfidenceScore;
+    private Double averagePronunciationScore;
+    private Long voiceSessionsLast7Days;
+    private Long voiceSessionsLast30Days;
+    private LocalDateTime lastActivityAt;
+    private LocalDateTime updatedAt;
+}
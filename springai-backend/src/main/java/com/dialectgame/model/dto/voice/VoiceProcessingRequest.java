@@ -22,6 +22,9 @@ public class VoiceProcessingRequest {
 
     private Long lessonId;
 
+    // Conversation à poursuivre (sessions CONVERSATION) ; absente, une nouvelle conversation est ouverte
+    private Long conversationId;
+
     @Builder.Default
     private Boolean enableFeedback = true;
 
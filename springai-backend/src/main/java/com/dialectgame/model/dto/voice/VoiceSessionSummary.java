@@ -0,0 +1,23 @@
+package com.dialectgame.model.dto.voice;
+
+import com.dialectgame.model.entity.VoiceSession;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne de l'historique des sessions vocales : scores et statut uniquement.
+ * Projection JPQL : transcription, feedback IA et métadonnées ne sont pas lus.
+ */
+public record VoiceSessionSummary(
+        Long sessionId,
+        Long lessonId,
+        VoiceSession.SessionType sessionType,
+        VoiceSession.ProcessingStatus processingStatus,
+        String language,
+        Double confidenceScore,
+        Double pronunciationScore,
+        Double accuracyScore,
+        Double fluencyScore,
+        Long durationMs,
+        LocalDateTime createdAt) {
+}
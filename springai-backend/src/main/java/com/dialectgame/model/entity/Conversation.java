@@ -0,0 +1,62 @@
+package com.dialectgame.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conversation orale d'un apprenant (sessions vocales CONVERSATION successives).
+ * Les tours anciens sont repliés dans {@code summary} : seuls les tours d'index >= {@code summarizedTurns}
+ * restent à relire pour reconstruire le contexte.
+ */
+@Entity
+@Table(name = "conversations", indexes = {
+        @Index(name = "idx_conversations_user_updated", columnList = "user_id, updated_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class Conversation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conversations_seq")
+    @SequenceGenerator(name = "conversations_seq", sequenceName = "conversations_id_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lesson_id")
+    @ToString.Exclude
+    private Lesson lesson;
+
+    @Column(name = "language")
+    private String language;
+
+    // Résumé incrémental des tours sortis de la fenêtre ; mis à jour par requête (ConversationRepository)
+    @Column(name = "summary", columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "summarized_turns", nullable = false)
+    @Builder.Default
+    private int summarizedTurns = 0;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,60 @@
+package com.dialectgame.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "conversation_turns",
+       uniqueConstraints = @UniqueConstraint(name = "uk_conversation_turns_index", columnNames = {"conversation_id", "turn_index"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class ConversationTurn {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conversation_turns_seq")
+    @SequenceGenerator(name = "conversation_turns_seq", sequenceName = "conversation_turns_id_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "conversation_id", nullable = false)
+    @ToString.Exclude
+    private Conversation conversation;
+
+    // Session vocale à l'origine du tour de l'apprenant (null pour les réponses du tuteur)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "voice_session_id")
+    @ToString.Exclude
+    private VoiceSession voiceSession;
+
+    @Column(name = "turn_index", nullable = false)
+    private int turnIndex;
+
+    @Column(name = "role", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Role role;
+
+    @Column(name = "content", columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    @Column(name = "tokens", nullable = false)
+    private int tokens;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Role {
+        USER, ASSISTANT
+    }
+}
@@ -0,0 +1,25 @@
+package com.dialectgame.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Version partagée du catalogue de leçons, sur une seule ligne (id 1). Lue et incrémentée en SQL
+ * par LessonCatalogCache ; l'entité déclare la table pour le schéma H2 généré par Hibernate.
+ */
+@Entity
+@Table(name = "lesson_catalog_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonCatalogVersion {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+}
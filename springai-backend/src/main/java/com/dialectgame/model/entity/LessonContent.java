@@ -1,10 +1,16 @@
 package com.dialectgame.model.entity;
 
+import com.dialectgame.service.lesson.LessonCatalogListener;
+import com.dialectgame.service.lesson.codec.LessonContentCodecListener;
+import com.dialectgame.service.voice.phonetic.LessonPhoneticsListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -17,10 +23,14 @@ import java.util.Map;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners({LessonContentCodecListener.class, LessonCatalogListener.class, LessonPhoneticsListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lesson-content")
 public class LessonContent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lesson_contents_seq")
+    @SequenceGenerator(name = "lesson_contents_seq", sequenceName = "lesson_contents_id_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -58,6 +68,20 @@ public class LessonContent {
     @Column(name = "integration_dialogue", columnDefinition = "jsonb")
     private List<DialogueLine> integrationDialogue;
 
+    // Encodage binaire compact (Smile) des colonnes JSONB ci-dessus, maintenu à chaque écriture
+    // par LessonContentCodecListener et décodé phase par phase (voir CompactLessonContent)
+    @Column(name = "vocabulary_words_smile", columnDefinition = "bytea")
+    @ToString.Exclude
+    private byte[] vocabularyWordsSmile;
+
+    @Column(name = "exercises_smile", columnDefinition = "bytea")
+    @ToString.Exclude
+    private byte[] exercisesSmile;
+
+    @Column(name = "integration_dialogue_smile", columnDefinition = "bytea")
+    @ToString.Exclude
+    private byte[] integrationDialogueSmile;
+
     @Data
     @Builder
     @NoArgsConstructor
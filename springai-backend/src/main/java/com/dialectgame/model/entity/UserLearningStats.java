@@ -0,0 +1,86 @@
+package com.dialectgame.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Agrégats d'apprentissage par utilisateur, maintenus au fil des sessions et progressions
+ * pour que le tableau de bord se contente d'une lecture par clé primaire.
+ */
+@Entity
+@Table(name = "user_learning_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLearningStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Progression (deltas appliqués à chaque écriture de user_progress)
+    @Column(name = "progress_count")
+    @Builder.Default
+    private Long progressCount = 0L;
+
+    @Column(name = "progress_sum")
+    @Builder.Default
+    private Double progressSum = 0.0;
+
+    @Column(name = "completed_lessons")
+    @Builder.Default
+    private Long completedLessons = 0L;
+
+    // Sessions vocales (incrémental)
+    @Column(name = "voice_sessions")
+    @Builder.Default
+    private Long voiceSessions = 0L;
+
+    @Column(name = "voice_sessions_completed")
+    @Builder.Default
+    private Long voiceSessionsCompleted = 0L;
+
+    @Column(name = "confidence_sum")
+    @Builder.Default
+    private Double confidenceSum = 0.0;
+
+    @Column(name = "confidence_count")
+    @Builder.Default
+    private Long confidenceCount = 0L;
+
+    @Column(name = "pronunciation_sum")
+    @Builder.Default
+    private Double pronunciationSum = 0.0;
+
+    @Column(name = "pronunciation_count")
+    @Builder.Default
+    private Long pronunciationCount = 0L;
+
+    // Fenêtre glissante : nombre de sessions vocales par jour (ISO yyyy-MM-dd)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "daily_voice_sessions", columnDefinition = "jsonb")
+    @Builder.Default
+    private Map<String, Integer> dailyVoiceSessions = new HashMap<>();
+
+    @Column(name = "last_activity_at")
+    private LocalDateTime lastActivityAt;
+
+    @Column(name = "progress_refreshed_at")
+    private LocalDateTime progressRefreshedAt;
+
+    @Column(name = "rebuilt_at")
+    private LocalDateTime rebuiltAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -23,7 +23,8 @@ import java.util.Map;
 public class VoiceSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "voice_sessions_seq")
+    @SequenceGenerator(name = "voice_sessions_seq", sequenceName = "voice_sessions_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -81,6 +82,11 @@ public class VoiceSession {
     @Column(name = "error_message")
     private String errorMessage;
 
+    // Comptée dans user_learning_stats ; modifiée uniquement par requête (VoiceSessionRepository)
+    @Column(name = "stats_recorded", nullable = false, updatable = false)
+    @Builder.Default
+    private Boolean statsRecorded = false;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,23 @@
+package com.dialectgame.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Résultat de la requête dans le cache de requêtes Hibernate, région "lesson-catalog-queries"
+ * (bornée dans application.conf). Invalidé par Hibernate à chaque écriture sur les tables interrogées.
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "lesson-catalog-queries")
+})
+public @interface CatalogQueryCache {
+}
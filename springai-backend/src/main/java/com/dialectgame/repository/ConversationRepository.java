@@ -0,0 +1,31 @@
+package com.dialectgame.repository;
+
+import com.dialectgame.model.entity.Conversation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+
+    Optional<Conversation> findByIdAndUserId(Long id, Long userId);
+
+    // Le résumé n'avance que vers des tours plus récents : un résumé en retard ne remplace jamais un plus récent
+    @Modifying
+    @Query("UPDATE Conversation c SET c.summary = :summary, c.summarizedTurns = :summarizedTurns, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.summarizedTurns < :summarizedTurns")
+    int updateSummary(@Param("id") Long id,
+                      @Param("summary") String summary,
+                      @Param("summarizedTurns") int summarizedTurns,
+                      @Param("now") LocalDateTime now);
+
+    // Verrouille aussi la ligne jusqu'au commit : sérialise entre instances l'écriture des tours
+    @Modifying
+    @Query("UPDATE Conversation c SET c.updatedAt = :now WHERE c.id = :id")
+    int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
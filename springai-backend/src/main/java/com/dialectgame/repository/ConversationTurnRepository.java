@@ -0,0 +1,25 @@
+package com.dialectgame.repository;
+
+import com.dialectgame.model.entity.ConversationTurn;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ConversationTurnRepository extends JpaRepository<ConversationTurn, Long> {
+
+    // Tours non encore résumés, du plus récent au plus ancien - uk_conversation_turns_index
+    @Query("SELECT t FROM ConversationTurn t WHERE t.conversation.id = :conversationId AND t.turnIndex >= :fromIndex " +
+           "ORDER BY t.turnIndex DESC")
+    List<ConversationTurn> findRecent(@Param("conversationId") Long conversationId,
+                                      @Param("fromIndex") int fromIndex,
+                                      Pageable pageable);
+
+    // Index du prochain tour, lu sur uk_conversation_turns_index
+    @Query("SELECT COALESCE(MAX(t.turnIndex) + 1, 0) FROM ConversationTurn t WHERE t.conversation.id = :conversationId")
+    int findNextTurnIndex(@Param("conversationId") Long conversationId);
+}
@@ -0,0 +1,79 @@
+package com.dialectgame.repository;
+
+import com.dialectgame.model.entity.LessonContent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LessonContentRepository extends JpaRepository<LessonContent, Long> {
+
+    // Colonnes texte et binaires uniquement : aucune colonne JSONB n'est lue ni désérialisée
+    @Query("SELECT c.lesson.id AS lessonId, c.situationContext AS situationContext, " +
+           "c.situationProblem AS situationProblem, c.situationMotivation AS situationMotivation, " +
+           "c.situationImageUrl AS situationImageUrl, c.integrationScenario AS integrationScenario, " +
+           "c.vocabularyWordsSmile AS vocabularyWords, c.exercisesSmile AS exercises, " +
+           "c.integrationDialogueSmile AS integrationDialogue " +
+           "FROM LessonContent c WHERE c.lesson.id = :lessonId AND c.lesson.isActive = true")
+    Optional<EncodedContent> findEncodedByLessonId(@Param("lessonId") Long lessonId);
+
+    @Query("SELECT c FROM LessonContent c WHERE c.lesson.id = :lessonId AND c.lesson.isActive = true")
+    Optional<LessonContent> findByLessonId(@Param("lessonId") Long lessonId);
+
+    // Requêtes par phase : seules les colonnes de la phase demandée sont lues.
+    // Comme pour le contenu complet, une leçon inactive (générée, en attente de relecture) n'est pas servie
+
+    @Query("SELECT c.situationContext AS situationContext, c.situationProblem AS situationProblem, " +
+           "c.situationMotivation AS situationMotivation, c.situationImageUrl AS situationImageUrl " +
+           "FROM LessonContent c WHERE c.lesson.id = :lessonId AND c.lesson.isActive = true")
+    Optional<SituationPhase> findSituationByLessonId(@Param("lessonId") Long lessonId);
+
+    @Query("SELECT c.vocabularyWordsSmile AS encoded FROM LessonContent c " +
+           "WHERE c.lesson.id = :lessonId AND c.lesson.isActive = true")
+    Optional<EncodedPhase> findEncodedVocabularyByLessonId(@Param("lessonId") Long lessonId);
+
+    @Query("SELECT c.exercisesSmile AS encoded FROM LessonContent c " +
+           "WHERE c.lesson.id = :lessonId AND c.lesson.isActive = true")
+    Optional<EncodedPhase> findEncodedExercisesByLessonId(@Param("lessonId") Long lessonId);
+
+    @Query("SELECT c.integrationDialogueSmile AS encoded, c.integrationScenario AS integrationScenario " +
+           "FROM LessonContent c WHERE c.lesson.id = :lessonId AND c.lesson.isActive = true")
+    Optional<IntegrationPhase> findEncodedIntegrationByLessonId(@Param("lessonId") Long lessonId);
+
+    @Query("SELECT c.id FROM LessonContent c WHERE c.id > :afterId AND " +
+           "(c.vocabularyWordsSmile IS NULL OR c.exercisesSmile IS NULL OR c.integrationDialogueSmile IS NULL) " +
+           "ORDER BY c.id")
+    List<Long> findIdsMissingEncoding(@Param("afterId") Long afterId, Pageable pageable);
+
+    interface SituationPhase {
+        String getSituationContext();
+        String getSituationProblem();
+        String getSituationMotivation();
+        String getSituationImageUrl();
+    }
+
+    interface EncodedPhase {
+        byte[] getEncoded();
+    }
+
+    interface IntegrationPhase extends EncodedPhase {
+        String getIntegrationScenario();
+    }
+
+    interface EncodedContent {
+        Long getLessonId();
+        String getSituationContext();
+        String getSituationProblem();
+        String getSituationMotivation();
+        String getSituationImageUrl();
+        String getIntegrationScenario();
+        byte[] getVocabularyWords();
+        byte[] getExercises();
+        byte[] getIntegrationDialogue();
+    }
+}
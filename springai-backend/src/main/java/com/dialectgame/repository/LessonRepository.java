@@ -2,33 +2,99 @@ package com.dialectgame.repository;
 
 import com.dialectgame.model.entity.Lesson;
 import com.dialectgame.model.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
 
+    // Requêtes du catalogue : résultats (ids) en cache de requêtes (@CatalogQueryCache),
+    // leçons servies par la région "lesson".
+    // Les requêtes natives de pagination par clé n'y sont pas : sans espaces de requête déclarés,
+    // Hibernate ne pourrait pas invalider leurs résultats lors des écritures.
+
+    @CatalogQueryCache
     List<Lesson> findByLanguageAndIsActiveTrueOrderByOrderAsc(String language);
 
+    @CatalogQueryCache
     List<Lesson> findByDifficultyLevelAndLanguageAndIsActiveTrueOrderByOrderAsc(
         User.DifficultyLevel difficultyLevel, String language);
 
-    List<Lesson> findByChapterIdAndIsActiveTrueOrderByOrderAsc(Long chapterId);
+    @CatalogQueryCache
+    Optional<Lesson> findFirstByDifficultyLevelAndLanguageAndIsActiveTrueOrderByOrderAsc(
+        User.DifficultyLevel difficultyLevel, String language);
+
+    @CatalogQueryCache
+    Optional<Lesson> findFirstByLanguageAndIsActiveTrueAndOrderGreaterThanOrderByOrderAsc(
+        String language, Integer order);
 
+    @CatalogQueryCache
+    List<Lesson> findByChapterIdAndIsActiveTrueOrderByOrderAsc(Long chapterId, Pageable pageable);
+
+    @CatalogQueryCache
+    long countByChapterIdAndIsActiveTrue(Long chapterId);
+
+    @CatalogQueryCache
     @Query("SELECT l FROM Lesson l WHERE l.isActive = true AND " +
            "(:language IS NULL OR l.language = :language) AND " +
            "(:difficultyLevel IS NULL OR l.difficultyLevel = :difficultyLevel) " +
            "ORDER BY l.order ASC")
     List<Lesson> findLessonsWithFilters(
+        @Param("language") String language,
+        @Param("difficultyLevel") User.DifficultyLevel difficultyLevel,
+        Pageable pageable);
+
+    @CatalogQueryCache
+    @Query("SELECT COUNT(l) FROM Lesson l WHERE l.isActive = true AND " +
+           "(:language IS NULL OR l.language = :language) AND " +
+           "(:difficultyLevel IS NULL OR l.difficultyLevel = :difficultyLevel)")
+    long countLessonsWithFilters(
         @Param("language") String language,
         @Param("difficultyLevel") User.DifficultyLevel difficultyLevel);
 
+    // Pagination par clé (seek) sur (language, difficulty_level, lesson_order, id) - idx_lessons_catalog_seek
+    @Query(value = "SELECT * FROM lessons l WHERE l.is_active = true AND " +
+                   "(CAST(:language AS VARCHAR) IS NULL OR l.language = :language) AND " +
+                   "(CAST(:difficultyLevel AS VARCHAR) IS NULL OR l.difficulty_level = :difficultyLevel) AND " +
+                   "(l.language, l.difficulty_level, l.lesson_order, l.id) > " +
+                   "(:afterLanguage, :afterDifficultyLevel, :afterOrder, :afterId) " +
+                   "ORDER BY l.language, l.difficulty_level, l.lesson_order, l.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Lesson> findCatalogPageAfter(
+        @Param("language") String language,
+        @Param("difficultyLevel") String difficultyLevel,
+        @Param("afterLanguage") String afterLanguage,
+        @Param("afterDifficultyLevel") String afterDifficultyLevel,
+        @Param("afterOrder") int afterOrder,
+        @Param("afterId") long afterId,
+        @Param("limit") int limit);
+
+    // Pagination par clé (seek) sur (chapter_id, lesson_order, id) - idx_lessons_chapter_seek
+    @Query(value = "SELECT * FROM lessons l WHERE l.is_active = true AND l.chapter_id = :chapterId AND " +
+                   "(l.lesson_order, l.id) > (:afterOrder, :afterId) " +
+                   "ORDER BY l.lesson_order, l.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Lesson> findChapterPageAfter(
+        @Param("chapterId") Long chapterId,
+        @Param("afterOrder") int afterOrder,
+        @Param("afterId") long afterId,
+        @Param("limit") int limit);
+
     @Query("SELECT l FROM Lesson l LEFT JOIN FETCH l.content WHERE l.id = :id AND l.isActive = true")
     Lesson findByIdWithContent(@Param("id") Long id);
 
+    @CatalogQueryCache
     boolean existsByLanguageAndOrderAndIsActiveTrue(String language, Integer order);
+
+    // Génération par lots : ordres attribués à la suite des leçons existantes de la langue
+    @Query("SELECT COALESCE(MAX(l.order), 0) FROM Lesson l WHERE l.language = :language")
+    int findMaxOrderByLanguage(@Param("language") String language);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.dialectgame.repository;
+
+import com.dialectgame.model.entity.UserLearningStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserLearningStatsRepository extends JpaRepository<UserLearningStats, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserLearningStats s WHERE s.userId = :userId")
+    Optional<UserLearningStats> findByIdForUpdate(@Param("userId") Long userId);
+
+    // Ordre croissant : deux reconstructions concurrentes prennent les verrous dans le même ordre
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserLearningStats s WHERE s.userId IN :userIds ORDER BY s.userId")
+    List<UserLearningStats> findAllByIdForUpdate(@Param("userIds") Collection<Long> userIds);
+}
@@ -2,18 +2,22 @@ package com.dialectgame.repository;
 
 import com.dialectgame.model.entity.User;
 import com.dialectgame.model.entity.UserProgress;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserProgressRepository extends JpaRepository<UserProgress, Long> {
 
-    Optional<UserProgress> findByUserIdAndLessonId(Long userId, Long lessonId);
+    // Requête explicite : la requête dérivée joint users et lessons, et n'est plus servie par uk_user_progress_user_lesson
+    @Query("SELECT up FROM UserProgress up WHERE up.user.id = :userId AND up.lesson.id = :lessonId")
+    Optional<UserProgress> findByUserIdAndLessonId(@Param("userId") Long userId, @Param("lessonId") Long lessonId);
 
     List<UserProgress> findByUserIdOrderByUpdatedAtDesc(Long userId);
 
@@ -22,6 +26,9 @@ public interface UserProgressRepository extends JpaRepository<UserProgress, Long
     @Query("SELECT up FROM UserProgress up WHERE up.user.id = :userId AND up.status = :status ORDER BY up.updatedAt DESC")
     List<UserProgress> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") UserProgress.CompletionStatus status);
 
+    @Query("SELECT up.lesson.id FROM UserProgress up WHERE up.user.id = :userId AND up.status = 'COMPLETED'")
+    List<Long> findCompletedLessonIdsByUserId(@Param("userId") Long userId);
+
     @Query("SELECT AVG(up.overallProgress) FROM UserProgress up WHERE up.user.id = :userId")
     Double getAverageProgressByUserId(@Param("userId") Long userId);
 
@@ -31,5 +38,20 @@ public interface UserProgressRepository extends JpaRepository<UserProgress, Long
     @Query("SELECT up FROM UserProgress up JOIN FETCH up.lesson WHERE up.user.id = :userId ORDER BY up.lesson.order ASC")
     List<UserProgress> findByUserIdWithLessons(@Param("userId") Long userId);
 
+    @Query("SELECT up FROM UserProgress up JOIN FETCH up.lesson l WHERE up.user.id = :userId ORDER BY l.order DESC, up.updatedAt DESC")
+    List<UserProgress> findLatestByUserIdWithLesson(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT up.user.id AS userId, COUNT(up) AS progressCount, COALESCE(SUM(up.overallProgress), 0.0) AS progressSum, " +
+           "SUM(CASE WHEN up.status = 'COMPLETED' THEN 1 ELSE 0 END) AS completedLessons " +
+           "FROM UserProgress up WHERE up.user.id IN :userIds GROUP BY up.user.id")
+    List<ProgressAggregate> aggregateByUserIds(@Param("userIds") Collection<Long> userIds);
+
     boolean existsByUserAndLesson(User user, com.dialectgame.model.entity.Lesson lesson);
-}
\ No newline at end of file
+
+    interface ProgressAggregate {
+        Long getUserId();
+        Long getProgressCount();
+        Double getProgressSum();
+        Long getCompletedLessons();
+    }
+}
@@ -1,19 +1,48 @@
 package com.dialectgame.repository;
 
+import com.dialectgame.model.dto.voice.VoiceSessionSummary;
 import com.dialectgame.model.entity.VoiceSession;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface VoiceSessionRepository extends JpaRepository<VoiceSession, Long> {
 
     List<VoiceSession> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+    Optional<VoiceSession> findByIdAndUserId(Long id, Long userId);
+
+    // Historique paginé par clé sur (user_id, created_at, id) - idx_voice_sessions_user_created
+    @Query("SELECT new com.dialectgame.model.dto.voice.VoiceSessionSummary(vs.id, vs.lesson.id, vs.sessionType, " +
+           "vs.processingStatus, vs.language, vs.confidenceScore, vs.pronunciationScore, vs.accuracyScore, " +
+           "vs.fluencyScore, vs.durationMs, vs.createdAt) " +
+           "FROM VoiceSession vs WHERE vs.user.id = :userId " +
+           "ORDER BY vs.createdAt DESC, vs.id DESC")
+    List<VoiceSessionSummary> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // created_at <= borne l'index ; la condition sur id départage les sessions de même horodatage
+    @Query("SELECT new com.dialectgame.model.dto.voice.VoiceSessionSummary(vs.id, vs.lesson.id, vs.sessionType, " +
+           "vs.processingStatus, vs.language, vs.confidenceScore, vs.pronunciationScore, vs.accuracyScore, " +
+           "vs.fluencyScore, vs.durationMs, vs.createdAt) " +
+           "FROM VoiceSession vs WHERE vs.user.id = :userId AND vs.createdAt <= :createdAt " +
+           "AND (vs.createdAt < :createdAt OR vs.id < :id) " +
+           "ORDER BY vs.createdAt DESC, vs.id DESC")
+    List<VoiceSessionSummary> findSummariesByUserIdBefore(
+        @Param("userId") Long userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") long id,
+        Pageable pageable);
+
     List<VoiceSession> findByUserIdAndLessonIdOrderByCreatedAtDesc(Long userId, Long lessonId);
 
     List<VoiceSession> findByProcessingStatus(VoiceSession.ProcessingStatus status);
@@ -32,4 +61,49 @@ public interface VoiceSessionRepository extends JpaRepository<VoiceSession, Long
 
     @Query("SELECT vs FROM VoiceSession vs WHERE vs.processingStatus = 'PENDING' AND vs.createdAt < :timeout")
     List<VoiceSession> findTimedOutSessions(@Param("timeout") LocalDateTime timeout);
-}
\ No newline at end of file
+
+    @Query("SELECT vs.user.id AS userId, COUNT(vs) AS sessions, " +
+           "SUM(CASE WHEN vs.processingStatus = 'COMPLETED' THEN 1 ELSE 0 END) AS completedSessions, " +
+           "COALESCE(SUM(CASE WHEN vs.processingStatus = 'COMPLETED' THEN vs.confidenceScore END), 0.0) AS confidenceSum, " +
+           "COUNT(CASE WHEN vs.processingStatus = 'COMPLETED' THEN vs.confidenceScore END) AS confidenceCount, " +
+           "COALESCE(SUM(CASE WHEN vs.processingStatus = 'COMPLETED' THEN vs.pronunciationScore END), 0.0) AS pronunciationSum, " +
+           "COUNT(CASE WHEN vs.processingStatus = 'COMPLETED' THEN vs.pronunciationScore END) AS pronunciationCount, " +
+           "MAX(vs.createdAt) AS lastActivityAt " +
+           "FROM VoiceSession vs WHERE vs.user.id IN :userIds AND vs.statsRecorded = true " +
+           "GROUP BY vs.user.id")
+    List<VoiceAggregate> aggregateByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT vs.user.id AS userId, CAST(vs.createdAt AS LocalDate) AS day, COUNT(vs) AS sessions " +
+           "FROM VoiceSession vs WHERE vs.user.id IN :userIds AND vs.createdAt >= :since " +
+           "AND vs.statsRecorded = true " +
+           "GROUP BY vs.user.id, CAST(vs.createdAt AS LocalDate)")
+    List<DailySessionCount> countDailySessionsByUserIdsSince(
+        @Param("userIds") Collection<Long> userIds, @Param("since") LocalDateTime since);
+
+    // 0 : session déjà comptée dans user_learning_stats
+    @Modifying
+    @Query("UPDATE VoiceSession vs SET vs.statsRecorded = true WHERE vs.id = :id AND vs.statsRecorded = false")
+    int markStatsRecorded(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE VoiceSession vs SET vs.statsRecorded = true WHERE vs.user.id IN :userIds " +
+           "AND vs.processingStatus IN ('COMPLETED', 'FAILED') AND vs.statsRecorded = false")
+    int markStatsRecordedByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    interface VoiceAggregate {
+        Long getUserId();
+        Long getSessions();
+        Long getCompletedSessions();
+        Double getConfidenceSum();
+        Long getConfidenceCount();
+        Double getPronunciationSum();
+        Long getPronunciationCount();
+        LocalDateTime getLastActivityAt();
+    }
+
+    interface DailySessionCount {
+        Long getUserId();
+        LocalDate getDay();
+        Long getSessions();
+    }
+}
@@ -0,0 +1,70 @@
+package com.dialectgame.service.ai;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Joignabilité des fournisseurs IA configurés, d'après les vérifications d'AIProviderRegistry, exposée sur
+ * /actuator/health/aiConnectivity et dans le groupe /actuator/health/ai. Un fournisseur injoignable passe
+ * l'indicateur à DEGRADED ; DOWN seulement si aucun ne répond. UNKNOWN tant que la première vérification
+ * (après le démarrage) n'a pas eu lieu.
+ */
+@Component("aiConnectivityHealthIndicator")
+public class AIProviderConnectivityHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "AI provider unreachable");
+
+    private final AIProviderRegistry registry;
+
+    public AIProviderConnectivityHealthIndicator(AIProviderRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Health health() {
+        int checked = 0;
+        int reachable = 0;
+        Map<String, Object> providers = new LinkedHashMap<>();
+
+        for (Map.Entry<String, String> entry : registry.getRoles().entrySet()) {
+            String provider = entry.getKey();
+            AIProviderRegistry.ProviderCheck check = registry.getCheck(provider);
+            LazyChatModel model = registry.getModel(provider);
+
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("role", entry.getValue());
+            details.put("client", model.isInitialized() ? "initialized" : "lazy");
+            if (model.isInitialized()) {
+                details.put("initializationMs", model.getInitializationMillis());
+            }
+            if (check != null) {
+                checked++;
+                if (check.reachable()) reachable++;
+                details.put("reachable", check.reachable());
+                details.put("detail", check.detail());
+                details.put("latencyMs", check.latencyMs());
+                details.put("checkedAt", check.checkedAt());
+            }
+            providers.put(provider, details);
+        }
+
+        Status status;
+        if (checked == 0) {
+            status = Status.UNKNOWN;
+        } else if (reachable == 0) {
+            status = Status.DOWN;
+        } else if (reachable < checked) {
+            status = DEGRADED;
+        } else {
+            status = Status.UP;
+        }
+        return Health.status(status)
+                .withDetail("providers", providers)
+                .build();
+    }
+}
@@ -0,0 +1,201 @@
+package com.dialectgame.service.ai;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.anthropic.AnthropicChatModel;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre des clients de modèles IA. Les beans des auto-configurations Spring AI sont paresseux
+ * (voir SpringAIConfig) : seul un fournisseur réellement appelé crée son client.
+ * <p>
+ * Une fois l'application prête, le fournisseur principal est préchauffé en arrière-plan si la vérification
+ * de connexion aboutit. Les fournisseurs configurés (principal et repli) sont revérifiés périodiquement ;
+ * le résultat est exposé par AIProviderConnectivityHealthIndicator. Un fournisseur injoignable ne bloque
+ * jamais le démarrage.
+ */
+@Slf4j
+@Component
+public class AIProviderRegistry {
+
+    private static final String ANTHROPIC_VERSION = "2023-06-01";
+
+    private final Environment environment;
+    private final String primaryProvider;
+    private final boolean warmUp;
+    private final Duration connectTimeout;
+
+    // Fournisseurs configurés, principal en premier
+    private final Map<String, String> roles = new LinkedHashMap<>();
+    private final Map<String, LazyChatModel> models = new LinkedHashMap<>();
+    private final Map<String, ProviderCheck> checks = new ConcurrentHashMap<>();
+
+    private volatile HttpClient httpClient;
+
+    public AIProviderRegistry(
+            ObjectProvider<OllamaChatModel> ollamaChatModel,
+            ObjectProvider<OpenAiChatModel> openAiChatModel,
+            ObjectProvider<AnthropicChatModel> anthropicChatModel,
+            Environment environment,
+            @Value("${app.ai.provider:ollama}") String primaryProvider,
+            @Value("${app.ai.fallback-provider:openai}") String fallbackProvider,
+            @Value("${app.ai.enable-fallback:true}") boolean enableFallback,
+            @Value("${app.ai.providers.warm-up:true}") boolean warmUp,
+            @Value("${app.ai.providers.connect-timeout:3s}") Duration connectTimeout) {
+
+        this.environment = environment;
+        this.primaryProvider = primaryProvider.toLowerCase(Locale.ROOT);
+        this.warmUp = warmUp;
+        this.connectTimeout = connectTimeout;
+
+        models.put("ollama", new LazyChatModel("ollama", ollamaChatModel));
+        models.put("openai", new LazyChatModel("openai", openAiChatModel));
+        models.put("anthropic", new LazyChatModel("anthropic", anthropicChatModel));
+
+        roles.put(this.primaryProvider, "primary");
+        if (enableFallback) {
+            roles.putIfAbsent(fallbackProvider.toLowerCase(Locale.ROOT), "fallback");
+        }
+        for (String provider : roles.keySet()) {
+            if (!models.containsKey(provider)) {
+                throw new UnknownProviderException("Unknown AI provider '" + provider
+                        + "', expected one of " + models.keySet());
+            }
+        }
+    }
+
+    /**
+     * Modèle du fournisseur, sans créer son client : la création a lieu au premier appel.
+     * Une même instance est rendue pour un même fournisseur.
+     */
+    public ChatModel chatModel(String provider) {
+        LazyChatModel model = models.get(provider.toLowerCase(Locale.ROOT));
+        if (model == null) {
+            throw new UnknownProviderException("Unknown AI provider '" + provider + "', expected one of " + models.keySet());
+        }
+        return model;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpPrimary() {
+        checkConnectivity();
+        if (!warmUp) {
+            return;
+        }
+
+        ProviderCheck check = checks.get(primaryProvider);
+        if (!check.reachable()) {
+            log.warn("AI provider {} unreachable after startup ({}), its client will be created on first use",
+                    primaryProvider, check.detail());
+            return;
+        }
+        try {
+            models.get(primaryProvider).delegate();
+        } catch (Exception e) {
+            log.warn("Warm-up of {} chat client failed: {}", primaryProvider, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.ai.providers.health-check-interval:PT30S}",
+            initialDelayString = "${app.ai.providers.health-check-interval:PT30S}")
+    public void checkConnectivity() {
+        for (String provider : roles.keySet()) {
+            checks.put(provider, probe(provider));
+        }
+    }
+
+    Map<String, String> getRoles() {
+        return roles;
+    }
+
+    ProviderCheck getCheck(String provider) {
+        return checks.get(provider);
+    }
+
+    LazyChatModel getModel(String provider) {
+        return models.get(provider);
+    }
+
+    // Requête légère et gratuite (liste des modèles) : valide l'URL, le réseau et la clé sans consommer de jetons
+    private ProviderCheck probe(String provider) {
+        long start = System.nanoTime();
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder().timeout(connectTimeout).GET();
+            switch (provider) {
+                case "ollama" -> request.uri(endpoint("spring.ai.ollama.base-url", "http://localhost:11434", "/api/tags"));
+                case "openai" -> request
+                        .uri(endpoint("spring.ai.openai.base-url", "https://api.openai.com", "/v1/models"))
+                        .header("Authorization", "Bearer " + environment.getProperty("spring.ai.openai.api-key", ""));
+                default -> request
+                        .uri(endpoint("spring.ai.anthropic.base-url", "https://api.anthropic.com", "/v1/models"))
+                        .header("x-api-key", environment.getProperty("spring.ai.anthropic.api-key", ""))
+                        .header("anthropic-version", ANTHROPIC_VERSION);
+            }
+
+            int status = httpClient().send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            long latency = (System.nanoTime() - start) / 1_000_000;
+            // 401/403 : le serveur répond mais refuse la clé, les appels échoueraient aussi
+            boolean reachable = status < 500 && status != 401 && status != 403;
+            return new ProviderCheck(reachable, "HTTP " + status, latency, LocalDateTime.now());
+        } catch (IOException | IllegalArgumentException e) {
+            String detail = e.getMessage() != null ? e.getClass().getSimpleName() + ": " + e.getMessage()
+                    : e.getClass().getSimpleName();
+            return new ProviderCheck(false, detail,
+                    (System.nanoTime() - start) / 1_000_000, LocalDateTime.now());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ProviderCheck(false, "interrupted", -1, LocalDateTime.now());
+        }
+    }
+
+    private URI endpoint(String baseUrlProperty, String defaultBaseUrl, String path) {
+        String baseUrl = environment.getProperty(baseUrlProperty, defaultBaseUrl);
+        return URI.create(baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) + path : baseUrl + path);
+    }
+
+    // Créé à la première vérification, pas au démarrage
+    private HttpClient httpClient() {
+        HttpClient client = httpClient;
+        if (client == null) {
+            synchronized (this) {
+                client = httpClient;
+                if (client == null) {
+                    client = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+                    httpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    record ProviderCheck(boolean reachable, String detail, long latencyMs, LocalDateTime checkedAt) {
+    }
+
+    public static class UnknownProviderException extends RuntimeException {
+        public UnknownProviderException(String message) {
+            super(message);
+        }
+    }
+}
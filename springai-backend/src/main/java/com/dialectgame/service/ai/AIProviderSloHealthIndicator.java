@@ -0,0 +1,75 @@
+package com.dialectgame.service.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Objectifs de service des fournisseurs IA, évalués sur la fenêtre glissante de AIProviderTelemetry
+ * et exposés sur /actuator/health/aiProviders. Un objectif dépassé passe l'indicateur à DEGRADED
+ * (HTTP 200 : l'application reste servable) avec le détail par fournisseur.
+ */
+@Component("aiProvidersHealthIndicator")
+public class AIProviderSloHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "AI provider SLO breached");
+
+    private final AIProviderTelemetry telemetry;
+    private final long minCalls;
+    private final double maxErrorRate;
+    private final double maxFallbackRate;
+    private final double maxSlowRate;
+
+    public AIProviderSloHealthIndicator(
+            AIProviderTelemetry telemetry,
+            @Value("${app.ai.telemetry.slo.min-calls:20}") long minCalls,
+            @Value("${app.ai.telemetry.slo.max-error-rate:0.05}") double maxErrorRate,
+            @Value("${app.ai.telemetry.slo.max-fallback-rate:0.10}") double maxFallbackRate,
+            @Value("${app.ai.telemetry.slo.max-slow-rate:0.01}") double maxSlowRate) {
+
+        this.telemetry = telemetry;
+        this.minCalls = minCalls;
+        this.maxErrorRate = maxErrorRate;
+        this.maxFallbackRate = maxFallbackRate;
+        this.maxSlowRate = maxSlowRate;
+    }
+
+    @Override
+    public Health health() {
+        boolean breached = false;
+        Map<String, Object> providers = new LinkedHashMap<>();
+
+        for (Map.Entry<String, AIProviderWindow> entry : telemetry.getWindows().entrySet()) {
+            AIProviderWindow window = entry.getValue();
+            long calls = window.calls();
+
+            List<String> breaches = new ArrayList<>();
+            // En dessous de min-calls, les taux ne sont pas significatifs
+            if (calls >= minCalls) {
+                if (window.errorRate() > maxErrorRate) breaches.add("error-rate");
+                if (window.fallbackRate() > maxFallbackRate) breaches.add("fallback-rate");
+                if (window.slowRate() > maxSlowRate) breaches.add("latency");
+            }
+            breached |= !breaches.isEmpty();
+
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("calls", calls);
+            details.put("errorRate", window.errorRate());
+            details.put("fallbackRate", window.fallbackRate());
+            details.put("slowRate", window.slowRate());
+            details.put("breaches", breaches);
+            providers.put(entry.getKey(), details);
+        }
+
+        return Health.status(breached ? DEGRADED : Status.UP)
+                .withDetail("providers", providers)
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.dialectgame.service.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Data;
+import org.springframework.ai.anthropic.AnthropicChatModel;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Télémétrie des appels aux fournisseurs IA.
+ * Chaque appel est chronométré par méthode, fournisseur et rôle (primary, fallback, batch) ;
+ * les jetons lus dans les métadonnées d'usage de la ChatResponse alimentent les compteurs de jetons
+ * et de coût estimé (tarifs app.ai.telemetry.pricing). Une fenêtre glissante par fournisseur sert
+ * à évaluer les objectifs de service (voir AIProviderSloHealthIndicator).
+ */
+@Component
+public class AIProviderTelemetry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Pricing> pricing;
+    private final Duration[] latencySlos;
+    private final Duration latencyThreshold;
+    private final Duration window;
+
+    private final Map<String, AIProviderWindow> windows = new ConcurrentHashMap<>();
+
+    public AIProviderTelemetry(
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${app.ai.telemetry.latency-slos:1s,2s,5s,10s,30s}") List<Duration> latencySlos,
+            @Value("${app.ai.telemetry.slo.latency-threshold:10s}") Duration latencyThreshold,
+            @Value("${app.ai.telemetry.slo.window:15m}") Duration window) {
+
+        this.meterRegistry = meterRegistry;
+        this.pricing = Binder.get(environment)
+                .bind("app.ai.telemetry.pricing", Bindable.mapOf(String.class, Pricing.class))
+                .orElse(Map.of());
+        this.latencySlos = latencySlos.toArray(Duration[]::new);
+        this.latencyThreshold = latencyThreshold;
+        this.window = window;
+    }
+
+    /**
+     * Appelle le modèle en enregistrant latence, issue, jetons et coût. Les exceptions sont propagées.
+     */
+    public ChatResponse call(String method, String role, ChatModel model, Prompt prompt) {
+        String provider = providerName(model);
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            ChatResponse response = model.call(prompt);
+            outcome = "success";
+            recordUsage(method, provider, response);
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("ai.provider.latency")
+                    .description("AI provider call latency")
+                    .tags("method", method, "provider", provider, "role", role, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .serviceLevelObjectives(latencySlos)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(elapsed));
+            windowFor(provider).recordCall("success".equals(outcome), elapsed > latencyThreshold.toNanos());
+        }
+    }
+
+    public void recordFallback(String method, ChatModel primary, ChatModel fallback) {
+        String provider = providerName(primary);
+        Counter.builder("ai.provider.fallbacks")
+                .description("Calls that failed on the primary provider and were retried on the fallback")
+                .tags("method", method, "provider", provider, "fallback", providerName(fallback))
+                .register(meterRegistry)
+                .increment();
+        windowFor(provider).recordFallback();
+    }
+
+    public Map<String, AIProviderWindow> getWindows() {
+        return windows;
+    }
+
+    public static String providerName(ChatModel model) {
+        if (model instanceof LazyChatModel lazy) return lazy.getProvider();
+        if (model instanceof OllamaChatModel) return "ollama";
+        if (model instanceof OpenAiChatModel) return "openai";
+        if (model instanceof AnthropicChatModel) return "anthropic";
+        return model.getClass().getSimpleName().toLowerCase(Locale.ROOT);
+    }
+
+    private void recordUsage(String method, String provider, ChatResponse response) {
+        Usage usage = response.getMetadata() != null ? response.getMetadata().getUsage() : null;
+        if (usage == null) {
+            return;
+        }
+
+        long promptTokens = usage.getPromptTokens() != null ? usage.getPromptTokens() : 0L;
+        long completionTokens = usage.getGenerationTokens() != null ? usage.getGenerationTokens() : 0L;
+        tokens(method, provider, "prompt").increment(promptTokens);
+        tokens(method, provider, "completion").increment(completionTokens);
+
+        Pricing price = pricing.get(provider);
+        if (price != null) {
+            double cost = promptTokens / 1_000_000.0 * price.getPromptPerMillion()
+                    + completionTokens / 1_000_000.0 * price.getCompletionPerMillion();
+            Counter.builder("ai.provider.cost")
+                    .description("Estimated AI provider spend")
+                    .baseUnit("usd")
+                    .tags("method", method, "provider", provider)
+                    .register(meterRegistry)
+                    .increment(cost);
+        }
+    }
+
+    private Counter tokens(String method, String provider, String type) {
+        return Counter.builder("ai.provider.tokens")
+                .description("Tokens reported in the AI provider usage metadata")
+                .baseUnit("tokens")
+                .tags("method", method, "provider", provider, "type", type)
+                .register(meterRegistry);
+    }
+
+    private AIProviderWindow windowFor(String provider) {
+        return windows.computeIfAbsent(provider, name -> {
+            AIProviderWindow providerWindow = new AIProviderWindow(window);
+            // Nombre d'appels de la fenêtre : les alertes ignorent les taux sous app.ai.telemetry.slo.min-calls
+            Gauge.builder("ai.provider.window.calls", providerWindow, AIProviderWindow::calls)
+                    .tag("provider", name)
+                    .register(meterRegistry);
+            Gauge.builder("ai.provider.window.error.rate", providerWindow, AIProviderWindow::errorRate)
+                    .tag("provider", name)
+                    .register(meterRegistry);
+            Gauge.builder("ai.provider.window.fallback.rate", providerWindow, AIProviderWindow::fallbackRate)
+                    .tag("provider", name)
+                    .register(meterRegistry);
+            Gauge.builder("ai.provider.window.slow.rate", providerWindow, AIProviderWindow::slowRate)
+                    .tag("provider", name)
+                    .register(meterRegistry);
+            return providerWindow;
+        });
+    }
+
+    // Tarifs par million de jetons, en dollars
+    @Data
+    public static class Pricing {
+        private double promptPerMillion;
+        private double completionPerMillion;
+    }
+}
@@ -0,0 +1,89 @@
+package com.dialectgame.service.ai;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compteurs d'un fournisseur IA sur une fenêtre glissante, par tranches d'une minute :
+ * appels, erreurs, appels lents (au-delà du seuil de latence) et replis.
+ */
+public class AIProviderWindow {
+
+    private static final long SLICE_MILLIS = 60_000L;
+    private static final int CALLS = 0;
+    private static final int ERRORS = 1;
+    private static final int SLOW = 2;
+    private static final int FALLBACKS = 3;
+    private static final int FIELDS = 4;
+
+    private final int slices;
+    // Pour chaque tranche : numéro de minute puis les compteurs
+    private final AtomicLongArray minutes;
+    private final AtomicLongArray counts;
+
+    public AIProviderWindow(Duration window) {
+        this.slices = (int) Math.max(1, window.toMillis() / SLICE_MILLIS);
+        this.minutes = new AtomicLongArray(slices);
+        this.counts = new AtomicLongArray(slices * FIELDS);
+    }
+
+    void recordCall(boolean success, boolean slow) {
+        int slice = currentSlice();
+        counts.incrementAndGet(slice * FIELDS + CALLS);
+        if (!success) {
+            counts.incrementAndGet(slice * FIELDS + ERRORS);
+        }
+        if (slow) {
+            counts.incrementAndGet(slice * FIELDS + SLOW);
+        }
+    }
+
+    void recordFallback() {
+        counts.incrementAndGet(currentSlice() * FIELDS + FALLBACKS);
+    }
+
+    public long calls() {
+        return sum(CALLS);
+    }
+
+    public double errorRate() {
+        return ratio(ERRORS);
+    }
+
+    public double slowRate() {
+        return ratio(SLOW);
+    }
+
+    public double fallbackRate() {
+        return ratio(FALLBACKS);
+    }
+
+    private double ratio(int field) {
+        long calls = sum(CALLS);
+        return calls > 0 ? (double) sum(field) / calls : 0.0;
+    }
+
+    private long sum(int field) {
+        long now = System.currentTimeMillis() / SLICE_MILLIS;
+        long total = 0;
+        for (int slice = 0; slice < slices; slice++) {
+            if (now - minutes.get(slice) < slices) {
+                total += counts.get(slice * FIELDS + field);
+            }
+        }
+        return total;
+    }
+
+    // Tranche de la minute courante, remise à zéro si elle contient une minute expirée
+    private int currentSlice() {
+        long minute = System.currentTimeMillis() / SLICE_MILLIS;
+        int slice = (int) (minute % slices);
+        long previous = minutes.get(slice);
+        if (previous != minute && minutes.compareAndSet(slice, previous, minute)) {
+            for (int field = 0; field < FIELDS; field++) {
+                counts.set(slice * FIELDS + field, 0);
+            }
+        }
+        return slice;
+    }
+}
@@ -1,113 +1,147 @@
 package com.dialectgame.service.ai;
 
+import com.dialectgame.service.ai.prompt.CompiledPrompt;
+import com.dialectgame.service.ai.prompt.PromptId;
+import com.dialectgame.service.ai.prompt.PromptRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AIService {
 
+    // Passé en variable : commun à toutes les versions du prompt (le parseur de réponse en dépend)
+    private static final String LESSON_CONTENT_SCHEMA = """
+            {
+              "title": "...", "description": "...", "estimatedDuration": 15,
+              "situationContext": "...", "situationProblem": "...", "situationMotivation": "...",
+              "vocabularyWords": [{"word": "...", "pronunciation": "...", "translation": "...",
+                "definition": "...", "example": "...", "difficulty": "EASY|MEDIUM|HARD"}],
+              "exercises": [{"id": "ex1", "type": "PRONUNCIATION|TRANSLATION|COMPREHENSION",
+                "question": "...", "expectedAnswer": "...", "options": ["..."]}],
+              "integrationScenario": "...",
+              "integrationDialogue": [{"id": "d1", "speaker": "USER|NPC", "text": "...",
+                "translation": "...", "userTurn": true, "possibleResponses": ["..."]}]
+            }""";
+
     private final ChatModel primaryChatModel;
     
     @Qualifier("fallbackChatModel")
     private final ChatModel fallbackChatModel;
 
+    private final AIProviderTelemetry telemetry;
+    private final PromptRegistry promptRegistry;
+
     @Value("${app.ai.enable-fallback:true}")
     private boolean enableFallback;
 
-    public String generateConversationResponse(String userMessage, String context, String language) {
-        String template = """
-            Tu es un assistant pédagogique pour l'apprentissage du français.
-            
-            Contexte de la leçon: {context}
-            Langue d'apprentissage: {language}
-            Message de l'utilisateur: {userMessage}
-            
-            Réponds de manière naturelle et pédagogique en français, en adaptant ton niveau de langue.
-            Corrige les erreurs si nécessaire et encourage l'apprenant.
-            """;
-
-        PromptTemplate promptTemplate = new PromptTemplate(template);
-        Prompt prompt = promptTemplate.create(Map.of(
-            "context", context,
-            "language", language,
-            "userMessage", userMessage
-        ));
+    public AIResponse generateConversationResponse(String userMessage, String context, String language,
+                                                   String assignmentKey) {
+        return generateConversationResponse(userMessage, context, language, "", "", assignmentKey);
+    }
 
-        return callAIWithFallback(prompt);
+    /**
+     * Tour de conversation avec mémoire : {@code summary} résume les échanges anciens,
+     * {@code history} reprend les derniers tours (voir ConversationMemoryService).
+     * {@code assignmentKey} fixe la version du prompt servie (voir PromptRegistry).
+     */
+    public AIResponse generateConversationResponse(String userMessage, String context, String language,
+                                                   String summary, String history, String assignmentKey) {
+        CompiledPrompt template = promptRegistry.get(PromptId.CONVERSATION, language, assignmentKey);
+        Prompt prompt = new Prompt(template.render(context, language, userMessage, summary, history));
+
+        return callAIWithFallback("conversation", prompt, template);
     }
 
-    public String generateVoiceFeedback(String transcribedText, String expectedText, double confidenceScore) {
-        String template = """
-            Analyse de la prononciation:
-            - Texte attendu: {expectedText}
-            - Texte transcrit: {transcribedText}
-            - Score de confiance: {confidenceScore}
-            
-            Génère un feedback constructif en français sur la prononciation.
-            Sois encourageant et donne des conseils spécifiques.
-            """;
-
-        PromptTemplate promptTemplate = new PromptTemplate(template);
-        Prompt prompt = promptTemplate.create(Map.of(
-            "expectedText", expectedText,
-            "transcribedText", transcribedText,
-            "confidenceScore", String.valueOf(confidenceScore)
-        ));
+    public String summarizeConversation(String summary, String turns, String language, int maxWords,
+                                        String assignmentKey) {
+        CompiledPrompt template = promptRegistry.get(PromptId.CONVERSATION_SUMMARY, language, assignmentKey);
+        Prompt prompt = new Prompt(template.render(summary, turns, language, String.valueOf(maxWords)));
+
+        return callAIWithFallback("conversation_summary", prompt, template).content();
+    }
+
+    /**
+     * Fournisseurs susceptibles de répondre à un appel avec repli : le budget de contexte doit tenir dans chacun.
+     */
+    public List<String> getChatProviders() {
+        List<String> providers = new ArrayList<>();
+        providers.add(AIProviderTelemetry.providerName(primaryChatModel));
+        if (enableFallback && fallbackChatModel != null) {
+            providers.add(AIProviderTelemetry.providerName(fallbackChatModel));
+        }
+        return providers;
+    }
+
+    public AIResponse generateVoiceFeedback(String transcribedText, String expectedText, double confidenceScore,
+                                            String assignmentKey) {
+        CompiledPrompt template = promptRegistry.get(PromptId.VOICE_FEEDBACK, null, assignmentKey);
+        Prompt prompt = new Prompt(template.render(expectedText, transcribedText, String.valueOf(confidenceScore)));
 
-        return callAIWithFallback(prompt);
+        return callAIWithFallback("voice_feedback", prompt, template);
     }
 
     public String generateLessonContent(String topic, String difficultyLevel, String language) {
-        String template = """
-            Génère le contenu d'une leçon de langue française.
-            
-            Sujet: {topic}
-            Niveau de difficulté: {difficultyLevel}
-            Langue cible: {language}
-            
-            Crée:
-            1. Un contexte de situation réaliste
-            2. Une liste de 5-8 mots de vocabulaire avec définitions
-            3. 3-5 exercices pratiques
-            4. Un dialogue d'intégration
-            
-            Format JSON structuré.
-            """;
-
-        PromptTemplate promptTemplate = new PromptTemplate(template);
-        Prompt prompt = promptTemplate.create(Map.of(
-            "topic", topic,
-            "difficultyLevel", difficultyLevel,
-            "language", language
-        ));
+        CompiledPrompt template = lessonContentTemplate(topic, language);
+        return callAIWithFallback("lesson_content", lessonContentPrompt(template, topic, difficultyLevel, language, null),
+                template).content();
+    }
+
+    /**
+     * Génération de contenu sur un modèle donné, sans repli : le pipeline de génération par lots
+     * répartit lui-même les appels entre fournisseurs. {@code correction} décrit l'erreur de la
+     * tentative précédente (JSON invalide) ou vaut null.
+     */
+    public String generateLessonContent(ChatModel model, String topic, String difficultyLevel, String language,
+                                        String correction) {
+        ChatResponse response = telemetry.call("lesson_content", "batch", model,
+                lessonContentPrompt(lessonContentTemplate(topic, language), topic, difficultyLevel, language, correction));
+        return response.getResult().getOutput().getContent();
+    }
 
-        return callAIWithFallback(prompt);
+    // Affectation par sujet : les nouvelles tentatives d'un même sujet gardent la même version
+    private CompiledPrompt lessonContentTemplate(String topic, String language) {
+        return promptRegistry.get(PromptId.LESSON_CONTENT, language, topic);
     }
 
-    private String callAIWithFallback(Prompt prompt) {
+    private Prompt lessonContentPrompt(CompiledPrompt template, String topic, String difficultyLevel, String language,
+                                       String correction) {
+        return new Prompt(template.render(
+            topic,
+            difficultyLevel,
+            language,
+            LESSON_CONTENT_SCHEMA,
+            correction != null
+                    ? "Ta réponse précédente était invalide (" + correction + "). Corrige-la."
+                    : ""
+        ));
+    }
+
+    // Le fournisseur renvoyé est celui qui a effectivement répondu (repli compris)
+    private AIResponse callAIWithFallback(String method, Prompt prompt, CompiledPrompt template) {
         try {
             log.debug("Calling primary AI model");
-            ChatResponse response = primaryChatModel.call(prompt);
-            return response.getResult().getOutput().getContent();
+            ChatResponse response = telemetry.call(method, "primary", primaryChatModel, prompt);
+            return AIResponse.of(response, primaryChatModel, template);
         } catch (Exception e) {
             log.warn("Primary AI model failed: {}", e.getMessage());
             
             if (enableFallback && fallbackChatModel != null) {
                 try {
                     log.debug("Calling fallback AI model");
-                    ChatResponse response = fallbackChatModel.call(prompt);
-                    return response.getResult().getOutput().getContent();
+                    telemetry.recordFallback(method, primaryChatModel, fallbackChatModel);
+                    ChatResponse response = telemetry.call(method, "fallback", fallbackChatModel, prompt);
+                    return AIResponse.of(response, fallbackChatModel, template);
                 } catch (Exception fallbackException) {
                     log.error("Fallback AI model also failed: {}", fallbackException.getMessage());
                     throw new AIServiceException("Both primary and fallback AI models failed", fallbackException);
@@ -118,6 +152,15 @@ public class AIService {
         }
     }
 
+    /** Réponse d'un modèle de chat, fournisseur qui l'a produite et version du prompt servie. */
+    public record AIResponse(String content, String provider, String promptVersion) {
+
+        static AIResponse of(ChatResponse response, ChatModel model, CompiledPrompt template) {
+            return new AIResponse(response.getResult().getOutput().getContent(), AIProviderTelemetry.providerName(model),
+                    template.getVersion());
+        }
+    }
+
     public static class AIServiceException extends RuntimeException {
         public AIServiceException(String message, Throwable cause) {
             super(message, cause);
@@ -0,0 +1,60 @@
+package com.dialectgame.service.ai;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * ChatModel dont le client réel (bean de l'auto-configuration Spring AI) n'est créé qu'au premier appel
+ * ou au préchauffage. Voir AIProviderRegistry.
+ */
+@Slf4j
+final class LazyChatModel implements ChatModel {
+
+    private final String provider;
+    private final ObjectProvider<? extends ChatModel> client;
+
+    private volatile ChatModel delegate;
+    private volatile long initializationMillis = -1;
+
+    LazyChatModel(String provider, ObjectProvider<? extends ChatModel> client) {
+        this.provider = provider;
+        this.client = client;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return delegate().call(prompt);
+    }
+
+    ChatModel delegate() {
+        ChatModel model = delegate;
+        if (model == null) {
+            synchronized (this) {
+                model = delegate;
+                if (model == null) {
+                    long start = System.nanoTime();
+                    model = client.getObject();
+                    initializationMillis = (System.nanoTime() - start) / 1_000_000;
+                    delegate = model;
+                    log.info("Initialized {} chat client in {} ms", provider, initializationMillis);
+                }
+            }
+        }
+        return model;
+    }
+
+    String getProvider() {
+        return provider;
+    }
+
+    boolean isInitialized() {
+        return delegate != null;
+    }
+
+    long getInitializationMillis() {
+        return initializationMillis;
+    }
+}
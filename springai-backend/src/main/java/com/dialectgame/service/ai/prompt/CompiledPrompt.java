@@ -0,0 +1,134 @@
+package com.dialectgame.service.ai.prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modèle de prompt découpé une fois pour toutes en segments littéraux et références de variables.
+ * Le rendu concatène les segments dans un tampon réutilisé par thread, sans analyse du texte ni Map de contexte.
+ * <p>
+ * Syntaxe : {@code {variable}} comme les modèles Spring AI ; une accolade qui n'ouvre pas un identifiant
+ * (JSON d'exemple, par exemple) reste littérale.
+ */
+public final class CompiledPrompt {
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private final PromptId id;
+    private final String version;
+    private final String language;
+    private final String[] literals;
+    private final int[] arguments;
+    private final int literalLength;
+
+    private CompiledPrompt(PromptId id, String version, String language, String[] literals, int[] arguments) {
+        this.id = id;
+        this.version = version;
+        this.language = language;
+        this.literals = literals;
+        this.arguments = arguments;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+    }
+
+    /**
+     * Découpe {@code template} ; toute variable hors de {@link PromptId#getVariables()} est une erreur.
+     */
+    public static CompiledPrompt compile(PromptId id, String version, String language, String template) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < template.length()) {
+            char ch = template.charAt(i);
+            int close = ch == '{' ? identifierEnd(template, i + 1) : -1;
+            if (close > 0) {
+                String variable = template.substring(i + 1, close);
+                int index = id.getVariables().indexOf(variable);
+                if (index < 0) {
+                    throw new InvalidPromptException("Unknown variable {" + variable + "} in prompt "
+                            + id.getKey() + "/" + version + (language != null ? "/" + language : "")
+                            + ", expected one of " + id.getVariables());
+                }
+                literals.add(literal.toString());
+                arguments.add(index);
+                literal.setLength(0);
+                i = close + 1;
+            } else {
+                literal.append(ch);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new CompiledPrompt(id, version, language, literals.toArray(String[]::new),
+                arguments.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Rend le prompt ; {@code values} suit l'ordre de {@link PromptId#getVariables()}, null vaut chaîne vide.
+     */
+    public String render(String... values) {
+        if (values.length != id.getVariables().size()) {
+            throw new InvalidPromptException("Prompt " + id.getKey() + " expects " + id.getVariables().size()
+                    + " values, got " + values.length);
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        int valuesLength = 0;
+        for (String value : values) valuesLength += value != null ? value.length() : 0;
+        buffer.ensureCapacity(literalLength + valuesLength);
+
+        for (int k = 0; k < arguments.length; k++) {
+            buffer.append(literals[k]);
+            String value = values[arguments[k]];
+            if (value != null) buffer.append(value);
+        }
+        buffer.append(literals[arguments.length]);
+
+        String rendered = buffer.toString();
+        // Un prompt exceptionnellement long ne doit pas garder un gros tampon en vie sur le thread
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    public boolean uses(String variable) {
+        int index = id.getVariables().indexOf(variable);
+        for (int argument : arguments) {
+            if (argument == index) return true;
+        }
+        return false;
+    }
+
+    public PromptId getId() {
+        return id;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    // Position de l'accolade fermante si un identifiant suit immédiatement l'accolade ouvrante, -1 sinon
+    private static int identifierEnd(String template, int start) {
+        if (start >= template.length() || !Character.isJavaIdentifierStart(template.charAt(start))) return -1;
+        int i = start + 1;
+        while (i < template.length() && Character.isJavaIdentifierPart(template.charAt(i))) i++;
+        return i < template.length() && template.charAt(i) == '}' ? i : -1;
+    }
+
+    public static class InvalidPromptException extends RuntimeException {
+        public InvalidPromptException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.dialectgame.service.ai.prompt;
+
+import java.util.List;
+
+/**
+ * Prompts connus de l'application et variables que chaque appelant fournit, dans l'ordre de
+ * {@link CompiledPrompt#render(String...)}. Un modèle qui référence une autre variable est refusé au chargement.
+ */
+public enum PromptId {
+
+    CONVERSATION("conversation", "context", "language", "userMessage", "summary", "history"),
+    CONVERSATION_SUMMARY("conversation-summary", "summary", "turns", "language", "maxWords"),
+    VOICE_FEEDBACK("voice-feedback", "expectedText", "transcribedText", "confidenceScore"),
+    LESSON_CONTENT("lesson-content", "topic", "difficultyLevel", "language", "schema", "correction");
+
+    private final String key;
+    private final List<String> variables;
+
+    PromptId(String key, String... variables) {
+        this.key = key;
+        this.variables = List.of(variables);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    public static PromptId fromKey(String key) {
+        for (PromptId id : values()) {
+            if (id.key.equals(key)) return id;
+        }
+        return null;
+    }
+}
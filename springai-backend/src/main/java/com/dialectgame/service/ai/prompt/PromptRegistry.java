@@ -0,0 +1,325 @@
+package com.dialectgame.service.ai.prompt;
+
+import com.dialectgame.model.dto.ai.PromptVersionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+/**
+ * Registre des prompts : chaque modèle est compilé une fois au chargement, pas à chaque appel.
+ * <p>
+ * Organisation sous {@code app.ai.prompts.location} (classpath ou répertoire externe) :
+ * <pre>
+ * {prompt}/{version}/default.st       modèle de la version
+ * {prompt}/{version}/{langue}.st      variante pour une langue d'apprentissage (facultative)
+ * {prompt}/versions.properties        poids des versions servies, ex. v1=90 et v2=10 (facultatif)
+ * </pre>
+ * Sans fichier de poids, {@code app.ai.prompts.default-version} est servie. Lors d'un test A/B, la version
+ * est attribuée par hachage d'une clé d'affectation (utilisateur, conversation) : stable d'un appel à l'autre
+ * et d'une instance à l'autre, tant que les poids ne changent pas. Les fichiers sont relus
+ * lorsqu'ils changent (et via {@code POST /admin/prompts/reload}) : une nouvelle version ou un test A/B
+ * se déploie sans redémarrage. Un jeu de modèles invalide est refusé et l'ancien reste en service.
+ */
+@Slf4j
+@Component
+public class PromptRegistry {
+
+    private static final String DEFAULT_TEMPLATE = "default";
+    private static final String TEMPLATE_SUFFIX = ".st";
+    private static final String WEIGHTS_FILE = "versions.properties";
+
+    private final ResourcePatternResolver resourceResolver;
+    private final MeterRegistry meterRegistry;
+    private final String location;
+    private final String defaultVersion;
+
+    private volatile Snapshot snapshot;
+
+    public PromptRegistry(
+            ResourceLoader resourceLoader,
+            MeterRegistry meterRegistry,
+            @Value("${app.ai.prompts.location:classpath:prompts/}") String location,
+            @Value("${app.ai.prompts.default-version:v1}") String defaultVersion) {
+
+        this.resourceResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+        this.meterRegistry = meterRegistry;
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.defaultVersion = defaultVersion;
+    }
+
+    @PostConstruct
+    public void init() {
+        // Échec au démarrage plutôt qu'au premier appel IA
+        snapshot = load();
+        log.info("Loaded prompt templates from {}: {}", location, describe(snapshot));
+    }
+
+    /**
+     * Modèle à utiliser pour un appel : version attribuée à {@code assignmentKey} selon les poids,
+     * variante de la langue si elle existe. Sans clé, la version est tirée au hasard à chaque appel.
+     * La version servie est donnée par {@link CompiledPrompt#getVersion()}.
+     */
+    public CompiledPrompt get(PromptId id, String language, String assignmentKey) {
+        Routing routing = snapshot.routing().get(id);
+        Variant variant = routing.pick(id, assignmentKey);
+        variant.selections().increment();
+
+        CompiledPrompt prompt = language != null ? variant.byLanguage().get(language) : null;
+        return prompt != null ? prompt : variant.defaultPrompt();
+    }
+
+    public synchronized List<PromptVersionStatus> reload() {
+        Snapshot reloaded = load();
+        snapshot = reloaded;
+        log.info("Reloaded prompt templates from {}: {}", location, describe(reloaded));
+        return status();
+    }
+
+    @Scheduled(fixedDelayString = "${app.ai.prompts.reload-interval:PT60S}",
+            initialDelayString = "${app.ai.prompts.reload-interval:PT60S}")
+    public void reloadIfChanged() {
+        try {
+            if (fingerprint(templateResources(), weightResources()) != snapshot.fingerprint()) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.error("Prompt templates reload failed, keeping version loaded at {}: {}",
+                    snapshot.loadedAt(), e.getMessage());
+        }
+    }
+
+    public List<PromptVersionStatus> status() {
+        Snapshot current = snapshot;
+        List<PromptVersionStatus> statuses = new ArrayList<>();
+        current.routing().forEach((id, routing) -> {
+            for (Variant variant : routing.variants) {
+                List<String> languages = new ArrayList<>();
+                languages.add(DEFAULT_TEMPLATE);
+                languages.addAll(variant.byLanguage().keySet());
+                statuses.add(PromptVersionStatus.builder()
+                        .prompt(id.getKey())
+                        .version(variant.version())
+                        .weight(variant.weight())
+                        .languages(languages)
+                        .loadedAt(current.loadedAt())
+                        .build());
+            }
+        });
+        return statuses;
+    }
+
+    private Snapshot load() {
+        Resource[] templates = templateResources();
+        Resource[] weightFiles = weightResources();
+
+        // prompt -> version -> langue (null pour default) -> modèle compilé
+        Map<PromptId, Map<String, Map<String, CompiledPrompt>>> compiled = new EnumMap<>(PromptId.class);
+        for (Resource resource : templates) {
+            String[] path = lastSegments(resource, 3);
+            PromptId id = PromptId.fromKey(path[0]);
+            if (id == null) {
+                log.warn("Ignoring prompt template for unknown prompt: {}", resource.getDescription());
+                continue;
+            }
+            String version = path[1];
+            String file = path[2].substring(0, path[2].length() - TEMPLATE_SUFFIX.length());
+            String language = DEFAULT_TEMPLATE.equals(file) ? null : file;
+
+            CompiledPrompt prompt = CompiledPrompt.compile(id, version, language, read(resource));
+            compiled.computeIfAbsent(id, k -> new HashMap<>())
+                    .computeIfAbsent(version, k -> new HashMap<>())
+                    .put(language, prompt);
+        }
+
+        Map<PromptId, Map<String, Integer>> weights = new EnumMap<>(PromptId.class);
+        for (Resource resource : weightFiles) {
+            PromptId id = PromptId.fromKey(lastSegments(resource, 2)[0]);
+            if (id != null) {
+                weights.put(id, readWeights(resource));
+            }
+        }
+
+        Map<PromptId, Routing> routing = new EnumMap<>(PromptId.class);
+        for (PromptId id : PromptId.values()) {
+            Map<String, Integer> served = weights.getOrDefault(id, Map.of(defaultVersion, 100));
+            List<Variant> variants = new ArrayList<>();
+            served.forEach((version, weight) -> {
+                if (weight <= 0) return;
+                Map<String, CompiledPrompt> byLanguage = compiled.getOrDefault(id, Map.of()).get(version);
+                if (byLanguage == null || !byLanguage.containsKey(null)) {
+                    throw new CompiledPrompt.InvalidPromptException("Missing template " + id.getKey() + "/"
+                            + version + "/" + DEFAULT_TEMPLATE + TEMPLATE_SUFFIX + " under " + location);
+                }
+                Map<String, CompiledPrompt> languages = new TreeMap<>();
+                byLanguage.forEach((language, prompt) -> {
+                    if (language != null) languages.put(language, prompt);
+                });
+                variants.add(new Variant(version, weight, byLanguage.get(null), languages,
+                        Counter.builder("ai.prompt.selections")
+                                .description("Prompt template versions served to AI calls")
+                                .tag("prompt", id.getKey())
+                                .tag("version", version)
+                                .register(meterRegistry)));
+            });
+            if (variants.isEmpty()) {
+                throw new CompiledPrompt.InvalidPromptException("No version with a positive weight for prompt " + id.getKey());
+            }
+            routing.put(id, new Routing(variants));
+        }
+
+        return new Snapshot(routing, fingerprint(templates, weightFiles), LocalDateTime.now());
+    }
+
+    private Resource[] templateResources() {
+        return resources(location + "*/*/*" + TEMPLATE_SUFFIX);
+    }
+
+    private Resource[] weightResources() {
+        return resources(location + "*/" + WEIGHTS_FILE);
+    }
+
+    private Resource[] resources(String pattern) {
+        try {
+            return resourceResolver.getResources(pattern);
+        } catch (IOException e) {
+            throw new CompiledPrompt.InvalidPromptException("Cannot list prompt resources " + pattern + ": " + e.getMessage());
+        }
+    }
+
+    private static String read(Resource resource) {
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new CompiledPrompt.InvalidPromptException("Cannot read prompt template " + resource.getDescription());
+        }
+    }
+
+    private static Map<String, Integer> readWeights(Resource resource) {
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new CompiledPrompt.InvalidPromptException("Cannot read prompt weights " + resource.getDescription());
+        }
+
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String version : new TreeSet<>(properties.stringPropertyNames())) {
+            try {
+                weights.put(version, Integer.parseInt(properties.getProperty(version).trim()));
+            } catch (NumberFormatException e) {
+                throw new CompiledPrompt.InvalidPromptException("Invalid weight for version " + version
+                        + " in " + resource.getDescription());
+            }
+        }
+        return weights;
+    }
+
+    // Derniers segments du chemin d'une ressource : {prompt}/{version}/{fichier} ou {prompt}/versions.properties
+    private static String[] lastSegments(Resource resource, int count) {
+        try {
+            String[] segments = resource.getURL().getPath().split("/");
+            String[] last = new String[count];
+            System.arraycopy(segments, segments.length - count, last, 0, count);
+            return last;
+        } catch (IOException e) {
+            throw new CompiledPrompt.InvalidPromptException("Cannot resolve prompt resource " + resource.getDescription());
+        }
+    }
+
+    private static long fingerprint(Resource[] templates, Resource[] weightFiles) {
+        long fingerprint = 17;
+        for (Resource[] resources : List.of(templates, weightFiles)) {
+            for (Resource resource : resources) {
+                try {
+                    fingerprint = 31 * fingerprint + resource.getURL().toString().hashCode();
+                    fingerprint = 31 * fingerprint + resource.lastModified();
+                    fingerprint = 31 * fingerprint + resource.contentLength();
+                } catch (IOException e) {
+                    fingerprint = 31 * fingerprint - 1;
+                }
+            }
+        }
+        return fingerprint;
+    }
+
+    private static String describe(Snapshot snapshot) {
+        StringBuilder description = new StringBuilder();
+        snapshot.routing().forEach((id, routing) -> {
+            if (!description.isEmpty()) description.append(", ");
+            description.append(id.getKey()).append('=');
+            for (int i = 0; i < routing.variants.size(); i++) {
+                Variant variant = routing.variants.get(i);
+                if (i > 0) description.append('/');
+                description.append(variant.version()).append(':').append(variant.weight());
+            }
+        });
+        return description.toString();
+    }
+
+    private record Snapshot(Map<PromptId, Routing> routing, long fingerprint, LocalDateTime loadedAt) {
+    }
+
+    private record Variant(String version, int weight, CompiledPrompt defaultPrompt,
+                           Map<String, CompiledPrompt> byLanguage, Counter selections) {
+    }
+
+    private static final class Routing {
+
+        private final List<Variant> variants;
+        private final int[] cumulativeWeights;
+
+        Routing(List<Variant> variants) {
+            this.variants = List.copyOf(variants);
+            this.cumulativeWeights = new int[variants.size()];
+            int total = 0;
+            for (int i = 0; i < variants.size(); i++) {
+                total += variants.get(i).weight();
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        Variant pick(PromptId id, String assignmentKey) {
+            if (variants.size() == 1) return variants.get(0);
+            int total = cumulativeWeights[cumulativeWeights.length - 1];
+            int draw = assignmentKey != null
+                    ? bucket(id.getKey() + ":" + assignmentKey, total)
+                    : ThreadLocalRandom.current().nextInt(total);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (draw < cumulativeWeights[i]) return variants.get(i);
+            }
+            return variants.get(variants.size() - 1);
+        }
+
+        // CRC32 plutôt que hashCode : même répartition sur toutes les instances ; préfixée par le prompt
+        // pour que les tests A/B de prompts différents ne visent pas les mêmes utilisateurs
+        static int bucket(String key, int total) {
+            CRC32 crc = new CRC32();
+            crc.update(key.getBytes(StandardCharsets.UTF_8));
+            return (int) (crc.getValue() % total);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.dialectgame.model.dto.user.UserDto;
 import com.dialectgame.model.entity.User;
 import com.dialectgame.repository.UserRepository;
 import com.dialectgame.service.mapper.UserMapper;
+import com.dialectgame.service.stats.UserStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,6 +29,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserMapper userMapper;
+    private final UserStatsService userStatsService;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -57,6 +59,7 @@ public class AuthService {
                 .build();
 
         user = userRepository.save(user);
+        userStatsService.createFor(user.getId());
 
         // Générer les tokens
         String accessToken = jwtService.generateAccessToken(user);
@@ -0,0 +1,322 @@
+package com.dialectgame.service.conversation;
+
+import com.dialectgame.model.entity.Conversation;
+import com.dialectgame.model.entity.ConversationTurn;
+import com.dialectgame.model.entity.LessonContent;
+import com.dialectgame.model.entity.User;
+import com.dialectgame.model.entity.VoiceSession;
+import com.dialectgame.repository.ConversationRepository;
+import com.dialectgame.repository.ConversationTurnRepository;
+import com.dialectgame.repository.LessonContentRepository;
+import com.dialectgame.repository.LessonRepository;
+import com.dialectgame.service.ai.AIService;
+import com.dialectgame.service.lesson.codec.LessonContentCodec;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mémoire des conversations orales (sessions vocales CONVERSATION).
+ * <p>
+ * Le prompt d'un tour se compose du scénario de la leçon (dialogue d'intégration), du résumé des échanges
+ * anciens et des derniers tours qui tiennent dans le budget de jetons du modèle, après réserve pour la réponse.
+ * Sa taille ne dépend donc pas de la longueur de la conversation ; la fenêtre est gardée en mémoire et
+ * seuls les tours non résumés sont relus en base quand elle en sort, ou quand une autre instance
+ * a écrit des tours depuis.
+ */
+@Service
+@Slf4j
+public class ConversationMemoryService {
+
+    private static final String FREE_CONVERSATION = "Conversation libre";
+
+    private final ConversationRepository conversationRepository;
+    private final ConversationTurnRepository conversationTurnRepository;
+    private final LessonRepository lessonRepository;
+    private final LessonContentRepository lessonContentRepository;
+    private final LessonContentCodec lessonContentCodec;
+    private final AIService aiService;
+    private final ConversationSummarizer conversationSummarizer;
+    private final Cache<Long, ConversationWindow> windows;
+    private final DistributionSummary promptTokens;
+
+    private final Map<String, Integer> tokenBudgets;
+    private final int windowTurns;
+    private final int summarizeBatch;
+    private final int scenarioMaxTokens;
+    private final int responseReserveTokens;
+    private final int promptOverheadTokens;
+
+    public ConversationMemoryService(
+            ConversationRepository conversationRepository,
+            ConversationTurnRepository conversationTurnRepository,
+            LessonRepository lessonRepository,
+            LessonContentRepository lessonContentRepository,
+            LessonContentCodec lessonContentCodec,
+            AIService aiService,
+            ConversationSummarizer conversationSummarizer,
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${app.ai.conversation.window-turns:12}") int windowTurns,
+            @Value("${app.ai.conversation.summarize-batch:6}") int summarizeBatch,
+            @Value("${app.ai.conversation.scenario-max-tokens:400}") int scenarioMaxTokens,
+            @Value("${app.ai.conversation.response-reserve-tokens:1000}") int responseReserveTokens,
+            @Value("${app.ai.conversation.prompt-overhead-tokens:150}") int promptOverheadTokens,
+            @Value("${app.ai.conversation.cache.max-conversations:10000}") long maxConversations,
+            @Value("${app.ai.conversation.cache.expire-after-access:30m}") Duration expireAfterAccess) {
+
+        this.conversationRepository = conversationRepository;
+        this.conversationTurnRepository = conversationTurnRepository;
+        this.lessonRepository = lessonRepository;
+        this.lessonContentRepository = lessonContentRepository;
+        this.lessonContentCodec = lessonContentCodec;
+        this.aiService = aiService;
+        this.conversationSummarizer = conversationSummarizer;
+        this.windowTurns = windowTurns;
+        this.summarizeBatch = summarizeBatch;
+        this.scenarioMaxTokens = scenarioMaxTokens;
+        this.responseReserveTokens = responseReserveTokens;
+        this.promptOverheadTokens = promptOverheadTokens;
+
+        // Budget de contexte (jetons) par fournisseur, clé "default" pour les autres
+        this.tokenBudgets = Binder.get(environment)
+                .bind("app.ai.conversation.token-budget", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxConversations)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+
+        this.promptTokens = DistributionSummary.builder("ai.conversation.prompt.tokens")
+                .description("Estimated prompt size of a conversation turn")
+                .baseUnit("tokens")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("ai.conversation.windows", windows, cache -> cache.estimatedSize())
+                .description("Conversation windows held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Leçon d'une nouvelle conversation, fournie par le client : vérifiée avant le pipeline vocal,
+     * une leçon inconnue est une requête invalide.
+     */
+    public void validateLesson(Long conversationId, Long lessonId) {
+        if (conversationId == null && lessonId != null && !lessonRepository.existsById(lessonId)) {
+            throw new UnknownLessonException("Lesson not found: " + lessonId);
+        }
+    }
+
+    /**
+     * Répond au message de l'apprenant dans la conversation {@code conversationId}, ou dans une nouvelle
+     * conversation liée à la leçon {@code lessonId} si l'identifiant est absent.
+     * <p>
+     * Rejoint la transaction du pipeline vocal : un échec du modèle ou une conversation inconnue ne doit pas
+     * la marquer rollback-only, l'appelant dégrade sans perdre la transcription ni les scores.
+     */
+    @Transactional(noRollbackFor = {ConversationNotFoundException.class, UnknownLessonException.class,
+            AIService.AIServiceException.class})
+    public ConversationReply respond(User user, VoiceSession voiceSession, Long conversationId, Long lessonId,
+                                     String language, String userMessage) {
+        Conversation conversation = conversationId != null
+                ? conversationRepository.findByIdAndUserId(conversationId, user.getId())
+                        .orElseThrow(() -> new ConversationNotFoundException("Conversation not found: " + conversationId))
+                : conversationRepository.save(Conversation.builder()
+                        .user(user)
+                        .lesson(lessonId != null ? lessonRepository.findById(lessonId)
+                                .orElseThrow(() -> new UnknownLessonException("Lesson not found: " + lessonId)) : null)
+                        .language(language)
+                        .updatedAt(LocalDateTime.now())
+                        .build());
+
+        ConversationWindow window = windows.get(conversation.getId(), id -> loadWindow(conversation));
+        if (conversationId != null && window.getNextTurnIndex() != conversationTurnRepository.findNextTurnIndex(conversationId)) {
+            // Tours écrits par une autre instance : l'historique en mémoire est périmé
+            windows.invalidate(conversationId);
+            window = windows.get(conversationId, id -> loadWindow(conversation));
+        }
+
+        int userTokens = TokenEstimator.estimate(userMessage);
+        int historyBudget = tokenBudget() - responseReserveTokens - promptOverheadTokens
+                - window.getScenarioTokens() - userTokens;
+        ConversationWindow.Context context = window.context(Math.max(0, historyBudget));
+        int estimatedPromptTokens = promptOverheadTokens + window.getScenarioTokens() + context.tokens() + userTokens;
+        promptTokens.record(estimatedPromptTokens);
+        if (context.omittedTurns() > 0) {
+            log.debug("Conversation {}: {} turns outside the token budget, waiting for summary",
+                    conversation.getId(), context.omittedTurns());
+        }
+
+        // Version du prompt attribuée par conversation : stable d'un tour à l'autre, résumés compris
+        AIService.AIResponse response = aiService.generateConversationResponse(userMessage, window.getScenario(),
+                window.getLanguage(), formatSummary(context.summary()), formatHistory(context.turns()),
+                String.valueOf(conversation.getId()));
+        String reply = response.content();
+
+        // Index attribués en base sous le verrou de la conversation (pris par touch, tenu jusqu'au commit) :
+        // deux instances ne peuvent pas réserver le même tour (uk_conversation_turns_index)
+        conversationRepository.touch(conversation.getId(), LocalDateTime.now());
+        int turnIndex = conversationTurnRepository.findNextTurnIndex(conversation.getId());
+        ConversationWindow.Turn userTurn = new ConversationWindow.Turn(turnIndex, ConversationTurn.Role.USER,
+                userMessage, userTokens);
+        ConversationWindow.Turn assistantTurn = new ConversationWindow.Turn(turnIndex + 1, ConversationTurn.Role.ASSISTANT,
+                reply, TokenEstimator.estimate(reply));
+        conversationTurnRepository.saveAll(List.of(
+                toEntity(conversation, voiceSession, userTurn),
+                toEntity(conversation, null, assistantTurn)));
+
+        if (window.append(userTurn, assistantTurn, windowTurns * 4)) {
+            afterCommit(window);
+        } else {
+            windows.invalidate(conversation.getId());
+        }
+        return new ConversationReply(conversation.getId(), turnIndex, reply, estimatedPromptTokens, response.provider(),
+                response.promptVersion());
+    }
+
+    static String formatTurns(List<ConversationWindow.Turn> turns) {
+        StringBuilder text = new StringBuilder();
+        for (ConversationWindow.Turn turn : turns) {
+            text.append(turn.role() == ConversationTurn.Role.USER ? "Apprenant: " : "Tuteur: ")
+                    .append(turn.content())
+                    .append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String formatSummary(String summary) {
+        return summary == null || summary.isBlank() ? "" : "Résumé des échanges précédents: " + summary;
+    }
+
+    private static String formatHistory(List<ConversationWindow.Turn> turns) {
+        return turns.isEmpty() ? "" : "Échanges récents:\n" + formatTurns(turns);
+    }
+
+    // Le résumé démarre après le commit (les tours sont en base) ; un rollback invalide la fenêtre en mémoire
+    private void afterCommit(ConversationWindow window) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            scheduleSummary(window);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduleSummary(window);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    windows.invalidate(window.getConversationId());
+                }
+            }
+        });
+    }
+
+    private void scheduleSummary(ConversationWindow window) {
+        ConversationWindow.SummaryJob job = window.nextSummaryJob(windowTurns, summarizeBatch);
+        if (job != null) {
+            conversationSummarizer.summarize(job);
+        }
+    }
+
+    private ConversationWindow loadWindow(Conversation conversation) {
+        // Tours non résumés seulement, bornés par la fenêtre : coût constant quelle que soit la longueur
+        List<ConversationTurn> newestFirst = conversationTurnRepository.findRecent(conversation.getId(),
+                conversation.getSummarizedTurns(), PageRequest.of(0, windowTurns + summarizeBatch));
+        List<ConversationWindow.Turn> turns = new ArrayList<>(newestFirst.size());
+        for (ConversationTurn turn : newestFirst) {
+            turns.add(new ConversationWindow.Turn(turn.getTurnIndex(), turn.getRole(), turn.getContent(), turn.getTokens()));
+        }
+        Collections.reverse(turns);
+
+        Long lessonId = conversation.getLesson() != null ? conversation.getLesson().getId() : null;
+        return new ConversationWindow(conversation.getId(), conversation.getLanguage(), scenario(lessonId),
+                conversation.getSummary(), conversation.getSummarizedTurns(), turns);
+    }
+
+    // Scénario et script du dialogue d'intégration de la leçon, borné en jetons
+    private String scenario(Long lessonId) {
+        if (lessonId == null) return FREE_CONVERSATION;
+
+        return lessonContentRepository.findEncodedIntegrationByLessonId(lessonId)
+                .map(phase -> {
+                    StringBuilder scenario = new StringBuilder();
+                    if (phase.getIntegrationScenario() != null) {
+                        scenario.append(phase.getIntegrationScenario()).append('\n');
+                    }
+                    if (phase.getEncoded() != null) {
+                        for (LessonContent.DialogueLine line : lessonContentCodec.decodeDialogue(phase.getEncoded())) {
+                            scenario.append(line.isUserTurn() ? "Apprenant: " : "Interlocuteur: ")
+                                    .append(line.getText())
+                                    .append('\n');
+                        }
+                    }
+                    return TokenEstimator.truncate(scenario.toString().trim(), scenarioMaxTokens);
+                })
+                .orElse(FREE_CONVERSATION);
+    }
+
+    // Le prompt doit tenir dans chacun des modèles susceptibles de répondre (principal et repli)
+    private int tokenBudget() {
+        int defaultBudget = tokenBudgets.getOrDefault("default", 4096);
+        int budget = Integer.MAX_VALUE;
+        for (String provider : aiService.getChatProviders()) {
+            budget = Math.min(budget, tokenBudgets.getOrDefault(provider, defaultBudget));
+        }
+        return budget == Integer.MAX_VALUE ? defaultBudget : budget;
+    }
+
+    private static ConversationTurn toEntity(Conversation conversation, VoiceSession voiceSession,
+                                             ConversationWindow.Turn turn) {
+        return ConversationTurn.builder()
+                .conversation(conversation)
+                .voiceSession(voiceSession)
+                .turnIndex(turn.index())
+                .role(turn.role())
+                .content(turn.content())
+                .tokens(turn.tokens())
+                .build();
+    }
+
+    // provider : fournisseur qui a répondu (repli compris), pour les métriques du pipeline vocal
+    public record ConversationReply(Long conversationId, int turnIndex, String reply, int promptTokens, String provider,
+                                    String promptVersion) {
+    }
+
+    public static class ConversationNotFoundException extends RuntimeException {
+        public ConversationNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    // Leçon fournie par le client : 400 plutôt qu'une erreur serveur
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class UnknownLessonException extends RuntimeException {
+        public UnknownLessonException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.dialectgame.service.conversation;
+
+import com.dialectgame.repository.ConversationRepository;
+import com.dialectgame.service.ai.AIService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repli incrémental des tours sortis de la fenêtre dans le résumé de la conversation.
+ * Exécuté après le commit du tour, hors du chemin de réponse : la latence d'un tour n'en dépend pas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConversationSummarizer {
+
+    private final AIService aiService;
+    private final ConversationRepository conversationRepository;
+
+    @Value("${app.ai.conversation.summary-max-tokens:300}")
+    private int summaryMaxTokens;
+
+    @Async
+    @Transactional
+    public void summarize(ConversationWindow.SummaryJob job) {
+        ConversationWindow window = job.window();
+        try {
+            String previous = job.previousSummary() != null && !job.previousSummary().isBlank()
+                    ? job.previousSummary() : "(aucun)";
+            // Environ 0,75 mot par jeton
+            String summary = aiService.summarizeConversation(previous, ConversationMemoryService.formatTurns(job.turns()),
+                    window.getLanguage(), summaryMaxTokens * 3 / 4, String.valueOf(window.getConversationId()));
+            summary = TokenEstimator.truncate(summary.trim(), summaryMaxTokens);
+
+            conversationRepository.updateSummary(window.getConversationId(), summary, job.upToTurn(), LocalDateTime.now());
+            window.completeSummary(job, summary);
+            log.debug("Conversation {} summarized up to turn {}", window.getConversationId(), job.upToTurn());
+        } catch (Exception e) {
+            // Les tours restent dans la fenêtre : nouvelle tentative au prochain tour
+            log.warn("Failed to summarize conversation {}: {}", window.getConversationId(), e.getMessage());
+            window.abortSummary();
+        }
+    }
+}
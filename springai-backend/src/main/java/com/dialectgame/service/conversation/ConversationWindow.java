@@ -0,0 +1,144 @@
+package com.dialectgame.service.conversation;
+
+import com.dialectgame.model.entity.ConversationTurn.Role;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Mémoire de travail d'une conversation : scénario de la leçon, résumé des tours anciens et fenêtre
+ * glissante des derniers tours. Les tours qui débordent de la fenêtre sont repliés par lots dans le résumé,
+ * en tâche de fond ; en attendant ils restent dans la fenêtre, le budget de jetons borne le prompt.
+ * <p>
+ * Simple copie de l'historique en base : les index des tours sont attribués en base
+ * (voir ConversationMemoryService), la fenêtre est rechargée dès qu'elle a manqué un tour.
+ */
+final class ConversationWindow {
+
+    private final Long conversationId;
+    private final String language;
+    private final String scenario;
+    private final int scenarioTokens;
+
+    private String summary;
+    private int summaryTokens;
+    private int summarizedTurns;
+    private int nextTurnIndex;
+    private boolean summarizing;
+
+    // Tours d'index >= summarizedTurns, du plus ancien au plus récent
+    private final ArrayDeque<Turn> recent = new ArrayDeque<>();
+
+    ConversationWindow(Long conversationId, String language, String scenario, String summary,
+                       int summarizedTurns, List<Turn> recentTurns) {
+        this.conversationId = conversationId;
+        this.language = language;
+        this.scenario = scenario;
+        this.scenarioTokens = TokenEstimator.estimate(scenario);
+        this.summary = summary;
+        this.summaryTokens = TokenEstimator.estimate(summary);
+        this.summarizedTurns = summarizedTurns;
+        this.recent.addAll(recentTurns);
+        this.nextTurnIndex = recentTurns.isEmpty() ? summarizedTurns : recentTurns.get(recentTurns.size() - 1).index() + 1;
+    }
+
+    Long getConversationId() {
+        return conversationId;
+    }
+
+    String getLanguage() {
+        return language;
+    }
+
+    String getScenario() {
+        return scenario;
+    }
+
+    int getScenarioTokens() {
+        return scenarioTokens;
+    }
+
+    /**
+     * Résumé et derniers tours qui tiennent dans {@code historyBudget} jetons, du plus récent au plus ancien.
+     */
+    synchronized Context context(int historyBudget) {
+        List<Turn> selected = new ArrayList<>();
+        int budget = historyBudget - summaryTokens;
+        int tokens = summaryTokens;
+        Iterator<Turn> newestFirst = recent.descendingIterator();
+        while (newestFirst.hasNext()) {
+            Turn turn = newestFirst.next();
+            if (turn.tokens() > budget) break;
+            budget -= turn.tokens();
+            tokens += turn.tokens();
+            selected.add(0, turn);
+        }
+        return new Context(summary, selected, tokens, recent.size() - selected.size());
+    }
+
+    // Index du tour qui suit le dernier tour connu de la fenêtre
+    synchronized int getNextTurnIndex() {
+        return nextTurnIndex;
+    }
+
+    /**
+     * Ajoute un échange s'il suit le dernier tour de la fenêtre ; false si des tours ont été écrits
+     * entre-temps par une autre instance, la fenêtre est alors à recharger.
+     */
+    synchronized boolean append(Turn userTurn, Turn assistantTurn, int maxRetainedTurns) {
+        if (userTurn.index() != nextTurnIndex) return false;
+
+        nextTurnIndex = assistantTurn.index() + 1;
+        recent.addLast(userTurn);
+        recent.addLast(assistantTurn);
+        // Résumés en échec répété : la fenêtre reste bornée, les tours les plus anciens ne sont plus relus
+        while (recent.size() > maxRetainedTurns) {
+            recent.removeFirst();
+        }
+        return true;
+    }
+
+    /**
+     * Lot de tours à replier dans le résumé quand la fenêtre déborde d'au moins {@code batchSize} tours,
+     * ou null. Un seul résumé à la fois par conversation.
+     */
+    synchronized SummaryJob nextSummaryJob(int windowTurns, int batchSize) {
+        int overflow = recent.size() - windowTurns;
+        if (summarizing || overflow < batchSize) return null;
+
+        List<Turn> turns = new ArrayList<>(overflow);
+        Iterator<Turn> oldestFirst = recent.iterator();
+        for (int i = 0; i < overflow; i++) {
+            turns.add(oldestFirst.next());
+        }
+        summarizing = true;
+        return new SummaryJob(this, summary, turns, turns.get(turns.size() - 1).index() + 1);
+    }
+
+    synchronized void completeSummary(SummaryJob job, String newSummary) {
+        summarizing = false;
+        if (job.upToTurn() <= summarizedTurns) return;
+
+        summary = newSummary;
+        summaryTokens = TokenEstimator.estimate(newSummary);
+        summarizedTurns = job.upToTurn();
+        while (!recent.isEmpty() && recent.peekFirst().index() < summarizedTurns) {
+            recent.removeFirst();
+        }
+    }
+
+    synchronized void abortSummary() {
+        summarizing = false;
+    }
+
+    record Turn(int index, Role role, String content, int tokens) {
+    }
+
+    record Context(String summary, List<Turn> turns, int tokens, int omittedTurns) {
+    }
+
+    record SummaryJob(ConversationWindow window, String previousSummary, List<Turn> turns, int upToTurn) {
+    }
+}
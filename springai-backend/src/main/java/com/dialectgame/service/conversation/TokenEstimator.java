@@ -0,0 +1,27 @@
+package com.dialectgame.service.conversation;
+
+/**
+ * Estimation du nombre de jetons d'un texte sans tokenizer : environ 3,5 caractères par jeton
+ * pour du français, volontairement pessimiste pour que le budget de contexte ne soit jamais dépassé.
+ */
+public final class TokenEstimator {
+
+    private static final double CHARS_PER_TOKEN = 3.5;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        return text == null || text.isEmpty() ? 0 : (int) Math.ceil(text.length() / CHARS_PER_TOKEN);
+    }
+
+    /**
+     * Coupe {@code text} pour qu'il tienne dans {@code maxTokens}, sur une fin de mot si possible.
+     */
+    public static String truncate(String text, int maxTokens) {
+        if (text == null || estimate(text) <= maxTokens) return text;
+        int maxChars = (int) (Math.max(0, maxTokens) * CHARS_PER_TOKEN);
+        int cut = text.lastIndexOf(' ', maxChars);
+        return text.substring(0, cut > maxChars / 2 ? cut : maxChars);
+    }
+}
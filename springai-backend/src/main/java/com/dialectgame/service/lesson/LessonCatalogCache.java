@@ -0,0 +1,242 @@
+package com.dialectgame.service.lesson;
+
+import com.dialectgame.model.dto.lesson.LessonDto;
+import com.dialectgame.model.entity.User;
+import com.dialectgame.model.entity.UserProgress;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cache mémoire du catalogue de leçons (lecture seule pour les apprenants).
+ * Les entrées sont pondérées par leur taille sérialisée en JSON et indexées par
+ * la version du catalogue : toute modification d'une leçon incrémente la version,
+ * ce qui rend les anciennes entrées inaccessibles.
+ * <p>
+ * La version est partagée entre instances (table lesson_catalog_version) : incrémentée dans la
+ * transaction qui modifie le catalogue, relue par chaque instance toutes les version-check-interval.
+ * Les entrées manquantes sont chargées sur le primaire, jamais sur un réplica en retard.
+ */
+@Component
+@Slf4j
+public class LessonCatalogCache {
+
+    private static final String CACHE_NAME = "lessonCatalog";
+
+    private static final String SELECT_VERSION_SQL = "SELECT version FROM lesson_catalog_version WHERE id = 1";
+    private static final String INCREMENT_VERSION_SQL = "UPDATE lesson_catalog_version SET version = version + 1 WHERE id = 1";
+    private static final String INSERT_VERSION_SQL = "INSERT INTO lesson_catalog_version (id, version) VALUES (1, 2)";
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    // Dernière version partagée connue de cette instance
+    private final AtomicLong version = new AtomicLong(1);
+    private final Cache<CatalogKey, Entry> cache;
+
+    public LessonCatalogCache(
+            ObjectMapper objectMapper,
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<PlatformTransactionManager> transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.lesson.catalog.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${app.lesson.catalog.cache.expire-after-write:1h}") Duration expireAfterWrite) {
+
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        // Résolu à l'usage : le cache est une dépendance des listeners JPA, créés avec l'EntityManagerFactory
+        this.transactionManager = transactionManager;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((CatalogKey key, Entry entry) -> entry.bytes())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("lesson.catalog.version", version, AtomicLong::get)
+                .description("Current lesson catalog version")
+                .register(meterRegistry);
+    }
+
+    public LessonDto getLesson(Long lessonId, Supplier<LessonDto> loader) {
+        return get(new CatalogKey(version.get(), Kind.LESSON, lessonId), loader);
+    }
+
+    public List<LessonDto> getLevelLessons(String language, User.DifficultyLevel difficultyLevel,
+                                           Supplier<List<LessonDto>> loader) {
+        return get(new CatalogKey(version.get(), Kind.LEVEL, language + ":" + difficultyLevel), loader);
+    }
+
+    public long getCount(String filterKey, LongSupplier loader) {
+        return this.<Long>get(new CatalogKey(version.get(), Kind.COUNT, filterKey), loader::getAsLong);
+    }
+
+    public LessonContentResponse getContentResponse(Long lessonId, Supplier<LessonContentResponse> loader) {
+        return get(new CatalogKey(version.get(), Kind.CONTENT_RESPONSE, lessonId), loader,
+                LessonContentResponse::sizeInBytes);
+    }
+
+    public LessonContentResponse getPhaseResponse(Long lessonId, UserProgress.Phase phase,
+                                                  Supplier<LessonContentResponse> loader) {
+        return get(new CatalogKey(version.get(), Kind.PHASE_RESPONSE, lessonId + ":" + phase), loader,
+                LessonContentResponse::sizeInBytes);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long bumpVersion() {
+        long newVersion = onPrimary(status -> incrementSharedVersion());
+        advanceTo(newVersion);
+        // Invalidation explicite : on libère la mémoire même si la version avait déjà été relue
+        cache.invalidateAll();
+        return newVersion;
+    }
+
+    /**
+     * Incrémente la version partagée dans la transaction courante (une fois par transaction), avec les
+     * modifications du catalogue ; la version locale avance après le commit, pour qu'une lecture
+     * concurrente ne remette pas en cache l'état d'avant la modification.
+     */
+    public void bumpVersionAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bumpVersion();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) return;
+
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        long newVersion = incrementSharedVersion();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(LessonCatalogCache.this);
+                if (status == STATUS_COMMITTED) {
+                    advanceTo(newVersion);
+                }
+            }
+        });
+    }
+
+    // Modifications faites par les autres instances ; lecture hors transaction, donc sur le primaire
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.lesson.catalog.version-check-interval:PT2S}")
+    public void refreshVersion() {
+        try {
+            advanceTo(readSharedVersion());
+        } catch (DataAccessException e) {
+            log.warn("Unable to read the shared lesson catalog version: {}", e.getMessage());
+        }
+    }
+
+    private void advanceTo(long sharedVersion) {
+        long previous = version.getAndAccumulate(sharedVersion, Math::max);
+        if (sharedVersion > previous) {
+            // Les entrées de l'ancienne version ne sont plus adressables : on libère la mémoire tout de suite
+            cache.invalidateAll();
+            log.info("Lesson catalog version advanced to {}", sharedVersion);
+        }
+    }
+
+    // Sous le verrou de la ligne jusqu'au commit : la valeur relue est celle qui sera validée
+    private long incrementSharedVersion() {
+        if (jdbcTemplate.update(INCREMENT_VERSION_SQL) == 0) {
+            // Schéma H2 généré par Hibernate : ligne créée à la première modification
+            jdbcTemplate.update(INSERT_VERSION_SQL);
+        }
+        return readSharedVersion();
+    }
+
+    // Transaction propre, non marquée lecture seule : le routage l'envoie au primaire
+    private <T> T onPrimary(TransactionCallback<T> action) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager.getObject());
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction.execute(action);
+    }
+
+    private long readSharedVersion() {
+        Long shared = jdbcTemplate.query(SELECT_VERSION_SQL, rows -> rows.next() ? rows.getLong(1) : 1L);
+        return shared != null ? shared : 1L;
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getEstimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public long getWeightedSizeBytes() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    public long getMaximumBytes() {
+        return cache.policy().eviction()
+                .map(Policy.Eviction::getMaximum)
+                .orElse(0L);
+    }
+
+    private <T> T get(CatalogKey key, Supplier<T> loader) {
+        return get(key, loader, this::serializedSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(CatalogKey key, Supplier<T> loader, ToIntFunction<T> weigher) {
+        Entry entry = cache.get(key, k -> onPrimary(status -> {
+            T value = loader.get();
+            return value != null ? new Entry(value, weigher.applyAsInt(value)) : null;
+        }));
+        return entry != null ? (T) entry.value() : null;
+    }
+
+    private int serializedSize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value).length;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to weigh lesson catalog entry", e);
+        }
+    }
+
+    private enum Kind {
+        LESSON, CONTENT_RESPONSE, PHASE_RESPONSE, LEVEL, COUNT
+    }
+
+    private record CatalogKey(long version, Kind kind, Object id) {
+    }
+
+    private record Entry(Object value, int bytes) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.dialectgame.service.lesson;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "lessoncatalog")
+@RequiredArgsConstructor
+public class LessonCatalogEndpoint {
+
+    private final LessonCatalogCache lessonCatalogCache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        CacheStats stats = lessonCatalogCache.getStats();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("version", lessonCatalogCache.getVersion());
+        body.put("entries", lessonCatalogCache.getEstimatedSize());
+        body.put("weightedSizeBytes", lessonCatalogCache.getWeightedSizeBytes());
+        body.put("maximumBytes", lessonCatalogCache.getMaximumBytes());
+        body.put("hitCount", stats.hitCount());
+        body.put("missCount", stats.missCount());
+        body.put("hitRate", stats.hitRate());
+        body.put("evictionCount", stats.evictionCount());
+        body.put("evictionWeightBytes", stats.evictionWeight());
+        body.put("averageLoadPenaltyNanos", stats.averageLoadPenalty());
+        return body;
+    }
+
+    @WriteOperation
+    public Map<String, Object> invalidate() {
+        return Map.of("version", lessonCatalogCache.bumpVersion());
+    }
+}
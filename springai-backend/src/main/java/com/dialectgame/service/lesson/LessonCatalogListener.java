@@ -0,0 +1,25 @@
+package com.dialectgame.service.lesson;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA des entités du catalogue (Lesson, LessonContent) :
+ * toute écriture invalide le cache du catalogue.
+ */
+@Component
+@RequiredArgsConstructor
+public class LessonCatalogListener {
+
+    private final LessonCatalogCache lessonCatalogCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCatalogChange(Object entity) {
+        lessonCatalogCache.bumpVersionAfterCommit();
+    }
+}
@@ -0,0 +1,64 @@
+package com.dialectgame.service.lesson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Réponse JSON pré-sérialisée du contenu d'une leçon, avec sa variante gzip.
+ * L'ETag est dérivé du contenu : il reste stable entre redémarrages et instances.
+ */
+public record LessonContentResponse(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+
+    public static LessonContentResponse of(byte[] json) {
+        String hash = sha256Prefix(json);
+        byte[] gzip = gzip(json);
+
+        // Ne garder la variante compressée que si elle est réellement plus petite
+        return gzip.length < json.length
+                ? new LessonContentResponse(json, gzip, "\"" + hash + "\"", "\"" + hash + "-gzip\"")
+                : new LessonContentResponse(json, null, "\"" + hash + "\"", null);
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        String header = ifNoneMatch.trim();
+        return header.equals("*")
+                || header.contains(etag)
+                || (gzipEtag != null && header.contains(gzipEtag));
+    }
+
+    public int sizeInBytes() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256Prefix(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
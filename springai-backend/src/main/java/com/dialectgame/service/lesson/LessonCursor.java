@@ -0,0 +1,58 @@
+package com.dialectgame.service.lesson;
+
+import com.dialectgame.model.entity.Lesson;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position dans le catalogue pour la pagination par clé :
+ * (language, difficulty_level, lesson_order, id) de la dernière leçon renvoyée.
+ */
+public record LessonCursor(String language, String difficultyLevel, int order, long id) {
+
+    // Plus petite clé possible : toutes les leçons sont strictement après
+    public static final LessonCursor START = new LessonCursor("", "", Integer.MIN_VALUE, 0L);
+
+    private static final String SEPARATOR = "|";
+
+    public static LessonCursor of(Lesson lesson) {
+        return new LessonCursor(
+                lesson.getLanguage(),
+                lesson.getDifficultyLevel().name(),
+                lesson.getOrder(),
+                lesson.getId());
+    }
+
+    public static LessonCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) {
+                throw new InvalidCursorException("Malformed lesson cursor");
+            }
+            return new LessonCursor(parts[0], parts[1], Integer.parseInt(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed lesson cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = language + SEPARATOR + difficultyLevel + SEPARATOR + order + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Curseur fourni par le client : 400 plutôt qu'une erreur serveur
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class InvalidCursorException extends RuntimeException {
+        public InvalidCursorException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.dialectgame.service.lesson;
+
+import com.dialectgame.model.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Pointeur "prochaine leçon" de chaque utilisateur.
+ * Invalidé par un changement de progression, de niveau ou de version du catalogue ; une invalidation
+ * reçue pendant la résolution empêche de remettre en cache le pointeur résolu (voir {@link UserStateBuilds}).
+ */
+@Component
+public class LessonFrontierCache {
+
+    private final LessonCatalogCache lessonCatalogCache;
+    private final Cache<Long, Frontier> frontiers;
+    private final UserStateBuilds builds = new UserStateBuilds();
+
+    public LessonFrontierCache(
+            LessonCatalogCache lessonCatalogCache,
+            @Value("${app.lesson.frontier.max-users:100000}") long maxUsers,
+            @Value("${app.lesson.frontier.expire-after-write:10m}") Duration expireAfterWrite) {
+
+        this.lessonCatalogCache = lessonCatalogCache;
+        this.frontiers = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    // Renvoie null si l'utilisateur n'a plus de leçon disponible (résultat également mis en cache)
+    public Long getNextLessonId(User user, Supplier<Long> resolver) {
+        String levelKey = user.getPreferredLanguage() + ":" + user.getDifficultyLevel();
+        long catalogVersion = lessonCatalogCache.getVersion();
+
+        Frontier frontier = frontiers.getIfPresent(user.getId());
+        if (frontier == null || frontier.catalogVersion() != catalogVersion || !frontier.levelKey().equals(levelKey)) {
+            builds.begin(user.getId());
+            boolean stale;
+            try {
+                frontier = new Frontier(levelKey, catalogVersion, resolver.get());
+                frontiers.put(user.getId(), frontier);
+            } finally {
+                stale = builds.end(user.getId());
+            }
+            if (stale) {
+                // La résolution a pu lire la progression d'avant l'invalidation : résolue à nouveau au prochain appel
+                frontiers.asMap().remove(user.getId(), frontier);
+            }
+        }
+        return frontier.lessonId();
+    }
+
+    public void evictUser(Long userId) {
+        builds.invalidate(userId);
+        frontiers.invalidate(userId);
+    }
+
+    private record Frontier(String levelKey, long catalogVersion, Long lessonId) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.dialectgame.service.lesson;
+
+import com.dialectgame.model.dto.lesson.LessonPhaseContentDto;
+import com.dialectgame.model.entity.LessonContent;
+import com.dialectgame.model.entity.UserProgress;
+import com.dialectgame.repository.LessonContentRepository;
+import com.dialectgame.repository.UserProgressRepository;
+import com.dialectgame.service.lesson.codec.LessonContentCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Contenu de leçon phase par phase.
+ * Chaque phase est lue par une requête qui ne sélectionne que ses colonnes (binaires Smile
+ * pour les listes), puis mise en cache pré-sérialisée comme le contenu complet.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LessonPhaseContentService {
+
+    private final LessonContentRepository lessonContentRepository;
+    private final UserProgressRepository userProgressRepository;
+    private final LessonContentCodec lessonContentCodec;
+    private final LessonCatalogCache lessonCatalogCache;
+    private final ObjectMapper objectMapper;
+
+    public LessonContentResponse getPhaseContentResponse(Long lessonId, UserProgress.Phase phase) {
+        log.debug("Getting {} content for lesson {}", phase, lessonId);
+
+        return lessonCatalogCache.getPhaseResponse(lessonId, phase, () -> {
+            try {
+                return LessonContentResponse.of(objectMapper.writeValueAsBytes(loadPhase(lessonId, phase)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unable to serialize " + phase + " content of lesson " + lessonId, e);
+            }
+        });
+    }
+
+    public UserProgress.Phase getCurrentPhase(Long userId, Long lessonId) {
+        return userProgressRepository.findByUserIdAndLessonId(userId, lessonId)
+                .map(UserProgress::getCurrentPhase)
+                .orElse(UserProgress.Phase.SITUATION);
+    }
+
+    // Réchauffe le cache pour la phase suivante pendant que l'apprenant lit la phase courante
+    @Async
+    public void prefetch(Long lessonId, UserProgress.Phase phase) {
+        try {
+            getPhaseContentResponse(lessonId, phase);
+        } catch (RuntimeException e) {
+            log.debug("Prefetch of {} content for lesson {} failed: {}", phase, lessonId, e.getMessage());
+        }
+    }
+
+    public static UserProgress.Phase nextPhase(UserProgress.Phase phase) {
+        UserProgress.Phase[] phases = UserProgress.Phase.values();
+        return phase.ordinal() + 1 < phases.length ? phases[phase.ordinal() + 1] : null;
+    }
+
+    private LessonPhaseContentDto loadPhase(Long lessonId, UserProgress.Phase phase) {
+        LessonPhaseContentDto.LessonPhaseContentDtoBuilder content = LessonPhaseContentDto.builder()
+                .lessonId(lessonId)
+                .phase(phase)
+                .nextPhase(nextPhase(phase));
+
+        switch (phase) {
+            case SITUATION -> {
+                LessonContentRepository.SituationPhase situation = lessonContentRepository.findSituationByLessonId(lessonId)
+                        .orElseThrow(() -> notFound(lessonId));
+                content.situationContext(situation.getSituationContext())
+                        .situationProblem(situation.getSituationProblem())
+                        .situationMotivation(situation.getSituationMotivation())
+                        .situationImageUrl(situation.getSituationImageUrl());
+            }
+            case VOCABULARY -> {
+                byte[] encoded = lessonContentRepository.findEncodedVocabularyByLessonId(lessonId)
+                        .orElseThrow(() -> notFound(lessonId))
+                        .getEncoded();
+                content.vocabularyWords(encoded != null
+                        ? lessonContentCodec.decodeVocabulary(encoded)
+                        : loadEntity(lessonId).getVocabularyWords());
+            }
+            case EXERCISES -> {
+                byte[] encoded = lessonContentRepository.findEncodedExercisesByLessonId(lessonId)
+                        .orElseThrow(() -> notFound(lessonId))
+                        .getEncoded();
+                content.exercises(encoded != null
+                        ? lessonContentCodec.decodeExercises(encoded)
+                        : loadEntity(lessonId).getExercises());
+            }
+            case INTEGRATION -> {
+                LessonContentRepository.IntegrationPhase integration = lessonContentRepository.findEncodedIntegrationByLessonId(lessonId)
+                        .orElseThrow(() -> notFound(lessonId));
+                content.integrationScenario(integration.getIntegrationScenario())
+                        .integrationDialogue(integration.getEncoded() != null
+                                ? lessonContentCodec.decodeDialogue(integration.getEncoded())
+                                : loadEntity(lessonId).getIntegrationDialogue());
+            }
+        }
+        return content.build();
+    }
+
+    // Ligne pas encore encodée en binaire (voir LessonContentCodecBackfill) : lecture JSONB
+    private LessonContent loadEntity(Long lessonId) {
+        return lessonContentRepository.findByLessonId(lessonId)
+                .orElseThrow(() -> notFound(lessonId));
+    }
+
+    private static LessonService.LessonNotFoundException notFound(Long lessonId) {
+        return new LessonService.LessonNotFoundException("Lesson content not found for lesson id: " + lessonId);
+    }
+}
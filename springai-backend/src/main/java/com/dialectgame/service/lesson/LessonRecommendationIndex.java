@@ -0,0 +1,188 @@
+package com.dialectgame.service.lesson;
+
+import com.dialectgame.model.dto.lesson.LessonDto;
+import com.dialectgame.model.entity.User;
+import com.dialectgame.repository.LessonRepository;
+import com.dialectgame.repository.UserProgressRepository;
+import com.dialectgame.service.mapper.LessonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Index de recommandation par utilisateur.
+ * Chaque niveau (langue + difficulté) numérote ses leçons actives par ordinal ; chaque utilisateur
+ * garde un bitmap des ordinaux complétés et un pointeur sur la première leçon non complétée.
+ * Une recommandation parcourt le bitmap à partir de ce pointeur : O(limit) au lieu d'un scan complet.
+ * Un changement de progression reçu pendant la construction d'un état (lecture de la base antérieure
+ * au changement) invalide cet état plutôt que de le perdre.
+ */
+@Component
+@Slf4j
+public class LessonRecommendationIndex {
+
+    private final LessonRepository lessonRepository;
+    private final UserProgressRepository userProgressRepository;
+    private final LessonMapper lessonMapper;
+    private final LessonCatalogCache lessonCatalogCache;
+
+    private final Map<String, LevelOrdinals> levels = new ConcurrentHashMap<>();
+    private final Cache<Long, UserState> users;
+    private final UserStateBuilds builds = new UserStateBuilds();
+
+    public LessonRecommendationIndex(
+            LessonRepository lessonRepository,
+            UserProgressRepository userProgressRepository,
+            LessonMapper lessonMapper,
+            LessonCatalogCache lessonCatalogCache,
+            @Value("${app.lesson.recommendations.max-users:100000}") long maxUsers,
+            @Value("${app.lesson.recommendations.expire-after-write:10m}") Duration expireAfterWrite) {
+
+        this.lessonRepository = lessonRepository;
+        this.userProgressRepository = userProgressRepository;
+        this.lessonMapper = lessonMapper;
+        this.lessonCatalogCache = lessonCatalogCache;
+        // Expiration après écriture : les progressions enregistrées par une autre instance ne passent pas par
+        // onProgressChanged, l'état d'un utilisateur actif est donc relu au plus tard à l'expiration
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public List<LessonDto> recommend(User user, int limit) {
+        LevelOrdinals level = levelFor(user.getPreferredLanguage(), user.getDifficultyLevel());
+        UserState state = stateFor(user.getId(), level);
+
+        List<LessonDto> recommendations = new ArrayList<>(Math.min(limit, level.lessons().size()));
+        synchronized (state) {
+            for (int ordinal = state.frontier;
+                 ordinal < level.lessons().size() && recommendations.size() < limit;
+                 ordinal = state.completed.nextClearBit(ordinal + 1)) {
+                recommendations.add(level.lessons().get(ordinal));
+            }
+        }
+        return recommendations;
+    }
+
+    public void onProgressChanged(Long userId, Long lessonId, boolean completed) {
+        builds.invalidate(userId);
+
+        UserState state = users.getIfPresent(userId);
+        if (state == null) {
+            // Pas encore indexé : l'état sera construit depuis la base à la prochaine lecture
+            return;
+        }
+
+        LevelOrdinals level = levels.get(state.levelKey);
+        if (level == null || level.catalogVersion() != state.catalogVersion) {
+            users.invalidate(userId);
+            return;
+        }
+
+        Integer ordinal = level.ordinalByLessonId().get(lessonId);
+        if (ordinal == null) {
+            // Leçon d'un autre niveau : sans effet sur les recommandations courantes
+            return;
+        }
+
+        synchronized (state) {
+            state.completed.set(ordinal, completed);
+            state.frontier = state.completed.nextClearBit(0);
+        }
+    }
+
+    public void evictUser(Long userId) {
+        builds.invalidate(userId);
+        users.invalidate(userId);
+    }
+
+    private UserState stateFor(Long userId, LevelOrdinals level) {
+        UserState state = users.getIfPresent(userId);
+        if (state != null && state.catalogVersion == level.catalogVersion() && state.levelKey.equals(level.key())) {
+            return state;
+        }
+
+        // Absent, catalogue modifié ou changement de niveau : les ordinaux sont (re)calculés
+        builds.begin(userId);
+        boolean stale;
+        try {
+            state = buildState(userId, level);
+            users.put(userId, state);
+        } finally {
+            stale = builds.end(userId);
+        }
+        if (stale) {
+            // La lecture a pu précéder le changement : reconstruit à la prochaine recommandation
+            users.asMap().remove(userId, state);
+        }
+        return state;
+    }
+
+    private UserState buildState(Long userId, LevelOrdinals level) {
+        BitSet completed = new BitSet(level.lessons().size());
+        for (Long lessonId : userProgressRepository.findCompletedLessonIdsByUserId(userId)) {
+            Integer ordinal = level.ordinalByLessonId().get(lessonId);
+            if (ordinal != null) {
+                completed.set(ordinal);
+            }
+        }
+
+        log.debug("Built recommendation index for user {}: {} completed of {}", userId, completed.cardinality(), level.lessons().size());
+        return new UserState(level.key(), level.catalogVersion(), completed);
+    }
+
+    private LevelOrdinals levelFor(String language, User.DifficultyLevel difficultyLevel) {
+        String key = language + ":" + difficultyLevel;
+        long catalogVersion = lessonCatalogCache.getVersion();
+
+        LevelOrdinals level = levels.get(key);
+        if (level != null && level.catalogVersion() == catalogVersion) {
+            return level;
+        }
+
+        List<LessonDto> lessons = lessonCatalogCache.getLevelLessons(language, difficultyLevel,
+                () -> lessonRepository.findByDifficultyLevelAndLanguageAndIsActiveTrueOrderByOrderAsc(difficultyLevel, language)
+                        .stream()
+                        .map(lessonMapper::toDto)
+                        .collect(Collectors.toList()));
+
+        Map<Long, Integer> ordinalByLessonId = new HashMap<>(lessons.size() * 2);
+        for (int i = 0; i < lessons.size(); i++) {
+            ordinalByLessonId.put(lessons.get(i).getId(), i);
+        }
+
+        level = new LevelOrdinals(key, catalogVersion, List.copyOf(lessons), ordinalByLessonId);
+        levels.put(key, level);
+        return level;
+    }
+
+    private record LevelOrdinals(String key, long catalogVersion, List<LessonDto> lessons,
+                                 Map<Long, Integer> ordinalByLessonId) {
+    }
+
+    private static final class UserState {
+        private final String levelKey;
+        private final long catalogVersion;
+        private final BitSet completed;
+        private int frontier;
+
+        private UserState(String levelKey, long catalogVersion, BitSet completed) {
+            this.levelKey = levelKey;
+            this.catalogVersion = catalogVersion;
+            this.completed = completed;
+            this.frontier = completed.nextClearBit(0);
+        }
+    }
+}
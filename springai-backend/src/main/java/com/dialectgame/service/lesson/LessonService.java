@@ -1,20 +1,34 @@
 package com.dialectgame.service.lesson;
 
+import com.dialectgame.model.dto.common.CursorPage;
 import com.dialectgame.model.dto.lesson.LessonDto;
 import com.dialectgame.model.entity.Lesson;
 import com.dialectgame.model.entity.User;
 import com.dialectgame.model.entity.UserProgress;
+import com.dialectgame.repository.LessonContentRepository;
 import com.dialectgame.repository.LessonRepository;
 import com.dialectgame.repository.UserProgressRepository;
+import com.dialectgame.service.lesson.codec.CompactLessonContent;
+import com.dialectgame.service.lesson.codec.LessonContentCodec;
 import com.dialectgame.service.mapper.LessonMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,129 +37,177 @@ import java.util.stream.Collectors;
 public class LessonService {
 
     private final LessonRepository lessonRepository;
+    private final LessonContentRepository lessonContentRepository;
+    private final LessonContentCodec lessonContentCodec;
     private final UserProgressRepository userProgressRepository;
     private final LessonMapper lessonMapper;
+    private final LessonCatalogCache lessonCatalogCache;
+    private final LessonRecommendationIndex lessonRecommendationIndex;
+    private final LessonFrontierCache lessonFrontierCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.lesson.catalog.max-page-size:100}")
+    private int maxPageSize;
 
     @Transactional(readOnly = true)
     public Page<LessonDto> getAllLessons(String language, User.DifficultyLevel difficultyLevel, Long chapterId, Pageable pageable) {
         log.debug("Getting lessons with filters: language={}, difficulty={}, chapter={}", language, difficultyLevel, chapterId);
 
-        Page<Lesson> lessons;
-        
+        List<Lesson> lessons;
+        LongSupplier total;
+
         if (chapterId != null) {
-            lessons = lessonRepository.findByChapterIdAndIsActiveTrueOrderByOrderAsc(chapterId)
-                    .stream()
-                    .collect(Collectors.collectingAndThen(
-                            Collectors.toList(),
-                            list -> Page.empty(pageable) // TODO: Implement proper pagination
-                    ));
+            lessons = lessonRepository.findByChapterIdAndIsActiveTrueOrderByOrderAsc(chapterId, pageable);
+            total = () -> countLessons(language, difficultyLevel, chapterId);
         } else {
-            List<Lesson> lessonList = lessonRepository.findLessonsWithFilters(language, difficultyLevel);
-            lessons = Page.empty(pageable); // TODO: Convert list to page
+            lessons = lessonRepository.findLessonsWithFilters(language, difficultyLevel, pageable);
+            total = () -> countLessons(language, difficultyLevel, null);
         }
 
-        return lessons.map(lessonMapper::toDto);
+        // Le comptage n'est exécuté que si la page ne suffit pas à déduire le total
+        return PageableExecutionUtils.getPage(lessons, pageable, total)
+                .map(lessonMapper::toDto);
     }
 
     @Transactional(readOnly = true)
+    public CursorPage<LessonDto> browseLessons(String language, User.DifficultyLevel difficultyLevel, Long chapterId,
+                                               String cursor, int size, boolean includeTotal) {
+        log.debug("Browsing lessons: language={}, difficulty={}, chapter={}, cursor={}", language, difficultyLevel, chapterId, cursor);
+
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        LessonCursor after = LessonCursor.decode(cursor);
+
+        // Une ligne de plus pour savoir s'il existe une page suivante, sans COUNT
+        List<Lesson> lessons;
+        if (chapterId != null) {
+            lessons = lessonRepository.findChapterPageAfter(chapterId, after.order(), after.id(), pageSize + 1);
+        } else {
+            lessons = lessonRepository.findCatalogPageAfter(
+                    language,
+                    difficultyLevel != null ? difficultyLevel.name() : null,
+                    after.language(),
+                    after.difficultyLevel(),
+                    after.order(),
+                    after.id(),
+                    pageSize + 1);
+        }
+
+        boolean hasNext = lessons.size() > pageSize;
+        List<Lesson> page = hasNext ? lessons.subList(0, pageSize) : lessons;
+
+        return CursorPage.<LessonDto>builder()
+                .items(page.stream().map(lessonMapper::toDto).collect(Collectors.toList()))
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? LessonCursor.of(page.get(page.size() - 1)).encode() : null)
+                .totalElements(includeTotal ? countLessons(language, difficultyLevel, chapterId) : null)
+                .build();
+    }
+
+    private long countLessons(String language, User.DifficultyLevel difficultyLevel, Long chapterId) {
+        String key = chapterId != null
+                ? "chapter:" + chapterId
+                : "filters:" + Objects.toString(language, "*") + ":" + Objects.toString(difficultyLevel, "*");
+
+        return lessonCatalogCache.getCount(key, () -> chapterId != null
+                ? lessonRepository.countByChapterIdAndIsActiveTrue(chapterId)
+                : lessonRepository.countLessonsWithFilters(language, difficultyLevel));
+    }
+
+    // Pas de transaction englobante : un hit de cache ne doit pas emprunter de connexion
     public LessonDto getLessonById(Long id) {
         log.debug("Getting lesson by id: {}", id);
 
-        Lesson lesson = lessonRepository.findById(id)
-                .orElseThrow(() -> new LessonNotFoundException("Lesson not found with id: " + id));
-
-        return lessonMapper.toDto(lesson);
+        return lessonCatalogCache.getLesson(id, () -> lessonRepository.findById(id)
+                .map(lessonMapper::toDto)
+                .orElseThrow(() -> new LessonNotFoundException("Lesson not found with id: " + id)));
     }
 
-    @Transactional(readOnly = true)
-    public LessonDto getLessonWithContent(Long id) {
-        log.debug("Getting lesson with content by id: {}", id);
+    private LessonDto loadLessonWithContent(Long id) {
+        Optional<CompactLessonContent> compact = findCompactContent(id);
+        if (compact.isPresent()) {
+            // Mêmes règles que findByIdWithContent : une leçon inactive (en attente de relecture) n'est pas servie
+            LessonDto lesson = lessonRepository.findById(id)
+                    .filter(entity -> Boolean.TRUE.equals(entity.getIsActive()))
+                    .map(lessonMapper::toDto)
+                    .orElseThrow(() -> new LessonNotFoundException("Lesson not found with id: " + id));
+            lesson.setContent(lessonMapper.toContentDto(compact.get()));
+            return lesson;
+        }
 
+        // Contenu absent ou pas encore encodé : lecture JSONB via l'entité
         Lesson lesson = lessonRepository.findByIdWithContent(id);
         if (lesson == null) {
             throw new LessonNotFoundException("Lesson not found with id: " + id);
         }
-
         return lessonMapper.toDtoWithContent(lesson);
     }
 
-    @Transactional(readOnly = true)
+    private Optional<CompactLessonContent> findCompactContent(Long lessonId) {
+        return lessonContentRepository.findEncodedByLessonId(lessonId)
+                .map(encoded -> new CompactLessonContent(encoded, lessonContentCodec))
+                .filter(CompactLessonContent::isFullyEncoded);
+    }
+
+    public LessonContentResponse getLessonContentResponse(Long id) {
+        log.debug("Getting pre-serialized lesson content by id: {}", id);
+
+        // Chargement direct, sans passer par le cache : un cache.get imbriqué sur le même cache Caffeine
+        // est une mise à jour récursive
+        return lessonCatalogCache.getContentResponse(id, () -> {
+            try {
+                return LessonContentResponse.of(objectMapper.writeValueAsBytes(loadLessonWithContent(id)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unable to serialize lesson content " + id, e);
+            }
+        });
+    }
+
     public List<LessonDto> getRecommendationsForUser(User user, int limit) {
         log.debug("Getting recommendations for user: {}", user.getId());
 
-        // Logique de recommandation simple
-        // 1. Récupérer les leçons de la langue préférée de l'utilisateur
-        // 2. Filtrer par niveau de difficulté
-        // 3. Exclure les leçons déjà complétées
-        
-        List<Lesson> allLessons = lessonRepository.findByDifficultyLevelAndLanguageAndIsActiveTrueOrderByOrderAsc(
-                user.getDifficultyLevel(), user.getPreferredLanguage());
-
-        // Récupérer les progrès de l'utilisateur
-        List<UserProgress> userProgress = userProgressRepository.findByUserIdAndStatus(
-                user.getId(), UserProgress.CompletionStatus.COMPLETED);
-
-        Set<Long> completedLessonIds = userProgress.stream()
-                .map(progress -> progress.getLesson().getId())
-                .collect(Collectors.toSet());
-
-        // Filtrer les leçons non complétées
-        List<Lesson> recommendations = allLessons.stream()
-                .filter(lesson -> !completedLessonIds.contains(lesson.getId()))
-                .limit(limit)
-                .collect(Collectors.toList());
-
-        return recommendations.stream()
-                .map(lessonMapper::toDto)
-                .collect(Collectors.toList());
+        // Leçons du niveau de l'utilisateur, hors leçons complétées, dans l'ordre du parcours
+        return lessonRecommendationIndex.recommend(user, limit);
     }
 
-    @Transactional(readOnly = true)
     public LessonDto getNextLessonForUser(User user) {
         log.debug("Getting next lesson for user: {}", user.getId());
 
-        // Récupérer les progrès de l'utilisateur
-        List<UserProgress> userProgress = userProgressRepository.findByUserIdWithLessons(user.getId());
+        Long nextLessonId = lessonFrontierCache.getNextLessonId(user, () -> resolveNextLessonId(user));
+        if (nextLessonId == null) {
+            throw new LessonNotFoundException("No next lesson available for user");
+        }
 
-        if (userProgress.isEmpty()) {
-            // Premier utilisateur - retourner la première leçon
-            List<Lesson> firstLessons = lessonRepository.findByDifficultyLevelAndLanguageAndIsActiveTrueOrderByOrderAsc(
-                    user.getDifficultyLevel(), user.getPreferredLanguage());
+        return getLessonById(nextLessonId);
+    }
 
-            if (!firstLessons.isEmpty()) {
-                return lessonMapper.toDto(firstLessons.get(0));
-            }
-        } else {
-            // Trouver la prochaine leçon basée sur la progression
-            UserProgress lastProgress = userProgress.stream()
-                    .max((p1, p2) -> p1.getLesson().getOrder().compareTo(p2.getLesson().getOrder()))
+    private Long resolveNextLessonId(User user) {
+        // Dernière progression (par ordre de leçon) : une seule ligne, pas toute l'historique
+        List<UserProgress> latestProgress = userProgressRepository.findLatestByUserIdWithLesson(
+                user.getId(), PageRequest.of(0, 1));
+
+        if (latestProgress.isEmpty()) {
+            // Premier utilisateur - retourner la première leçon
+            return lessonRepository.findFirstByDifficultyLevelAndLanguageAndIsActiveTrueOrderByOrderAsc(
+                            user.getDifficultyLevel(), user.getPreferredLanguage())
+                    .map(Lesson::getId)
                     .orElse(null);
+        }
 
-            if (lastProgress != null) {
-                if (lastProgress.getStatus() == UserProgress.CompletionStatus.COMPLETED) {
-                    // Chercher la leçon suivante
-                    Integer nextOrder = lastProgress.getLesson().getOrder() + 1;
-                    List<Lesson> nextLessons = lessonRepository.findByLanguageAndIsActiveTrueOrderByOrderAsc(
-                            user.getPreferredLanguage());
-
-                    Lesson nextLesson = nextLessons.stream()
-                            .filter(lesson -> lesson.getOrder().equals(nextOrder))
-                            .findFirst()
-                            .orElse(null);
-
-                    if (nextLesson != null) {
-                        return lessonMapper.toDto(nextLesson);
-                    }
-                } else {
-                    // Continuer la leçon en cours
-                    return lessonMapper.toDto(lastProgress.getLesson());
-                }
-            }
+        UserProgress lastProgress = latestProgress.get(0);
+        if (lastProgress.getStatus() != UserProgress.CompletionStatus.COMPLETED) {
+            // Continuer la leçon en cours
+            return lastProgress.getLesson().getId();
         }
 
-        throw new LessonNotFoundException("No next lesson available for user");
+        // Leçon suivante dans la langue : lecture indexée sur (language, is_active, lesson_order)
+        return lessonRepository.findFirstByLanguageAndIsActiveTrueAndOrderGreaterThanOrderByOrderAsc(
+                        user.getPreferredLanguage(), lastProgress.getLesson().getOrder())
+                .map(Lesson::getId)
+                .orElse(null);
     }
 
+    @ResponseStatus(HttpStatus.NOT_FOUND)
     public static class LessonNotFoundException extends RuntimeException {
         public LessonNotFoundException(String message) {
             super(message);
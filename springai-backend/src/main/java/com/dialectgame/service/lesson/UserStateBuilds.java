@@ -0,0 +1,53 @@
+package com.dialectgame.service.lesson;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Constructions en cours d'un état par utilisateur, lu en base puis mis en cache.
+ * Une invalidation reçue pendant une construction la marque périmée : l'état construit a pu lire
+ * la base avant le changement et ne doit pas rester en cache.
+ */
+final class UserStateBuilds {
+
+    private final Map<Long, Build> builds = new ConcurrentHashMap<>();
+
+    void begin(Long userId) {
+        builds.compute(userId, (id, build) -> (build != null ? build : new Build()).begin());
+    }
+
+    void invalidate(Long userId) {
+        builds.computeIfPresent(userId, (id, build) -> build.markStale());
+    }
+
+    // true si une invalidation est arrivée pendant une construction en cours
+    boolean end(Long userId) {
+        boolean[] stale = new boolean[1];
+        builds.computeIfPresent(userId, (id, build) -> {
+            stale[0] = build.stale;
+            return build.end();
+        });
+        return stale[0];
+    }
+
+    // Modifié uniquement dans les fonctions de calcul de la map (verrou de l'entrée)
+    private static final class Build {
+        private int builders;
+        private boolean stale;
+
+        private Build begin() {
+            builders++;
+            return this;
+        }
+
+        private Build markStale() {
+            stale = true;
+            return this;
+        }
+
+        // null : plus aucune construction en cours, l'entrée est retirée
+        private Build end() {
+            return --builders > 0 ? this : null;
+        }
+    }
+}
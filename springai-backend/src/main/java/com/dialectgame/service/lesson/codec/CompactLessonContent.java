@@ -0,0 +1,88 @@
+package com.dialectgame.service.lesson.codec;
+
+import com.dialectgame.model.entity.LessonContent;
+import com.dialectgame.model.entity.UserProgress;
+import com.dialectgame.repository.LessonContentRepository;
+
+import java.util.List;
+
+/**
+ * Contenu de leçon lu depuis les colonnes binaires : les octets sont chargés tels quels et
+ * chaque phase n'est décodée qu'au premier accès. La phase SITUATION ne contient que du texte
+ * et ne coûte aucun décodage. Non thread-safe : objet de portée requête.
+ */
+public class CompactLessonContent {
+
+    private final LessonContentRepository.EncodedContent encoded;
+    private final LessonContentCodec codec;
+
+    private List<LessonContent.VocabularyWord> vocabularyWords;
+    private List<LessonContent.Exercise> exercises;
+    private List<LessonContent.DialogueLine> integrationDialogue;
+
+    public CompactLessonContent(LessonContentRepository.EncodedContent encoded, LessonContentCodec codec) {
+        this.encoded = encoded;
+        this.codec = codec;
+    }
+
+    public Long getLessonId() {
+        return encoded.getLessonId();
+    }
+
+    // false tant que la ligne n'a pas été encodée : l'appelant repasse alors par l'entité (JSONB)
+    public boolean isEncoded(UserProgress.Phase phase) {
+        return switch (phase) {
+            case SITUATION -> true;
+            case VOCABULARY -> encoded.getVocabularyWords() != null;
+            case EXERCISES -> encoded.getExercises() != null;
+            case INTEGRATION -> encoded.getIntegrationDialogue() != null;
+        };
+    }
+
+    public boolean isFullyEncoded() {
+        return encoded.getVocabularyWords() != null
+                && encoded.getExercises() != null
+                && encoded.getIntegrationDialogue() != null;
+    }
+
+    public String getSituationContext() {
+        return encoded.getSituationContext();
+    }
+
+    public String getSituationProblem() {
+        return encoded.getSituationProblem();
+    }
+
+    public String getSituationMotivation() {
+        return encoded.getSituationMotivation();
+    }
+
+    public String getSituationImageUrl() {
+        return encoded.getSituationImageUrl();
+    }
+
+    public String getIntegrationScenario() {
+        return encoded.getIntegrationScenario();
+    }
+
+    public List<LessonContent.VocabularyWord> getVocabularyWords() {
+        if (vocabularyWords == null && encoded.getVocabularyWords() != null) {
+            vocabularyWords = codec.decodeVocabulary(encoded.getVocabularyWords());
+        }
+        return vocabularyWords;
+    }
+
+    public List<LessonContent.Exercise> getExercises() {
+        if (exercises == null && encoded.getExercises() != null) {
+            exercises = codec.decodeExercises(encoded.getExercises());
+        }
+        return exercises;
+    }
+
+    public List<LessonContent.DialogueLine> getIntegrationDialogue() {
+        if (integrationDialogue == null && encoded.getIntegrationDialogue() != null) {
+            integrationDialogue = codec.decodeDialogue(encoded.getIntegrationDialogue());
+        }
+        return integrationDialogue;
+    }
+}
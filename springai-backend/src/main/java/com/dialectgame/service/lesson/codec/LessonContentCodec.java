@@ -0,0 +1,92 @@
+package com.dialectgame.service.lesson.codec;
+
+import com.dialectgame.model.entity.LessonContent;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Codec binaire des listes de LessonContent (vocabulaire, exercices, dialogue).
+ * Smile avec noms de champs et valeurs courtes partagés : chaque nom de propriété n'est écrit
+ * qu'une fois par document, les occurrences suivantes sont des références d'un octet.
+ * Les lecteurs sont typés et construits une seule fois.
+ */
+@Component
+public class LessonContentCodec {
+
+    private final ObjectWriter writer;
+    private final ObjectReader vocabularyReader;
+    private final ObjectReader exercisesReader;
+    private final ObjectReader dialogueReader;
+
+    public LessonContentCodec() {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        SmileMapper mapper = SmileMapper.builder(factory)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+
+        this.writer = mapper.writer();
+        this.vocabularyReader = mapper.readerFor(new TypeReference<List<LessonContent.VocabularyWord>>() {});
+        this.exercisesReader = mapper.readerFor(new TypeReference<List<LessonContent.Exercise>>() {});
+        this.dialogueReader = mapper.readerFor(new TypeReference<List<LessonContent.DialogueLine>>() {});
+    }
+
+    /**
+     * Encode les trois listes dans les colonnes binaires de l'entité.
+     * Une liste absente est encodée comme un null Smile : une colonne binaire null signifie
+     * donc uniquement « pas encore encodé ».
+     */
+    public void encodeInto(LessonContent content) {
+        content.setVocabularyWordsSmile(encode(content.getVocabularyWords()));
+        content.setExercisesSmile(encode(content.getExercises()));
+        content.setIntegrationDialogueSmile(encode(content.getIntegrationDialogue()));
+    }
+
+    public boolean isEncoded(LessonContent content) {
+        return content.getVocabularyWordsSmile() != null
+                && content.getExercisesSmile() != null
+                && content.getIntegrationDialogueSmile() != null;
+    }
+
+    public byte[] encode(List<?> value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to encode lesson content", e);
+        }
+    }
+
+    public List<LessonContent.VocabularyWord> decodeVocabulary(byte[] data) {
+        return decode(vocabularyReader, data);
+    }
+
+    public List<LessonContent.Exercise> decodeExercises(byte[] data) {
+        return decode(exercisesReader, data);
+    }
+
+    public List<LessonContent.DialogueLine> decodeDialogue(byte[] data) {
+        return decode(dialogueReader, data);
+    }
+
+    private static <T> List<T> decode(ObjectReader reader, byte[] data) {
+        try {
+            return reader.readValue(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to decode lesson content", e);
+        }
+    }
+}
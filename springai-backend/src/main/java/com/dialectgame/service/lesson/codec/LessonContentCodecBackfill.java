@@ -0,0 +1,81 @@
+package com.dialectgame.service.lesson.codec;
+
+import com.dialectgame.model.entity.LessonContent;
+import com.dialectgame.repository.LessonContentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Encode au démarrage les contenus écrits avant l'ajout des colonnes binaires.
+ * Traitement par lots d'identifiants ; en attendant, ces leçons sont lues depuis le JSONB.
+ */
+@Component
+@Slf4j
+public class LessonContentCodecBackfill {
+
+    private final LessonContentRepository lessonContentRepository;
+    private final LessonContentCodec lessonContentCodec;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public LessonContentCodecBackfill(
+            LessonContentRepository lessonContentRepository,
+            LessonContentCodec lessonContentCodec,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.lesson.content.codec.backfill-on-startup:true}") boolean enabled,
+            @Value("${app.lesson.content.codec.backfill-batch-size:100}") int batchSize) {
+
+        this.lessonContentRepository = lessonContentRepository;
+        this.lessonContentCodec = lessonContentCodec;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    public int backfill() {
+        int encoded = 0;
+        Long afterId = 0L;
+
+        List<Long> ids;
+        while (!(ids = lessonContentRepository.findIdsMissingEncoding(afterId, PageRequest.of(0, batchSize))).isEmpty()) {
+            List<Long> chunk = ids;
+            try {
+                transactionTemplate.executeWithoutResult(status -> encode(chunk));
+                encoded += chunk.size();
+            } catch (RuntimeException e) {
+                log.warn("Failed to encode {} lesson contents, they stay on JSONB reads: {}", chunk.size(), e.getMessage());
+            }
+            afterId = chunk.get(chunk.size() - 1);
+        }
+
+        if (encoded > 0) {
+            log.info("Encoded {} lesson contents to the compact binary format", encoded);
+        }
+        return encoded;
+    }
+
+    private void encode(List<Long> ids) {
+        for (LessonContent content : lessonContentRepository.findAllById(ids)) {
+            // Entité modifiée : l'UPDATE part au commit (et LessonContentCodecListener réencode à l'identique)
+            lessonContentCodec.encodeInto(content);
+        }
+    }
+}
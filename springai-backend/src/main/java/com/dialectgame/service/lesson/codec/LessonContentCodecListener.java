@@ -0,0 +1,24 @@
+package com.dialectgame.service.lesson.codec;
+
+import com.dialectgame.model.entity.LessonContent;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de LessonContent : réencode les colonnes binaires avant chaque écriture
+ * pour qu'elles restent alignées sur les colonnes JSONB.
+ */
+@Component
+@RequiredArgsConstructor
+public class LessonContentCodecListener {
+
+    private final LessonContentCodec lessonContentCodec;
+
+    @PrePersist
+    @PreUpdate
+    public void encode(LessonContent content) {
+        lessonContentCodec.encodeInto(content);
+    }
+}
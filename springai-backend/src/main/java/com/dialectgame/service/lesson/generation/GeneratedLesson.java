@@ -0,0 +1,27 @@
+package com.dialectgame.service.lesson.generation;
+
+import com.dialectgame.model.entity.LessonContent;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Contenu de leçon tel que renvoyé (en JSON) par le modèle de génération.
+ */
+@Data
+public class GeneratedLesson {
+
+    private String title;
+    private String description;
+    private Integer estimatedDuration;
+
+    private String situationContext;
+    private String situationProblem;
+    private String situationMotivation;
+
+    private List<LessonContent.VocabularyWord> vocabularyWords;
+    private List<LessonContent.Exercise> exercises;
+
+    private String integrationScenario;
+    private List<LessonContent.DialogueLine> integrationDialogue;
+}
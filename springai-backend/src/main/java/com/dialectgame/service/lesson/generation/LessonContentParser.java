@@ -0,0 +1,98 @@
+package com.dialectgame.service.lesson.generation;
+
+import com.dialectgame.model.entity.LessonContent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Extrait et valide le JSON d'une réponse de génération de leçon.
+ * Les modèles entourent souvent le JSON de texte ou d'un bloc Markdown : seul l'objet
+ * racine est lu. Toute réponse inexploitable lève MalformedLessonContentException,
+ * dont le message est renvoyé au modèle lors de la tentative suivante.
+ */
+@Component
+public class LessonContentParser {
+
+    private final ObjectReader reader;
+
+    public LessonContentParser(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(GeneratedLesson.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public GeneratedLesson parse(String output) {
+        if (output == null) {
+            throw new MalformedLessonContentException("empty response");
+        }
+
+        int start = output.indexOf('{');
+        int end = output.lastIndexOf('}');
+        if (start < 0 || end <= start) {
+            throw new MalformedLessonContentException("no JSON object found");
+        }
+
+        GeneratedLesson lesson;
+        try {
+            lesson = reader.readValue(output.substring(start, end + 1));
+        } catch (JsonProcessingException e) {
+            throw new MalformedLessonContentException("invalid JSON: " + e.getOriginalMessage());
+        }
+
+        validate(lesson);
+        return lesson;
+    }
+
+    private void validate(GeneratedLesson lesson) {
+        require(notBlank(lesson.getTitle()), "missing title");
+        require(notBlank(lesson.getSituationContext()), "missing situationContext");
+        require(notEmpty(lesson.getVocabularyWords()), "vocabularyWords is empty");
+        require(notEmpty(lesson.getExercises()), "exercises is empty");
+        require(notEmpty(lesson.getIntegrationDialogue()), "integrationDialogue is empty");
+
+        for (LessonContent.VocabularyWord word : lesson.getVocabularyWords()) {
+            require(word != null && notBlank(word.getWord()) && notBlank(word.getTranslation()),
+                    "every vocabulary word needs word and translation");
+        }
+        for (int i = 0; i < lesson.getExercises().size(); i++) {
+            LessonContent.Exercise exercise = lesson.getExercises().get(i);
+            require(exercise != null && notBlank(exercise.getType()) && notBlank(exercise.getQuestion()),
+                    "every exercise needs type and question");
+            if (!notBlank(exercise.getId())) {
+                exercise.setId("ex" + (i + 1));
+            }
+        }
+        for (int i = 0; i < lesson.getIntegrationDialogue().size(); i++) {
+            LessonContent.DialogueLine line = lesson.getIntegrationDialogue().get(i);
+            require(line != null && notBlank(line.getSpeaker()) && notBlank(line.getText()),
+                    "every dialogue line needs speaker and text");
+            if (!notBlank(line.getId())) {
+                line.setId("d" + (i + 1));
+            }
+        }
+    }
+
+    private static void require(boolean condition, String reason) {
+        if (!condition) {
+            throw new MalformedLessonContentException(reason);
+        }
+    }
+
+    private static boolean notBlank(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static boolean notEmpty(List<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    public static class MalformedLessonContentException extends RuntimeException {
+        public MalformedLessonContentException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.dialectgame.service.lesson.generation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Points de reprise des lots de génération : un fichier JSON par lot, réécrit de façon atomique
+ * (fichier temporaire puis renommage) après chaque écriture en base.
+ */
+@Slf4j
+class LessonGenerationCheckpointStore {
+
+    private static final String SUFFIX = ".json";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    LessonGenerationCheckpointStore(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    List<LessonGenerationJob> loadAll() throws IOException {
+        Files.createDirectories(directory);
+
+        List<LessonGenerationJob> jobs = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                try {
+                    jobs.add(objectMapper.readValue(file.toFile(), LessonGenerationJob.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable lesson generation checkpoint {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        return jobs;
+    }
+
+    // false si le point de reprise n'a pas pu être écrit
+    boolean save(LessonGenerationJob job) {
+        Path target = directory.resolve(job.getId() + SUFFIX);
+        Path temp = directory.resolve(job.getId() + SUFFIX + ".tmp");
+        try {
+            byte[] json;
+            synchronized (job) {
+                json = objectMapper.writeValueAsBytes(job);
+            }
+            Files.write(temp, json);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            // Le lot continue ; les écritures de leçons, elles, attendent un point de reprise valide
+            log.error("Unable to write lesson generation checkpoint {}: {}", target, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.dialectgame.service.lesson.generation;
+
+import com.dialectgame.model.entity.User;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * État d'un lot de génération, sérialisé tel quel dans son fichier de point de reprise.
+ * Modifié uniquement par le thread coordinateur du lot, sous verrou de l'instance.
+ */
+@Data
+@NoArgsConstructor
+class LessonGenerationJob {
+
+    enum Status {
+        RUNNING, COMPLETED, INTERRUPTED
+    }
+
+    enum ItemStatus {
+        PENDING, COMPLETED, FAILED
+    }
+
+    private String id;
+    private Status status;
+    private boolean activate;
+    private List<Item> items = new ArrayList<>();
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    // Temps d'exécution cumulé sur toutes les reprises, pour le débit
+    private long elapsedMillis;
+
+    @Data
+    @NoArgsConstructor
+    static class Item {
+        private int index;
+        private String topic;
+        private User.DifficultyLevel difficultyLevel;
+        private String language;
+        private Long chapterId;
+        private Integer order;
+        private ItemStatus status = ItemStatus.PENDING;
+        private int attempts;
+        private String provider;
+        private Long lessonId;
+        private String error;
+    }
+}
@@ -0,0 +1,527 @@
+package com.dialectgame.service.lesson.generation;
+
+import com.dialectgame.model.dto.lesson.LessonGenerationRequest;
+import com.dialectgame.model.dto.lesson.LessonGenerationStatus;
+import com.dialectgame.model.entity.Lesson;
+import com.dialectgame.model.entity.LessonContent;
+import com.dialectgame.repository.LessonRepository;
+import com.dialectgame.service.ai.AIService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Génération de leçons par lots (hors ligne).
+ * Les appels sont répartis entre les fournisseurs configurés (principal et repli), avec un nombre
+ * borné d'appels simultanés par fournisseur. Une réponse dont le JSON est invalide est redemandée
+ * avec la raison du rejet ; une erreur de fournisseur est retentée sur le fournisseur suivant.
+ * Les leçons valides sont écrites en base par lots, puis le point de reprise du lot est mis à jour :
+ * un lot interrompu (arrêt, crash) reprend là où il s'était arrêté.
+ */
+@Service
+@Slf4j
+public class LessonGenerationService {
+
+    private final AIService aiService;
+    private final LessonContentParser lessonContentParser;
+    private final LessonRepository lessonRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LessonGenerationCheckpointStore checkpointStore;
+    private final MeterRegistry meterRegistry;
+    private final List<Provider> providers = new ArrayList<>();
+    private final AtomicInteger nextProvider = new AtomicInteger();
+    private final int maxAttempts;
+    private final int persistBatchSize;
+    private final boolean resumeOnStartup;
+
+    private final Map<String, LessonGenerationJob> jobs = new ConcurrentHashMap<>();
+    // Derniers ordres attribués par langue : un lot soumis avant l'écriture du précédent ne les réutilise pas
+    private final Map<String, Integer> lastAssignedOrders = new ConcurrentHashMap<>();
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lesson-generation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService workers;
+
+    public LessonGenerationService(
+            AIService aiService,
+            LessonContentParser lessonContentParser,
+            LessonRepository lessonRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            ChatModel primaryChatModel,
+            @Qualifier("fallbackChatModel") ObjectProvider<ChatModel> fallbackChatModel,
+            @Value("${app.ai.provider:ollama}") String primaryProvider,
+            @Value("${app.ai.fallback-provider:openai}") String fallbackProvider,
+            @Value("${app.lesson.generation.max-concurrency-per-provider:8}") int maxConcurrencyPerProvider,
+            @Value("${app.lesson.generation.max-attempts:3}") int maxAttempts,
+            @Value("${app.lesson.generation.persist-batch-size:20}") int persistBatchSize,
+            @Value("${app.lesson.generation.checkpoint-dir:data/lesson-generation}") String checkpointDir,
+            @Value("${app.lesson.generation.resume-on-startup:false}") boolean resumeOnStartup) {
+
+        this.aiService = aiService;
+        this.lessonContentParser = lessonContentParser;
+        this.lessonRepository = lessonRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpointStore = new LessonGenerationCheckpointStore(Path.of(checkpointDir), objectMapper);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.persistBatchSize = persistBatchSize;
+        this.resumeOnStartup = resumeOnStartup;
+
+        providers.add(new Provider(primaryProvider, primaryChatModel, new Semaphore(maxConcurrencyPerProvider)));
+        ChatModel fallback = fallbackChatModel.getIfAvailable();
+        if (fallback != null && fallback != primaryChatModel) {
+            providers.add(new Provider(fallbackProvider, fallback, new Semaphore(maxConcurrencyPerProvider)));
+        }
+
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(maxConcurrencyPerProvider * providers.size(), runnable -> {
+            Thread thread = new Thread(runnable, "lesson-generation-worker-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void loadCheckpoints() throws IOException {
+        for (LessonGenerationJob job : checkpointStore.loadAll()) {
+            if (job.getStatus() == LessonGenerationJob.Status.RUNNING) {
+                // Arrêt brutal pendant le lot
+                job.setStatus(LessonGenerationJob.Status.INTERRUPTED);
+            }
+            jobs.put(job.getId(), job);
+            if (resumeOnStartup && job.getStatus() == LessonGenerationJob.Status.INTERRUPTED) {
+                log.info("Resuming lesson generation job {}", job.getId());
+                start(job, true);
+            }
+        }
+    }
+
+    public synchronized LessonGenerationStatus submit(LessonGenerationRequest request) {
+        LessonGenerationJob job = new LessonGenerationJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setStatus(LessonGenerationJob.Status.RUNNING);
+        job.setActivate(request.isActivate());
+        job.setCreatedAt(LocalDateTime.now());
+
+        Map<String, Integer> nextOrderByLanguage = new HashMap<>();
+        for (LessonGenerationRequest.Item requested : request.getItems()) {
+            LessonGenerationJob.Item item = new LessonGenerationJob.Item();
+            item.setIndex(job.getItems().size());
+            item.setTopic(requested.getTopic());
+            item.setDifficultyLevel(requested.getDifficultyLevel());
+            item.setLanguage(requested.getLanguage());
+            item.setChapterId(requested.getChapterId());
+            // Ordre attribué dès la soumission, dans l'ordre du parcours et non dans l'ordre de fin de génération
+            item.setOrder(requested.getOrder() != null
+                    ? requested.getOrder()
+                    : nextOrderByLanguage.compute(requested.getLanguage(), (language, last) ->
+                            (last != null ? last : lastAssignedOrder(language)) + 1));
+            job.getItems().add(item);
+        }
+
+        nextOrderByLanguage.forEach(lastAssignedOrders::put);
+        jobs.put(job.getId(), job);
+        checkpointStore.save(job);
+        log.info("Submitted lesson generation job {} with {} lessons", job.getId(), job.getItems().size());
+
+        start(job, false);
+        return toStatus(job);
+    }
+
+    public Optional<LessonGenerationStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(this::toStatus);
+    }
+
+    public List<LessonGenerationStatus> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(LessonGenerationJob::getCreatedAt).reversed())
+                .map(this::toStatus)
+                .toList();
+    }
+
+    public Optional<LessonGenerationStatus> resume(String jobId) {
+        LessonGenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+
+        synchronized (job) {
+            if (job.getStatus() != LessonGenerationJob.Status.INTERRUPTED) {
+                throw new LessonGenerationException("Job " + jobId + " is " + job.getStatus() + " and cannot be resumed");
+            }
+            job.setStatus(LessonGenerationJob.Status.RUNNING);
+        }
+        start(job, true);
+        return Optional.of(toStatus(job));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Les leçons en cours de génération restent PENDING dans le point de reprise
+        workers.shutdownNow();
+        coordinator.shutdownNow();
+        try {
+            coordinator.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void start(LessonGenerationJob job, boolean resumed) {
+        synchronized (job) {
+            job.setStatus(LessonGenerationJob.Status.RUNNING);
+        }
+        coordinator.execute(() -> run(job, resumed));
+    }
+
+    private void run(LessonGenerationJob job, boolean resumed) {
+        Run run;
+        List<LessonGenerationJob.Item> pending;
+        synchronized (job) {
+            run = new Run(System.nanoTime(), job.getElapsedMillis());
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(LocalDateTime.now());
+            }
+            pending = job.getItems().stream()
+                    .filter(item -> item.getStatus() == LessonGenerationJob.ItemStatus.PENDING)
+                    .toList();
+        }
+
+        if (resumed) {
+            pending = skipAlreadyPersisted(job, pending);
+        }
+
+        CompletionService<Outcome> completion = new ExecutorCompletionService<>(workers);
+        List<Future<Outcome>> submitted = new ArrayList<>(pending.size());
+        pending.forEach(item -> submitted.add(completion.submit(() -> generate(item))));
+
+        List<Outcome> generated = new ArrayList<>(persistBatchSize);
+        boolean interrupted = false;
+        try {
+            for (int received = 0; received < pending.size(); received++) {
+                Outcome outcome = completion.take().get();
+                if (outcome.lesson() != null) {
+                    generated.add(outcome);
+                    if (generated.size() >= persistBatchSize) {
+                        persist(job, generated, run);
+                    }
+                } else {
+                    markFailed(job, outcome);
+                }
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            interrupted = true;
+            log.error("Lesson generation job {} stopped: {}", job.getId(), e.getCause().getMessage(), e.getCause());
+        } finally {
+            if (interrupted) {
+                // Leçons restantes abandonnées : elles restent PENDING dans le point de reprise,
+                // les workers ne consomment plus d'appels IA pour un lot arrêté
+                submitted.forEach(future -> future.cancel(true));
+            }
+            // Ce qui a déjà été généré est écrit même en cas d'interruption
+            if (!generated.isEmpty()) {
+                persist(job, generated, run);
+            }
+            finish(job, interrupted, run);
+        }
+    }
+
+    private Outcome generate(LessonGenerationJob.Item item) throws InterruptedException {
+        String correction = null;
+        String lastError = null;
+        String providerName = null;
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (Thread.interrupted()) {
+                // Lot annulé pendant la tentative précédente (le client HTTP a pu absorber l'interruption)
+                throw new InterruptedException();
+            }
+            Provider provider = acquireProvider();
+            providerName = provider.name();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String result = "success";
+            try {
+                String output = aiService.generateLessonContent(provider.model(), item.getTopic(),
+                        item.getDifficultyLevel().name(), item.getLanguage(), correction);
+                return new Outcome(item.getIndex(), lessonContentParser.parse(output), attempt, providerName, null);
+            } catch (LessonContentParser.MalformedLessonContentException e) {
+                // Même demande, avec la raison du rejet : le modèle corrige généralement sa sortie
+                result = "malformed";
+                correction = e.getMessage();
+                lastError = "malformed output: " + e.getMessage();
+            } catch (RuntimeException e) {
+                // Erreur du fournisseur : la tentative suivante part sur un autre fournisseur
+                result = "error";
+                lastError = provider.name() + ": " + e.getMessage();
+            } finally {
+                provider.permits().release();
+                sample.stop(meterRegistry.timer("lesson.generation.call", "provider", provider.name(), "result", result));
+            }
+        }
+
+        log.warn("Giving up on lesson '{}' ({}/{}) after {} attempts: {}",
+                item.getTopic(), item.getLanguage(), item.getDifficultyLevel(), maxAttempts, lastError);
+        return new Outcome(item.getIndex(), null, maxAttempts, providerName, lastError);
+    }
+
+    // Tourniquet : premier fournisseur libre à partir du suivant, sinon attente sur celui-ci
+    private Provider acquireProvider() throws InterruptedException {
+        int start = Math.floorMod(nextProvider.getAndIncrement(), providers.size());
+        for (int i = 0; i < providers.size(); i++) {
+            Provider provider = providers.get((start + i) % providers.size());
+            if (provider.permits().tryAcquire()) {
+                return provider;
+            }
+        }
+        Provider provider = providers.get(start);
+        provider.permits().acquire();
+        return provider;
+    }
+
+    private void persist(LessonGenerationJob job, List<Outcome> generated, Run run) {
+        Map<Integer, LessonGenerationJob.Item> items = new HashMap<>();
+        List<Lesson> lessons = new ArrayList<>(generated.size());
+        synchronized (job) {
+            for (Outcome outcome : generated) {
+                LessonGenerationJob.Item item = job.getItems().get(outcome.index());
+                items.put(outcome.index(), item);
+                lessons.add(toLesson(item, outcome.lesson(), job.isActivate()));
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lessonRepository.saveAll(lessons);
+                // Identifiants pris dans la séquence avant le commit : notés au point de reprise, ils désignent
+                // exactement les leçons de ce lot si l'arrêt survient pendant le commit
+                assignLessonIds(job, generated, items, lessons);
+                if (!checkpointStore.save(job)) {
+                    throw new IllegalStateException("checkpoint not written");
+                }
+            });
+        } catch (RuntimeException e) {
+            // Les leçons restent PENDING : elles seront régénérées à la reprise du lot
+            log.error("Failed to persist {} generated lessons of job {}: {}", lessons.size(), job.getId(), e.getMessage());
+            assignLessonIds(job, generated, items, null);
+            generated.clear();
+            return;
+        }
+
+        synchronized (job) {
+            for (int i = 0; i < generated.size(); i++) {
+                Outcome outcome = generated.get(i);
+                LessonGenerationJob.Item item = items.get(outcome.index());
+                item.setStatus(LessonGenerationJob.ItemStatus.COMPLETED);
+                item.setAttempts(outcome.attempts());
+                item.setProvider(outcome.provider());
+                item.setError(null);
+            }
+            touch(job, run);
+        }
+        meterRegistry.counter("lesson.generation.lessons", "outcome", "completed").increment(generated.size());
+        checkpointStore.save(job);
+        generated.clear();
+    }
+
+    // lessons null : efface les identifiants notés d'un lot non écrit
+    private static void assignLessonIds(LessonGenerationJob job, List<Outcome> generated,
+                                        Map<Integer, LessonGenerationJob.Item> items, List<Lesson> lessons) {
+        synchronized (job) {
+            for (int i = 0; i < generated.size(); i++) {
+                items.get(generated.get(i).index()).setLessonId(lessons != null ? lessons.get(i).getId() : null);
+            }
+        }
+    }
+
+    private void markFailed(LessonGenerationJob job, Outcome outcome) {
+        synchronized (job) {
+            LessonGenerationJob.Item item = job.getItems().get(outcome.index());
+            item.setStatus(LessonGenerationJob.ItemStatus.FAILED);
+            item.setAttempts(outcome.attempts());
+            item.setProvider(outcome.provider());
+            item.setError(outcome.error());
+        }
+        meterRegistry.counter("lesson.generation.lessons", "outcome", "failed").increment();
+        checkpointStore.save(job);
+    }
+
+    private void finish(LessonGenerationJob job, boolean interrupted, Run run) {
+        synchronized (job) {
+            touch(job, run);
+            boolean hasPending = job.getItems().stream()
+                    .anyMatch(item -> item.getStatus() == LessonGenerationJob.ItemStatus.PENDING);
+            if (interrupted || hasPending) {
+                job.setStatus(LessonGenerationJob.Status.INTERRUPTED);
+            } else {
+                job.setStatus(LessonGenerationJob.Status.COMPLETED);
+                job.setFinishedAt(job.getUpdatedAt());
+            }
+        }
+        checkpointStore.save(job);
+
+        LessonGenerationStatus status = toStatus(job);
+        log.info("Lesson generation job {} {}: {} completed, {} failed, {} pending ({} lessons/min)",
+                job.getId(), status.getStatus(), status.getCompleted(), status.getFailed(), status.getPending(),
+                status.getLessonsPerMinute());
+    }
+
+    private int lastAssignedOrder(String language) {
+        return Math.max(lessonRepository.findMaxOrderByLanguage(language), lastAssignedOrders.getOrDefault(language, 0));
+    }
+
+    // Reprise après crash : un lot noté au point de reprise (identifiants des leçons) a pu être validé
+    // juste avant l'arrêt. Les leçons présentes en base sont terminées, les autres sont régénérées
+    private List<LessonGenerationJob.Item> skipAlreadyPersisted(LessonGenerationJob job, List<LessonGenerationJob.Item> pending) {
+        List<LessonGenerationJob.Item> remaining = new ArrayList<>(pending.size());
+        boolean changed = false;
+        for (LessonGenerationJob.Item item : pending) {
+            Long lessonId = item.getLessonId();
+            if (lessonId == null) {
+                remaining.add(item);
+                continue;
+            }
+            boolean persisted = lessonRepository.existsById(lessonId);
+            synchronized (job) {
+                if (persisted) {
+                    item.setStatus(LessonGenerationJob.ItemStatus.COMPLETED);
+                } else {
+                    item.setLessonId(null);
+                    remaining.add(item);
+                }
+            }
+            changed = true;
+        }
+        if (changed) {
+            checkpointStore.save(job);
+        }
+        return remaining;
+    }
+
+    // Appelé sous verrou du lot
+    private void touch(LessonGenerationJob job, Run run) {
+        job.setElapsedMillis(run.elapsedMillis());
+        job.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private static Lesson toLesson(LessonGenerationJob.Item item, GeneratedLesson generated, boolean activate) {
+        Lesson lesson = Lesson.builder()
+                .title(generated.getTitle())
+                .description(generated.getDescription())
+                .difficultyLevel(item.getDifficultyLevel())
+                .language(item.getLanguage())
+                .order(item.getOrder())
+                .chapterId(item.getChapterId())
+                .estimatedDuration(generated.getEstimatedDuration())
+                .isActive(activate)
+                .build();
+
+        lesson.setContent(LessonContent.builder()
+                .lesson(lesson)
+                .situationContext(generated.getSituationContext())
+                .situationProblem(generated.getSituationProblem())
+                .situationMotivation(generated.getSituationMotivation())
+                .vocabularyWords(generated.getVocabularyWords())
+                .exercises(generated.getExercises())
+                .integrationScenario(generated.getIntegrationScenario())
+                .integrationDialogue(generated.getIntegrationDialogue())
+                .build());
+        return lesson;
+    }
+
+    private LessonGenerationStatus toStatus(LessonGenerationJob job) {
+        synchronized (job) {
+            int completed = 0;
+            int failed = 0;
+            List<LessonGenerationStatus.Failure> failures = new ArrayList<>();
+            for (LessonGenerationJob.Item item : job.getItems()) {
+                if (item.getStatus() == LessonGenerationJob.ItemStatus.COMPLETED) {
+                    completed++;
+                } else if (item.getStatus() == LessonGenerationJob.ItemStatus.FAILED) {
+                    failed++;
+                    failures.add(LessonGenerationStatus.Failure.builder()
+                            .topic(item.getTopic())
+                            .language(item.getLanguage())
+                            .difficultyLevel(item.getDifficultyLevel().name())
+                            .attempts(item.getAttempts())
+                            .error(item.getError())
+                            .build());
+                }
+            }
+
+            return LessonGenerationStatus.builder()
+                    .jobId(job.getId())
+                    .status(job.getStatus().name())
+                    .total(job.getItems().size())
+                    .completed(completed)
+                    .failed(failed)
+                    .pending(job.getItems().size() - completed - failed)
+                    .lessonsPerMinute(job.getElapsedMillis() > 0 ? completed * 60_000.0 / job.getElapsedMillis() : null)
+                    .createdAt(job.getCreatedAt())
+                    .startedAt(job.getStartedAt())
+                    .updatedAt(job.getUpdatedAt())
+                    .finishedAt(job.getFinishedAt())
+                    .failures(failures)
+                    .build();
+        }
+    }
+
+    private record Provider(String name, ChatModel model, Semaphore permits) {
+    }
+
+    // Exécution (ou reprise) d'un lot : le temps écoulé s'ajoute à celui des exécutions précédentes
+    private record Run(long startNanos, long previousElapsedMillis) {
+        long elapsedMillis() {
+            return previousElapsedMillis + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+    }
+
+    private record Outcome(int index, GeneratedLesson lesson, int attempts, String provider, String error) {
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public static class LessonGenerationException extends RuntimeException {
+        public LessonGenerationException(String message) {
+            super(message);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.dialectgame.model.dto.lesson.LessonDto;
 import com.dialectgame.model.dto.lesson.LessonContentDto;
 import com.dialectgame.model.entity.Lesson;
 import com.dialectgame.model.entity.LessonContent;
+import com.dialectgame.service.lesson.codec.CompactLessonContent;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -18,6 +19,8 @@ public interface LessonMapper {
 
     LessonContentDto toContentDto(LessonContent content);
 
+    LessonContentDto toContentDto(CompactLessonContent content);
+
     @Mapping(target = "userProgress", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
@@ -0,0 +1,113 @@
+package com.dialectgame.service.progress;
+
+import com.dialectgame.model.dto.progress.ProgressUpdateRequest;
+import com.dialectgame.model.entity.UserProgress;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mise à jour de progression en attente d'écriture, fusionnée par (utilisateur, leçon).
+ * Les champs d'état gardent la dernière valeur reçue, les compteurs la plus grande,
+ * et les maps JSON sont fusionnées clé par clé.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingProgress {
+
+    private Long userId;
+    private Long lessonId;
+    private UserProgress.Phase currentPhase;
+    private Integer currentStep;
+    private Double phaseProgress;
+    private Double overallProgress;
+    private UserProgress.CompletionStatus status;
+    private Integer score;
+    private Integer timeSpent;
+    private Integer attemptsCount;
+    private Integer mistakesCount;
+    private Map<String, Double> phaseScores;
+    private Map<String, Object> detailedProgress;
+    private LocalDateTime completedAt;
+    private LocalDateTime updatedAt;
+
+    public static PendingProgress of(Long userId, ProgressUpdateRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        return PendingProgress.builder()
+                .userId(userId)
+                .lessonId(request.getLessonId())
+                .currentPhase(request.getCurrentPhase())
+                .currentStep(request.getCurrentStep())
+                .phaseProgress(request.getPhaseProgress())
+                .overallProgress(request.getOverallProgress())
+                .status(request.getStatus())
+                .score(request.getScore())
+                .timeSpent(request.getTimeSpent())
+                .attemptsCount(request.getAttemptsCount())
+                .mistakesCount(request.getMistakesCount())
+                .phaseScores(request.getPhaseScores())
+                .detailedProgress(request.getDetailedProgress())
+                .completedAt(request.getStatus() == UserProgress.CompletionStatus.COMPLETED ? now : null)
+                .updatedAt(now)
+                .build();
+    }
+
+    public Key key() {
+        return new Key(userId, lessonId);
+    }
+
+    @JsonIgnore
+    public boolean isCompleted() {
+        return status == UserProgress.CompletionStatus.COMPLETED;
+    }
+
+    /**
+     * Fusionne une mise à jour plus récente dans celle-ci et renvoie le résultat.
+     */
+    public PendingProgress merge(PendingProgress newer) {
+        currentPhase = latest(currentPhase, newer.currentPhase);
+        currentStep = latest(currentStep, newer.currentStep);
+        phaseProgress = latest(phaseProgress, newer.phaseProgress);
+        overallProgress = latest(overallProgress, newer.overallProgress);
+        status = latest(status, newer.status);
+        score = latest(score, newer.score);
+        timeSpent = max(timeSpent, newer.timeSpent);
+        attemptsCount = max(attemptsCount, newer.attemptsCount);
+        mistakesCount = max(mistakesCount, newer.mistakesCount);
+        phaseScores = mergeMaps(phaseScores, newer.phaseScores);
+        detailedProgress = mergeMaps(detailedProgress, newer.detailedProgress);
+        completedAt = completedAt != null ? completedAt : newer.completedAt;
+        updatedAt = latest(updatedAt, newer.updatedAt);
+        return this;
+    }
+
+    private static <T> T latest(T current, T newer) {
+        return newer != null ? newer : current;
+    }
+
+    private static Integer max(Integer current, Integer newer) {
+        if (current == null) return newer;
+        if (newer == null) return current;
+        return Math.max(current, newer);
+    }
+
+    private static <V> Map<String, V> mergeMaps(Map<String, V> current, Map<String, V> newer) {
+        if (current == null) return newer;
+        if (newer == null) return current;
+
+        Map<String, V> merged = new HashMap<>(current);
+        merged.putAll(newer);
+        return merged;
+    }
+
+    public record Key(Long userId, Long lessonId) {
+    }
+}
@@ -0,0 +1,205 @@
+package com.dialectgame.service.progress;
+
+import com.dialectgame.model.entity.UserProgress;
+import com.dialectgame.repository.LessonRepository;
+import com.dialectgame.repository.UserProgressRepository;
+import com.dialectgame.repository.UserRepository;
+import com.dialectgame.service.stats.UserStatsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Écrit un lot de progressions en attente.
+ * PostgreSQL : upserts JDBC en batch sur la contrainte unique (user_id, lesson_id).
+ * Autres bases (H2 en développement) : fusion JPA ligne par ligne dans une transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressUpsertWriter {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO user_progress (id, user_id, lesson_id, current_phase, current_step, phase_progress,
+                overall_progress, completion_status, score, time_spent, attempts_count, mistakes_count,
+                phase_scores, detailed_progress, completed_at, created_at, updated_at)
+            VALUES (nextval('user_progress_id_seq'), ?, ?, COALESCE(?, 'SITUATION'), COALESCE(?, 0), COALESCE(?, 0.0), COALESCE(?, 0.0), COALESCE(?, 'IN_PROGRESS'),
+                ?, ?, COALESCE(?, 0), COALESCE(?, 0), CAST(? AS jsonb), CAST(? AS jsonb), ?, ?, ?)
+            ON CONFLICT (user_id, lesson_id) DO UPDATE SET
+                current_phase = COALESCE(?, user_progress.current_phase),
+                current_step = COALESCE(?, user_progress.current_step),
+                phase_progress = COALESCE(?, user_progress.phase_progress),
+                overall_progress = COALESCE(?, user_progress.overall_progress),
+                completion_status = COALESCE(?, user_progress.completion_status),
+                score = COALESCE(?, user_progress.score),
+                time_spent = GREATEST(?, user_progress.time_spent),
+                attempts_count = GREATEST(?, user_progress.attempts_count),
+                mistakes_count = GREATEST(?, user_progress.mistakes_count),
+                phase_scores = COALESCE(user_progress.phase_scores, '{}'::jsonb) || COALESCE(CAST(? AS jsonb), '{}'::jsonb),
+                detailed_progress = COALESCE(user_progress.detailed_progress, '{}'::jsonb) || COALESCE(CAST(? AS jsonb), '{}'::jsonb),
+                completed_at = COALESCE(user_progress.completed_at, ?),
+                updated_at = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserProgressRepository userProgressRepository;
+    private final UserRepository userRepository;
+    private final LessonRepository lessonRepository;
+    private final UserProgressListener userProgressListener;
+    private final UserStatsService userStatsService;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Écrit le lot et renvoie les mises à jour rejetées (ligne invalide, leçon supprimée...).
+     * Une erreur d'infrastructure (base indisponible) est propagée pour que le lot soit rejoué.
+     */
+    public List<PendingProgress> write(List<PendingProgress> batch) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            writeInTransaction(batch);
+            return List.of();
+        } catch (DataAccessException e) {
+            if (!isDataError(e)) {
+                throw e;
+            }
+            log.warn("Progress batch of {} rejected ({}), retrying row by row", batch.size(), e.getMessage());
+        }
+
+        // Isoler les lignes fautives pour ne pas bloquer tout le lot
+        List<PendingProgress> rejected = new ArrayList<>();
+        for (PendingProgress pending : batch) {
+            try {
+                writeInTransaction(List.of(pending));
+            } catch (DataAccessException e) {
+                if (!isDataError(e)) {
+                    throw e;
+                }
+                log.error("Dropping progress update for user {} lesson {}: {}",
+                        pending.getUserId(), pending.getLessonId(), e.getMessage());
+                rejected.add(pending);
+            }
+        }
+        return rejected;
+    }
+
+    private void writeInTransaction(List<PendingProgress> batch) {
+        if (isPostgres()) {
+            // Les upserts JDBC ne passent pas par les listeners JPA : deltas des statistiques dans la même transaction
+            transactionTemplate.executeWithoutResult(status -> userStatsService.trackProgressUpserts(
+                    batch.stream().map(PendingProgress::getUserId).toList(),
+                    batch.stream().map(PendingProgress::getLessonId).toList(),
+                    () -> jdbcTemplate.batchUpdate(UPSERT_SQL, batch.stream().map(this::upsertArguments).toList())));
+            batch.forEach(pending -> userProgressListener.onProgressChanged(
+                    pending.getUserId(), pending.getLessonId(), pending.getStatus()));
+        } else {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::mergeWithJpa));
+        }
+    }
+
+    private Object[] upsertArguments(PendingProgress p) {
+        Timestamp now = Timestamp.valueOf(p.getUpdatedAt() != null ? p.getUpdatedAt() : LocalDateTime.now());
+        Timestamp completedAt = p.getCompletedAt() != null ? Timestamp.valueOf(p.getCompletedAt()) : null;
+        String phase = p.getCurrentPhase() != null ? p.getCurrentPhase().name() : null;
+        String status = p.getStatus() != null ? p.getStatus().name() : null;
+        String phaseScores = toJson(p.getPhaseScores());
+        String detailedProgress = toJson(p.getDetailedProgress());
+
+        return new Object[]{
+                // INSERT
+                p.getUserId(), p.getLessonId(), phase, p.getCurrentStep(), p.getPhaseProgress(),
+                p.getOverallProgress(), status, p.getScore(), p.getTimeSpent(), p.getAttemptsCount(),
+                p.getMistakesCount(), phaseScores, detailedProgress, completedAt, now, now,
+                // ON CONFLICT DO UPDATE
+                phase, p.getCurrentStep(), p.getPhaseProgress(), p.getOverallProgress(), status, p.getScore(),
+                p.getTimeSpent(), p.getAttemptsCount(), p.getMistakesCount(), phaseScores, detailedProgress,
+                completedAt, now
+        };
+    }
+
+    private void mergeWithJpa(PendingProgress p) {
+        UserProgress progress = userProgressRepository.findByUserIdAndLessonId(p.getUserId(), p.getLessonId())
+                .orElseGet(() -> UserProgress.builder()
+                        .user(userRepository.getReferenceById(p.getUserId()))
+                        .lesson(lessonRepository.getReferenceById(p.getLessonId()))
+                        .build());
+
+        if (p.getCurrentPhase() != null) progress.setCurrentPhase(p.getCurrentPhase());
+        // Nouvelle ligne sans phase : première phase, comme l'upsert PostgreSQL
+        if (progress.getCurrentPhase() == null) progress.setCurrentPhase(UserProgress.Phase.SITUATION);
+        if (p.getCurrentStep() != null) progress.setCurrentStep(p.getCurrentStep());
+        if (p.getPhaseProgress() != null) progress.setPhaseProgress(p.getPhaseProgress());
+        if (p.getOverallProgress() != null) progress.setOverallProgress(p.getOverallProgress());
+        if (p.getStatus() != null) progress.setStatus(p.getStatus());
+        if (p.getScore() != null) progress.setScore(p.getScore());
+        progress.setTimeSpent(max(progress.getTimeSpent(), p.getTimeSpent()));
+        progress.setAttemptsCount(max(progress.getAttemptsCount(), p.getAttemptsCount()));
+        progress.setMistakesCount(max(progress.getMistakesCount(), p.getMistakesCount()));
+        if (p.getPhaseScores() != null) {
+            Map<String, Double> phaseScores = progress.getPhaseScores() != null
+                    ? new HashMap<>(progress.getPhaseScores()) : new HashMap<>();
+            phaseScores.putAll(p.getPhaseScores());
+            progress.setPhaseScores(phaseScores);
+        }
+        if (p.getDetailedProgress() != null) {
+            Map<String, Object> detailedProgress = progress.getDetailedProgress() != null
+                    ? new HashMap<>(progress.getDetailedProgress()) : new HashMap<>();
+            detailedProgress.putAll(p.getDetailedProgress());
+            progress.setDetailedProgress(detailedProgress);
+        }
+        if (progress.getCompletedAt() == null) progress.setCompletedAt(p.getCompletedAt());
+
+        userProgressRepository.save(progress);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return postgres;
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize progress payload", e);
+        }
+    }
+
+    private static Integer max(Integer current, Integer newer) {
+        if (current == null) return newer;
+        if (newer == null) return current;
+        return Math.max(current, newer);
+    }
+
+    // Violation de contrainte (leçon supprimée, valeur hors bornes) : rejouer la ligne ne servirait à rien.
+    // Toute autre erreur (SQL invalide, schéma en retard, base indisponible) est rejouée sans rien perdre
+    private static boolean isDataError(DataAccessException e) {
+        return e instanceof DataIntegrityViolationException;
+    }
+}
@@ -0,0 +1,234 @@
+package com.dialectgame.service.progress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Journal local en ajout seul des mises à jour de progression non encore écrites en base.
+ * Le journal est découpé en segments : le segment actif reçoit les ajouts, les segments
+ * scellés correspondent au contenu d'un flush en cours et sont supprimés une fois le flush validé.
+ * <p>
+ * Ouverture, ajouts et bascule de segment ne sont pas thread-safe : l'appelant les sérialise.
+ * {@link #awaitDurable(long)} l'est, hors de ce verrou : les appelants en attente partagent
+ * une seule synchronisation disque (validation groupée).
+ */
+@Slf4j
+class ProgressWriteAheadLog implements AutoCloseable {
+
+    private static final String PREFIX = "progress-";
+    private static final String SUFFIX = ".wal";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final boolean syncOnWrite;
+
+    private long nextSegment;
+    private Path activePath;
+    private volatile FileChannel active;
+
+    // Numéro du dernier ajout écrit (sérialisé par l'appelant) et du dernier synchronisé sur disque
+    private volatile long appendedSequence;
+    private final Object syncMonitor = new Object();
+    private long syncedSequence;
+    private boolean syncInProgress;
+    private final LongAdder syncs = new LongAdder();
+
+    ProgressWriteAheadLog(Path directory, ObjectMapper objectMapper, boolean syncOnWrite) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    /**
+     * Relit les segments existants (arrêt brutal précédent) puis ouvre un nouveau segment actif.
+     * Renvoie les segments relus : ils restent sur disque jusqu'au prochain flush réussi.
+     */
+    List<Path> open(Consumer<PendingProgress> replay) throws IOException {
+        Files.createDirectories(directory);
+
+        List<Path> existing = listSegments();
+        for (Path segment : existing) {
+            replaySegment(segment, replay);
+            nextSegment = Math.max(nextSegment, segmentNumber(segment) + 1);
+        }
+
+        openActive();
+        return existing;
+    }
+
+    /**
+     * Écrit les mises à jour dans le segment actif, sans synchronisation disque.
+     * Renvoie le numéro de l'ajout, à passer à {@link #awaitDurable(long)}.
+     */
+    long append(List<PendingProgress> updates) throws IOException {
+        for (PendingProgress update : updates) {
+            byte[] line = objectMapper.writeValueAsBytes(update);
+            ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+            while (buffer.hasRemaining()) {
+                active.write(buffer);
+            }
+        }
+        return ++appendedSequence;
+    }
+
+    /**
+     * Attend que l'ajout {@code sequence} soit sur disque (sans effet si sync-on-write est désactivé).
+     * Un seul appelant synchronise à la fois, pour tous les ajouts écrits jusque-là ; les autres
+     * attendent son résultat au lieu d'enchaîner chacun leur propre synchronisation.
+     */
+    void awaitDurable(long sequence) throws IOException {
+        if (!syncOnWrite) {
+            return;
+        }
+        while (true) {
+            long target;
+            FileChannel channel;
+            synchronized (syncMonitor) {
+                while (syncInProgress && syncedSequence < sequence) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for the progress log sync");
+                    }
+                }
+                if (syncedSequence >= sequence) {
+                    return;
+                }
+                syncInProgress = true;
+                // Numéro lu avant le canal : un ajout compté est dans ce canal ou dans un segment déjà scellé
+                target = appendedSequence;
+                channel = active;
+            }
+
+            boolean synced = false;
+            try {
+                channel.force(false);
+                syncs.increment();
+                synced = true;
+            } catch (ClosedChannelException e) {
+                // Segment scellé entre-temps : roll() l'a synchronisé et a avancé syncedSequence
+            } finally {
+                synchronized (syncMonitor) {
+                    syncInProgress = false;
+                    if (synced) {
+                        syncedSequence = Math.max(syncedSequence, target);
+                    }
+                    syncMonitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    void sync() throws IOException {
+        FileChannel channel = active;
+        if (channel != null && channel.isOpen()) {
+            long target = appendedSequence;
+            channel.force(false);
+            syncs.increment();
+            markSynced(target);
+        }
+    }
+
+    long getSyncCount() {
+        return syncs.sum();
+    }
+
+    /**
+     * Scelle le segment actif et en ouvre un nouveau. Le segment scellé contient exactement
+     * les mises à jour reçues jusqu'ici.
+     */
+    Path roll() throws IOException {
+        Path sealed = activePath;
+        long target = appendedSequence;
+        active.force(false);
+        syncs.increment();
+        markSynced(target);
+        active.close();
+        openActive();
+        return sealed;
+    }
+
+    void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("Unable to delete progress log segment {}: {}", segment, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (active != null && active.isOpen()) {
+            active.force(false);
+            active.close();
+        }
+    }
+
+    private void markSynced(long target) {
+        synchronized (syncMonitor) {
+            syncedSequence = Math.max(syncedSequence, target);
+            syncMonitor.notifyAll();
+        }
+    }
+
+    private void openActive() throws IOException {
+        activePath = directory.resolve(PREFIX + String.format("%012d", nextSegment++) + SUFFIX);
+        active = FileChannel.open(activePath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                    .filter(path -> path.getFileName().toString().startsWith(PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .toList());
+            segments.sort((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)));
+            return segments;
+        }
+    }
+
+    private void replaySegment(Path segment, Consumer<PendingProgress> replay) throws IOException {
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    replay.accept(objectMapper.readValue(line, PendingProgress.class));
+                    replayed++;
+                } catch (IOException e) {
+                    // Dernière ligne tronquée par un arrêt brutal : on l'ignore
+                    log.warn("Skipping corrupt entry in progress log segment {}", segment);
+                }
+            }
+        }
+        log.info("Replayed {} progress updates from {}", replayed, segment);
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,230 @@
+package com.dialectgame.service.progress;
+
+import com.dialectgame.datasource.ReadYourWritesTracker;
+import com.dialectgame.model.dto.progress.ProgressUpdateRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pipeline d'écriture différée des progressions.
+ * Chaque mise à jour est d'abord ajoutée au journal local puis fusionnée en mémoire par
+ * (utilisateur, leçon). Le tampon est vidé périodiquement ou dès qu'il dépasse un seuil,
+ * par lots d'upserts. Le journal n'est tronqué qu'après l'écriture effective en base.
+ */
+@Service
+@Slf4j
+public class ProgressWriteBehindService {
+
+    private final ProgressUpsertWriter upsertWriter;
+    private final ProgressWriteAheadLog writeAheadLog;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final int flushThreshold;
+    private final int batchSize;
+
+    private final Object bufferLock = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "progress-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Protégés par bufferLock
+    private Map<PendingProgress.Key, PendingProgress> buffer = new HashMap<>();
+    private final List<Path> sealedSegments = new ArrayList<>();
+
+    private final Counter ingestedCounter;
+    private final Counter writtenCounter;
+    private final Counter rejectedCounter;
+    private final Timer flushTimer;
+
+    public ProgressWriteBehindService(
+            ProgressUpsertWriter upsertWriter,
+            ReadYourWritesTracker readYourWritesTracker,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.progress.write-behind.log-dir:data/progress-log}") String logDir,
+            @Value("${app.progress.write-behind.sync-on-write:true}") boolean syncOnWrite,
+            @Value("${app.progress.write-behind.flush-threshold:1000}") int flushThreshold,
+            @Value("${app.progress.write-behind.batch-size:500}") int batchSize) {
+
+        this.upsertWriter = upsertWriter;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.writeAheadLog = new ProgressWriteAheadLog(Path.of(logDir), objectMapper, syncOnWrite);
+        this.flushThreshold = flushThreshold;
+        this.batchSize = batchSize;
+
+        this.ingestedCounter = meterRegistry.counter("progress.write_behind.ingested");
+        this.writtenCounter = meterRegistry.counter("progress.write_behind.written");
+        this.rejectedCounter = meterRegistry.counter("progress.write_behind.rejected");
+        this.flushTimer = meterRegistry.timer("progress.write_behind.flush");
+        Gauge.builder("progress.write_behind.pending", this, ProgressWriteBehindService::getPendingCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("progress.write_behind.log_syncs", writeAheadLog, ProgressWriteAheadLog::getSyncCount)
+                .description("Local progress log fsyncs, shared by concurrent requests")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void recover() throws IOException {
+        synchronized (bufferLock) {
+            sealedSegments.addAll(writeAheadLog.open(this::bufferUpdate));
+        }
+        if (!buffer.isEmpty()) {
+            log.info("Recovered {} pending progress updates from the local log", buffer.size());
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Ajoute la mise à jour au journal local (synchronisé sur disque si sync-on-write) puis au tampon :
+     * au retour, elle survit à un arrêt brutal.
+     */
+    public void ingest(Long userId, ProgressUpdateRequest request) {
+        ingestAll(userId, List.of(request));
+    }
+
+    // Un seul ajout au journal pour tout le lot. La synchronisation disque a lieu hors de bufferLock :
+    // les requêtes concurrentes partagent la même (validation groupée)
+    public void ingestAll(Long userId, List<ProgressUpdateRequest> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        List<PendingProgress> updates = requests.stream()
+                .map(request -> PendingProgress.of(userId, request))
+                .toList();
+        long sequence;
+        int pending;
+
+        synchronized (bufferLock) {
+            try {
+                sequence = writeAheadLog.append(updates);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to append progress update to the local log", e);
+            }
+            updates.forEach(this::bufferUpdate);
+            pending = buffer.size();
+        }
+
+        try {
+            writeAheadLog.awaitDurable(sequence);
+        } catch (IOException e) {
+            // Déjà en tampon : la mise à jour sera écrite, mais sa survie à un arrêt brutal n'est pas garantie
+            throw new UncheckedIOException("Unable to sync the local progress log", e);
+        }
+
+        ingestedCounter.increment(updates.size());
+        // Les lectures de l'utilisateur restent sur le primaire jusqu'à l'écriture effective (prolongé au flush)
+        readYourWritesTracker.markWrite(userId);
+        if (pending >= flushThreshold && !flushLock.isLocked()) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.progress.write-behind.flush-interval:PT2S}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return; // un flush est déjà en cours
+        }
+
+        try {
+            Map<PendingProgress.Key, PendingProgress> snapshot;
+            List<Path> segments;
+
+            synchronized (bufferLock) {
+                if (buffer.isEmpty()) {
+                    writeAheadLog.sync();
+                    return;
+                }
+                sealedSegments.add(writeAheadLog.roll());
+                segments = List.copyOf(sealedSegments);
+                snapshot = buffer;
+                buffer = new HashMap<>();
+            }
+
+            try {
+                flushTimer.record(() -> writeSnapshot(snapshot));
+            } catch (RuntimeException e) {
+                log.error("Progress flush of {} updates failed, will retry: {}", snapshot.size(), e.getMessage());
+                restore(snapshot);
+                return;
+            }
+
+            synchronized (bufferLock) {
+                sealedSegments.removeAll(segments);
+            }
+            writeAheadLog.delete(segments);
+        } catch (IOException e) {
+            log.error("Progress log error during flush: {}", e.getMessage(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (bufferLock) {
+            return buffer.size();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        writeAheadLog.close();
+    }
+
+    private void writeSnapshot(Map<PendingProgress.Key, PendingProgress> snapshot) {
+        List<PendingProgress> updates = new ArrayList<>(snapshot.values());
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<PendingProgress> batch = updates.subList(from, Math.min(from + batchSize, updates.size()));
+            List<PendingProgress> rejected = upsertWriter.write(batch);
+            writtenCounter.increment(batch.size() - rejected.size());
+            rejectedCounter.increment(rejected.size());
+            // Lot écrit : il ne doit pas être rejoué si un lot suivant échoue
+            batch.forEach(pending -> snapshot.remove(pending.key()));
+        }
+    }
+
+    // Remet en tampon ce qui n'a pas été écrit, sous les mises à jour arrivées entre-temps
+    private void restore(Map<PendingProgress.Key, PendingProgress> unwritten) {
+        synchronized (bufferLock) {
+            unwritten.forEach((key, older) -> buffer.merge(key, older, (newer, old) -> old.merge(newer)));
+        }
+    }
+
+    private void bufferUpdate(PendingProgress update) {
+        buffer.merge(update.key(), update, PendingProgress::merge);
+    }
+}
@@ -0,0 +1,85 @@
+package com.dialectgame.service.progress;
+
+import com.dialectgame.datasource.ReadYourWritesTracker;
+import com.dialectgame.model.entity.UserProgress;
+import com.dialectgame.service.lesson.LessonFrontierCache;
+import com.dialectgame.service.lesson.LessonRecommendationIndex;
+import com.dialectgame.service.stats.UserStatsService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Listener JPA de UserProgress : applique les deltas des statistiques matérialisées dans la transaction
+ * de l'écriture, puis propage les changements de statut vers les index en mémoire une fois validée.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProgressListener {
+
+    private final LessonRecommendationIndex lessonRecommendationIndex;
+    private final LessonFrontierCache lessonFrontierCache;
+    private final UserStatsService userStatsService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    @PostPersist
+    public void onProgressInserted(UserProgress progress) {
+        userStatsService.addProgress(progress.getUser().getId(), progress.getOverallProgress(), progress.getStatus());
+        onProgressSaved(progress);
+    }
+
+    @PreUpdate
+    public void beforeProgressUpdated(UserProgress progress) {
+        userStatsService.replaceProgress(progress.getId(), progress.getUser().getId(),
+                progress.getOverallProgress(), progress.getStatus());
+    }
+
+    @PostUpdate
+    public void onProgressSaved(UserProgress progress) {
+        onProgressChanged(progress.getUser().getId(), progress.getLesson().getId(), progress.getStatus());
+    }
+
+    @PreRemove
+    public void beforeProgressRemoved(UserProgress progress) {
+        userStatsService.removeProgress(progress.getId(), progress.getUser().getId());
+    }
+
+    @PostRemove
+    public void onProgressRemoved(UserProgress progress) {
+        onProgressChanged(progress.getUser().getId(), progress.getLesson().getId(), UserProgress.CompletionStatus.NOT_STARTED);
+    }
+
+    /**
+     * Point d'entrée commun aux écritures JPA et aux upserts JDBC du pipeline de progression.
+     * Un statut null signifie que le statut n'a pas changé. Les statistiques sont déjà à jour :
+     * deltas appliqués par les callbacks ci-dessus ou par UserStatsService.trackProgressUpserts.
+     */
+    public void onProgressChanged(Long userId, Long lessonId, UserProgress.CompletionStatus status) {
+        afterCommit(() -> {
+            readYourWritesTracker.markWrite(userId);
+            if (status != null) {
+                lessonRecommendationIndex.onProgressChanged(userId, lessonId, status == UserProgress.CompletionStatus.COMPLETED);
+            }
+            lessonFrontierCache.evictUser(userId);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.dialectgame.service.stats;
+
+import com.dialectgame.model.dto.user.UserStatsDto;
+import com.dialectgame.model.entity.UserLearningStats;
+import com.dialectgame.model.entity.UserProgress;
+import com.dialectgame.model.entity.VoiceSession;
+import com.dialectgame.repository.UserLearningStatsRepository;
+import com.dialectgame.repository.UserProgressRepository;
+import com.dialectgame.repository.UserRepository;
+import com.dialectgame.repository.VoiceSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Statistiques d'apprentissage matérialisées par utilisateur.
+ * Progression : deltas atomiques appliqués dans la transaction qui modifie user_progress.
+ * Sessions vocales : sommes et compteurs incrémentés une fois par session terminée (stats_recorded).
+ * La ligne de l'utilisateur sert de verrou : écritures et reconstruction d'un même utilisateur se
+ * sérialisent, la reconstruction ne peut donc ni perdre ni compter deux fois une écriture concurrente.
+ */
+@Service
+@Slf4j
+public class UserStatsService {
+
+    private static final String INSERT_IF_ABSENT_SQL = """
+            INSERT INTO user_learning_stats (user_id, progress_count, progress_sum, completed_lessons, voice_sessions,
+                voice_sessions_completed, confidence_sum, confidence_count, pronunciation_sum, pronunciation_count,
+                daily_voice_sessions, updated_at)
+            VALUES (?, 0, 0, 0, 0, 0, 0, 0, 0, 0, CAST('{}' AS jsonb), ?)
+            ON CONFLICT (user_id) DO NOTHING
+            """;
+
+    // H2 (développement) : pas d'ON CONFLICT hors mode PostgreSQL ; fenêtre journalière vide lue comme null
+    private static final String INSERT_IF_ABSENT_H2_SQL = """
+            INSERT INTO user_learning_stats (user_id, progress_count, progress_sum, completed_lessons, voice_sessions,
+                voice_sessions_completed, confidence_sum, confidence_count, pronunciation_sum, pronunciation_count,
+                updated_at)
+            SELECT ?, 0, 0, 0, 0, 0, 0, 0, 0, 0, ?
+            WHERE NOT EXISTS (SELECT 1 FROM user_learning_stats WHERE user_id = ?)
+            """;
+
+    private static final String LOCK_SQL = "SELECT user_id FROM user_learning_stats WHERE user_id = ? FOR UPDATE";
+
+    private static final String LOCK_ALL_SQL =
+            "SELECT user_id FROM user_learning_stats WHERE user_id = ANY(?) ORDER BY user_id FOR UPDATE";
+
+    private static final String PROGRESS_ROW_SQL =
+            "SELECT overall_progress, completion_status FROM user_progress WHERE id = ?";
+
+    // Contribution des seules lignes (utilisateur, leçon) touchées, pas de tout l'historique
+    private static final String PROGRESS_ROWS_SQL = """
+            SELECT user_id, COUNT(*), COALESCE(SUM(overall_progress), 0),
+                SUM(CASE WHEN completion_status = 'COMPLETED' THEN 1 ELSE 0 END)
+            FROM user_progress
+            WHERE (user_id, lesson_id) IN (SELECT * FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[])))
+            GROUP BY user_id
+            """;
+
+    private static final String PROGRESS_DELTA_SQL = """
+            UPDATE user_learning_stats SET progress_count = COALESCE(progress_count, 0) + ?,
+                progress_sum = COALESCE(progress_sum, 0) + ?, completed_lessons = COALESCE(completed_lessons, 0) + ?,
+                progress_refreshed_at = ?, updated_at = ?
+            WHERE user_id = ?
+            """;
+
+    private final UserLearningStatsRepository statsRepository;
+    private final UserProgressRepository userProgressRepository;
+    private final VoiceSessionRepository voiceSessionRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final int windowDays;
+    private final int batchSize;
+
+    private volatile Boolean postgres;
+
+    public UserStatsService(
+            UserLearningStatsRepository statsRepository,
+            UserProgressRepository userProgressRepository,
+            VoiceSessionRepository voiceSessionRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.stats.window-days:30}") int windowDays,
+            @Value("${app.stats.batch-size:500}") int batchSize) {
+
+        this.statsRepository = statsRepository;
+        this.userProgressRepository = userProgressRepository;
+        this.voiceSessionRepository = voiceSessionRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.windowDays = windowDays;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public UserStatsDto getStats(Long userId) {
+        UserLearningStats stats = statsRepository.findById(userId)
+                .orElseGet(() -> UserLearningStats.builder().userId(userId).build());
+        return toDto(stats);
+    }
+
+    @Transactional
+    public void createFor(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        statsRepository.save(UserLearningStats.builder()
+                .userId(userId)
+                .progressRefreshedAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordVoiceSession(Long userId, VoiceSession session) {
+        // Ligne créée avant le verrou : deux premières sessions simultanées se sérialisent sur le même verrou
+        // au lieu d'insérer chacune la ligne
+        ensureRows(List.of(userId));
+        UserLearningStats stats = statsRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Missing learning stats row for user " + userId));
+        // Déjà comptée par une reconstruction passée entre le commit de la session et ce verrou
+        if (voiceSessionRepository.markStatsRecorded(session.getId()) == 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        stats.setVoiceSessions(stats.getVoiceSessions() + 1);
+
+        if (session.getProcessingStatus() == VoiceSession.ProcessingStatus.COMPLETED) {
+            stats.setVoiceSessionsCompleted(stats.getVoiceSessionsCompleted() + 1);
+            if (session.getConfidenceScore() != null) {
+                stats.setConfidenceSum(stats.getConfidenceSum() + session.getConfidenceScore());
+                stats.setConfidenceCount(stats.getConfidenceCount() + 1);
+            }
+            if (session.getPronunciationScore() != null) {
+                stats.setPronunciationSum(stats.getPronunciationSum() + session.getPronunciationScore());
+                stats.setPronunciationCount(stats.getPronunciationCount() + 1);
+            }
+        }
+
+        Map<String, Integer> daily = stats.getDailyVoiceSessions() != null
+                ? new HashMap<>(stats.getDailyVoiceSessions()) : new HashMap<>();
+        daily.merge(now.toLocalDate().toString(), 1, Integer::sum);
+        stats.setDailyVoiceSessions(pruneWindow(daily, now.toLocalDate()));
+        stats.setLastActivityAt(now);
+        stats.setUpdatedAt(now);
+
+        statsRepository.save(stats);
+    }
+
+    /**
+     * Ligne de progression insérée (listener JPA, après l'INSERT) : ajoute sa contribution.
+     * JDBC uniquement : appelé pendant le flush Hibernate, dans la transaction de l'écriture.
+     */
+    public void addProgress(Long userId, Double overallProgress, UserProgress.CompletionStatus status) {
+        lockRow(userId);
+        applyProgressDelta(userId, ProgressContribution.of(overallProgress, status));
+    }
+
+    /**
+     * Ligne de progression sur le point d'être mise à jour (listener JPA, avant l'UPDATE) :
+     * remplace la contribution lue en base, sous le verrou, par celle des nouvelles valeurs.
+     */
+    public void replaceProgress(Long progressId, Long userId, Double overallProgress,
+                                UserProgress.CompletionStatus status) {
+        lockRow(userId);
+        applyProgressDelta(userId, ProgressContribution.of(overallProgress, status).minus(readProgress(progressId)));
+    }
+
+    /** Ligne de progression sur le point d'être supprimée (listener JPA, avant le DELETE). */
+    public void removeProgress(Long progressId, Long userId) {
+        lockRow(userId);
+        applyProgressDelta(userId, ProgressContribution.NONE.minus(readProgress(progressId)));
+    }
+
+    /**
+     * Upserts JDBC du pipeline de progression (PostgreSQL) : contribution des couples (utilisateur, leçon)
+     * touchés lue avant et après l'écriture, différence appliquée par utilisateur.
+     * userIds et lessonIds sont parallèles ; à appeler dans la transaction de l'écriture.
+     */
+    public void trackProgressUpserts(List<Long> userIds, List<Long> lessonIds, Runnable upsert) {
+        List<Long> users = userIds.stream().distinct().sorted().toList();
+        ensureRows(users);
+        // Ordre croissant : deux lots concurrents prennent les verrous dans le même ordre
+        jdbcTemplate.query(LOCK_ALL_SQL, ps -> ps.setArray(1, bigintArray(ps, users)), rs -> {
+        });
+
+        Map<Long, ProgressContribution> before = readProgress(userIds, lessonIds);
+        upsert.run();
+        Map<Long, ProgressContribution> after = readProgress(userIds, lessonIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> deltas = new ArrayList<>();
+        for (Long userId : users) {
+            ProgressContribution delta = after.getOrDefault(userId, ProgressContribution.NONE)
+                    .minus(before.getOrDefault(userId, ProgressContribution.NONE));
+            if (!delta.isEmpty()) {
+                deltas.add(deltaArguments(userId, delta, now));
+            }
+        }
+        if (!deltas.isEmpty()) {
+            jdbcTemplate.batchUpdate(PROGRESS_DELTA_SQL, deltas);
+        }
+    }
+
+    @Async
+    public CompletableFuture<Integer> rebuildAll() {
+        log.info("Rebuilding user learning stats");
+        int rebuilt = 0;
+        Long afterId = 0L;
+
+        List<Long> userIds;
+        while (!(userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize))).isEmpty()) {
+            List<Long> chunk = userIds;
+            transactionTemplate.executeWithoutResult(status -> rebuild(chunk));
+            rebuilt += chunk.size();
+            afterId = chunk.get(chunk.size() - 1);
+        }
+
+        log.info("Rebuilt learning stats for {} users", rebuilt);
+        return CompletableFuture.completedFuture(rebuilt);
+    }
+
+    @Transactional
+    public UserStatsDto rebuildUser(Long userId) {
+        rebuild(List.of(userId));
+        return getStats(userId);
+    }
+
+    private void lockRow(Long userId) {
+        ensureRows(List.of(userId));
+        jdbcTemplate.query(LOCK_SQL, rs -> {
+        }, userId);
+    }
+
+    private void ensureRows(List<Long> userIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (isPostgres()) {
+            jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL,
+                    userIds.stream().map(userId -> new Object[]{userId, now}).toList());
+        } else {
+            jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_H2_SQL,
+                    userIds.stream().map(userId -> new Object[]{userId, now, userId}).toList());
+        }
+    }
+
+    private ProgressContribution readProgress(Long progressId) {
+        List<ProgressContribution> rows = jdbcTemplate.query(PROGRESS_ROW_SQL, (rs, rowNum) -> {
+            double overallProgress = rs.getDouble(1);
+            return ProgressContribution.of(rs.wasNull() ? null : overallProgress, rs.getString(2));
+        }, progressId);
+        return rows.isEmpty() ? ProgressContribution.NONE : rows.get(0);
+    }
+
+    private Map<Long, ProgressContribution> readProgress(List<Long> userIds, List<Long> lessonIds) {
+        Map<Long, ProgressContribution> contributions = new HashMap<>();
+        jdbcTemplate.query(PROGRESS_ROWS_SQL, ps -> {
+            ps.setArray(1, bigintArray(ps, userIds));
+            ps.setArray(2, bigintArray(ps, lessonIds));
+        }, rs -> {
+            contributions.put(rs.getLong(1), new ProgressContribution(rs.getLong(2), rs.getDouble(3), rs.getLong(4)));
+        });
+        return contributions;
+    }
+
+    private void applyProgressDelta(Long userId, ProgressContribution delta) {
+        if (!delta.isEmpty()) {
+            jdbcTemplate.update(PROGRESS_DELTA_SQL, deltaArguments(userId, delta, LocalDateTime.now()));
+        }
+    }
+
+    private static Object[] deltaArguments(Long userId, ProgressContribution delta, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return new Object[]{delta.count(), delta.sum(), delta.completed(), timestamp, timestamp, userId};
+    }
+
+    private static Array bigintArray(PreparedStatement ps, List<Long> values) throws SQLException {
+        return ps.getConnection().createArrayOf("bigint", values.toArray());
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return postgres;
+    }
+
+    private void rebuild(List<Long> userIds) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate windowStart = now.toLocalDate().minusDays(windowDays - 1L);
+
+        // Verrou avant les agrégats : une écriture concurrente est soit visible ici, soit appliquée après
+        ensureRows(userIds);
+        List<UserLearningStats> rows = statsRepository.findAllByIdForUpdate(userIds);
+        // Sessions terminées comptées désormais par la reconstruction : l'incrément à venir les ignorera
+        voiceSessionRepository.markStatsRecordedByUserIds(userIds);
+
+        Map<Long, UserProgressRepository.ProgressAggregate> progress = userProgressRepository.aggregateByUserIds(userIds)
+                .stream()
+                .collect(Collectors.toMap(UserProgressRepository.ProgressAggregate::getUserId, Function.identity()));
+        Map<Long, VoiceSessionRepository.VoiceAggregate> voice = voiceSessionRepository.aggregateByUserIds(userIds)
+                .stream()
+                .collect(Collectors.toMap(VoiceSessionRepository.VoiceAggregate::getUserId, Function.identity()));
+        Map<Long, Map<String, Integer>> daily = new HashMap<>();
+        for (VoiceSessionRepository.DailySessionCount count :
+                voiceSessionRepository.countDailySessionsByUserIdsSince(userIds, windowStart.atStartOfDay())) {
+            daily.computeIfAbsent(count.getUserId(), id -> new HashMap<>())
+                    .put(count.getDay().toString(), count.getSessions().intValue());
+        }
+
+        // Entités verrouillées et gérées : les UPDATE partent en lots au commit
+        for (UserLearningStats stats : rows) {
+            Long userId = stats.getUserId();
+            UserProgressRepository.ProgressAggregate p = progress.get(userId);
+            VoiceSessionRepository.VoiceAggregate v = voice.get(userId);
+
+            stats.setProgressCount(p != null ? p.getProgressCount() : 0L);
+            stats.setProgressSum(p != null ? p.getProgressSum() : 0.0);
+            stats.setCompletedLessons(p != null ? p.getCompletedLessons() : 0L);
+            stats.setVoiceSessions(v != null ? v.getSessions() : 0L);
+            stats.setVoiceSessionsCompleted(v != null ? v.getCompletedSessions() : 0L);
+            stats.setConfidenceSum(v != null ? v.getConfidenceSum() : 0.0);
+            stats.setConfidenceCount(v != null ? v.getConfidenceCount() : 0L);
+            stats.setPronunciationSum(v != null ? v.getPronunciationSum() : 0.0);
+            stats.setPronunciationCount(v != null ? v.getPronunciationCount() : 0L);
+            stats.setDailyVoiceSessions(daily.getOrDefault(userId, new HashMap<>()));
+            stats.setLastActivityAt(v != null ? v.getLastActivityAt() : null);
+            stats.setProgressRefreshedAt(now);
+            stats.setRebuiltAt(now);
+            stats.setUpdatedAt(now);
+        }
+    }
+
+    private Map<String, Integer> pruneWindow(Map<String, Integer> daily, LocalDate today) {
+        String oldest = today.minusDays(windowDays - 1L).toString();
+        // Les dates ISO se comparent dans l'ordre lexicographique
+        daily.keySet().removeIf(day -> day.compareTo(oldest) < 0);
+        return daily;
+    }
+
+    private long sessionsInLastDays(UserLearningStats stats, int days) {
+        if (stats.getDailyVoiceSessions() == null) {
+            return 0;
+        }
+        String oldest = LocalDate.now().minusDays(days - 1L).toString();
+        return stats.getDailyVoiceSessions().entrySet().stream()
+                .filter(entry -> entry.getKey().compareTo(oldest) >= 0)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    private UserStatsDto toDto(UserLearningStats stats) {
+        return UserStatsDto.builder()
+                .userId(stats.getUserId())
+                .averageProgress(average(stats.getProgressSum(), stats.getProgressCount()))
+                .lessonsStarted(stats.getProgressCount())
+                .completedLessons(stats.getCompletedLessons())
+                .totalVoiceSessions(stats.getVoiceSessions())
+                .completedVoiceSessions(stats.getVoiceSessionsCompleted())
+                .averageConfidenceScore(average(stats.getConfidenceSum(), stats.getConfidenceCount()))
+                .averagePronunciationScore(average(stats.getPronunciationSum(), stats.getPronunciationCount()))
+                .voiceSessionsLast7Days(sessionsInLastDays(stats, 7))
+                .voiceSessionsLast30Days(sessionsInLastDays(stats, Math.min(30, windowDays)))
+                .lastActivityAt(stats.getLastActivityAt())
+                .updatedAt(stats.getUpdatedAt())
+                .build();
+    }
+
+    private static Double average(Double sum, Long count) {
+        return count != null && count > 0 ? sum / count : null;
+    }
+
+    // Contribution de lignes user_progress aux compteurs de progression
+    record ProgressContribution(long count, double sum, long completed) {
+
+        static final ProgressContribution NONE = new ProgressContribution(0, 0.0, 0);
+
+        static ProgressContribution of(Double overallProgress, UserProgress.CompletionStatus status) {
+            return new ProgressContribution(1, overallProgress != null ? overallProgress : 0.0,
+                    status == UserProgress.CompletionStatus.COMPLETED ? 1 : 0);
+        }
+
+        static ProgressContribution of(Double overallProgress, String status) {
+            return of(overallProgress, status != null ? UserProgress.CompletionStatus.valueOf(status) : null);
+        }
+
+        ProgressContribution minus(ProgressContribution other) {
+            return new ProgressContribution(count - other.count, sum - other.sum, completed - other.completed);
+        }
+
+        boolean isEmpty() {
+            return count == 0 && sum == 0.0 && completed == 0;
+        }
+    }
+}
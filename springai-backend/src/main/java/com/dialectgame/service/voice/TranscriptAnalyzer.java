@@ -0,0 +1,198 @@
+package com.dialectgame.service.voice;
+
+import java.util.Arrays;
+
+/**
+ * Analyse d'une transcription en un seul passage : forme normalisée (minuscules, sans blancs en bordure),
+ * bornes des mots et nombre de caractères spéciaux. Les tampons sont réutilisés d'une session à l'autre
+ * (une instance par thread, voir {@link #of(CharSequence)}) : le calcul des scores n'alloue rien
+ * une fois les tampons dimensionnés.
+ * <p>
+ * Les résultats restent valables jusqu'à la prochaine analyse sur le même thread.
+ */
+public final class TranscriptAnalyzer {
+
+    private static final ThreadLocal<TranscriptAnalyzer> CURRENT = ThreadLocal.withInitial(TranscriptAnalyzer::new);
+
+    private char[] normalized = new char[256];
+    private int normalizedLength;
+
+    // Bornes [début, fin) des mots dans le texte normalisé
+    private int[] tokenStarts = new int[64];
+    private int[] tokenEnds = new int[64];
+    private int tokenCount;
+
+    private int length;
+    private int specialChars;
+
+    // Texte comparé et lignes de la distance d'édition
+    private char[] other = new char[256];
+    private int[] previousRow = new int[257];
+    private int[] currentRow = new int[257];
+
+    private TranscriptAnalyzer() {
+    }
+
+    /**
+     * Analyse {@code text} avec l'instance du thread courant.
+     */
+    public static TranscriptAnalyzer of(CharSequence text) {
+        return CURRENT.get().analyze(text);
+    }
+
+    private TranscriptAnalyzer analyze(CharSequence text) {
+        length = text.length();
+        specialChars = 0;
+        tokenCount = 0;
+        normalized = ensureCapacity(normalized, length);
+
+        // Mêmes bornes que String.trim() : caractères <= ' '
+        int start = 0;
+        int end = length;
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+
+        boolean inToken = false;
+        for (int i = 0; i < length; i++) {
+            char ch = text.charAt(i);
+            boolean whitespace = Character.isWhitespace(ch);
+            if (!whitespace && !Character.isLetterOrDigit(ch)) {
+                specialChars++;
+            }
+
+            if (i >= start && i < end) {
+                int position = i - start;
+                // Minuscules caractère par caractère : indépendant de la locale et sans changement de longueur
+                normalized[position] = Character.toLowerCase(ch);
+                if (!whitespace && !inToken) {
+                    openToken(position);
+                } else if (whitespace && inToken) {
+                    tokenEnds[tokenCount - 1] = position;
+                }
+                inToken = !whitespace;
+            }
+        }
+
+        normalizedLength = end - start;
+        if (inToken) {
+            tokenEnds[tokenCount - 1] = normalizedLength;
+        }
+        return this;
+    }
+
+    public int wordCount() {
+        return tokenCount;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isBlank() {
+        return normalizedLength == 0;
+    }
+
+    /**
+     * Part des caractères qui ne sont ni lettres, ni chiffres, ni blancs, rapportée au texte brut.
+     */
+    public double specialCharRatio() {
+        return length == 0 ? 0.0 : specialChars / (double) length;
+    }
+
+    public int normalizedLength() {
+        return normalizedLength;
+    }
+
+    public char normalizedCharAt(int index) {
+        return normalized[index];
+    }
+
+    public int tokenStart(int token) {
+        return tokenStarts[token];
+    }
+
+    public int tokenEnd(int token) {
+        return tokenEnds[token];
+    }
+
+    /**
+     * Similarité entre la forme normalisée et celle de {@code expected} : 1 - distance d'édition / longueur max.
+     */
+    public double similarityTo(CharSequence expected) {
+        int expectedLength = normalizeOther(expected);
+        int maxLength = Math.max(normalizedLength, expectedLength);
+        if (maxLength == 0) return 1.0;
+
+        return 1.0 - (double) editDistance(normalized, normalizedLength, other, expectedLength) / maxLength;
+    }
+
+    /**
+     * Distance de Levenshtein entre deux textes bruts, sans normalisation, sur les tampons du thread courant.
+     */
+    public static int levenshteinDistance(CharSequence a, CharSequence b) {
+        TranscriptAnalyzer analyzer = CURRENT.get();
+        analyzer.normalized = ensureCapacity(analyzer.normalized, a.length());
+        analyzer.other = ensureCapacity(analyzer.other, b.length());
+        for (int i = 0; i < a.length(); i++) analyzer.normalized[i] = a.charAt(i);
+        for (int j = 0; j < b.length(); j++) analyzer.other[j] = b.charAt(j);
+        // Les tampons ne correspondent plus à la dernière analyse
+        analyzer.normalizedLength = 0;
+        analyzer.tokenCount = 0;
+        return analyzer.editDistance(analyzer.normalized, a.length(), analyzer.other, b.length());
+    }
+
+    private int normalizeOther(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+
+        other = ensureCapacity(other, end - start);
+        for (int i = start; i < end; i++) {
+            other[i - start] = Character.toLowerCase(text.charAt(i));
+        }
+        return end - start;
+    }
+
+    // Deux lignes de la matrice au lieu de (n+1) x (m+1)
+    private int editDistance(char[] a, int aLength, char[] b, int bLength) {
+        previousRow = ensureCapacity(previousRow, bLength + 1);
+        currentRow = ensureCapacity(currentRow, bLength + 1);
+        int[] previous = previousRow;
+        int[] current = currentRow;
+
+        for (int j = 0; j <= bLength; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= aLength; i++) {
+            current[0] = i;
+            char ca = a[i - 1];
+            for (int j = 1; j <= bLength; j++) {
+                int substitution = previous[j - 1] + (ca == b[j - 1] ? 0 : 1);
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), substitution);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[bLength];
+    }
+
+    private void openToken(int position) {
+        if (tokenCount == tokenStarts.length) {
+            tokenStarts = Arrays.copyOf(tokenStarts, tokenCount * 2);
+            tokenEnds = Arrays.copyOf(tokenEnds, tokenCount * 2);
+        }
+        tokenStarts[tokenCount] = position;
+        tokenEnds[tokenCount] = position;
+        tokenCount++;
+    }
+
+    private static char[] ensureCapacity(char[] buffer, int size) {
+        return buffer.length >= size ? buffer : new char[Math.max(size, buffer.length * 2)];
+    }
+
+    private static int[] ensureCapacity(int[] buffer, int size) {
+        return buffer.length >= size ? buffer : new int[Math.max(size, buffer.length * 2)];
+    }
+}
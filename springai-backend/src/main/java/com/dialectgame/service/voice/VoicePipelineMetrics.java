@@ -0,0 +1,133 @@
+package com.dialectgame.service.voice;
+
+import com.dialectgame.model.dto.voice.VoiceProcessingRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Instrumentation du pipeline vocal.
+ * Chaque étape est une Observation : un timer (histogramme) voice.pipeline.stage et un span enfant
+ * du span de la requête HTTP, propagé dans le thread @Async par le TaskDecorator d'ObservabilityConfig.
+ * Tags : étape, type de session, langue, fournisseur. Les langues hors liste sont regroupées sous « other ».
+ * Étapes servies par un modèle de chat : fournisseur qui a répondu, repli compris (« none » en cas d'échec).
+ */
+@Component
+public class VoicePipelineMetrics {
+
+    public enum Stage {
+        SAVE, DURATION_PROBE, TRANSCRIBE, SCORE, FEEDBACK, CONVERSATION, PERSIST
+    }
+
+    private static final String NONE = "none";
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final List<String> supportedLanguages;
+
+    public VoicePipelineMetrics(
+            ObservationRegistry observationRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${app.lesson.supported-languages:fr,en,es,de}") List<String> supportedLanguages) {
+
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+        this.supportedLanguages = supportedLanguages;
+    }
+
+    /**
+     * Observation englobant tout le traitement d'une session ; l'appelant ouvre sa portée
+     * pour que les étapes deviennent des spans enfants, renseigne l'issue puis l'arrête.
+     */
+    public Observation startPipeline(VoiceProcessingRequest request) {
+        return Observation.createNotStarted("voice.pipeline", observationRegistry)
+                .contextualName("voice pipeline")
+                .lowCardinalityKeyValue("session.type", sessionType(request))
+                .lowCardinalityKeyValue("language", language(request))
+                .start();
+    }
+
+    public <T, E extends Throwable> T stage(Stage stage, VoiceProcessingRequest request,
+                                            Observation.CheckedCallable<T, E> callable) throws E {
+        return stageObservation(stage, request).observeChecked(callable);
+    }
+
+    public <E extends Throwable> void stage(Stage stage, VoiceProcessingRequest request,
+                                            Observation.CheckedRunnable<E> runnable) throws E {
+        stageObservation(stage, request).observeChecked(runnable);
+    }
+
+    /** Étape servie par un modèle de chat : le tag provider est lu sur le résultat avant l'arrêt de l'observation. */
+    public <T, E extends Throwable> T chatStage(Stage stage, VoiceProcessingRequest request,
+                                                Observation.CheckedCallable<T, E> callable,
+                                                Function<T, String> provider) throws E {
+        Observation observation = stageObservation(stage, request);
+        return observation.observeChecked(() -> {
+            T result = callable.call();
+            observation.lowCardinalityKeyValue("provider", provider.apply(result));
+            return result;
+        });
+    }
+
+    public void recordAudioSize(VoiceProcessingRequest request, long bytes) {
+        payloadSummary("voice.pipeline.audio.size", "bytes", request).record(bytes);
+    }
+
+    public void recordTranscriptLength(VoiceProcessingRequest request, String transcript) {
+        if (transcript != null) {
+            payloadSummary("voice.pipeline.transcript.length", "characters", request).record(transcript.length());
+        }
+    }
+
+    public void recordFeedbackLength(VoiceProcessingRequest request, String feedback) {
+        if (feedback != null) {
+            payloadSummary("voice.pipeline.feedback.length", "characters", request).record(feedback.length());
+        }
+    }
+
+    private Observation stageObservation(Stage stage, VoiceProcessingRequest request) {
+        String name = stage.name().toLowerCase(Locale.ROOT);
+        return Observation.createNotStarted("voice.pipeline.stage", observationRegistry)
+                .contextualName("voice " + name)
+                .lowCardinalityKeyValue("stage", name)
+                .lowCardinalityKeyValue("session.type", sessionType(request))
+                .lowCardinalityKeyValue("language", language(request))
+                .lowCardinalityKeyValue("provider", provider(stage));
+    }
+
+    private DistributionSummary payloadSummary(String name, String unit, VoiceProcessingRequest request) {
+        return DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .publishPercentileHistogram()
+                .tag("session.type", sessionType(request))
+                .tag("language", language(request))
+                .register(meterRegistry);
+    }
+
+    private String provider(Stage stage) {
+        return switch (stage) {
+            case TRANSCRIBE -> "openai"; // transcription Whisper (OpenAiTranscriptionModel)
+            default -> NONE; // FEEDBACK, CONVERSATION : remplacé par chatStage
+        };
+    }
+
+    private static String sessionType(VoiceProcessingRequest request) {
+        return request.getSessionType() != null ? request.getSessionType().name() : NONE;
+    }
+
+    private String language(VoiceProcessingRequest request) {
+        String language = request.getLanguage();
+        if (language == null || language.isBlank()) {
+            return NONE;
+        }
+        String normalized = language.toLowerCase(Locale.ROOT);
+        return supportedLanguages.contains(normalized) ? normalized : "other";
+    }
+}
@@ -1,11 +1,17 @@
 package com.dialectgame.service.voice;
 
+import com.dialectgame.datasource.ReadYourWritesTracker;
 import com.dialectgame.model.dto.voice.VoiceProcessingRequest;
 import com.dialectgame.model.dto.voice.VoiceProcessingResponse;
 import com.dialectgame.model.entity.User;
 import com.dialectgame.model.entity.VoiceSession;
 import com.dialectgame.repository.VoiceSessionRepository;
 import com.dialectgame.service.ai.AIService;
+import com.dialectgame.service.conversation.ConversationMemoryService;
+import com.dialectgame.service.stats.UserStatsService;
+import com.dialectgame.service.voice.VoicePipelineMetrics.Stage;
+import com.dialectgame.service.voice.phonetic.PhoneticScorer;
+import io.micrometer.observation.Observation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.openai.audio.transcription.OpenAiTranscriptionModel;
@@ -15,6 +21,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -34,6 +42,11 @@ public class VoiceProcessingService {
     private final OpenAiTranscriptionModel transcriptionModel;
     private final VoiceSessionRepository voiceSessionRepository;
     private final AIService aiService;
+    private final UserStatsService userStatsService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final VoicePipelineMetrics voicePipelineMetrics;
+    private final PhoneticScorer phoneticScorer;
+    private final ConversationMemoryService conversationMemoryService;
 
     @Async
     @Transactional
@@ -45,6 +58,11 @@ public class VoiceProcessingService {
         log.info("Starting voice processing for user {} with session type {}", 
                 user.getId(), request.getSessionType());
 
+        // Leçon inconnue : 400 avant tout traitement (future en échec, dépliée par Spring MVC)
+        if (request.getSessionType() == VoiceSession.SessionType.CONVERSATION) {
+            conversationMemoryService.validateLesson(request.getConversationId(), request.getLessonId());
+        }
+
         // Créer une session voice
         VoiceSession session = VoiceSession.builder()
                 .user(user)
@@ -54,41 +72,61 @@ public class VoiceProcessingService {
                 .processingStatus(VoiceSession.ProcessingStatus.PROCESSING)
                 .build();
 
-        try {
+        // Span parent des étapes, lui-même enfant du span HTTP (contexte propagé au thread @Async)
+        Observation pipeline = voicePipelineMetrics.startPipeline(request);
+        try (Observation.Scope scope = pipeline.openScope()) {
+            voicePipelineMetrics.recordAudioSize(request, audioFile.getSize());
+
             // Sauvegarder le fichier audio
-            String audioFilePath = saveAudioFile(audioFile);
+            String audioFilePath = voicePipelineMetrics.stage(Stage.SAVE, request, () -> saveAudioFile(audioFile));
             session.setAudioFilePath(audioFilePath);
-            session.setDurationMs(calculateAudioDuration(audioFile));
+            session.setDurationMs(voicePipelineMetrics.stage(Stage.DURATION_PROBE, request,
+                    () -> calculateAudioDuration(audioFile)));
 
-            // Sauvegarder la session
+            // Persister la session : id pris dans la séquence, un seul INSERT au commit
             session = voiceSessionRepository.save(session);
 
             // Transcrire l'audio
-            String transcribedText = transcribeAudio(audioFile, request.getLanguage());
+            String transcribedText = voicePipelineMetrics.stage(Stage.TRANSCRIBE, request,
+                    () -> transcribeAudio(audioFile, request.getLanguage()));
             session.setTranscribedText(transcribedText);
+            voicePipelineMetrics.recordTranscriptLength(request, transcribedText);
 
             // Calculer les scores
-            calculateScores(session, request);
+            VoiceSession scored = session;
+            voicePipelineMetrics.stage(Stage.SCORE, request, () -> calculateScores(scored, request));
 
             // Générer le feedback IA si demandé
             if (request.getEnableFeedback()) {
-                generateAIFeedback(session);
+                generateAIFeedback(session, request);
+            }
+
+            // Session de conversation : réponse du tuteur, avec la mémoire de la conversation
+            if (request.getSessionType() == VoiceSession.SessionType.CONVERSATION
+                    && transcribedText != null && !transcribedText.isBlank()) {
+                generateConversationReply(session, request, user);
             }
 
-            // Marquer comme complété
+            // Marquer comme complété ; flush explicite pour que l'étape mesure l'écriture SQL (le commit suit)
             session.setProcessingStatus(VoiceSession.ProcessingStatus.COMPLETED);
-            session = voiceSessionRepository.save(session);
+            VoiceSession completed = session;
+            session = voicePipelineMetrics.stage(Stage.PERSIST, request, () -> voiceSessionRepository.saveAndFlush(completed));
+            afterSessionCommit(user.getId(), session);
 
             log.info("Voice processing completed successfully for session {}", session.getId());
+            pipeline.lowCardinalityKeyValue("outcome", "completed");
 
             return CompletableFuture.completedFuture(mapToResponse(session));
 
         } catch (Exception e) {
             log.error("Error processing voice for user {}: {}", user.getId(), e.getMessage(), e);
+            pipeline.lowCardinalityKeyValue("outcome", "failed");
+            pipeline.error(e);
             
             session.setProcessingStatus(VoiceSession.ProcessingStatus.FAILED);
             session.setErrorMessage(e.getMessage());
             voiceSessionRepository.save(session);
+            afterSessionCommit(user.getId(), session);
 
             return CompletableFuture.completedFuture(
                 VoiceProcessingResponse.builder()
@@ -98,6 +136,31 @@ public class VoiceProcessingService {
                     .createdAt(session.getCreatedAt())
                     .build()
             );
+        } finally {
+            pipeline.stop();
+        }
+    }
+
+    // Statistiques et lecture de ses propres écritures : seulement pour les sessions effectivement enregistrées
+    private void afterSessionCommit(Long userId, VoiceSession session) {
+        Runnable record = () -> {
+            readYourWritesTracker.markWrite(userId);
+            try {
+                userStatsService.recordVoiceSession(userId, session);
+            } catch (Exception e) {
+                log.warn("Failed to update learning stats for user {}: {}", userId, e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record.run();
+                }
+            });
+        } else {
+            record.run();
         }
     }
 
@@ -128,109 +191,45 @@ public class VoiceProcessingService {
         String expectedText = request.getExpectedText();
 
         if (transcribedText != null && expectedText != null) {
+            // Un seul passage sur la transcription : tous les scores se lisent sur cette analyse
+            TranscriptAnalyzer transcript = TranscriptAnalyzer.of(transcribedText);
+
             // Calculer le score de précision (similarité de texte)
-            double accuracyScore = calculateTextSimilarity(transcribedText, expectedText);
+            double accuracyScore = transcript.similarityTo(expectedText);
             session.setAccuracyScore(accuracyScore);
 
             // Score de confiance basé sur la clarté de la transcription
-            double confidenceScore = calculateConfidenceScore(transcribedText);
+            double confidenceScore = VoiceScoring.confidenceScore(transcript);
             session.setConfidenceScore(confidenceScore);
 
-            // Score de prononciation (combinaison des deux)
-            double pronunciationScore = (accuracyScore + confidenceScore) / 2.0;
+            // Score de prononciation : alignement phonétique, ou combinaison des deux scores sans règles pour la langue
+            double pronunciationScore = phoneticScorer.supports(request.getLanguage())
+                    ? phoneticScorer.score(request.getLanguage(), expectedText, transcribedText)
+                    : (accuracyScore + confidenceScore) / 2.0;
             session.setPronunciationScore(pronunciationScore);
 
             // Score de fluidité basé sur la durée et le contenu
-            double fluencyScore = calculateFluencyScore(session);
+            double fluencyScore = VoiceScoring.fluencyScore(transcript, session.getDurationMs());
             session.setFluencyScore(fluencyScore);
         }
     }
 
-    private double calculateTextSimilarity(String text1, String text2) {
-        // Implémentation simple de similarité de texte
-        // Pour une implémentation plus avancée, utiliser des bibliothèques comme Apache Commons Text
-        if (text1 == null || text2 == null) return 0.0;
-        
-        text1 = text1.toLowerCase().trim();
-        text2 = text2.toLowerCase().trim();
-        
-        if (text1.equals(text2)) return 1.0;
-        
-        // Calcul de distance de Levenshtein simplifiée
-        int maxLength = Math.max(text1.length(), text2.length());
-        if (maxLength == 0) return 1.0;
-        
-        int distance = levenshteinDistance(text1, text2);
-        return 1.0 - (double) distance / maxLength;
-    }
-
-    private int levenshteinDistance(String a, String b) {
-        int[][] dp = new int[a.length() + 1][b.length() + 1];
-        
-        for (int i = 0; i <= a.length(); i++) {
-            for (int j = 0; j <= b.length(); j++) {
-                if (i == 0) {
-                    dp[i][j] = j;
-                } else if (j == 0) {
-                    dp[i][j] = i;
-                } else {
-                    dp[i][j] = Math.min(
-                        Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1)
-                    );
-                }
-            }
-        }
-        
-        return dp[a.length()][b.length()];
-    }
-
-    private double calculateConfidenceScore(String transcribedText) {
-        if (transcribedText == null || transcribedText.trim().isEmpty()) {
-            return 0.0;
-        }
-        
-        // Score basé sur la longueur et la cohérence du texte
-        int wordCount = transcribedText.split("\\s+").length;
-        double lengthScore = Math.min(1.0, wordCount / 10.0); // Normaliser sur 10 mots
-        
-        // Score basé sur la présence de caractères spéciaux (indication de confusion)
-        long specialCharCount = transcribedText.chars().filter(ch -> !Character.isLetterOrDigit(ch) && !Character.isWhitespace(ch)).count();
-        double clarityScore = Math.max(0.0, 1.0 - (specialCharCount / (double) transcribedText.length()));
-        
-        return (lengthScore + clarityScore) / 2.0;
-    }
-
-    private double calculateFluencyScore(VoiceSession session) {
-        if (session.getDurationMs() == null || session.getTranscribedText() == null) {
-            return 0.5; // Score neutre si pas assez d'informations
-        }
-        
-        int wordCount = session.getTranscribedText().split("\\s+").length;
-        double durationSeconds = session.getDurationMs() / 1000.0;
-        
-        // Vitesse de parole optimale: 150-200 mots par minute
-        double wordsPerMinute = (wordCount / durationSeconds) * 60;
-        
-        if (wordsPerMinute >= 150 && wordsPerMinute <= 200) {
-            return 1.0;
-        } else if (wordsPerMinute >= 100 && wordsPerMinute <= 250) {
-            return 0.8;
-        } else {
-            return 0.6;
-        }
-    }
-
-    private void generateAIFeedback(VoiceSession session) {
+    private void generateAIFeedback(VoiceSession session, VoiceProcessingRequest request) {
         try {
-            String feedback = aiService.generateVoiceFeedback(
-                session.getTranscribedText(),
-                session.getExpectedText(),
-                session.getConfidenceScore()
-            );
+            // Version du prompt attribuée par utilisateur, conservée avec le feedback pour l'analyse A/B
+            AIService.AIResponse response = voicePipelineMetrics.chatStage(Stage.FEEDBACK, request,
+                    () -> aiService.generateVoiceFeedback(
+                            session.getTranscribedText(),
+                            session.getExpectedText(),
+                            session.getConfidenceScore(),
+                            String.valueOf(session.getUser().getId())
+                    ), AIService.AIResponse::provider);
+            String feedback = response.content();
+            voicePipelineMetrics.recordFeedbackLength(request, feedback);
             
             Map<String, Object> aiFeedback = new HashMap<>();
             aiFeedback.put("feedback", feedback);
+            aiFeedback.put("feedbackPromptVersion", response.promptVersion());
             aiFeedback.put("generatedAt", LocalDateTime.now());
             
             session.setAiFeedback(aiFeedback);
@@ -240,6 +239,31 @@ public class VoiceProcessingService {
         }
     }
 
+    private void generateConversationReply(VoiceSession session, VoiceProcessingRequest request, User user) {
+        VoiceSession current = session;
+        ConversationMemoryService.ConversationReply reply;
+        try {
+            reply = voicePipelineMetrics.chatStage(Stage.CONVERSATION, request,
+                    () -> conversationMemoryService.respond(user, current, request.getConversationId(),
+                            request.getLessonId(), request.getLanguage(), current.getTranscribedText()),
+                    ConversationMemoryService.ConversationReply::provider);
+        } catch (ConversationMemoryService.ConversationNotFoundException
+                 | ConversationMemoryService.UnknownLessonException | AIService.AIServiceException e) {
+            // Comme le feedback : la session reste complétée, sans réponse du tuteur
+            log.warn("Failed to generate conversation reply for session {}: {}", session.getId(), e.getMessage());
+            return;
+        }
+
+        Map<String, Object> aiFeedback = session.getAiFeedback() != null
+                ? new HashMap<>(session.getAiFeedback()) : new HashMap<>();
+        aiFeedback.put("conversationId", reply.conversationId());
+        aiFeedback.put("turnIndex", reply.turnIndex());
+        aiFeedback.put("reply", reply.reply());
+        aiFeedback.put("replyPromptVersion", reply.promptVersion());
+        aiFeedback.put("generatedAt", LocalDateTime.now());
+        session.setAiFeedback(aiFeedback);
+    }
+
     private String saveAudioFile(MultipartFile audioFile) throws IOException {
         String fileName = "audio_" + System.currentTimeMillis() + "_" + audioFile.getOriginalFilename();
         Path audioPath = Path.of("uploads/audio", fileName);
@@ -258,7 +282,7 @@ public class VoiceProcessingService {
         return audioFile.getSize() / 16000L; // Estimation approximative
     }
 
-    private VoiceProcessingResponse mapToResponse(VoiceSession session) {
+    static VoiceProcessingResponse mapToResponse(VoiceSession session) {
         return VoiceProcessingResponse.builder()
                 .sessionId(session.getId())
                 .transcribedText(session.getTranscribedText())
@@ -268,6 +292,7 @@ public class VoiceProcessingService {
                 .fluencyScore(session.getFluencyScore())
                 .processingStatus(session.getProcessingStatus())
                 .aiFeedback(session.getAiFeedback())
+                .errorMessage(session.getErrorMessage())
                 .createdAt(session.getCreatedAt())
                 .build();
     }
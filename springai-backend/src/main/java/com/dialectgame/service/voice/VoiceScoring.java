@@ -0,0 +1,66 @@
+package com.dialectgame.service.voice;
+
+/**
+ * Calculs de score d'une transcription (précision, confiance, fluidité).
+ * Fonctions pures, isolées du pipeline pour pouvoir être mesurées (voir src/jmh).
+ * Tous les scores se lisent sur une même {@link TranscriptAnalyzer analyse} du texte, sans copie.
+ */
+public final class VoiceScoring {
+
+    private VoiceScoring() {
+    }
+
+    public static double textSimilarity(String text1, String text2) {
+        if (text1 == null || text2 == null) return 0.0;
+        return TranscriptAnalyzer.of(text1).similarityTo(text2);
+    }
+
+    public static int levenshteinDistance(String a, String b) {
+        return TranscriptAnalyzer.levenshteinDistance(a, b);
+    }
+
+    public static double confidenceScore(String transcribedText) {
+        if (transcribedText == null) return 0.0;
+        return confidenceScore(TranscriptAnalyzer.of(transcribedText));
+    }
+
+    public static double confidenceScore(TranscriptAnalyzer transcript) {
+        if (transcript.isBlank()) {
+            return 0.0;
+        }
+
+        // Score basé sur la longueur et la cohérence du texte
+        double lengthScore = Math.min(1.0, transcript.wordCount() / 10.0); // Normaliser sur 10 mots
+
+        // Score basé sur la présence de caractères spéciaux (indication de confusion)
+        double clarityScore = Math.max(0.0, 1.0 - transcript.specialCharRatio());
+
+        return (lengthScore + clarityScore) / 2.0;
+    }
+
+    public static double fluencyScore(String transcribedText, Long durationMs) {
+        if (durationMs == null || transcribedText == null) {
+            return 0.5; // Score neutre si pas assez d'informations
+        }
+        return fluencyScore(TranscriptAnalyzer.of(transcribedText), durationMs);
+    }
+
+    public static double fluencyScore(TranscriptAnalyzer transcript, Long durationMs) {
+        if (durationMs == null) {
+            return 0.5; // Score neutre si pas assez d'informations
+        }
+
+        double durationSeconds = durationMs / 1000.0;
+
+        // Vitesse de parole optimale: 150-200 mots par minute
+        double wordsPerMinute = (transcript.wordCount() / durationSeconds) * 60;
+
+        if (wordsPerMinute >= 150 && wordsPerMinute <= 200) {
+            return 1.0;
+        } else if (wordsPerMinute >= 100 && wordsPerMinute <= 250) {
+            return 0.8;
+        } else {
+            return 0.6;
+        }
+    }
+}
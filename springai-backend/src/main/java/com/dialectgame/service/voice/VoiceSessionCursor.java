@@ -0,0 +1,54 @@
+package com.dialectgame.service.voice;
+
+import com.dialectgame.model.dto.voice.VoiceSessionSummary;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position dans l'historique des sessions d'un utilisateur (tri décroissant) :
+ * (created_at, id) de la dernière session renvoyée.
+ */
+public record VoiceSessionCursor(LocalDateTime createdAt, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static VoiceSessionCursor of(VoiceSessionSummary session) {
+        return new VoiceSessionCursor(session.createdAt(), session.sessionId());
+    }
+
+    // null : première page
+    public static VoiceSessionCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2) {
+                throw new InvalidCursorException("Malformed voice session cursor");
+            }
+            return new VoiceSessionCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed voice session cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Curseur fourni par le client : 400 plutôt qu'une erreur serveur
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class InvalidCursorException extends RuntimeException {
+        public InvalidCursorException(String message) {
+            super(message);
+        }
+    }
+}
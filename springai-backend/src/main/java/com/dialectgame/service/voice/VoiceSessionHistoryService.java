@@ -0,0 +1,57 @@
+package com.dialectgame.service.voice;
+
+import com.dialectgame.model.dto.common.CursorPage;
+import com.dialectgame.model.dto.voice.VoiceProcessingResponse;
+import com.dialectgame.model.dto.voice.VoiceSessionSummary;
+import com.dialectgame.repository.VoiceSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VoiceSessionHistoryService {
+
+    private final VoiceSessionRepository voiceSessionRepository;
+
+    @Value("${app.voice.history.max-page-size:100}")
+    private int maxPageSize;
+
+    @Transactional(readOnly = true)
+    public CursorPage<VoiceSessionSummary> getHistory(Long userId, String cursor, int size) {
+        log.debug("Getting voice session history for user {}: cursor={}", userId, cursor);
+
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        VoiceSessionCursor before = VoiceSessionCursor.decode(cursor);
+
+        // Une ligne de plus pour savoir s'il existe une page suivante, sans COUNT
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<VoiceSessionSummary> sessions = before == null
+                ? voiceSessionRepository.findSummariesByUserId(userId, limit)
+                : voiceSessionRepository.findSummariesByUserIdBefore(userId, before.createdAt(), before.id(), limit);
+
+        boolean hasNext = sessions.size() > pageSize;
+        List<VoiceSessionSummary> page = hasNext ? sessions.subList(0, pageSize) : sessions;
+
+        return CursorPage.<VoiceSessionSummary>builder()
+                .items(page)
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? VoiceSessionCursor.of(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    // Détail complet (transcription, feedback IA) : une seule session, limitée à son propriétaire
+    @Transactional(readOnly = true)
+    public Optional<VoiceProcessingResponse> getSession(Long userId, Long sessionId) {
+        return voiceSessionRepository.findByIdAndUserId(sessionId, userId)
+                .map(VoiceProcessingService::mapToResponse);
+    }
+}
@@ -0,0 +1,51 @@
+package com.dialectgame.service.voice.phonetic;
+
+/**
+ * Règles de lecture de l'anglais, volontairement grossières : l'orthographe anglaise n'est pas
+ * phonémique. Digrammes courants, e final muet qui allonge la voyelle précédente, voyelles brèves
+ * par défaut. Suffisant pour comparer deux lectures d'un même texte.
+ */
+final class EnglishPhonetics {
+
+    private static final String SOFT = "[eiy]";
+
+    private EnglishPhonetics() {
+    }
+
+    static GraphemeToPhoneme rules() {
+        return GraphemeToPhoneme.builder("en")
+                // Voyelles : digrammes, puis voyelle longue devant consonne + e final, puis voyelle brève
+                .rule("ai", "eI").rule("ay", "eI").rule("au", "O").rule("aw", "O").rule("ar", "ar")
+                .rule("a", "", "Ce#", "eI").rule("a", "{")
+                .rule("ee", "i").rule("ea", "i").rule("er", "", "#", "@r")
+                .rule("e", "#C", "#", "i").rule("e", "C", "#", "").rule("e", "", "Ce#", "i").rule("e", "E")
+                .rule("igh", "aI").rule("ie", "", "#", "aI").rule("i", "", "Ce#", "aI").rule("i", "I")
+                .rule("oo", "u").rule("ou", "aU").rule("ow", "", "#", "o").rule("ow", "aU")
+                .rule("oa", "o").rule("oi", "OI").rule("oy", "OI").rule("or", "Or")
+                .rule("o", "", "Ce#", "o").rule("o", "", "#", "o").rule("o", "O")
+                .rule("u", "", "Ce#", "ju").rule("u", "V")
+                .rule("y", "#", "", "j").rule("y", "", "#", "i").rule("y", "I")
+                // Consonnes
+                .rule("bb", "b").rule("b", "b")
+                .rule("tch", "c").rule("ch", "c").rule("ck", "k").rule("c", "", SOFT, "s").rule("c", "k")
+                .rule("dd", "d").rule("d", "d")
+                .rule("ff", "f").rule("f", "f")
+                .rule("gh", "").rule("gg", "g").rule("g", "", SOFT, "G").rule("g", "g")
+                .rule("h", "h")
+                .rule("j", "G")
+                .rule("kn", "#", "", "n").rule("k", "k")
+                .rule("ll", "l").rule("l", "l")
+                .rule("mm", "m").rule("m", "m")
+                .rule("ng", "", "#", "N").rule("nn", "n").rule("n", "n")
+                .rule("ph", "f").rule("pp", "p").rule("p", "p")
+                .rule("qu", "kw").rule("q", "k")
+                .rule("rr", "r").rule("r", "r")
+                .rule("sh", "S").rule("sion", "Z@n").rule("ss", "s").rule("s", "V", "V", "z").rule("s", "s")
+                .rule("tion", "S@n").rule("th", "T").rule("tt", "t").rule("t", "t")
+                .rule("v", "v")
+                .rule("wh", "w").rule("wr", "#", "", "r").rule("w", "w")
+                .rule("x", "ks")
+                .rule("zz", "z").rule("z", "z")
+                .build();
+    }
+}
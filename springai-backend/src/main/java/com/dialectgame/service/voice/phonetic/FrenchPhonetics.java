@@ -0,0 +1,176 @@
+package com.dialectgame.service.voice.phonetic;
+
+/**
+ * Règles de lecture du français : digrammes et trigrammes, voyelles nasales, e muet,
+ * consonnes finales muettes (sauf c, f, l, r et lettres élidées), s intervocalique, c et g doux.
+ */
+final class FrenchPhonetics {
+
+    // Une voyelle suivie de n/m n'est nasale que devant une consonne ou en fin de mot
+    private static final String BEFORE_NASAL_N = "[^aeiouyéèêëàâîïôûhn]";
+    private static final String BEFORE_NASAL_M = "[^aeiouyéèêëàâîïôûhm]";
+    private static final String SOFT = "[eiyéèêë]";
+
+    private FrenchPhonetics() {
+    }
+
+    static GraphemeToPhoneme rules() {
+        return GraphemeToPhoneme.builder("fr")
+                // a
+                .rule("aient", "", "#", "E")
+                .rule("ais", "", "#", "E")
+                .rule("ait", "", "#", "E")
+                .rule("aill", "", "", "aj")
+                .rule("ai", "", "#", "e")
+                .rule("aim", "", BEFORE_NASAL_M, "5")
+                .rule("ain", "", BEFORE_NASAL_N, "5")
+                .rule("ai", "E")
+                .rule("aî", "E")
+                .rule("ay", "", "V", "Ej")
+                .rule("au", "o")
+                .rule("am", "", BEFORE_NASAL_M, "6")
+                .rule("an", "", BEFORE_NASAL_N, "6")
+                .rule("a", "a")
+                .rule("à", "a")
+                .rule("â", "a")
+                // b
+                .rule("bb", "b")
+                .rule("b", "b")
+                // c
+                .rule("ch", "S")
+                .rule("cc", "", SOFT, "ks")
+                .rule("cc", "k")
+                .rule("ck", "k")
+                .rule("c", "", SOFT, "s")
+                .rule("c", "k")
+                .rule("ç", "s")
+                // d
+                .rule("dd", "d")
+                .rule("ds", ".", "#", "")
+                .rule("d", ".", "#", "")
+                .rule("d", "d")
+                // e
+                .rule("est", "#", "#", "E")
+                .rule("et", "#", "#", "e")
+                .rule("eau", "o")
+                .rule("eill", "", "", "Ej")
+                .rule("euill", "", "", "9j")
+                .rule("eu", "2")
+                .rule("eim", "", BEFORE_NASAL_M, "5")
+                .rule("ein", "", BEFORE_NASAL_N, "5")
+                .rule("ei", "E")
+                .rule("er", "C", "#", "e")
+                .rule("ez", "", "#", "e")
+                .rule("et", "", "#", "E")
+                .rule("es", "#C", "#", "e")
+                .rule("es", "", "#", "")
+                .rule("ent", "C", "#", "")
+                .rule("em", "", BEFORE_NASAL_M, "6")
+                .rule("en", "", BEFORE_NASAL_N, "6")
+                .rule("e", "#C", "#", "@")
+                .rule("e", "#qu", "#", "@")
+                .rule("e", "", "#", "")
+                .rule("e", "", "x", "E")
+                .rule("e", "", "C#", "E")
+                .rule("e", "", "CC", "E")
+                .rule("e", "@")
+                .rule("é", "e")
+                .rule("è", "E")
+                .rule("ê", "E")
+                .rule("ë", "E")
+                // f
+                .rule("ff", "f")
+                .rule("f", "f")
+                // g
+                .rule("gn", "J")
+                .rule("gu", "", SOFT, "g")
+                .rule("ge", "", "[aoâ]", "Z")
+                .rule("gg", "g")
+                .rule("g", "", SOFT, "Z")
+                .rule("g", ".", "#", "")
+                .rule("g", "g")
+                // h
+                .rule("h", "")
+                // i
+                .rule("ien", "", BEFORE_NASAL_N, "j5")
+                .rule("ill", "C", "", "ij")
+                .rule("im", "", BEFORE_NASAL_M, "5")
+                .rule("in", "", BEFORE_NASAL_N, "5")
+                .rule("i", "", "V", "j")
+                .rule("i", "i")
+                .rule("î", "i")
+                .rule("ï", "i")
+                // j, k
+                .rule("j", "Z")
+                .rule("k", "k")
+                // l, m, n
+                .rule("ll", "l")
+                .rule("l", "l")
+                .rule("mm", "m")
+                .rule("m", "m")
+                .rule("nn", "n")
+                .rule("n", "n")
+                // o
+                .rule("oin", "", BEFORE_NASAL_N, "w5")
+                .rule("oi", "wa")
+                .rule("oy", "", "V", "waj")
+                .rule("ouill", "", "", "uj")
+                .rule("ou", "", "V", "w")
+                .rule("ou", "u")
+                .rule("où", "u")
+                .rule("oeu", "9")
+                .rule("om", "", BEFORE_NASAL_M, "7")
+                .rule("on", "", BEFORE_NASAL_N, "7")
+                .rule("o", "", "#", "o")
+                .rule("o", "O")
+                .rule("ô", "o")
+                .rule("œu", "9")
+                .rule("œ", "9")
+                // p, q
+                .rule("ph", "f")
+                .rule("pp", "p")
+                .rule("p", ".", "#", "")
+                .rule("p", "p")
+                .rule("qu", "k")
+                .rule("q", "k")
+                // r
+                .rule("rr", "R")
+                .rule("r", "R")
+                // s
+                .rule("sch", "S")
+                .rule("ss", "s")
+                .rule("s", "V", "V", "z")
+                .rule("s", ".", "#", "")
+                .rule("s", "s")
+                // t
+                .rule("tion", "[^s]", "", "sj7")
+                .rule("th", "t")
+                .rule("tt", "t")
+                .rule("ts", ".", "#", "")
+                .rule("t", ".", "#", "")
+                .rule("t", "t")
+                // u
+                .rule("um", "", BEFORE_NASAL_M, "8")
+                .rule("un", "", BEFORE_NASAL_N, "8")
+                .rule("u", "", "[aeioéèê]", "H")
+                .rule("u", "y")
+                .rule("ù", "u")
+                .rule("û", "y")
+                .rule("ü", "y")
+                // v, w, x
+                .rule("v", "v")
+                .rule("w", "w")
+                .rule("x", ".", "#", "")
+                .rule("x", "#e", "V", "gz")
+                .rule("x", "ks")
+                // y, z
+                .rule("ym", "", BEFORE_NASAL_M, "5")
+                .rule("yn", "", BEFORE_NASAL_N, "5")
+                .rule("y", "", "V", "j")
+                .rule("y", "i")
+                .rule("zz", "z")
+                .rule("z", ".", "#", "")
+                .rule("z", "z")
+                .build();
+    }
+}
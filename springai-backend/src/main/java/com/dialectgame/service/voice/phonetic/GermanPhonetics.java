@@ -0,0 +1,50 @@
+package com.dialectgame.service.voice.phonetic;
+
+/**
+ * Règles de lecture de l'allemand : ich-Laut / ach-Laut, sch, s sonore, sp/st initiaux,
+ * dévoisement final, voyelles longues (doublées ou suivies de h) et diphtongues.
+ */
+final class GermanPhonetics {
+
+    private GermanPhonetics() {
+    }
+
+    static GraphemeToPhoneme rules() {
+        return GraphemeToPhoneme.builder("de")
+                // Voyelles et diphtongues
+                .rule("aa", "a").rule("ah", "a").rule("ai", "aI").rule("au", "aU").rule("a", "a")
+                .rule("äu", "Oy").rule("ä", "E")
+                .rule("ee", "e").rule("eh", "e").rule("ei", "aI").rule("eu", "Oy").rule("ey", "aI")
+                .rule("er", "C", "#", "@").rule("en", "C", "#", "@n").rule("e", "", "#", "@").rule("e", "E")
+                .rule("ie", "i").rule("ih", "i").rule("ig", "", "#", "IC").rule("i", "I")
+                .rule("oo", "o").rule("oh", "o").rule("o", "O")
+                .rule("ö", "2")
+                .rule("uh", "u").rule("u", "U")
+                .rule("ü", "y").rule("y", "y")
+                // Consonnes
+                .rule("b", "", "#", "p").rule("bb", "b").rule("b", "b")
+                .rule("chs", "ks").rule("ch", "[aou]", "", "x").rule("ch", "C")
+                .rule("ck", "k").rule("c", "k")
+                .rule("dt", "t").rule("d", "", "#", "t").rule("dd", "d").rule("d", "d")
+                .rule("ff", "f").rule("f", "f")
+                .rule("g", "", "#", "k").rule("gg", "g").rule("g", "g")
+                .rule("h", "")
+                .rule("j", "j")
+                .rule("k", "k")
+                .rule("ll", "l").rule("l", "l")
+                .rule("mm", "m").rule("m", "m")
+                .rule("ng", "N").rule("nk", "Nk").rule("nn", "n").rule("n", "n")
+                .rule("pf", "pf").rule("ph", "f").rule("pp", "p").rule("p", "p")
+                .rule("qu", "kv")
+                .rule("rr", "R").rule("r", "R")
+                .rule("sch", "S").rule("sp", "#", "", "Sp").rule("st", "#", "", "St")
+                .rule("ss", "s").rule("s", "#", "V", "z").rule("s", "V", "V", "z").rule("s", "s")
+                .rule("ß", "s")
+                .rule("tsch", "c").rule("tz", "Q").rule("th", "t").rule("tt", "t").rule("t", "t")
+                .rule("v", "f")
+                .rule("w", "v")
+                .rule("x", "ks")
+                .rule("z", "Q")
+                .build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.dialectgame.service.voice.phonetic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Conversion graphème → phonème par table de règles contextuelles, à la manière des règles de lecture.
+ * <p>
+ * Chaque règle associe un graphème à une suite de phonèmes (voir {@link Phonemes}), sous condition
+ * d'un contexte gauche et droit. Les contextes se lisent lettre à lettre :
+ * {@code #} frontière de mot, {@code V} voyelle, {@code C} consonne, {@code .} n'importe quelle lettre,
+ * {@code [abc]} une lettre parmi, {@code [^abc]} toute autre lettre ou la frontière de mot,
+ * une minuscule seule pour elle-même. Pour une position, la première règle applicable l'emporte :
+ * les règles les plus spécifiques sont déclarées en premier.
+ * <p>
+ * Les deux textes comparés (attendu et transcrit) passent par les mêmes règles : une approximation
+ * de lecture se retrouve des deux côtés et ne pénalise pas l'apprenant.
+ */
+public final class GraphemeToPhoneme {
+
+    static final String VOWEL_LETTERS = "aeiouyàâäáéèêëíîïóôöòúùûüœæ";
+
+    // Index des règles par première lettre, couvre le latin étendu (œ = U+0153)
+    private static final int TABLE_SIZE = 0x180;
+
+    private static final ThreadLocal<char[]> WORD = ThreadLocal.withInitial(() -> new char[64]);
+
+    private final String language;
+    private final Rule[][] rulesByLetter;
+
+    private GraphemeToPhoneme(String language, Rule[][] rulesByLetter) {
+        this.language = language;
+        this.rulesByLetter = rulesByLetter;
+    }
+
+    public static Builder builder(String language) {
+        return new Builder(language);
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     * Transcrit {@code text} mot à mot dans {@code out}. Tout ce qui n'est pas une lettre
+     * (blancs, ponctuation, apostrophes, chiffres) sépare les mots.
+     */
+    void transcribe(CharSequence text, PhonemeBuffer out) {
+        char[] word = WORD.get();
+        int wordLength = 0;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char ch = i < n ? text.charAt(i) : ' ';
+            if (Character.isLetter(ch)) {
+                if (wordLength == word.length) {
+                    word = Arrays.copyOf(word, wordLength * 2);
+                    WORD.set(word);
+                }
+                word[wordLength++] = Character.toLowerCase(ch);
+            } else if (wordLength > 0) {
+                transcribeWord(word, wordLength, out);
+                wordLength = 0;
+            }
+        }
+    }
+
+    public char[] transcribe(CharSequence text) {
+        PhonemeBuffer out = new PhonemeBuffer();
+        transcribe(text, out);
+        return out.toArray();
+    }
+
+    private void transcribeWord(char[] word, int length, PhonemeBuffer out) {
+        int i = 0;
+        while (i < length) {
+            char letter = word[i];
+            Rule[] candidates = letter < TABLE_SIZE ? rulesByLetter[letter] : null;
+            int consumed = 1;
+            if (candidates != null) {
+                for (Rule rule : candidates) {
+                    if (rule.matches(word, length, i)) {
+                        out.append(rule.phonemes);
+                        consumed = rule.grapheme.length;
+                        break;
+                    }
+                }
+            }
+            // Lettre sans règle applicable : ignorée
+            i += consumed;
+        }
+    }
+
+    static boolean isVowelLetter(char letter) {
+        return VOWEL_LETTERS.indexOf(letter) >= 0;
+    }
+
+    public static class Builder {
+
+        private final String language;
+        private final List<Rule> rules = new ArrayList<>();
+
+        private Builder(String language) {
+            this.language = language;
+        }
+
+        public Builder rule(String grapheme, String phonemes) {
+            return rule(grapheme, "", "", phonemes);
+        }
+
+        public Builder rule(String grapheme, String left, String right, String phonemes) {
+            rules.add(new Rule(grapheme.toCharArray(), Element.parse(left), Element.parse(right), phonemes));
+            return this;
+        }
+
+        public GraphemeToPhoneme build() {
+            List<List<Rule>> byLetter = new ArrayList<>(TABLE_SIZE);
+            for (int i = 0; i < TABLE_SIZE; i++) byLetter.add(null);
+            for (Rule rule : rules) {
+                char first = rule.grapheme[0];
+                if (first >= TABLE_SIZE) {
+                    throw new InvalidRuleException("Grapheme outside supported range: " + new String(rule.grapheme));
+                }
+                if (byLetter.get(first) == null) byLetter.set(first, new ArrayList<>());
+                byLetter.get(first).add(rule);
+            }
+
+            Rule[][] table = new Rule[TABLE_SIZE][];
+            for (int i = 0; i < TABLE_SIZE; i++) {
+                if (byLetter.get(i) != null) table[i] = byLetter.get(i).toArray(Rule[]::new);
+            }
+            return new GraphemeToPhoneme(language, table);
+        }
+    }
+
+    private record Rule(char[] grapheme, Element[] left, Element[] right, String phonemes) {
+
+        boolean matches(char[] word, int length, int position) {
+            if (position + grapheme.length > length) return false;
+            for (int k = 1; k < grapheme.length; k++) {
+                if (word[position + k] != grapheme[k]) return false;
+            }
+            int after = position + grapheme.length;
+            for (int k = 0; k < right.length; k++) {
+                if (!right[k].matches(word, length, after + k)) return false;
+            }
+            for (int k = 0; k < left.length; k++) {
+                if (!left[left.length - 1 - k].matches(word, length, position - 1 - k)) return false;
+            }
+            return true;
+        }
+    }
+
+    private record Element(char kind, String letters) {
+
+        static final char BOUNDARY = '#';
+        static final char VOWEL = 'V';
+        static final char CONSONANT = 'C';
+        static final char ANY = '.';
+        static final char SET = '[';
+        static final char NOT_SET = '^';
+
+        boolean matches(char[] word, int length, int position) {
+            boolean boundary = position < 0 || position >= length;
+            return switch (kind) {
+                case BOUNDARY -> boundary;
+                case NOT_SET -> boundary || letters.indexOf(word[position]) < 0;
+                default -> !boundary && switch (kind) {
+                    case VOWEL -> isVowelLetter(word[position]);
+                    case CONSONANT -> !isVowelLetter(word[position]);
+                    case ANY -> true;
+                    default -> letters.indexOf(word[position]) >= 0;
+                };
+            };
+        }
+
+        static Element[] parse(String pattern) {
+            List<Element> elements = new ArrayList<>();
+            int i = 0;
+            while (i < pattern.length()) {
+                char ch = pattern.charAt(i);
+                if (ch == '[') {
+                    int close = pattern.indexOf(']', i);
+                    if (close < 0) throw new InvalidRuleException("Unclosed set in context: " + pattern);
+                    boolean negated = pattern.charAt(i + 1) == '^';
+                    String letters = pattern.substring(negated ? i + 2 : i + 1, close);
+                    elements.add(new Element(negated ? NOT_SET : SET, letters));
+                    i = close + 1;
+                } else {
+                    switch (ch) {
+                        case BOUNDARY, VOWEL, CONSONANT, ANY -> elements.add(new Element(ch, ""));
+                        default -> elements.add(new Element(SET, String.valueOf(ch)));
+                    }
+                    i++;
+                }
+            }
+            return elements.toArray(Element[]::new);
+        }
+    }
+
+    public static class InvalidRuleException extends RuntimeException {
+        public InvalidRuleException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.dialectgame.service.voice.phonetic;
+
+import com.dialectgame.model.entity.LessonContent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de LessonContent : précalcule les phonèmes des textes que l'apprenant aura à prononcer
+ * (exercices de prononciation, répliques du dialogue d'intégration) dès l'écriture du contenu.
+ */
+@Component
+@RequiredArgsConstructor
+public class LessonPhoneticsListener {
+
+    private final PhoneticScorer phoneticScorer;
+
+    @PostPersist
+    @PostUpdate
+    public void precompute(LessonContent content) {
+        String language = content.getLesson() != null ? content.getLesson().getLanguage() : null;
+
+        if (content.getExercises() != null) {
+            for (LessonContent.Exercise exercise : content.getExercises()) {
+                if ("PRONUNCIATION".equals(exercise.getType())) {
+                    phoneticScorer.precompute(language, exercise.getExpectedAnswer());
+                }
+            }
+        }
+        if (content.getIntegrationDialogue() != null) {
+            for (LessonContent.DialogueLine line : content.getIntegrationDialogue()) {
+                if (line.isUserTurn()) {
+                    phoneticScorer.precompute(language, line.getText());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.dialectgame.service.voice.phonetic;
+
+import java.util.Arrays;
+
+/**
+ * Séquence de phonèmes en construction, sur un tableau réutilisé.
+ */
+final class PhonemeBuffer {
+
+    private char[] phonemes = new char[256];
+    private int length;
+
+    void clear() {
+        length = 0;
+    }
+
+    void append(String codes) {
+        if (length + codes.length() > phonemes.length) {
+            phonemes = Arrays.copyOf(phonemes, Math.max(length + codes.length(), phonemes.length * 2));
+        }
+        codes.getChars(0, codes.length(), phonemes, length);
+        length += codes.length();
+    }
+
+    char[] array() {
+        return phonemes;
+    }
+
+    int length() {
+        return length;
+    }
+
+    char[] toArray() {
+        return Arrays.copyOf(phonemes, length);
+    }
+}
@@ -0,0 +1,82 @@
+package com.dialectgame.service.voice.phonetic;
+
+/**
+ * Inventaire des phonèmes, un caractère par phonème, et coûts d'alignement.
+ * <pre>
+ * voyelles  a e E(ɛ) i I(ɪ) o O(ɔ) u U(ʊ) y 2(ø) 9(œ) @(ə) {(æ) V(ʌ)
+ * nasales   5(ɛ̃) 6(ɑ̃) 7(ɔ̃) 8(œ̃)
+ * glides    j w H(ɥ)
+ * consonnes p b t d k g f v s z S(ʃ) Z(ʒ) T(θ) D(ð) C(ç) x h m n J(ɲ) N(ŋ) l R(ʁ) r
+ *           c(tʃ) G(dʒ) Q(ts)
+ * </pre>
+ * Les coûts de substitution reflètent la proximité articulatoire : confondre [e] et [ɛ] coûte bien
+ * moins que remplacer une voyelle par une consonne.
+ */
+final class Phonemes {
+
+    static final String VOWELS = "aeEiIoOuUy29@{V5678";
+    static final String GLIDES = "jwH";
+
+    private static final float[][] SUBSTITUTION = new float[128][128];
+    private static final float[] INDEL = new float[128];
+
+    static {
+        for (int a = 0; a < 128; a++) {
+            INDEL[a] = 1.0f;
+            for (int b = 0; b < 128; b++) {
+                SUBSTITUTION[a][b] = a == b ? 0f : defaultCost((char) a, (char) b);
+            }
+        }
+
+        // Voyelles proches (ouverture, tension)
+        pairs(0.25f, "eE", "oO", "29", "9@", "2@", "iI", "uU", "a{", "aV", "@V", "E{");
+        // Nasales et voyelles orales correspondantes, nasales entre elles
+        pairs(0.5f, "5E", "6a", "7O", "89");
+        pairs(0.4f, "58", "67", "56");
+        // Glides et voyelles correspondantes
+        pairs(0.3f, "ji", "wu", "Hy");
+        pairs(0.4f, "wH");
+        // Paires sourde / sonore
+        pairs(0.5f, "pb", "td", "kg", "fv", "sz", "SZ", "TD", "cG");
+        // Consonnes proches (lieu d'articulation, variantes régionales)
+        pairs(0.4f, "bv", "dD", "Rr");
+        pairs(0.6f, "sS", "zZ", "Ts", "Dz", "Tf", "nJ", "nN", "mn", "xh", "xk", "CS", "Cx", "Qs", "cS", "GZ", "rl");
+
+        // Un e muet élidé, un h aspiré ou un glide avalé sont des écarts mineurs
+        INDEL['@'] = 0.3f;
+        INDEL['h'] = 0.5f;
+        INDEL['j'] = 0.6f;
+        INDEL['w'] = 0.6f;
+        INDEL['H'] = 0.6f;
+    }
+
+    private Phonemes() {
+    }
+
+    static float substitution(char a, char b) {
+        return a < 128 && b < 128 ? SUBSTITUTION[a][b] : (a == b ? 0f : 1f);
+    }
+
+    static float indel(char phoneme) {
+        return phoneme < 128 ? INDEL[phoneme] : 1f;
+    }
+
+    static boolean isVowel(char phoneme) {
+        return VOWELS.indexOf(phoneme) >= 0;
+    }
+
+    private static float defaultCost(char a, char b) {
+        boolean vowelA = isVowel(a) || GLIDES.indexOf(a) >= 0;
+        boolean vowelB = isVowel(b) || GLIDES.indexOf(b) >= 0;
+        if (vowelA && vowelB) return 0.75f;
+        if (!vowelA && !vowelB) return 0.85f;
+        return 1.0f;
+    }
+
+    private static void pairs(float cost, String... pairs) {
+        for (String pair : pairs) {
+            SUBSTITUTION[pair.charAt(0)][pair.charAt(1)] = cost;
+            SUBSTITUTION[pair.charAt(1)][pair.charAt(0)] = cost;
+        }
+    }
+}
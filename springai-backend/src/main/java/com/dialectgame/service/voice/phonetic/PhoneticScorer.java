@@ -0,0 +1,146 @@
+package com.dialectgame.service.voice.phonetic;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Score de prononciation au niveau du phonème : le texte attendu et la transcription sont convertis
+ * en phonèmes puis alignés par distance d'édition pondérée (voir {@link Phonemes}).
+ * <p>
+ * Les phonèmes du texte attendu sont calculés une fois par (langue, texte) et gardés en cache ;
+ * les exercices de prononciation et les répliques de dialogue sont précalculés dès l'enregistrement
+ * du contenu de leçon ({@link LessonPhoneticsListener}). Côté transcription, la conversion et
+ * l'alignement travaillent sur des tampons du thread courant : rien n'est alloué une fois ceux-ci dimensionnés.
+ */
+@Slf4j
+@Component
+public class PhoneticScorer {
+
+    private static final Map<String, Supplier<GraphemeToPhoneme>> RULES = Map.of(
+            "fr", FrenchPhonetics::rules,
+            "es", SpanishPhonetics::rules,
+            "de", GermanPhonetics::rules,
+            "en", EnglishPhonetics::rules);
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    private final boolean enabled;
+    private final String defaultLanguage;
+    private final Map<String, GraphemeToPhoneme> converters = new HashMap<>();
+    private final Map<String, Cache<String, char[]>> expectedPhonemes = new HashMap<>();
+
+    public PhoneticScorer(
+            @Value("${app.voice.phonetics.enabled:true}") boolean enabled,
+            @Value("${app.voice.phonetics.cache-size:10000}") long cacheSize,
+            @Value("${app.lesson.default-language:fr}") String defaultLanguage,
+            @Value("${app.lesson.supported-languages:fr,en,es,de}") List<String> supportedLanguages) {
+
+        this.enabled = enabled;
+        this.defaultLanguage = defaultLanguage;
+        for (String language : supportedLanguages) {
+            Supplier<GraphemeToPhoneme> rules = RULES.get(language);
+            if (rules == null) {
+                log.warn("No grapheme-to-phoneme rules for language {}, pronunciation falls back to text similarity", language);
+                continue;
+            }
+            converters.put(language, rules.get());
+            // Cache par langue : la clé reste le texte de l'exercice, sans concaténation
+            expectedPhonemes.put(language, Caffeine.newBuilder().maximumSize(cacheSize).build());
+        }
+    }
+
+    public boolean supports(String language) {
+        return enabled && converters.containsKey(resolve(language));
+    }
+
+    /**
+     * Calcule et met en cache les phonèmes d'un texte attendu, avant que l'apprenant ne s'enregistre.
+     */
+    public void precompute(String language, String expectedText) {
+        if (supports(language) && expectedText != null && !expectedText.isBlank()) {
+            expected(resolve(language), expectedText);
+        }
+    }
+
+    /**
+     * Similarité phonétique entre {@code transcript} et {@code expectedText}, entre 0 et 1.
+     * La langue doit être {@link #supports(String) prise en charge}.
+     */
+    public double score(String language, String expectedText, CharSequence transcript) {
+        String resolved = resolve(language);
+        GraphemeToPhoneme converter = converters.get(resolved);
+        if (!enabled || converter == null) {
+            throw new UnsupportedLanguageException("Phonetic scoring not available for language: " + language);
+        }
+
+        char[] expected = expected(resolved, expectedText);
+        Workspace workspace = WORKSPACE.get();
+        workspace.actual.clear();
+        converter.transcribe(transcript, workspace.actual);
+        return workspace.similarity(expected, expected.length, workspace.actual.array(), workspace.actual.length());
+    }
+
+    private char[] expected(String language, String text) {
+        Cache<String, char[]> cache = expectedPhonemes.get(language);
+        char[] phonemes = cache.getIfPresent(text);
+        return phonemes != null ? phonemes : cache.get(text, converters.get(language)::transcribe);
+    }
+
+    private String resolve(String language) {
+        return language == null || language.isBlank() ? defaultLanguage : language;
+    }
+
+    private static final class Workspace {
+
+        private final PhonemeBuffer actual = new PhonemeBuffer();
+        private float[] previousRow = new float[257];
+        private float[] currentRow = new float[257];
+
+        // 1 - coût d'alignement / longueur de la plus longue séquence ; chaque opération coûte au plus 1
+        double similarity(char[] expected, int expectedLength, char[] actual, int actualLength) {
+            int maxLength = Math.max(expectedLength, actualLength);
+            if (maxLength == 0) return 1.0;
+
+            if (previousRow.length < actualLength + 1) {
+                previousRow = new float[Math.max(actualLength + 1, previousRow.length * 2)];
+                currentRow = new float[previousRow.length];
+            }
+            float[] previous = previousRow;
+            float[] current = currentRow;
+
+            previous[0] = 0f;
+            for (int j = 1; j <= actualLength; j++) {
+                previous[j] = previous[j - 1] + Phonemes.indel(actual[j - 1]);
+            }
+            for (int i = 1; i <= expectedLength; i++) {
+                char expectedPhoneme = expected[i - 1];
+                float deletion = Phonemes.indel(expectedPhoneme);
+                current[0] = previous[0] + deletion;
+                for (int j = 1; j <= actualLength; j++) {
+                    char actualPhoneme = actual[j - 1];
+                    float substitution = previous[j - 1] + Phonemes.substitution(expectedPhoneme, actualPhoneme);
+                    float gap = Math.min(previous[j] + deletion, current[j - 1] + Phonemes.indel(actualPhoneme));
+                    current[j] = Math.min(substitution, gap);
+                }
+                float[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return Math.max(0.0, 1.0 - previous[actualLength] / maxLength);
+        }
+    }
+
+    public static class UnsupportedLanguageException extends RuntimeException {
+        public UnsupportedLanguageException(String message) {
+            super(message);
+        }
+    }
+}
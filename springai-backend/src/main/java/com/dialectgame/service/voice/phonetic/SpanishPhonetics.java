@@ -0,0 +1,45 @@
+package com.dialectgame.service.voice.phonetic;
+
+/**
+ * Règles de lecture de l'espagnol, orthographe quasi phonémique : seseo pour c/z,
+ * b et v confondus, h muet, i et u en semi-voyelles devant une voyelle.
+ */
+final class SpanishPhonetics {
+
+    private static final String SOFT = "[eiéí]";
+
+    private SpanishPhonetics() {
+    }
+
+    static GraphemeToPhoneme rules() {
+        return GraphemeToPhoneme.builder("es")
+                .rule("a", "a").rule("á", "a")
+                .rule("e", "e").rule("é", "e")
+                .rule("i", "", "[aeouáéóú]", "j").rule("i", "i").rule("í", "i")
+                .rule("o", "o").rule("ó", "o")
+                .rule("u", "[^qg]", "[aeioáéíó]", "w").rule("u", "u").rule("ú", "u").rule("ü", "w")
+                .rule("b", "b").rule("v", "b")
+                .rule("ch", "c")
+                .rule("c", "", SOFT, "s").rule("c", "k")
+                .rule("d", "d")
+                .rule("f", "f")
+                .rule("gu", "", SOFT, "g")
+                .rule("g", "", SOFT, "x").rule("g", "g")
+                .rule("h", "")
+                .rule("j", "x")
+                .rule("k", "k")
+                .rule("ll", "j").rule("l", "l")
+                .rule("m", "m")
+                .rule("n", "n").rule("ñ", "J")
+                .rule("p", "p")
+                .rule("qu", "", SOFT, "k").rule("q", "k")
+                .rule("rr", "r").rule("r", "r")
+                .rule("s", "s")
+                .rule("t", "t")
+                .rule("w", "w")
+                .rule("x", "ks")
+                .rule("y", "", "#", "i").rule("y", "j")
+                .rule("z", "s")
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+-- Profil loadtest : compte administrateur utilisé par le module load-test pour générer les leçons
+-- (mot de passe : loadtest-admin). L'id est pris dans la séquence pour rester compatible avec l'optimiseur pooled.
+INSERT INTO users (id, username, email, password, first_name, last_name, preferred_language, voice_enabled,
+                   difficulty_level, is_active, created_at)
+VALUES (NEXT VALUE FOR users_id_seq, 'loadtest-admin', 'loadtest-admin@dialectgame.local',
+        '$2a$10$N.tg3KEVXuPLpUPY7bQdleqU1VPby9dCeQIMJKYQCURmNjFMJ6GR2', 'Load', 'Test', 'fr', TRUE,
+        'BEGINNER', TRUE, CURRENT_TIMESTAMP);
+
+INSERT INTO user_roles (user_id, role)
+SELECT id, 'ADMIN' FROM users WHERE username = 'loadtest-admin';
@@ -0,0 +1,101 @@
+-- Schéma initial (PostgreSQL) : celui des bases créées avant Flyway par ddl-auto, que la baseline
+-- (baseline-version 1) considère comme appliqué. Tout ajout ultérieur va dans une migration V2+.
+-- Les identifiants viennent de séquences en pool : increment 50 = allocationSize des entités.
+
+CREATE SEQUENCE IF NOT EXISTS users_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS lessons_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS lesson_contents_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS user_progress_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS voice_sessions_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id                 BIGINT PRIMARY KEY DEFAULT nextval('users_id_seq'),
+    username           VARCHAR(255) NOT NULL,
+    email              VARCHAR(255) NOT NULL,
+    password           VARCHAR(255) NOT NULL,
+    first_name         VARCHAR(255),
+    last_name          VARCHAR(255),
+    preferred_language VARCHAR(255),
+    voice_enabled      BOOLEAN,
+    difficulty_level   VARCHAR(255),
+    is_active          BOOLEAN,
+    created_at         TIMESTAMP(6) NOT NULL,
+    updated_at         TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT       NOT NULL REFERENCES users (id),
+    role    VARCHAR(255) NOT NULL,
+    PRIMARY KEY (user_id, role)
+);
+
+CREATE TABLE IF NOT EXISTS lessons (
+    id                 BIGINT PRIMARY KEY DEFAULT nextval('lessons_id_seq'),
+    title              VARCHAR(255) NOT NULL,
+    description        TEXT,
+    difficulty_level   VARCHAR(255),
+    language           VARCHAR(255) NOT NULL,
+    lesson_order       INTEGER,
+    chapter_id         BIGINT,
+    estimated_duration INTEGER,
+    is_active          BOOLEAN,
+    created_at         TIMESTAMP(6) NOT NULL,
+    updated_at         TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS lesson_contents (
+    id                   BIGINT PRIMARY KEY DEFAULT nextval('lesson_contents_id_seq'),
+    lesson_id            BIGINT NOT NULL REFERENCES lessons (id),
+    situation_context    TEXT,
+    situation_problem    TEXT,
+    situation_motivation TEXT,
+    situation_image_url  VARCHAR(255),
+    vocabulary_words     JSONB,
+    exercises            JSONB,
+    integration_scenario TEXT,
+    integration_dialogue JSONB
+);
+
+CREATE TABLE IF NOT EXISTS user_progress (
+    id                BIGINT PRIMARY KEY DEFAULT nextval('user_progress_id_seq'),
+    user_id           BIGINT NOT NULL REFERENCES users (id),
+    lesson_id         BIGINT NOT NULL REFERENCES lessons (id),
+    current_phase     VARCHAR(255),
+    current_step      INTEGER,
+    phase_progress    DOUBLE PRECISION,
+    overall_progress  DOUBLE PRECISION,
+    completion_status VARCHAR(255),
+    score             INTEGER,
+    time_spent        INTEGER,
+    attempts_count    INTEGER,
+    mistakes_count    INTEGER,
+    phase_scores      JSONB,
+    detailed_progress JSONB,
+    completed_at      TIMESTAMP(6),
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6),
+    CONSTRAINT uk_user_progress_user_lesson UNIQUE (user_id, lesson_id)
+);
+
+CREATE TABLE IF NOT EXISTS voice_sessions (
+    id                  BIGINT PRIMARY KEY DEFAULT nextval('voice_sessions_id_seq'),
+    user_id             BIGINT NOT NULL REFERENCES users (id),
+    lesson_id           BIGINT REFERENCES lessons (id),
+    session_type        VARCHAR(255),
+    audio_file_path     VARCHAR(255),
+    transcribed_text    TEXT,
+    expected_text       TEXT,
+    confidence_score    DOUBLE PRECISION,
+    pronunciation_score DOUBLE PRECISION,
+    accuracy_score      DOUBLE PRECISION,
+    fluency_score       DOUBLE PRECISION,
+    processing_status   VARCHAR(255),
+    language            VARCHAR(255),
+    duration_ms         BIGINT,
+    ai_feedback         JSONB,
+    metadata            JSONB,
+    error_message       VARCHAR(255),
+    created_at          TIMESTAMP(6) NOT NULL
+);
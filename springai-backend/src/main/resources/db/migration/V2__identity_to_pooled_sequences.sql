@@ -0,0 +1,21 @@
+-- Migration des colonnes id IDENTITY/SERIAL vers des séquences en pool (PostgreSQL).
+-- Les entités réservent les identifiants par blocs de 50 (allocationSize) : chaque séquence
+-- doit donc avancer de 50 et repartir au-delà du plus grand id existant.
+-- Idempotent : sans effet sur un schéma créé par V1, convertit une base existante
+-- (baseline Flyway en version 1) créée avec des colonnes IDENTITY.
+
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['users', 'lessons', 'lesson_contents', 'user_progress', 'voice_sessions']
+    LOOP
+        -- Colonne IDENTITY : la séquence interne est supprimée avec l'identité
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t || '_id_seq');
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50 OWNED BY %I.id', t || '_id_seq', t);
+        EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) + 50 FROM %I))', t || '_id_seq', t);
+        -- Les insertions SQL hors Hibernate (upserts JDBC, scripts) continuent d'obtenir un id
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', t, t || '_id_seq');
+    END LOOP;
+END $$;
@@ -0,0 +1,59 @@
+-- Index alignés sur les requêtes des repositories (une ligne de commentaire = les requêtes servies).
+-- Créés avec IF NOT EXISTS pour les bases converties depuis ddl-auto.
+
+-- lessons -------------------------------------------------------------------------------
+
+-- LessonRepository.findLessonsWithFilters sans filtre : tri global par ordre des leçons actives
+CREATE INDEX IF NOT EXISTS idx_lessons_active_order
+    ON lessons (lesson_order) WHERE is_active = true;
+
+-- lesson_contents -----------------------------------------------------------------------
+
+-- LessonRepository.findByIdWithContent (LEFT JOIN FETCH l.content) ; relation 1-1
+CREATE UNIQUE INDEX IF NOT EXISTS uk_lesson_contents_lesson
+    ON lesson_contents (lesson_id);
+
+-- user_progress -------------------------------------------------------------------------
+-- findByUserIdAndLessonId, findByUserIdWithLessons, aggregateByUserIds : uk_user_progress_user_lesson
+
+-- findByUserIdOrderByUpdatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_user_progress_user_updated
+    ON user_progress (user_id, updated_at DESC);
+
+-- findByUserIdAndStatus (ORDER BY updated_at DESC)
+CREATE INDEX IF NOT EXISTS idx_user_progress_user_status_updated
+    ON user_progress (user_id, completion_status, updated_at DESC);
+
+-- findCompletedLessonIdsByUserId, countCompletedLessonsByUserId : parcours d'index seul
+CREATE INDEX IF NOT EXISTS idx_user_progress_user_completed
+    ON user_progress (user_id, lesson_id) WHERE completion_status = 'COMPLETED';
+
+-- findByLessonIdOrderByOverallProgressDesc ; sert aussi la clé étrangère lesson_id
+CREATE INDEX IF NOT EXISTS idx_user_progress_lesson_overall
+    ON user_progress (lesson_id, overall_progress DESC);
+
+-- voice_sessions ------------------------------------------------------------------------
+
+-- findByUserIdOrderByCreatedAtDesc, countSessionsByUserIdSince, countDailySessionsByUserIdsSince,
+-- aggregateByUserIds, getAverage*ScoreByUserId ; id en dernier pour un ordre total (pagination par clé)
+CREATE INDEX IF NOT EXISTS idx_voice_sessions_user_created
+    ON voice_sessions (user_id, created_at DESC, id DESC);
+
+-- findByUserIdAndLessonIdOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_voice_sessions_user_lesson_created
+    ON voice_sessions (user_id, lesson_id, created_at DESC);
+
+-- findByUserIdAndSessionType (ORDER BY created_at DESC)
+CREATE INDEX IF NOT EXISTS idx_voice_sessions_user_type_created
+    ON voice_sessions (user_id, session_type, created_at DESC);
+
+-- findTimedOutSessions, findByProcessingStatus(PENDING|PROCESSING) : index partiel limité aux
+-- sessions en cours, qui restent une petite fraction de la table
+-- (findByProcessingStatus(COMPLETED|FAILED) renvoie l'essentiel de la table : un scan est attendu)
+CREATE INDEX IF NOT EXISTS idx_voice_sessions_in_flight
+    ON voice_sessions (processing_status, created_at)
+    WHERE processing_status IN ('PENDING', 'PROCESSING');
+
+-- Clé étrangère lesson_id (suppression d'une leçon)
+CREATE INDEX IF NOT EXISTS idx_voice_sessions_lesson
+    ON voice_sessions (lesson_id) WHERE lesson_id IS NOT NULL;
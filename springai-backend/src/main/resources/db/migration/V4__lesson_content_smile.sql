@@ -0,0 +1,8 @@
+-- Encodage binaire compact (Smile) des listes JSONB de lesson_contents.
+-- Les colonnes JSONB restent la source pour l'administration et les requêtes SQL ad hoc ;
+-- les lectures applicatives passent par les colonnes binaires, décodées phase par phase.
+-- Les lignes existantes sont encodées au démarrage par LessonContentCodecBackfill.
+
+ALTER TABLE lesson_contents ADD COLUMN IF NOT EXISTS vocabulary_words_smile BYTEA;
+ALTER TABLE lesson_contents ADD COLUMN IF NOT EXISTS exercises_smile BYTEA;
+ALTER TABLE lesson_contents ADD COLUMN IF NOT EXISTS integration_dialogue_smile BYTEA;
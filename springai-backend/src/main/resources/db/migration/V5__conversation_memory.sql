@@ -0,0 +1,30 @@
+-- Mémoire des conversations orales : tours persistés et résumé incrémental des tours anciens.
+-- Seuls les tours postérieurs au résumé (turn_index >= summarized_turns) sont relus pour construire un prompt.
+
+CREATE SEQUENCE IF NOT EXISTS conversations_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS conversation_turns_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS conversations (
+    id               BIGINT PRIMARY KEY DEFAULT nextval('conversations_id_seq'),
+    user_id          BIGINT NOT NULL REFERENCES users (id),
+    lesson_id        BIGINT REFERENCES lessons (id),
+    language         VARCHAR(255),
+    summary          TEXT,
+    summarized_turns INTEGER NOT NULL DEFAULT 0,
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS conversation_turns (
+    id               BIGINT PRIMARY KEY DEFAULT nextval('conversation_turns_id_seq'),
+    conversation_id  BIGINT NOT NULL REFERENCES conversations (id),
+    voice_session_id BIGINT REFERENCES voice_sessions (id),
+    turn_index       INTEGER NOT NULL,
+    role             VARCHAR(255) NOT NULL,
+    content          TEXT NOT NULL,
+    tokens           INTEGER NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_conversation_turns_index UNIQUE (conversation_id, turn_index)
+);
+
+CREATE INDEX IF NOT EXISTS idx_conversations_user_updated ON conversations (user_id, updated_at);
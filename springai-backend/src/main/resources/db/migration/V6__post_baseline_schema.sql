@@ -0,0 +1,27 @@
+-- Objets ajoutés après le schéma pré-Flyway. Une base existante est marquée en V1 sans l'exécuter
+-- (baseline-on-migrate) : ils doivent venir d'une migration ultérieure. IF NOT EXISTS pour les bases
+-- dont le schéma a été complété par ddl-auto entre-temps.
+
+-- Agrégats du tableau de bord (UserStatsService), une ligne par utilisateur
+CREATE TABLE IF NOT EXISTS user_learning_stats (
+    user_id                  BIGINT PRIMARY KEY REFERENCES users (id),
+    progress_count           BIGINT,
+    progress_sum             DOUBLE PRECISION,
+    completed_lessons        BIGINT,
+    voice_sessions           BIGINT,
+    voice_sessions_completed BIGINT,
+    confidence_sum           DOUBLE PRECISION,
+    confidence_count         BIGINT,
+    pronunciation_sum        DOUBLE PRECISION,
+    pronunciation_count      BIGINT,
+    daily_voice_sessions     JSONB,
+    last_activity_at         TIMESTAMP(6),
+    progress_refreshed_at    TIMESTAMP(6),
+    rebuilt_at               TIMESTAMP(6),
+    updated_at               TIMESTAMP(6)
+);
+
+-- Index déclarés sur l'entité Lesson (pagination par clé du catalogue)
+CREATE INDEX IF NOT EXISTS idx_lessons_catalog_seek ON lessons (language, difficulty_level, lesson_order, id);
+CREATE INDEX IF NOT EXISTS idx_lessons_chapter_seek ON lessons (chapter_id, lesson_order, id);
+CREATE INDEX IF NOT EXISTS idx_lessons_language_active_order ON lessons (language, is_active, lesson_order);
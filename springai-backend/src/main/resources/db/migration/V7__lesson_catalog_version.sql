@@ -0,0 +1,9 @@
+-- Version partagée du catalogue de leçons : incrémentée dans la transaction de toute modification
+-- du catalogue, relue par chaque instance pour invalider son cache (LessonCatalogCache).
+
+CREATE TABLE IF NOT EXISTS lesson_catalog_version (
+    id      INTEGER PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO lesson_catalog_version (id, version) VALUES (1, 1) ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,8 @@
+-- Sessions vocales comptées dans user_learning_stats : une session n'est comptée qu'une fois,
+-- par l'incrément de fin de session ou par la reconstruction, selon celle qui passe la première.
+-- Défaut TRUE pour l'existant (déjà compté) sans réécrire la table, puis FALSE pour les nouvelles lignes.
+ALTER TABLE voice_sessions ADD COLUMN IF NOT EXISTS stats_recorded BOOLEAN NOT NULL DEFAULT TRUE;
+ALTER TABLE voice_sessions ALTER COLUMN stats_recorded SET DEFAULT FALSE;
+
+-- Sessions encore en cours au moment de la migration : comptées à leur fin
+UPDATE voice_sessions SET stats_recorded = FALSE WHERE processing_status NOT IN ('COMPLETED', 'FAILED');
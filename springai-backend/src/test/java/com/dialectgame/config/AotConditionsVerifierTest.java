@@ -0,0 +1,54 @@
+package com.dialectgame.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AotConditionsVerifierTest {
+
+    @Test
+    void matchingPropertiesStart() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("fallbackChatModel", new RootBeanDefinition(Object.class));
+
+        AotConditionsVerifier verifier = verifier(new MockEnvironment()
+                .withProperty("app.ai.enable-fallback", "true"));
+
+        assertThatCode(() -> verifier.verify(beanFactory)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void propertyEnabledAfterBuildFails() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+        AotConditionsVerifier verifier = verifier(new MockEnvironment()
+                .withProperty("app.datasource.replicas.enabled", "true"));
+
+        assertThatThrownBy(() -> verifier.verify(beanFactory))
+                .isInstanceOf(AotConditionsVerifier.AotConditionsMismatchException.class)
+                .hasMessageContaining("app.datasource.replicas.enabled=true");
+    }
+
+    @Test
+    void propertyDisabledAfterBuildFails() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("fallbackChatModel", new RootBeanDefinition(Object.class));
+
+        // Propriété absente : la condition havingValue = "true" ne correspond pas
+        AotConditionsVerifier verifier = verifier(new MockEnvironment());
+
+        assertThatThrownBy(() -> verifier.verify(beanFactory))
+                .isInstanceOf(AotConditionsVerifier.AotConditionsMismatchException.class)
+                .hasMessageContaining("app.ai.enable-fallback=false");
+    }
+
+    private static AotConditionsVerifier verifier(MockEnvironment environment) {
+        AotConditionsVerifier verifier = new AotConditionsVerifier();
+        verifier.setEnvironment(environment);
+        return verifier;
+    }
+}
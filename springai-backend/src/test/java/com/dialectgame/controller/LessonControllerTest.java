@@ -0,0 +1,104 @@
+package com.dialectgame.controller;
+
+import com.dialectgame.model.entity.Lesson;
+import com.dialectgame.model.entity.User;
+import com.dialectgame.repository.LessonContentRepository;
+import com.dialectgame.repository.LessonRepository;
+import com.dialectgame.repository.UserProgressRepository;
+import com.dialectgame.service.lesson.LessonCatalogCache;
+import com.dialectgame.service.lesson.LessonFrontierCache;
+import com.dialectgame.service.lesson.LessonPhaseContentService;
+import com.dialectgame.service.lesson.LessonRecommendationIndex;
+import com.dialectgame.service.lesson.LessonService;
+import com.dialectgame.service.lesson.codec.LessonContentCodec;
+import com.dialectgame.service.mapper.LessonMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LessonControllerTest {
+
+    private final LessonRepository lessonRepository = mock(LessonRepository.class);
+    private final LessonContentRepository lessonContentRepository = mock(LessonContentRepository.class);
+    private final LessonMapper lessonMapper = mock(LessonMapper.class);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        LessonService lessonService = new LessonService(
+                lessonRepository,
+                lessonContentRepository,
+                new LessonContentCodec(),
+                mock(UserProgressRepository.class),
+                lessonMapper,
+                new LessonCatalogCache(objectMapper, mock(JdbcTemplate.class), transactionManager(),
+                        new SimpleMeterRegistry(), 1 << 20, Duration.ofHours(1)),
+                mock(LessonRecommendationIndex.class),
+                mock(LessonFrontierCache.class),
+                objectMapper);
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new LessonController(lessonService, mock(LessonPhaseContentService.class)))
+                .build();
+    }
+
+    @Test
+    void inactiveLessonWithEncodedContentIsNotFound() throws Exception {
+        // Contenu binaire complet, mais leçon générée en attente de relecture
+        LessonContentRepository.EncodedContent encoded = mock(LessonContentRepository.EncodedContent.class);
+        when(encoded.getVocabularyWords()).thenReturn(new byte[]{1});
+        when(encoded.getExercises()).thenReturn(new byte[]{1});
+        when(encoded.getIntegrationDialogue()).thenReturn(new byte[]{1});
+        when(lessonContentRepository.findEncodedByLessonId(7L)).thenReturn(Optional.of(encoded));
+        when(lessonRepository.findById(7L)).thenReturn(Optional.of(inactiveLesson(7L)));
+
+        mockMvc.perform(get("/lessons/7/content"))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(lessonMapper);
+    }
+
+    @Test
+    void inactiveLessonWithoutEncodedContentIsNotFound() throws Exception {
+        when(lessonContentRepository.findEncodedByLessonId(8L)).thenReturn(Optional.empty());
+        // Requête JSONB filtrée sur is_active
+        when(lessonRepository.findByIdWithContent(8L)).thenReturn(null);
+
+        mockMvc.perform(get("/lessons/8/content"))
+                .andExpect(status().isNotFound());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<PlatformTransactionManager> transactionManager() {
+        ObjectProvider<PlatformTransactionManager> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(mock(PlatformTransactionManager.class));
+        return provider;
+    }
+
+    private static Lesson inactiveLesson(Long id) {
+        return Lesson.builder()
+                .id(id)
+                .title("Au marché")
+                .language("fr")
+                .difficultyLevel(User.DifficultyLevel.BEGINNER)
+                .order(1)
+                .isActive(false)
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.dialectgame.datasource;
+
+import com.dialectgame.datasource.ReplicaLagMonitor.ReplicaStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaLagMonitorTest {
+
+    private static final double RECEIVER_TIMEOUT = 60;
+
+    @Test
+    void caughtUpStreamingReplicaHasNoLag() {
+        // Primaire inactif : dernier rejeu ancien, mais tout le WAL reçu est rejoué
+        ReplicaStatus status = new ReplicaStatus(true, "streaming", 3.0, false, true, 600.0);
+
+        assertThat(ReplicaLagMonitor.lagOf(status, RECEIVER_TIMEOUT)).isZero();
+    }
+
+    @Test
+    void replicaBehindReportsReplayAge() {
+        ReplicaStatus status = new ReplicaStatus(true, "streaming", 0.5, false, false, 4.5);
+
+        assertThat(ReplicaLagMonitor.lagOf(status, RECEIVER_TIMEOUT)).isEqualTo(4.5);
+    }
+
+    @Test
+    void missingReceiverIsUnhealthy() {
+        // Réplica déconnecté du primaire : reçu == rejoué, mais plus rien n'arrive
+        ReplicaStatus status = new ReplicaStatus(true, null, null, false, true, 1.0);
+
+        assertThat(ReplicaLagMonitor.lagOf(status, RECEIVER_TIMEOUT)).isNaN();
+    }
+
+    @Test
+    void receiverNotStreamingIsUnhealthy() {
+        ReplicaStatus status = new ReplicaStatus(true, "waiting", 1.0, false, true, 1.0);
+
+        assertThat(ReplicaLagMonitor.lagOf(status, RECEIVER_TIMEOUT)).isNaN();
+    }
+
+    @Test
+    void stalledReceiverIsUnhealthy() {
+        ReplicaStatus status = new ReplicaStatus(true, "streaming", 120.0, false, true, 120.0);
+
+        assertThat(ReplicaLagMonitor.lagOf(status, RECEIVER_TIMEOUT)).isNaN();
+    }
+
+    @Test
+    void pausedReplayIsUnhealthy() {
+        ReplicaStatus status = new ReplicaStatus(true, "streaming", 1.0, true, true, 1.0);
+
+        assertThat(ReplicaLagMonitor.lagOf(status, RECEIVER_TIMEOUT)).isNaN();
+    }
+}
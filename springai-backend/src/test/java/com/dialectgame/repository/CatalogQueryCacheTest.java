@@ -0,0 +1,33 @@
+package com.dialectgame.repository;
+
+import com.dialectgame.model.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogQueryCacheTest {
+
+    @Test
+    void metaAnnotationCarriesCatalogQueryHints() throws NoSuchMethodException {
+        Method method = LessonRepository.class.getMethod("countLessonsWithFilters",
+                String.class, User.DifficultyLevel.class);
+
+        // Résolution utilisée par Spring Data JPA (JpaQueryMethod)
+        QueryHints hints = AnnotatedElementUtils.findMergedAnnotation(method, QueryHints.class);
+
+        assertThat(hints).isNotNull();
+        Map<String, String> values = Arrays.stream(hints.value())
+                .collect(Collectors.toMap(QueryHint::name, QueryHint::value));
+        assertThat(values).containsEntry(HibernateHints.HINT_CACHEABLE, "true")
+                .containsEntry(HibernateHints.HINT_CACHE_REGION, "lesson-catalog-queries");
+    }
+}
@@ -0,0 +1,123 @@
+package com.dialectgame.repository;
+
+import com.dialectgame.datasource.ReadYourWritesTracker;
+import com.dialectgame.model.entity.Lesson;
+import com.dialectgame.model.entity.LessonContent;
+import com.dialectgame.model.entity.User;
+import com.dialectgame.service.lesson.LessonCatalogCache;
+import com.dialectgame.service.lesson.LessonCatalogListener;
+import com.dialectgame.service.lesson.codec.LessonContentCodec;
+import com.dialectgame.service.lesson.codec.LessonContentCodecListener;
+import com.dialectgame.service.lesson.LessonFrontierCache;
+import com.dialectgame.service.lesson.LessonRecommendationIndex;
+import com.dialectgame.service.stats.UserStatsService;
+import com.dialectgame.service.voice.phonetic.PhoneticScorer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requêtes par phase sur H2 (mode PostgreSQL, pour les colonnes jsonb) : le contenu d'une leçon
+ * inactive n'est renvoyé par aucune d'elles.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:lesson-content;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+@Import({LessonCatalogListener.class, LessonCatalogCache.class, LessonContentCodecListener.class,
+        LessonContentCodec.class, LessonContentRepositoryTest.Support.class})
+class LessonContentRepositoryTest {
+
+    // Dépendances des autres listeners JPA, créés par Hibernate au démarrage
+    @MockBean
+    private PhoneticScorer phoneticScorer;
+
+    @MockBean
+    private LessonRecommendationIndex lessonRecommendationIndex;
+
+    @MockBean
+    private LessonFrontierCache lessonFrontierCache;
+
+    @MockBean
+    private UserStatsService userStatsService;
+
+    @MockBean
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LessonContentRepository lessonContentRepository;
+
+    @Test
+    void activeLessonContentIsReturned() {
+        Long lessonId = persistLesson(true);
+
+        assertThat(lessonContentRepository.findEncodedByLessonId(lessonId)).isPresent();
+        assertThat(lessonContentRepository.findByLessonId(lessonId)).isPresent();
+        assertThat(lessonContentRepository.findSituationByLessonId(lessonId)).isPresent();
+        assertThat(lessonContentRepository.findEncodedVocabularyByLessonId(lessonId)).isPresent();
+        assertThat(lessonContentRepository.findEncodedExercisesByLessonId(lessonId)).isPresent();
+        assertThat(lessonContentRepository.findEncodedIntegrationByLessonId(lessonId)).isPresent();
+    }
+
+    @Test
+    void inactiveLessonContentIsNotReturned() {
+        Long lessonId = persistLesson(false);
+
+        assertThat(lessonContentRepository.findEncodedByLessonId(lessonId)).isEmpty();
+        assertThat(lessonContentRepository.findByLessonId(lessonId)).isEmpty();
+        assertThat(lessonContentRepository.findSituationByLessonId(lessonId)).isEmpty();
+        assertThat(lessonContentRepository.findEncodedVocabularyByLessonId(lessonId)).isEmpty();
+        assertThat(lessonContentRepository.findEncodedExercisesByLessonId(lessonId)).isEmpty();
+        assertThat(lessonContentRepository.findEncodedIntegrationByLessonId(lessonId)).isEmpty();
+    }
+
+    private Long persistLesson(boolean active) {
+        Lesson lesson = entityManager.persist(Lesson.builder()
+                .title("Au marché")
+                .language("fr")
+                .difficultyLevel(User.DifficultyLevel.BEGINNER)
+                .order(1)
+                .isActive(active)
+                .build());
+        entityManager.persist(LessonContent.builder()
+                .lesson(lesson)
+                .situationContext("Au marché")
+                .vocabularyWords(List.of())
+                .exercises(List.of())
+                .integrationDialogue(List.of())
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        return lesson.getId();
+    }
+
+    @TestConfiguration
+    static class Support {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package com.dialectgame.repository;
+
+import com.dialectgame.datasource.ReadYourWritesTracker;
+import com.dialectgame.model.entity.UserProgress;
+import com.dialectgame.model.entity.VoiceSession;
+import com.dialectgame.service.lesson.LessonCatalogCache;
+import com.dialectgame.service.lesson.LessonCatalogListener;
+import com.dialectgame.service.lesson.LessonFrontierCache;
+import com.dialectgame.service.lesson.LessonRecommendationIndex;
+import com.dialectgame.service.lesson.codec.LessonContentCodec;
+import com.dialectgame.service.lesson.codec.LessonContentCodecListener;
+import com.dialectgame.service.stats.UserStatsService;
+import com.dialectgame.service.voice.phonetic.PhoneticScorer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans PostgreSQL des requêtes des repositories, sur le schéma produit par les migrations Flyway :
+ * le SQL généré par Hibernate et ses paramètres sont capturés à l'appel de chaque méthode, puis expliqués.
+ * Chaque requête doit être servie par l'index créé pour elle ; les parcours séquentiels sont désactivés,
+ * les tables étant vides. Ignoré sans Docker.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LessonCatalogListener.class, LessonCatalogCache.class, LessonContentCodecListener.class,
+        LessonContentCodec.class, QueryPlanIndexTest.Support.class})
+class QueryPlanIndexTest {
+
+    private static final String[] POOLED_TABLES = {"users", "lessons", "lesson_contents", "user_progress", "voice_sessions"};
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.use_sql_comments", () -> "false");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    // Dépendances des listeners JPA, créés par Hibernate au démarrage
+    @MockBean
+    private PhoneticScorer phoneticScorer;
+
+    @MockBean
+    private LessonRecommendationIndex lessonRecommendationIndex;
+
+    @MockBean
+    private LessonFrontierCache lessonFrontierCache;
+
+    @MockBean
+    private UserStatsService userStatsService;
+
+    @MockBean
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private UserProgressRepository userProgressRepository;
+
+    @Autowired
+    private VoiceSessionRepository voiceSessionRepository;
+
+    @Autowired
+    private ConversationTurnRepository conversationTurnRepository;
+
+    @Autowired
+    private UserLearningStatsRepository userLearningStatsRepository;
+
+    @BeforeEach
+    void clearRecorder() {
+        sqlRecorder.clear();
+    }
+
+    @Test
+    void catalogSeekUsesCatalogIndex() {
+        lessonRepository.findCatalogPageAfter("fr", null, "fr", "BEGINNER", 3, 10L, 21);
+        assertUsesIndex("idx_lessons_catalog_seek");
+    }
+
+    @Test
+    void chapterSeekUsesChapterIndex() {
+        lessonRepository.findChapterPageAfter(7L, 3, 10L, 21);
+        assertUsesIndex("idx_lessons_chapter_seek");
+    }
+
+    @Test
+    void lessonWithContentUsesContentLessonIndex() {
+        lessonRepository.findByIdWithContent(1L);
+        assertUsesIndex("uk_lesson_contents_lesson");
+    }
+
+    // Tables vides : coûts égaux entre uk_user_progress_user_lesson et idx_user_progress_lesson_overall,
+    // seul compte ici le parcours d'index unique, sans jointure vers users et lessons
+    @Test
+    void progressOfLessonIsSingleIndexScan() {
+        userProgressRepository.findByUserIdAndLessonId(1L, 2L);
+        assertThat(plan()).as("plan of %s", lastSelect().sql()).startsWith("Index Scan")
+                .doesNotContain("Nested Loop", "Join");
+    }
+
+    @Test
+    void recentProgressUsesUserUpdatedIndex() {
+        userProgressRepository.findByUserIdOrderByUpdatedAtDesc(1L);
+        assertUsesIndex("idx_user_progress_user_updated");
+    }
+
+    @Test
+    void progressByStatusUsesUserStatusIndex() {
+        userProgressRepository.findByUserIdAndStatus(1L, UserProgress.CompletionStatus.IN_PROGRESS);
+        assertUsesIndex("idx_user_progress_user_status_updated");
+    }
+
+    @Test
+    void completedLessonIdsUseIndexOnlyScan() {
+        userProgressRepository.findCompletedLessonIdsByUserId(1L);
+        assertUsesIndex("idx_user_progress_user_completed");
+    }
+
+    @Test
+    void lessonLeaderboardUsesLessonOverallIndex() {
+        userProgressRepository.findByLessonIdOrderByOverallProgressDesc(1L);
+        assertUsesIndex("idx_user_progress_lesson_overall");
+    }
+
+    @Test
+    void voiceHistoryPageUsesUserCreatedIndex() {
+        voiceSessionRepository.findSummariesByUserIdBefore(1L, LocalDateTime.of(2024, 5, 1, 10, 0), 10L,
+                PageRequest.of(0, 20));
+        assertUsesIndex("idx_voice_sessions_user_created");
+    }
+
+    @Test
+    void lessonSessionsUseUserLessonIndex() {
+        voiceSessionRepository.findByUserIdAndLessonIdOrderByCreatedAtDesc(1L, 2L);
+        assertUsesIndex("idx_voice_sessions_user_lesson_created");
+    }
+
+    @Test
+    void sessionsByTypeUseUserTypeIndex() {
+        voiceSessionRepository.findByUserIdAndSessionType(1L, VoiceSession.SessionType.CONVERSATION);
+        assertUsesIndex("idx_voice_sessions_user_type_created");
+    }
+
+    @Test
+    void timedOutSessionsUseInFlightIndex() {
+        voiceSessionRepository.findTimedOutSessions(LocalDateTime.of(2024, 1, 1, 0, 0));
+        assertUsesIndex("idx_voice_sessions_in_flight");
+    }
+
+    @Test
+    void recentConversationTurnsUseTurnIndex() {
+        conversationTurnRepository.findRecent(1L, 12, PageRequest.of(0, 18));
+        assertUsesIndex("uk_conversation_turns_index");
+    }
+
+    @Test
+    void nextConversationTurnUsesTurnIndex() {
+        conversationTurnRepository.findNextTurnIndex(1L);
+        assertUsesIndex("uk_conversation_turns_index");
+    }
+
+    @Test
+    void learningStatsAreReadByPrimaryKey() {
+        userLearningStatsRepository.findByIdForUpdate(1L);
+        assertUsesIndex("user_learning_stats_pkey");
+    }
+
+    @Test
+    void learningStatsAreLockedByPrimaryKeyForRebuild() {
+        userLearningStatsRepository.findAllByIdForUpdate(List.of(1L, 2L));
+        assertUsesIndex("user_learning_stats_pkey");
+    }
+
+    // Base créée avant Flyway par ddl-auto (colonnes IDENTITY) : la baseline saute V1, V2 convertit
+    // les identifiants en séquences en pool et les objets ajoutés ensuite viennent de V2+
+    @Test
+    void baselinedDatabaseIsConvertedAndReceivesPostBaselineObjects() throws SQLException, IOException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA legacy");
+            statement.execute("SET search_path TO legacy");
+            statement.execute(resource("db/migration/V1__initial_schema.sql"));
+            for (String table : POOLED_TABLES) {
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP DEFAULT");
+                statement.execute("DROP SEQUENCE " + table + "_id_seq");
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY");
+            }
+            statement.execute("INSERT INTO users (id, username, email, password, created_at) " +
+                    "VALUES (120, 'ana', 'ana@example.com', 'x', now())");
+        }
+
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .schemas("legacy")
+                .baselineOnMigrate(true)
+                .baselineVersion(MigrationVersion.fromVersion("1"))
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO legacy");
+            assertThat(exists(statement, "SELECT 1 FROM information_schema.columns " +
+                    "WHERE table_schema = 'legacy' AND column_name = 'id' AND is_identity = 'YES'")).isFalse();
+            for (String table : POOLED_TABLES) {
+                assertThat(exists(statement, "SELECT 1 FROM pg_sequences WHERE schemaname = 'legacy' " +
+                        "AND sequencename = '" + table + "_id_seq' AND increment_by = 50")).as(table).isTrue();
+            }
+            // Les identifiants réservés repartent au-delà des lignes existantes
+            assertThat(exists(statement, "SELECT 1 WHERE nextval('users_id_seq') > 120")).isTrue();
+
+            assertThat(exists(statement, "SELECT 1 FROM pg_tables " +
+                    "WHERE schemaname = 'legacy' AND tablename = 'user_learning_stats'")).isTrue();
+            assertThat(exists(statement, "SELECT 1 FROM pg_indexes " +
+                    "WHERE schemaname = 'legacy' AND indexname = 'idx_lessons_catalog_seek'")).isTrue();
+            assertThat(exists(statement, "SELECT 1 FROM pg_indexes " +
+                    "WHERE schemaname = 'legacy' AND indexname = 'idx_lessons_chapter_seek'")).isTrue();
+        }
+    }
+
+    private void assertUsesIndex(String index) {
+        assertThat(plan()).as("plan of %s", lastSelect().sql()).contains(index);
+    }
+
+    // Dernier SELECT émis par la méthode appelée, expliqué avec les mêmes paramètres (plan réellement exécuté)
+    private String plan() {
+        SqlRecorder.Execution select = lastSelect();
+
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+            }
+            StringBuilder lines = new StringBuilder();
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + select.sql())) {
+                select.bind(explain);
+                try (ResultSet rows = explain.executeQuery()) {
+                    while (rows.next()) {
+                        lines.append(rows.getString(1)).append('\n');
+                    }
+                }
+            }
+            return lines.toString();
+        });
+    }
+
+    private SqlRecorder.Execution lastSelect() {
+        List<SqlRecorder.Execution> selects = sqlRecorder.selects();
+        assertThat(selects).as("SQL issued by the repository").isNotEmpty();
+        return selects.get(selects.size() - 1);
+    }
+
+    private static boolean exists(Statement statement, String query) throws SQLException {
+        try (ResultSet rows = statement.executeQuery(query)) {
+            return rows.next();
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    private static String resource(String path) throws IOException {
+        try (InputStream input = QueryPlanIndexTest.class.getClassLoader().getResourceAsStream(path)) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Requêtes SELECT exécutées par Hibernate et leurs paramètres, dans l'ordre d'exécution :
+     * la source de données est enveloppée pour enregistrer les appels set* des PreparedStatement.
+     */
+    static class SqlRecorder implements BeanPostProcessor {
+
+        private final List<Execution> executions = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) return bean;
+            return proxy(DataSource.class, (method, args) -> {
+                Object result = method.invoke(dataSource, args);
+                return result instanceof Connection connection ? recording(connection) : result;
+            });
+        }
+
+        List<Execution> selects() {
+            List<Execution> selects = new ArrayList<>();
+            for (Execution execution : executions) {
+                if (execution.sql().stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                    selects.add(execution);
+                }
+            }
+            return selects;
+        }
+
+        void clear() {
+            executions.clear();
+        }
+
+        private Connection recording(Connection connection) {
+            return proxy(Connection.class, (method, args) -> {
+                Object result = method.invoke(connection, args);
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return recording(statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement recording(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return proxy(PreparedStatement.class, (method, args) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bindings.add(new Binding(method, args));
+                } else if (method.getName().startsWith("execute") && (args == null || args.length == 0)) {
+                    executions.add(new Execution(sql, List.copyOf(bindings)));
+                } else if (method.getName().equals("clearParameters")) {
+                    bindings.clear();
+                }
+                return method.invoke(statement, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, Invocation invocation) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return invocation.invoke(method, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+
+        private interface Invocation {
+            Object invoke(Method method, Object[] args) throws Throwable;
+        }
+
+        private record Binding(Method method, Object[] args) {
+        }
+
+        record Execution(String sql, List<Binding> bindings) {
+
+            // Rejoue les appels set* sur une autre requête aux mêmes paramètres
+            void bind(PreparedStatement statement) throws SQLException {
+                for (Binding binding : bindings) {
+                    try {
+                        binding.method().invoke(statement, binding.args());
+                    } catch (ReflectiveOperationException e) {
+                        throw new SQLException(e);
+                    }
+                }
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class Support {
+
+        @Bean
+        static SqlRecorder sqlRecorder() {
+            return new SqlRecorder();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
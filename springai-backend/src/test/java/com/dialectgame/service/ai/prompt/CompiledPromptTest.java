@@ -0,0 +1,81 @@
+package com.dialectgame.service.ai.prompt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledPromptTest {
+
+    @Test
+    void rendersValuesInVariableOrder() {
+        // Ordre du modèle différent de celui de PromptId ; transcribedText utilisé deux fois
+        CompiledPrompt prompt = CompiledPrompt.compile(PromptId.VOICE_FEEDBACK, "v1", "fr",
+                "Entendu : {transcribedText} ({confidenceScore}). Attendu : {expectedText}. Répéter {transcribedText}");
+
+        assertThat(prompt.render("bonjour", "bonjou", "0.8"))
+                .isEqualTo("Entendu : bonjou (0.8). Attendu : bonjour. Répéter bonjou");
+    }
+
+    @Test
+    void nullValueRendersAsEmpty() {
+        CompiledPrompt prompt = CompiledPrompt.compile(PromptId.VOICE_FEEDBACK, "v1", null,
+                "[{expectedText}|{transcribedText}]");
+
+        assertThat(prompt.render(null, "oui", null)).isEqualTo("[|oui]");
+    }
+
+    @Test
+    void bracesWithoutIdentifierStayLiteral() {
+        String template = "Réponds en JSON : {\"score\": 0, \"items\": [{ }]} {} {1} {topic";
+        CompiledPrompt prompt = CompiledPrompt.compile(PromptId.LESSON_CONTENT, "v1", "fr", template + "}");
+
+        assertThat(prompt.render("voyage", "BEGINNER", "fr", "", "")).isEqualTo(template.replace("{topic", "voyage"));
+    }
+
+    @Test
+    void templateWithoutVariableRendersAsIs() {
+        CompiledPrompt prompt = CompiledPrompt.compile(PromptId.VOICE_FEEDBACK, "v1", "fr", "Sois bref.");
+
+        assertThat(prompt.render("a", "b", "c")).isEqualTo("Sois bref.");
+        assertThat(prompt.uses("expectedText")).isFalse();
+    }
+
+    @Test
+    void unknownVariableIsRejected() {
+        assertThatThrownBy(() -> CompiledPrompt.compile(PromptId.CONVERSATION_SUMMARY, "v2", "es", "Resume {history}"))
+                .isInstanceOf(CompiledPrompt.InvalidPromptException.class)
+                .hasMessageContaining("{history}")
+                .hasMessageContaining("conversation-summary/v2/es");
+    }
+
+    @Test
+    void wrongValueCountIsRejected() {
+        CompiledPrompt prompt = CompiledPrompt.compile(PromptId.VOICE_FEEDBACK, "v1", "fr", "{expectedText}");
+
+        assertThatThrownBy(() -> prompt.render("bonjour"))
+                .isInstanceOf(CompiledPrompt.InvalidPromptException.class)
+                .hasMessageContaining("expects 3 values, got 1");
+    }
+
+    @Test
+    void usesReportsReferencedVariables() {
+        CompiledPrompt prompt = CompiledPrompt.compile(PromptId.CONVERSATION, "v1", "fr",
+                "{context}\n{history}\nUtilisateur : {userMessage}");
+
+        assertThat(prompt.uses("history")).isTrue();
+        assertThat(prompt.uses("summary")).isFalse();
+        assertThat(prompt.uses("unknown")).isFalse();
+    }
+
+    @Test
+    void renderAfterOversizedPromptIsUnaffected() {
+        CompiledPrompt prompt = CompiledPrompt.compile(PromptId.VOICE_FEEDBACK, "v1", "fr",
+                "<{expectedText}>");
+        // Au-delà de la capacité conservée par thread : le tampon est abandonné
+        String large = "x".repeat(100_000);
+
+        assertThat(prompt.render(large, "", "")).hasSize(100_002);
+        assertThat(prompt.render("court", "", "")).isEqualTo("<court>");
+    }
+}
@@ -0,0 +1,72 @@
+package com.dialectgame.service.ai.prompt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptRegistryTest {
+
+    @TempDir
+    Path location;
+
+    private PromptRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (PromptId id : PromptId.values()) {
+            template(id, "v1");
+        }
+        template(PromptId.VOICE_FEEDBACK, "v2");
+        Files.writeString(location.resolve("voice-feedback/versions.properties"), "v1=50\nv2=50\n");
+
+        registry = new PromptRegistry(new DefaultResourceLoader(), new SimpleMeterRegistry(),
+                location.toUri().toString(), "v1");
+        registry.init();
+    }
+
+    @Test
+    void sameKeyAlwaysGetsSameVersion() {
+        String version = registry.get(PromptId.VOICE_FEEDBACK, null, "42").getVersion();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(registry.get(PromptId.VOICE_FEEDBACK, null, "42").getVersion()).isEqualTo(version);
+        }
+    }
+
+    @Test
+    void assignmentSurvivesReload() {
+        String version = registry.get(PromptId.VOICE_FEEDBACK, null, "42").getVersion();
+
+        // Autre instance ou redémarrage : mêmes poids, même version pour l'utilisateur
+        PromptRegistry other = new PromptRegistry(new DefaultResourceLoader(), new SimpleMeterRegistry(),
+                location.toUri().toString(), "v1");
+        other.init();
+
+        assertThat(other.get(PromptId.VOICE_FEEDBACK, null, "42").getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void keysAreSpreadOverWeightedVersions() {
+        Set<String> versions = new HashSet<>();
+        for (int user = 0; user < 100; user++) {
+            versions.add(registry.get(PromptId.VOICE_FEEDBACK, null, String.valueOf(user)).getVersion());
+        }
+
+        assertThat(versions).containsExactlyInAnyOrder("v1", "v2");
+    }
+
+    private void template(PromptId id, String version) throws IOException {
+        Path directory = Files.createDirectories(location.resolve(id.getKey()).resolve(version));
+        Files.writeString(directory.resolve("default.st"), id.getKey() + " " + version);
+    }
+}
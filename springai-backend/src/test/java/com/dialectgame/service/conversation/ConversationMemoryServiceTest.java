@@ -0,0 +1,122 @@
+package com.dialectgame.service.conversation;
+
+import com.dialectgame.model.entity.Conversation;
+import com.dialectgame.model.entity.ConversationTurn;
+import com.dialectgame.model.entity.User;
+import com.dialectgame.model.entity.VoiceSession;
+import com.dialectgame.repository.ConversationRepository;
+import com.dialectgame.repository.ConversationTurnRepository;
+import com.dialectgame.repository.LessonContentRepository;
+import com.dialectgame.repository.LessonRepository;
+import com.dialectgame.service.ai.AIService;
+import com.dialectgame.service.lesson.codec.LessonContentCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConversationMemoryServiceTest {
+
+    private static final Long CONVERSATION_ID = 5L;
+
+    private final ConversationRepository conversationRepository = mock(ConversationRepository.class);
+    private final ConversationTurnRepository conversationTurnRepository = mock(ConversationTurnRepository.class);
+    private final LessonRepository lessonRepository = mock(LessonRepository.class);
+    private final AIService aiService = mock(AIService.class);
+    private final User user = User.builder().id(1L).build();
+
+    private ConversationMemoryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ConversationMemoryService(conversationRepository, conversationTurnRepository, lessonRepository,
+                mock(LessonContentRepository.class), new LessonContentCodec(), aiService,
+                mock(ConversationSummarizer.class), new SimpleMeterRegistry(), new MockEnvironment(),
+                12, 6, 400, 1000, 150, 100, Duration.ofMinutes(30));
+
+        when(conversationRepository.findByIdAndUserId(CONVERSATION_ID, 1L)).thenReturn(Optional.of(
+                Conversation.builder().id(CONVERSATION_ID).user(user).language("fr").build()));
+        when(conversationTurnRepository.findRecent(eq(CONVERSATION_ID), anyInt(), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(aiService.getChatProviders()).thenReturn(List.of("openai"));
+        when(aiService.generateConversationResponse(anyString(), anyString(), anyString(), anyString(), anyString(),
+                anyString())).thenReturn(new AIService.AIResponse("Bonjour !", "openai", "v1"));
+    }
+
+    @Test
+    void turnIndexIsAllocatedInDatabase() {
+        // Fenêtre vide, mais une autre instance écrit les tours 0 et 1 pendant l'appel au modèle
+        when(conversationTurnRepository.findNextTurnIndex(CONVERSATION_ID)).thenReturn(0, 2);
+
+        ConversationMemoryService.ConversationReply reply = respond();
+
+        assertThat(reply.turnIndex()).isEqualTo(2);
+        assertThat(savedIndexes()).containsExactly(2, 3);
+        verify(conversationRepository).touch(eq(CONVERSATION_ID), any());
+    }
+
+    @Test
+    void windowBehindDatabaseIsReloaded() {
+        when(conversationTurnRepository.findNextTurnIndex(CONVERSATION_ID)).thenReturn(0, 0);
+        respond();
+
+        // Tours 2 et 3 écrits ailleurs : l'historique en mémoire n'est plus servi tel quel
+        when(conversationTurnRepository.findNextTurnIndex(CONVERSATION_ID)).thenReturn(4, 4);
+        respond();
+
+        verify(conversationTurnRepository, times(2)).findRecent(eq(CONVERSATION_ID), anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void windowUpToDateIsReused() {
+        when(conversationTurnRepository.findNextTurnIndex(CONVERSATION_ID)).thenReturn(0, 0, 2, 2);
+
+        respond();
+        respond();
+
+        verify(conversationTurnRepository, times(1)).findRecent(eq(CONVERSATION_ID), anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void unknownLessonIsRejected() {
+        when(lessonRepository.existsById(42L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.validateLesson(null, 42L))
+                .isInstanceOf(ConversationMemoryService.UnknownLessonException.class);
+    }
+
+    @Test
+    void lessonIsIgnoredForExistingConversation() {
+        service.validateLesson(CONVERSATION_ID, 42L);
+
+        verify(lessonRepository, times(0)).existsById(any());
+    }
+
+    private ConversationMemoryService.ConversationReply respond() {
+        return service.respond(user, mock(VoiceSession.class), CONVERSATION_ID, null, "fr", "Je voudrais du pain");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> savedIndexes() {
+        ArgumentCaptor<List<ConversationTurn>> turns = ArgumentCaptor.forClass(List.class);
+        verify(conversationTurnRepository).saveAll(turns.capture());
+        return turns.getValue().stream().map(ConversationTurn::getTurnIndex).toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.dialectgame.service.lesson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LessonCatalogCacheTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final LessonCatalogCache cache = new LessonCatalogCache(new ObjectMapper(), jdbcTemplate, provider(transactionManager),
+            new SimpleMeterRegistry(), 1 << 20, Duration.ofHours(1));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+    }
+
+    @Test
+    void versionChangedByAnotherInstanceInvalidatesEntries() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getCount("chapter:1", loads::incrementAndGet);
+        sharedVersion(5L);
+
+        cache.refreshVersion();
+
+        assertThat(cache.getVersion()).isEqualTo(5L);
+        assertThat(cache.getCount("chapter:1", loads::incrementAndGet)).isEqualTo(2L);
+    }
+
+    @Test
+    void sharedVersionIsIncrementedOncePerTransactionAndAppliedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(jdbcTemplate.update(startsWith("UPDATE"))).thenReturn(1);
+        sharedVersion(2L);
+
+        cache.bumpVersionAfterCommit();
+        cache.bumpVersionAfterCommit();
+
+        verify(jdbcTemplate, times(1)).update(anyString());
+        assertThat(cache.getVersion()).isEqualTo(1L);
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertThat(cache.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void rolledBackChangeDoesNotAdvanceVersion() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(jdbcTemplate.update(startsWith("UPDATE"))).thenReturn(1);
+        sharedVersion(2L);
+
+        cache.bumpVersionAfterCommit();
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertThat(cache.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void missesAreLoadedInOwnReadWriteTransaction() {
+        cache.getCount("chapter:1", () -> 3L);
+
+        // Transaction non lecture seule : routée vers le primaire, pas vers un réplica en retard
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getPropagationBehavior()).isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        assertThat(definition.getValue().isReadOnly()).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<PlatformTransactionManager> provider(PlatformTransactionManager transactionManager) {
+        ObjectProvider<PlatformTransactionManager> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(transactionManager);
+        return provider;
+    }
+
+    private void sharedVersion(long version) {
+        when(jdbcTemplate.query(startsWith("SELECT version"), ArgumentMatchers.<ResultSetExtractor<Long>>any()))
+                .thenReturn(version);
+    }
+}
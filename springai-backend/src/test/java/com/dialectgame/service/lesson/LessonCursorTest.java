@@ -0,0 +1,66 @@
+package com.dialectgame.service.lesson;
+
+import com.dialectgame.model.entity.Lesson;
+import com.dialectgame.model.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LessonCursorTest {
+
+    @Test
+    void encodedCursorDecodesToSameKey() {
+        Lesson lesson = Lesson.builder()
+                .id(42L)
+                .language("fr")
+                .difficultyLevel(User.DifficultyLevel.INTERMEDIATE)
+                .order(7)
+                .build();
+
+        LessonCursor cursor = LessonCursor.of(lesson);
+
+        assertThat(LessonCursor.decode(cursor.encode()))
+                .isEqualTo(new LessonCursor("fr", "INTERMEDIATE", 7, 42L));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new LessonCursor("fr", "BEGINNER", -1, Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingCursorStartsBeforeEveryLesson() {
+        assertThat(LessonCursor.decode(null)).isSameAs(LessonCursor.START);
+        assertThat(LessonCursor.decode("  ")).isSameAs(LessonCursor.START);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> LessonCursor.decode("not base64!"))
+                .isInstanceOf(LessonCursor.InvalidCursorException.class);
+        assertThatThrownBy(() -> LessonCursor.decode(encode("fr|BEGINNER|3")))
+                .isInstanceOf(LessonCursor.InvalidCursorException.class);
+        assertThatThrownBy(() -> LessonCursor.decode(encode("fr|BEGINNER|three|4")))
+                .isInstanceOf(LessonCursor.InvalidCursorException.class);
+    }
+
+    @Test
+    void malformedCursorIsClientError() {
+        ResponseStatus status = LessonCursor.InvalidCursorException.class.getAnnotation(ResponseStatus.class);
+
+        assertThat(status).isNotNull();
+        assertThat(status.value()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,74 @@
+package com.dialectgame.service.lesson;
+
+import com.dialectgame.model.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LessonFrontierCacheTest {
+
+    private final LessonCatalogCache lessonCatalogCache = mock(LessonCatalogCache.class);
+    private final LessonFrontierCache cache = new LessonFrontierCache(lessonCatalogCache, 100, Duration.ofMinutes(10));
+    private final User user = User.builder().id(1L).preferredLanguage("fr")
+            .difficultyLevel(User.DifficultyLevel.BEGINNER).build();
+
+    @Test
+    void resolvedFrontierIsCached() {
+        when(lessonCatalogCache.getVersion()).thenReturn(1L);
+        AtomicInteger resolutions = new AtomicInteger();
+
+        cache.getNextLessonId(user, () -> 10L + resolutions.incrementAndGet());
+        Long next = cache.getNextLessonId(user, () -> 10L + resolutions.incrementAndGet());
+
+        assertThat(next).isEqualTo(11L);
+        assertThat(resolutions).hasValue(1);
+    }
+
+    @Test
+    void catalogVersionChangeResolvesAgain() {
+        when(lessonCatalogCache.getVersion()).thenReturn(1L, 2L);
+
+        cache.getNextLessonId(user, () -> 11L);
+
+        assertThat(cache.getNextLessonId(user, () -> 12L)).isEqualTo(12L);
+    }
+
+    @Test
+    void evictionDuringResolveIsNotLost() throws Exception {
+        when(lessonCatalogCache.getVersion()).thenReturn(1L);
+        CountDownLatch resolving = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+
+        // La résolution lit la progression d'avant la leçon complétée, puis l'éviction arrive
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> cache.getNextLessonId(user, () -> {
+            resolving.countDown();
+            await(evicted);
+            return 11L;
+        }));
+        assertThat(resolving.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.evictUser(user.getId());
+        evicted.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(11L);
+        // Le pointeur périmé n'est pas resté en cache
+        assertThat(cache.getNextLessonId(user, () -> 12L)).isEqualTo(12L);
+        assertThat(cache.getNextLessonId(user, () -> 13L)).isEqualTo(12L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
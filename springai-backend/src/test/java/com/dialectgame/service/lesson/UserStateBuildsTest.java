@@ -0,0 +1,108 @@
+package com.dialectgame.service.lesson;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserStateBuildsTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final UserStateBuilds builds = new UserStateBuilds();
+
+    @Test
+    void buildWithoutInvalidationIsNotStale() {
+        builds.begin(USER_ID);
+
+        assertThat(builds.end(USER_ID)).isFalse();
+    }
+
+    @Test
+    void invalidationOutsideBuildIsIgnored() {
+        builds.invalidate(USER_ID);
+        builds.begin(USER_ID);
+
+        assertThat(builds.end(USER_ID)).isFalse();
+    }
+
+    @Test
+    void invalidationDuringBuildFromAnotherThreadMarksItStale() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+
+        // La construction lit la base, puis une progression est enregistrée sur un autre thread
+        CompletableFuture<Boolean> build = CompletableFuture.supplyAsync(() -> {
+            builds.begin(USER_ID);
+            reading.countDown();
+            await(invalidated);
+            return builds.end(USER_ID);
+        });
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        builds.invalidate(USER_ID);
+        invalidated.countDown();
+
+        assertThat(build.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void overlappingBuildsAreAllStale() {
+        builds.begin(USER_ID);
+        builds.begin(USER_ID);
+        builds.invalidate(USER_ID);
+
+        // Les deux constructions ont pu lire avant le changement
+        assertThat(builds.end(USER_ID)).isTrue();
+        assertThat(builds.end(USER_ID)).isTrue();
+
+        builds.begin(USER_ID);
+        assertThat(builds.end(USER_ID)).isFalse();
+    }
+
+    @Test
+    void concurrentBuildsLeaveNoEntryBehind() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int invalidating = thread;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        if (invalidating % 2 == 0) {
+                            builds.invalidate(USER_ID);
+                        } else {
+                            builds.begin(USER_ID);
+                            builds.end(USER_ID);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Compteur revenu à zéro : l'entrée est retirée, aucun marquage ne survit aux constructions
+        builds.begin(USER_ID);
+        assertThat(builds.end(USER_ID)).isFalse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.dialectgame.service.progress;
+
+import com.dialectgame.model.dto.progress.ProgressUpdateRequest;
+import com.dialectgame.model.entity.UserProgress;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PendingProgressTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    @Test
+    void stateFieldsKeepLatestNonNullValue() {
+        PendingProgress merged = update(T0)
+                .currentPhase(UserProgress.Phase.SITUATION)
+                .currentStep(2)
+                .overallProgress(20.0)
+                .score(40)
+                .build()
+                .merge(update(T0.plusSeconds(5))
+                        .currentPhase(UserProgress.Phase.VOCABULARY)
+                        .overallProgress(35.0)
+                        .build());
+
+        assertThat(merged.getCurrentPhase()).isEqualTo(UserProgress.Phase.VOCABULARY);
+        assertThat(merged.getOverallProgress()).isEqualTo(35.0);
+        // Absents de la mise à jour plus récente : conservés
+        assertThat(merged.getCurrentStep()).isEqualTo(2);
+        assertThat(merged.getScore()).isEqualTo(40);
+        assertThat(merged.getUpdatedAt()).isEqualTo(T0.plusSeconds(5));
+    }
+
+    @Test
+    void countersKeepLargestValue() {
+        PendingProgress merged = update(T0)
+                .timeSpent(300)
+                .attemptsCount(3)
+                .build()
+                .merge(update(T0.plusSeconds(5))
+                        .timeSpent(120) // requête rejouée hors d'ordre
+                        .attemptsCount(4)
+                        .mistakesCount(1)
+                        .build());
+
+        assertThat(merged.getTimeSpent()).isEqualTo(300);
+        assertThat(merged.getAttemptsCount()).isEqualTo(4);
+        assertThat(merged.getMistakesCount()).isEqualTo(1);
+    }
+
+    @Test
+    void jsonMapsAreMergedKeyByKey() {
+        PendingProgress merged = update(T0)
+                .phaseScores(Map.of("SITUATION", 80.0, "VOCABULARY", 50.0))
+                .detailedProgress(Map.of("hintsUsed", 1))
+                .build()
+                .merge(update(T0.plusSeconds(5))
+                        .phaseScores(Map.of("VOCABULARY", 70.0))
+                        .build());
+
+        assertThat(merged.getPhaseScores()).containsExactlyInAnyOrderEntriesOf(
+                Map.of("SITUATION", 80.0, "VOCABULARY", 70.0));
+        assertThat(merged.getDetailedProgress()).containsEntry("hintsUsed", 1);
+    }
+
+    @Test
+    void completionDateIsTheFirstOne() {
+        PendingProgress completed = PendingProgress.of(1L, ProgressUpdateRequest.builder()
+                .lessonId(7L)
+                .status(UserProgress.CompletionStatus.COMPLETED)
+                .build());
+        LocalDateTime firstCompletion = completed.getCompletedAt();
+
+        PendingProgress merged = completed.merge(update(T0.plusDays(1))
+                .status(UserProgress.CompletionStatus.COMPLETED)
+                .completedAt(T0.plusDays(1))
+                .build());
+
+        assertThat(firstCompletion).isNotNull();
+        assertThat(merged.getCompletedAt()).isEqualTo(firstCompletion);
+        assertThat(merged.isCompleted()).isTrue();
+    }
+
+    @Test
+    void keyIdentifiesUserAndLesson() {
+        PendingProgress pending = PendingProgress.of(1L, ProgressUpdateRequest.builder().lessonId(7L).build());
+
+        assertThat(pending.key()).isEqualTo(new PendingProgress.Key(1L, 7L));
+        assertThat(pending.getCompletedAt()).isNull();
+    }
+
+    private static PendingProgress.PendingProgressBuilder update(LocalDateTime updatedAt) {
+        return PendingProgress.builder().userId(1L).lessonId(7L).updatedAt(updatedAt);
+    }
+}
@@ -0,0 +1,105 @@
+package com.dialectgame.service.progress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProgressWriteAheadLogTest {
+
+    private static final int THREADS = 8;
+    private static final int APPENDS_PER_THREAD = 200;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentAppendsShareSyncsAndAreReplayed() throws Exception {
+        ProgressWriteAheadLog log = new ProgressWriteAheadLog(directory, objectMapper, true);
+        log.open(update -> { });
+        Object appendLock = new Object();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long userId = t;
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < APPENDS_PER_THREAD; i++) {
+                    long sequence;
+                    // Ajouts sérialisés comme sous bufferLock, synchronisation hors du verrou
+                    synchronized (appendLock) {
+                        sequence = log.append(List.of(update(userId, i)));
+                        if (i == APPENDS_PER_THREAD / 2 && userId == 0) {
+                            log.roll();
+                        }
+                    }
+                    log.awaitDurable(sequence);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(log.getSyncCount()).isBetween(1L, (long) THREADS * APPENDS_PER_THREAD + 1);
+        log.close();
+
+        List<PendingProgress> replayed = new CopyOnWriteArrayList<>();
+        new ProgressWriteAheadLog(directory, objectMapper, true).open(replayed::add);
+        assertThat(replayed).hasSize(THREADS * APPENDS_PER_THREAD);
+    }
+
+    @Test
+    void awaitReturnsOnceRollHasSyncedTheSegment() throws Exception {
+        ProgressWriteAheadLog log = new ProgressWriteAheadLog(directory, objectMapper, true);
+        log.open(update -> { });
+
+        long sequence = log.append(List.of(update(1L, 1)));
+        log.roll();
+        long syncsAfterRoll = log.getSyncCount();
+
+        // Déjà sur disque : aucune synchronisation supplémentaire
+        log.awaitDurable(sequence);
+        assertThat(log.getSyncCount()).isEqualTo(syncsAfterRoll);
+        log.close();
+    }
+
+    @Test
+    void withoutSyncOnWriteAwaitDoesNotSync() throws Exception {
+        ProgressWriteAheadLog log = new ProgressWriteAheadLog(directory, objectMapper, false);
+        log.open(update -> { });
+
+        log.awaitDurable(log.append(List.of(update(1L, 1))));
+
+        assertThat(log.getSyncCount()).isZero();
+        log.close();
+    }
+
+    private static PendingProgress update(long userId, int lesson) {
+        return PendingProgress.builder()
+                .userId(userId)
+                .lessonId((long) lesson)
+                .score(lesson % 100)
+                .updatedAt(LocalDateTime.of(2024, 5, 1, 10, 0))
+                .build();
+    }
+}
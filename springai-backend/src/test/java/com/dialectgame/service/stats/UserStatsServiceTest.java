@@ -0,0 +1,121 @@
+package com.dialectgame.service.stats;
+
+import com.dialectgame.model.entity.UserLearningStats;
+import com.dialectgame.model.entity.UserProgress;
+import com.dialectgame.model.entity.VoiceSession;
+import com.dialectgame.repository.UserLearningStatsRepository;
+import com.dialectgame.repository.UserProgressRepository;
+import com.dialectgame.repository.UserRepository;
+import com.dialectgame.repository.VoiceSessionRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserStatsServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final UserLearningStatsRepository statsRepository = mock(UserLearningStatsRepository.class);
+    private final VoiceSessionRepository voiceSessionRepository = mock(VoiceSessionRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final UserStatsService service = new UserStatsService(statsRepository, mock(UserProgressRepository.class),
+            voiceSessionRepository, mock(UserRepository.class), mock(PlatformTransactionManager.class), jdbcTemplate,
+            30, 500);
+
+    @Test
+    void updateAppliesDifferenceWithStoredRow() {
+        storedProgress(UserProgress.CompletionStatus.IN_PROGRESS, 0.5);
+
+        service.replaceProgress(10L, USER_ID, 1.0, UserProgress.CompletionStatus.COMPLETED);
+
+        // Même ligne : ni compte en plus, seulement +0.5 de progression et une leçon terminée
+        assertThat(progressDelta()).containsExactly(0L, 0.5, 1L);
+    }
+
+    @Test
+    void storedRowIsReadUnderUserLock() {
+        storedProgress(UserProgress.CompletionStatus.IN_PROGRESS, 0.5);
+
+        service.replaceProgress(10L, USER_ID, 0.8, UserProgress.CompletionStatus.IN_PROGRESS);
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).query(startsWith("SELECT user_id FROM user_learning_stats"),
+                any(RowCallbackHandler.class), eq(USER_ID));
+        order.verify(jdbcTemplate).query(startsWith("SELECT overall_progress"), any(RowMapper.class), eq(10L));
+    }
+
+    @Test
+    void unchangedContributionIsNotWritten() {
+        storedProgress(UserProgress.CompletionStatus.IN_PROGRESS, 0.5);
+
+        service.replaceProgress(10L, USER_ID, 0.5, UserProgress.CompletionStatus.IN_PROGRESS);
+
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE user_learning_stats"), any(Object[].class));
+    }
+
+    @Test
+    void removedRowIsSubtracted() {
+        storedProgress(UserProgress.CompletionStatus.COMPLETED, 1.0);
+
+        service.removeProgress(10L, USER_ID);
+
+        assertThat(progressDelta()).containsExactly(-1L, -1.0, -1L);
+    }
+
+    @Test
+    void voiceSessionCountedByRebuildIsSkipped() {
+        when(statsRepository.findByIdForUpdate(USER_ID)).thenReturn(Optional.of(UserLearningStats.builder()
+                .userId(USER_ID).build()));
+        when(voiceSessionRepository.markStatsRecorded(7L)).thenReturn(0);
+
+        service.recordVoiceSession(USER_ID, VoiceSession.builder().id(7L)
+                .processingStatus(VoiceSession.ProcessingStatus.COMPLETED).build());
+
+        verify(statsRepository, never()).save(any());
+    }
+
+    @Test
+    void voiceSessionIsCountedOnce() {
+        UserLearningStats stats = UserLearningStats.builder().userId(USER_ID).build();
+        when(statsRepository.findByIdForUpdate(USER_ID)).thenReturn(Optional.of(stats));
+        when(voiceSessionRepository.markStatsRecorded(7L)).thenReturn(1);
+
+        service.recordVoiceSession(USER_ID, VoiceSession.builder().id(7L)
+                .processingStatus(VoiceSession.ProcessingStatus.COMPLETED).pronunciationScore(80.0).build());
+
+        assertThat(stats.getVoiceSessions()).isEqualTo(1L);
+        assertThat(stats.getPronunciationSum()).isEqualTo(80.0);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO user_learning_stats"), anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void storedProgress(UserProgress.CompletionStatus status, double overallProgress) {
+        when(jdbcTemplate.query(startsWith("SELECT overall_progress"), any(RowMapper.class), eq(10L)))
+                .thenReturn(List.of(UserStatsService.ProgressContribution.of(overallProgress, status)));
+    }
+
+    // (count, sum, completed) passés à l'UPDATE des compteurs
+    private List<Object> progressDelta() {
+        ArgumentCaptor<Object[]> arguments = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(startsWith("UPDATE user_learning_stats"), arguments.capture());
+        return List.of(arguments.getValue()).subList(0, 3);
+    }
+}
@@ -0,0 +1,100 @@
+package com.dialectgame.service.voice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TranscriptAnalyzerTest {
+
+    @Test
+    void normalizesLikeTrimAndLowerCase() {
+        String text = "  Bonjour, Ça VA ?\t\n";
+        TranscriptAnalyzer analyzer = TranscriptAnalyzer.of(text);
+
+        assertThat(normalized(analyzer)).isEqualTo("bonjour, ça va ?");
+        assertThat(analyzer.length()).isEqualTo(text.length());
+        assertThat(analyzer.isBlank()).isFalse();
+    }
+
+    @Test
+    void tokensMatchWhitespaceSplit() {
+        String text = " le  chat\tdort\n ici ";
+        TranscriptAnalyzer analyzer = TranscriptAnalyzer.of(text);
+
+        assertThat(analyzer.wordCount()).isEqualTo(4);
+        assertThat(tokens(analyzer)).containsExactly(text.trim().split("\\s+"));
+    }
+
+    @Test
+    void blankTextHasNoWord() {
+        TranscriptAnalyzer analyzer = TranscriptAnalyzer.of(" \t ");
+
+        assertThat(analyzer.isBlank()).isTrue();
+        assertThat(analyzer.wordCount()).isZero();
+        assertThat(TranscriptAnalyzer.of("").specialCharRatio()).isZero();
+    }
+
+    @Test
+    void specialCharRatioCountsRawText() {
+        // "?" et "!" sur 10 caractères ; blancs, lettres et chiffres exclus
+        TranscriptAnalyzer analyzer = TranscriptAnalyzer.of("oui? 12 !a");
+
+        assertThat(analyzer.specialCharRatio()).isCloseTo(0.2, within(1e-9));
+    }
+
+    @Test
+    void similarityIgnoresCaseAndSurroundingBlanks() {
+        assertThat(TranscriptAnalyzer.of(" Merci ").similarityTo("merci")).isEqualTo(1.0);
+        // Une substitution sur cinq caractères
+        assertThat(TranscriptAnalyzer.of("merci").similarityTo("marci")).isCloseTo(0.8, within(1e-9));
+        assertThat(TranscriptAnalyzer.of("").similarityTo("  ")).isEqualTo(1.0);
+    }
+
+    @Test
+    void levenshteinDistanceOnRawText() {
+        assertThat(TranscriptAnalyzer.levenshteinDistance("kitten", "sitting")).isEqualTo(3);
+        assertThat(TranscriptAnalyzer.levenshteinDistance("", "abc")).isEqualTo(3);
+        assertThat(TranscriptAnalyzer.levenshteinDistance("Abc", "abc")).isEqualTo(1);
+    }
+
+    @Test
+    void buffersGrowBeyondInitialCapacity() {
+        // 100 mots, 499 caractères : au-delà des tampons initiaux (64 mots, 256 caractères)
+        String text = "mot ".repeat(100).trim();
+        TranscriptAnalyzer analyzer = TranscriptAnalyzer.of(text);
+
+        assertThat(analyzer.wordCount()).isEqualTo(100);
+        assertThat(normalized(analyzer)).isEqualTo(text);
+        assertThat(analyzer.similarityTo(text.toUpperCase())).isEqualTo(1.0);
+    }
+
+    @Test
+    void nextAnalysisReplacesPreviousResults() {
+        TranscriptAnalyzer.of("un deux trois quatre");
+        TranscriptAnalyzer analyzer = TranscriptAnalyzer.of("Seul");
+
+        assertThat(analyzer.wordCount()).isEqualTo(1);
+        assertThat(normalized(analyzer)).isEqualTo("seul");
+    }
+
+    private static String normalized(TranscriptAnalyzer analyzer) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < analyzer.normalizedLength(); i++) {
+            text.append(analyzer.normalizedCharAt(i));
+        }
+        return text.toString();
+    }
+
+    private static List<String> tokens(TranscriptAnalyzer analyzer) {
+        String text = normalized(analyzer);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < analyzer.wordCount(); i++) {
+            tokens.add(text.substring(analyzer.tokenStart(i), analyzer.tokenEnd(i)));
+        }
+        return tokens;
+    }
+}
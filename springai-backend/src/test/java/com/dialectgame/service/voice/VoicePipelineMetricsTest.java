@@ -0,0 +1,53 @@
+package com.dialectgame.service.voice;
+
+import com.dialectgame.model.dto.voice.VoiceProcessingRequest;
+import com.dialectgame.model.entity.VoiceSession;
+import com.dialectgame.service.ai.AIService;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VoicePipelineMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+    private final VoicePipelineMetrics metrics;
+
+    VoicePipelineMetricsTest() {
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        metrics = new VoicePipelineMetrics(observationRegistry, meterRegistry, List.of("fr", "en"));
+    }
+
+    @Test
+    void chatStageIsTaggedWithProviderThatAnswered() {
+        // Le primaire a échoué : la réponse vient du fournisseur de repli
+        metrics.chatStage(VoicePipelineMetrics.Stage.FEEDBACK, request(),
+                () -> new AIService.AIResponse("Très bien", "openai", "v1"), AIService.AIResponse::provider);
+
+        assertThat(meterRegistry.find("voice.pipeline.stage").tag("stage", "feedback").tag("provider", "openai").timer())
+                .isNotNull();
+    }
+
+    @Test
+    void failedChatStageHasNoProvider() {
+        assertThatThrownBy(() -> metrics.chatStage(VoicePipelineMetrics.Stage.CONVERSATION, request(), () -> {
+            throw new AIService.AIServiceException("Both primary and fallback AI models failed", null);
+        }, AIService.AIResponse::provider)).isInstanceOf(AIService.AIServiceException.class);
+
+        assertThat(meterRegistry.find("voice.pipeline.stage").tag("stage", "conversation").tag("provider", "none").timer())
+                .isNotNull();
+    }
+
+    private static VoiceProcessingRequest request() {
+        return VoiceProcessingRequest.builder()
+                .sessionType(VoiceSession.SessionType.CONVERSATION)
+                .language("fr")
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.dialectgame.service.voice.phonetic;
+
+import com.dialectgame.service.voice.TranscriptAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PhoneticScorerTest {
+
+    private final PhoneticScorer scorer = new PhoneticScorer(true, 100, "fr", List.of("fr", "en", "es", "de", "it"));
+
+    @Test
+    void homophonesScoreAsExactMatch() {
+        assertThat(scorer.score("fr", "vert", "verre")).isEqualTo(1.0);
+        // La similarité textuelle pénalise l'orthographe
+        assertThat(TranscriptAnalyzer.of("verre").similarityTo("vert")).isLessThan(1.0);
+    }
+
+    @Test
+    void caseAndPunctuationAreIgnored() {
+        assertThat(scorer.score("fr", "bonjour", "BONJOUR !")).isEqualTo(1.0);
+    }
+
+    @Test
+    void closerPronunciationScoresHigher() {
+        double close = scorer.score("fr", "merci beaucoup", "merci boucoup");
+        double unrelated = scorer.score("fr", "bonjour", "au revoir");
+
+        assertThat(close).isBetween(0.8, 1.0).isLessThan(1.0);
+        assertThat(unrelated).isLessThan(0.5);
+    }
+
+    @Test
+    void emptyTranscriptScoresZero() {
+        assertThat(scorer.score("fr", "chat", "")).isZero();
+        assertThat(scorer.score("fr", "", "")).isEqualTo(1.0);
+    }
+
+    @Test
+    void missingLanguageUsesDefault() {
+        assertThat(scorer.supports(null)).isTrue();
+        assertThat(scorer.score(null, "bonjour", "bonjour")).isEqualTo(1.0);
+    }
+
+    @Test
+    void languageWithoutRulesIsNotSupported() {
+        assertThat(scorer.supports("it")).isFalse();
+        assertThatThrownBy(() -> scorer.score("it", "ciao", "ciao"))
+                .isInstanceOf(PhoneticScorer.UnsupportedLanguageException.class);
+    }
+
+    @Test
+    void disabledScorerSupportsNothing() {
+        PhoneticScorer disabled = new PhoneticScorer(false, 100, "fr", List.of("fr"));
+
+        assertThat(disabled.supports("fr")).isFalse();
+        assertThatThrownBy(() -> disabled.score("fr", "chat", "chat"))
+                .isInstanceOf(PhoneticScorer.UnsupportedLanguageException.class);
+    }
+
+    @Test
+    void precomputedTextScoresLikeUncached() {
+        scorer.precompute("fr", "merci beaucoup");
+
+        assertThat(scorer.score("fr", "merci beaucoup", "merci boucoup"))
+                .isEqualTo(new PhoneticScorer(true, 100, "fr", List.of("fr"))
+                        .score("fr", "merci beaucoup", "merci boucoup"));
+    }
+}